@@ -0,0 +1,174 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Runs the benchmarks and compares their scores to a stored baseline, so regressions are visible. The baseline is a
+ * properties file with the score of every benchmark and its parameters. All benchmarks measure the average time, so a
+ * higher score is worse.
+ *
+ * Usage: {@code java -jar QuickSkript-benchmark-<version>.jar [--update-baseline] [--baseline <file>] [regex...]}.
+ * The regexes select the benchmarks to run, all benchmarks are run if none are specified. With
+ * {@code --update-baseline} the scores of this run are written to the baseline instead of being compared to it.
+ *
+ * @since 0.1.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * The relative increase of a score, beyond which it's reported as a regression
+     */
+    private static final double REGRESSION_THRESHOLD = 0.1;
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Path baselineFile = Paths.get("baseline.properties");
+        boolean updateBaseline = false;
+        List<String> includes = new ArrayList<>();
+
+        for (int index = 0; index < args.length; index++) {
+            String argument = args[index];
+
+            if (argument.equals("--update-baseline")) {
+                updateBaseline = true;
+            } else if (argument.equals("--baseline") && index + 1 < args.length) {
+                baselineFile = Paths.get(args[++index]);
+            } else {
+                includes.add(argument);
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .resultFormat(ResultFormatType.JSON)
+            .result("jmh-result.json");
+
+        if (includes.isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        } else {
+            includes.forEach(options::include);
+        }
+
+        Properties scores = new Properties();
+
+        for (RunResult runResult : new Runner(options.build()).run()) {
+            Result<?> result = runResult.getPrimaryResult();
+
+            scores.setProperty(getKey(runResult.getParams()), Double.toString(result.getScore()));
+        }
+
+        if (updateBaseline) {
+            Properties baseline = read(baselineFile);
+
+            baseline.putAll(scores);
+
+            try (Writer writer = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+                baseline.store(writer, "Average time per operation in the unit of each benchmark");
+            }
+
+            System.out.println("Updated baseline " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        if (compare(read(baselineFile), scores) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares the scores of this run to the baseline and prints the outcome
+     *
+     * @param baseline the scores of the baseline
+     * @param scores the scores of this run
+     * @return the amount of regressions
+     * @since 0.1.0
+     */
+    private static int compare(@NotNull Properties baseline, @NotNull Properties scores) {
+        int regressions = 0;
+
+        System.out.println();
+        System.out.println("Comparison to baseline:");
+
+        for (String key : new TreeSet<>(scores.stringPropertyNames())) {
+            double score = Double.parseDouble(scores.getProperty(key));
+            String baselineScore = baseline.getProperty(key);
+
+            if (baselineScore == null) {
+                System.out.println(String.format(Locale.ROOT, "  %-100s %12.3f (no baseline)", key, score));
+                continue;
+            }
+
+            double change = score / Double.parseDouble(baselineScore) - 1;
+            boolean regression = change > REGRESSION_THRESHOLD;
+
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.println(String.format(Locale.ROOT, "  %-100s %12.3f %+7.1f%%%s", key, score, change * 100,
+                regression ? " REGRESSION" : ""));
+        }
+
+        System.out.println(regressions + " regression" + (regressions == 1 ? "" : "s") + " found");
+
+        return regressions;
+    }
+
+    /**
+     * Gets the key in the baseline of a benchmark with the specified parameters
+     *
+     * @param params the parameters of the benchmark
+     * @return the key
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String getKey(@NotNull BenchmarkParams params) {
+        StringJoiner key = new StringJoiner(",", params.getBenchmark() + "[", "]");
+
+        for (String paramKey : params.getParamsKeys()) {
+            key.add(paramKey + "=" + params.getParam(paramKey));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Reads the baseline from the specified file, which is empty if the file doesn't exist
+     *
+     * @param file the file to read
+     * @return the baseline
+     * @throws IOException when reading the file fails
+     * @since 0.1.0
+     */
+    @NotNull
+    private static Properties read(@NotNull Path file) throws IOException {
+        Properties properties = new Properties();
+
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+
+        return properties;
+    }
+}
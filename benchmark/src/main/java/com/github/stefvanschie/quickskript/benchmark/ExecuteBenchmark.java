@@ -0,0 +1,52 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks executing a typical trigger, both interpreted and compiled to bytecode.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteBenchmark {
+
+    /**
+     * Whether the trigger is compiled to bytecode
+     */
+    @Param({"false", "true"})
+    public boolean sectionCompilation;
+
+    /**
+     * The parsed trigger
+     */
+    private PsiBaseSection section;
+
+    @Setup
+    public void setUp() {
+        SkriptLoader skriptLoader = new StandaloneSkriptLoader();
+        FileSkript skript = FileSkript.load("trigger", SampleSkripts.TRIGGER);
+
+        skriptLoader.setSectionCompilationEnabled(sectionCompilation);
+
+        section = new PsiBaseSection(skriptLoader, skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+    }
+
+    @Benchmark
+    public Object execute() {
+        return section.execute(null);
+    }
+}
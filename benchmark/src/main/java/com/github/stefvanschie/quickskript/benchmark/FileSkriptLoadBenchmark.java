@@ -0,0 +1,42 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading large skripts into nodes.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileSkriptLoadBenchmark {
+
+    /**
+     * The amount of times the sample skripts are repeated in the generated skript
+     */
+    @Param({"100", "1000"})
+    public int copies;
+
+    /**
+     * The lines of the generated skript
+     */
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        lines = SampleSkripts.generate(copies);
+    }
+
+    @Benchmark
+    public FileSkript load() {
+        return FileSkript.load("generated", lines);
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.util.registry.ItemTypeRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating the item type registry, which parses the patterns of all default item types.
+ *
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemTypeRegistryBenchmark {
+
+    @Benchmark
+    public ItemTypeRegistry create() {
+        return new ItemTypeRegistry();
+    }
+}
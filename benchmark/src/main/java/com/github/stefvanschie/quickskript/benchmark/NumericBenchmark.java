@@ -0,0 +1,55 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks executing numeric expressions through the primitive execution paths compared to executing them boxed.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericBenchmark {
+
+    /**
+     * The expression to execute, which is never pre computed since it depends on a random number
+     */
+    @Param({
+        "random number between 1 and 10 + 1",
+        "sqrt(random number between 1 and 100) * 2 + floor(random number between 1 and 10) / 4",
+        "round(random number between 1 and 100) ^ 2 - abs(random number between -10 and 10)"
+    })
+    public String expression;
+
+    /**
+     * The parsed expression
+     */
+    private PsiElement<?> element;
+
+    @Setup
+    public void setUp() {
+        SkriptLoader skriptLoader = new StandaloneSkriptLoader();
+
+        element = Objects.requireNonNull(skriptLoader.tryParseElement(expression, 1));
+    }
+
+    @Benchmark
+    public double executeDouble() {
+        return element.executeDouble(null);
+    }
+
+    @Benchmark
+    public Number executeBoxed() {
+        return element.execute(null, Number.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing single lines into elements, using the lines of the sample skripts.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseElementBenchmark {
+
+    /**
+     * The skript loader to parse with
+     */
+    private SkriptLoader skriptLoader;
+
+    /**
+     * The lines to parse
+     */
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        skriptLoader = new StandaloneSkriptLoader();
+        lines = SampleSkripts.elementLines();
+    }
+
+    @Benchmark
+    public void tryParseElement(Blackhole blackhole) {
+        for (String line : lines) {
+            PsiElement<?> element = skriptLoader.tryParseElement(line, 1);
+
+            blackhole.consume(element);
+        }
+    }
+}
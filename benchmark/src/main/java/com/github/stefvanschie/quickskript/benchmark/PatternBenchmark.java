@@ -0,0 +1,128 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
+import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing skript patterns and matching text against them. The patterns are taken from the elements, so
+ * they contain the constructs used in practice: optional and choice groups, types and regexes.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    /**
+     * The pattern to benchmark, together with text it matches
+     */
+    @Param({
+        "MESSAGE",
+        "IS",
+        "ADDITION",
+        "SUBSTRING"
+    })
+    public Sample sample;
+
+    /**
+     * Whether patterns are matched by their compiled matcher
+     */
+    @Param({"true", "false"})
+    public boolean compiledMatching;
+
+    /**
+     * The parsed pattern
+     */
+    private SkriptPattern pattern;
+
+    @Setup
+    public void setUp() {
+        SkriptPattern.setCompiledMatching(compiledMatching);
+
+        pattern = SkriptPattern.parse(sample.pattern);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SkriptPattern.setCompiledMatching(true);
+    }
+
+    @Benchmark
+    public SkriptPattern parse() {
+        return SkriptPattern.parse(sample.pattern);
+    }
+
+    @Benchmark
+    public List<SkriptMatchResult> match() {
+        return pattern.match(sample.matchingInput);
+    }
+
+    @Benchmark
+    public List<SkriptMatchResult> matchFailing() {
+        return pattern.match(sample.failingInput);
+    }
+
+    /**
+     * A pattern of an element, with text that matches it and text that doesn't
+     *
+     * @since 0.1.0
+     */
+    public enum Sample {
+
+        /**
+         * The pattern of the message effect
+         */
+        MESSAGE("(message|send [message[s]]) %texts% [to %players/console%]",
+            "message \"Hello\" to the console", "broadcast \"Hello\" to the console"),
+
+        /**
+         * The pattern of the is condition
+         */
+        IS("%objects% (is|are|=) [(equal to|the same as)] %objects%", "{_x} is equal to 5", "{_x} contains 5"),
+
+        /**
+         * The pattern of the addition expression
+         */
+        ADDITION("%number%[ ]+[ ]%number%", "1 + random number between 1 and 10", "1 - 2"),
+
+        /**
+         * The pattern of the substring expression
+         */
+        SUBSTRING("[the] (part|sub[ ](text|string)) of %texts% (between|from) (ind(ex|ices)|character[s]) %number% " +
+            "[(and|to) (index|character)] %number%", "the substring of \"Hello\" from index 1 to index 3",
+            "the first 3 characters of \"Hello\"");
+
+        /**
+         * The text of the pattern
+         */
+        @NotNull
+        private final String pattern;
+
+        /**
+         * Text which matches the pattern
+         */
+        @NotNull
+        private final String matchingInput;
+
+        /**
+         * Text which doesn't match the pattern
+         */
+        @NotNull
+        private final String failingInput;
+
+        Sample(@NotNull String pattern, @NotNull String matchingInput, @NotNull String failingInput) {
+            this.pattern = pattern;
+            this.matchingInput = matchingInput;
+            this.failingInput = failingInput;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.stefvanschie.quickskript.benchmark;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileLine;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileNode;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Provides the skripts the benchmarks work on. These are the sample skripts of the core tests, which are copied into
+ * this module when it's built, and skripts which are generated from them.
+ *
+ * @since 0.1.0
+ */
+final class SampleSkripts {
+
+    /**
+     * The names of the sample skript files, since the files of a resource directory can't be listed once they're
+     * packaged
+     */
+    @NotNull
+    private static final String[] FILE_NAMES = {
+        "Basic-sections.sk",
+        "Dynamic-indentation.sk",
+        "Simple-with-comments.sk"
+    };
+
+    /**
+     * A trigger which only consists of elements that are executed every time, as found in typical skripts
+     */
+    @NotNull
+    static final List<String> TRIGGER = List.of(
+        "on test:",
+        "    if random number between 1 and 10 is 5:",
+        "        exit",
+        "    if 2 * random integer between 1 and 10 + 1 is 5:",
+        "        exit",
+        "    if sqrt(random number between 1 and 100) is 3:",
+        "        exit",
+        "    if round(random number between 1 and 100) / 4 is 3:",
+        "        exit",
+        "    if \"hello world\" starts with \"hello\":",
+        "        exit 1 section"
+    );
+
+    private SampleSkripts() {}
+
+    /**
+     * Loads all sample skripts
+     *
+     * @return the sample skripts
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static Collection<FileSkript> load() {
+        List<FileSkript> skripts = new ArrayList<>(FILE_NAMES.length);
+
+        for (String fileName : FILE_NAMES) {
+            skripts.add(FileSkript.load(fileName.substring(0, fileName.length() - 3), readLines(fileName)));
+        }
+
+        return skripts;
+    }
+
+    /**
+     * Gets the text of every line of the sample skripts which is parsed into an element, so without the lines which
+     * start sections
+     *
+     * @return the lines
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static List<String> elementLines() {
+        List<String> lines = new ArrayList<>();
+
+        for (FileSkript skript : load()) {
+            for (SkriptFileNode node : skript.getNodes()) {
+                addElementLines(node, lines);
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Generates a skript with the specified amount of entry points, each of which is a copy of the entry points of the
+     * sample skripts
+     *
+     * @param copies the amount of times the sample entry points are repeated
+     * @return the lines of the skript
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static List<String> generate(int copies) {
+        List<String> sampleLines = new ArrayList<>();
+
+        for (String fileName : FILE_NAMES) {
+            sampleLines.addAll(readLines(fileName));
+            sampleLines.add("");
+        }
+
+        sampleLines.addAll(TRIGGER);
+        sampleLines.add("");
+
+        List<String> lines = new ArrayList<>(sampleLines.size() * copies);
+
+        for (int copy = 0; copy < copies; copy++) {
+            lines.addAll(sampleLines);
+        }
+
+        return lines;
+    }
+
+    /**
+     * Adds the text of the specified node to the lines if it's a line, or the text of its nested lines if it's a
+     * section
+     *
+     * @param node the node
+     * @param lines the lines to add to
+     * @since 0.1.0
+     */
+    private static void addElementLines(@NotNull SkriptFileNode node, @NotNull List<String> lines) {
+        if (node instanceof SkriptFileSection) {
+            for (SkriptFileNode nestedNode : ((SkriptFileSection) node).getNodes()) {
+                addElementLines(nestedNode, lines);
+            }
+        } else if (node instanceof SkriptFileLine) {
+            lines.add(node.getText());
+        }
+    }
+
+    /**
+     * Reads the lines of the sample skript file with the specified name
+     *
+     * @param fileName the name of the file
+     * @return the lines of the file
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static List<String> readLines(@NotNull String fileName) {
+        InputStream inputStream = SampleSkripts.class.getClassLoader()
+            .getResourceAsStream("sample-skript-files/" + fileName);
+
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(Objects.requireNonNull(inputStream), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
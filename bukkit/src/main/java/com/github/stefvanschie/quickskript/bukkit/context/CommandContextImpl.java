@@ -1,10 +1,14 @@
 package com.github.stefvanschie.quickskript.bukkit.context;
 
 import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
 
 /**
  * A command context to indicate this code is being ran from a command and to provide information about said command.
@@ -14,16 +18,28 @@ import org.jetbrains.annotations.NotNull;
 public class CommandContextImpl implements ContextImpl, CommandContext {
 
     /**
-     * The skript that is executing this code
+     * The contexts which are reused for executing commands
      */
     @NotNull
-    private final Skript skript;
+    private static final ContextPool<CommandContextImpl> POOL = new ContextPool<>(CommandContextImpl::new);
 
     /**
-     * The executor of the command
+     * The skript that is executing this code, or null if this context is in the pool
+     */
+    @Nullable
+    private Skript skript;
+
+    /**
+     * The executor of the command, or null if this context is in the pool
+     */
+    @Nullable
+    private CommandSender sender;
+
+    /**
+     * The frame which stores the state of this execution
      */
     @NotNull
-    private final CommandSender sender;
+    private final ExecutionFrame frame = new ExecutionFrame();
 
     /**
      * Constructs a new command context.
@@ -37,17 +53,63 @@ public class CommandContextImpl implements ContextImpl, CommandContext {
         this.sender = sender;
     }
 
+    /**
+     * Constructs a new, empty command context for the pool
+     *
+     * @since 0.1.0
+     */
+    private CommandContextImpl() {}
+
+    /**
+     * Takes a command context from the pool of the current thread. The context has to be released with
+     * {@link #release()} once the execution has ended, after which it may no longer be used.
+     *
+     * @param skript the skript file the context belongs to
+     * @param sender the executor of the command
+     * @return the command context
+     * @since 0.1.0
+     */
+    @NotNull
+    public static CommandContextImpl acquire(@NotNull Skript skript, @NotNull CommandSender sender) {
+        CommandContextImpl context = POOL.acquire();
+
+        context.skript = skript;
+        context.sender = sender;
+
+        return context;
+    }
+
+    /**
+     * Puts this context, which was taken from the pool with {@link #acquire(Skript, CommandSender)}, back into the
+     * pool
+     *
+     * @since 0.1.0
+     */
+    public void release() {
+        skript = null;
+        sender = null;
+
+        POOL.release(this);
+    }
+
     @NotNull
     @Contract(pure = true)
     @Override
     public CommandSender getCommandSender() {
-        return sender;
+        return Objects.requireNonNull(sender, "Command context was used after it was released");
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Skript getSkript() {
-        return skript;
+        return Objects.requireNonNull(skript, "Command context was used after it was released");
+    }
+
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public ExecutionFrame getFrame() {
+        return frame;
     }
 }
@@ -0,0 +1,110 @@
+package com.github.stefvanschie.quickskript.bukkit.context;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A pool of mutable contexts, so dispatching an event or a command doesn't have to allocate a new context every time.
+ * Every thread has its own stack of contexts: a context is taken from the stack when an execution starts and is put
+ * back when it ends. Executions which start while another one is running on the same thread, for example because a
+ * skript caused another event to fire, take the next context on the stack, so they never share a context.
+ *
+ * A context may only be used until it's released, after which it's cleared and handed out again.
+ *
+ * @param <T> the type of context
+ * @since 0.1.0
+ */
+public final class ContextPool<T extends Context> {
+
+    /**
+     * The function which creates new, empty contexts when the stack of a thread runs out of them
+     */
+    @NotNull
+    private final Supplier<T> factory;
+
+    /**
+     * The stack of contexts of every thread
+     */
+    @NotNull
+    private final ThreadLocal<Stack> stacks = ThreadLocal.withInitial(Stack::new);
+
+    /**
+     * Creates a new, empty context pool
+     *
+     * @param factory the function which creates new, empty contexts
+     * @since 0.1.0
+     */
+    public ContextPool(@NotNull Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Takes a context from the stack of the current thread. The context has to be released by the same thread, once
+     * the execution it's used for has ended.
+     *
+     * @return the context
+     * @since 0.1.0
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        Stack stack = stacks.get();
+
+        if (stack.depth == stack.contexts.length) {
+            stack.contexts = Arrays.copyOf(stack.contexts, stack.contexts.length * 2);
+        }
+
+        Context context = stack.contexts[stack.depth];
+
+        if (context == null) {
+            context = factory.get();
+            stack.contexts[stack.depth] = context;
+        }
+
+        stack.depth++;
+
+        return (T) context;
+    }
+
+    /**
+     * Puts the specified context back on the stack of the current thread, after clearing its execution frame. Contexts
+     * have to be released in the reverse order of acquiring them.
+     *
+     * @param context the context, which was the last one acquired on this thread
+     * @throws IllegalStateException if the context isn't the last one acquired on this thread
+     * @since 0.1.0
+     */
+    public void release(@NotNull T context) {
+        Stack stack = stacks.get();
+
+        if (stack.depth == 0 || stack.contexts[stack.depth - 1] != context) {
+            throw new IllegalStateException("Contexts have to be released by the thread which acquired them, in the " +
+                "reverse order of acquiring them");
+        }
+
+        context.getFrame().clear();
+        stack.depth--;
+    }
+
+    /**
+     * The contexts of a single thread
+     *
+     * @since 0.1.0
+     */
+    private static final class Stack {
+
+        /**
+         * The contexts, of which the ones below {@link #depth} are in use. Entries are created on demand.
+         */
+        @NotNull
+        private Context[] contexts = new Context[4];
+
+        /**
+         * The amount of contexts in use
+         */
+        private int depth;
+    }
+}
@@ -1,18 +1,17 @@
 package com.github.stefvanschie.quickskript.bukkit.context;
 
 import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
 import org.bukkit.event.Event;
-import org.bukkit.event.block.BlockCanBuildEvent;
-import org.bukkit.event.block.BlockDamageEvent;
-import org.bukkit.event.entity.EntityEvent;
-import org.bukkit.event.player.PlayerEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
+
 /**
  * An event context to indicate the code is being ran from an event.
  *
@@ -21,16 +20,28 @@ import org.jetbrains.annotations.NotNull;
 public class EventContextImpl implements ContextImpl, EventContext {
 
     /**
-     * The skript that is executing this code
+     * The contexts which are reused for dispatching events
      */
     @NotNull
-    private final Skript skript;
+    private static final ContextPool<EventContextImpl> POOL = new ContextPool<>(EventContextImpl::new);
+
+    /**
+     * The skript that is executing this code, or null if this context is in the pool
+     */
+    @Nullable
+    private Skript skript;
+
+    /**
+     * The event that was being executed, or null if this context is in the pool
+     */
+    @Nullable
+    private Event event;
 
     /**
-     * The event that was being executed
+     * The frame which stores the state of this execution
      */
     @NotNull
-    private final Event event;
+    private final ExecutionFrame frame = new ExecutionFrame();
 
     /**
      * Constructs a new event context
@@ -44,6 +55,44 @@ public class EventContextImpl implements ContextImpl, EventContext {
         this.event = event;
     }
 
+    /**
+     * Constructs a new, empty event context for the pool
+     *
+     * @since 0.1.0
+     */
+    private EventContextImpl() {}
+
+    /**
+     * Takes an event context from the pool of the current thread. The context has to be released with
+     * {@link #release()} once the execution has ended, after which it may no longer be used.
+     *
+     * @param skript the skript file the context belongs to
+     * @param event the event that was executed
+     * @return the event context
+     * @since 0.1.0
+     */
+    @NotNull
+    public static EventContextImpl acquire(@NotNull Skript skript, @NotNull Event event) {
+        EventContextImpl context = POOL.acquire();
+
+        context.skript = skript;
+        context.event = event;
+
+        return context;
+    }
+
+    /**
+     * Puts this context, which was taken from the pool with {@link #acquire(Skript, Event)}, back into the pool
+     *
+     * @since 0.1.0
+     */
+    public void release() {
+        skript = null;
+        event = null;
+
+        POOL.release(this);
+    }
+
     /**
      * Gets the {@link #event}
      *
@@ -52,39 +101,27 @@ public class EventContextImpl implements ContextImpl, EventContext {
      */
     @NotNull
     public Event getEvent() {
-        return event;
+        return Objects.requireNonNull(event, "Event context was used after it was released");
     }
 
     @Nullable
     @Contract(pure = true)
     @Override
     public CommandSender getCommandSender() {
-        if (getEvent() instanceof PlayerEvent) {
-            return ((PlayerEvent) getEvent()).getPlayer();
-        }
-
-        if (getEvent() instanceof EntityEvent) {
-            return ((EntityEvent) getEvent()).getEntity();
-        }
-
-        if (getEvent() instanceof BlockDamageEvent) {
-            return ((BlockDamageEvent) getEvent()).getPlayer();
-        }
-
-        if (getEvent() instanceof BlockCanBuildEvent) {
-            return ((BlockCanBuildEvent) getEvent()).getPlayer();
-        }
-
-        //TODO there are still missing events, eg. VehicleEnterEvent
-        //TODO is the right value returned? eg. AreaEffectCloudApplyEvent returns the cloud entity, not the affected entities
-        //TODO reflection-based approach maybe? and eg. prioritize player instances over other entities
-        return null;
+        return SenderResolverRegistry.resolve(getEvent());
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Skript getSkript() {
-        return skript;
+        return Objects.requireNonNull(skript, "Event context was used after it was released");
+    }
+
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public ExecutionFrame getFrame() {
+        return frame;
     }
 }
@@ -1,6 +1,7 @@
 package com.github.stefvanschie.quickskript.bukkit.context;
 
 import com.github.stefvanschie.quickskript.core.context.ExecuteContext;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Contract;
@@ -26,6 +27,12 @@ public class ExecuteContextImpl implements ContextImpl, ExecuteContext {
     @Nullable
     private final CommandSender executor;
 
+    /**
+     * The frame which stores the state of this execution
+     */
+    @NotNull
+    private final ExecutionFrame frame = new ExecutionFrame();
+
     /**
      * Constructs a new execute context
      *
@@ -51,4 +58,11 @@ public class ExecuteContextImpl implements ContextImpl, ExecuteContext {
     public CommandSender getCommandSender() {
         return executor;
     }
+
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public ExecutionFrame getFrame() {
+        return frame;
+    }
 }
@@ -0,0 +1,241 @@
+package com.github.stefvanschie.quickskript.bukkit.context;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockCanBuildEvent;
+import org.bukkit.event.block.BlockDamageEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryInteractEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.vehicle.VehicleEnterEvent;
+import org.bukkit.event.vehicle.VehicleExitEvent;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Finds the command sender of events: the player or entity the event is about. For every class of event, a resolver
+ * is looked up once and cached, after which getting the command sender of an event is a single call.
+ *
+ * A resolver is found by looking for a registered resolver for the class of the event or the closest of its super
+ * classes. If there is none, the public getters of the event which return a command sender are used instead, where
+ * players are preferred over other humans, humans over other entities and entities over other command senders.
+ *
+ * @since 0.1.0
+ */
+public final class SenderResolverRegistry {
+
+    /**
+     * The resolver of events which don't have a command sender
+     */
+    @NotNull
+    private static final Function<Event, CommandSender> NO_SENDER = event -> null;
+
+    /**
+     * The resolvers which were registered explicitly, by the class of event they're for
+     */
+    @NotNull
+    private static final Map<Class<? extends Event>, Function<Event, CommandSender>> REGISTERED_RESOLVERS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * The resolved resolver for every class of event, see {@link #findResolver(Class)}. This is replaced by an empty
+     * cache whenever a resolver is registered.
+     */
+    @NotNull
+    private static volatile ClassValue<Function<Event, CommandSender>> resolvers = createCache();
+
+    static {
+        //TODO is the right value returned? eg. AreaEffectCloudApplyEvent returns the cloud entity, not the affected entities
+        register(PlayerEvent.class, PlayerEvent::getPlayer);
+        register(EntityEvent.class, EntityEvent::getEntity);
+        register(BlockDamageEvent.class, BlockDamageEvent::getPlayer);
+        register(BlockCanBuildEvent.class, BlockCanBuildEvent::getPlayer);
+        register(InventoryInteractEvent.class, InventoryInteractEvent::getWhoClicked);
+        register(InventoryOpenEvent.class, InventoryOpenEvent::getPlayer);
+        register(InventoryCloseEvent.class, InventoryCloseEvent::getPlayer);
+        register(VehicleEnterEvent.class, VehicleEnterEvent::getEntered);
+        register(VehicleExitEvent.class, VehicleExitEvent::getExited);
+    }
+
+    /**
+     * A utility class shouldn't be instantiated
+     */
+    private SenderResolverRegistry() {}
+
+    /**
+     * Registers the resolver for the specified class of event and its subclasses, unless a resolver is registered for
+     * a more specific class
+     *
+     * @param eventClass the class of event
+     * @param resolver the function which gets the command sender of an event, which may return null
+     * @param <T> the type of event
+     * @since 0.1.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Event> void register(@NotNull Class<T> eventClass,
+        @NotNull Function<? super T, ? extends CommandSender> resolver) {
+        REGISTERED_RESOLVERS.put(eventClass, (Function<Event, CommandSender>) resolver);
+        resolvers = createCache();
+    }
+
+    /**
+     * Gets the resolver for the specified class of event. This should be called when a listener for the class of event
+     * is registered, so the resolver doesn't have to be found while the event is being handled.
+     *
+     * @param eventClass the class of event
+     * @return the function which gets the command sender of an event of that class, which may return null
+     * @since 0.1.0
+     */
+    @NotNull
+    public static Function<Event, CommandSender> getResolver(@NotNull Class<? extends Event> eventClass) {
+        return resolvers.get(eventClass);
+    }
+
+    /**
+     * Gets the command sender of the specified event
+     *
+     * @param event the event
+     * @return the command sender, or null if the event doesn't have one
+     * @since 0.1.0
+     */
+    @Nullable
+    public static CommandSender resolve(@NotNull Event event) {
+        return resolvers.get(event.getClass()).apply(event);
+    }
+
+    /**
+     * Creates an empty cache of resolvers
+     *
+     * @return the cache
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static ClassValue<Function<Event, CommandSender>> createCache() {
+        return new ClassValue<>() {
+            @Override
+            protected Function<Event, CommandSender> computeValue(Class<?> eventClass) {
+                return findResolver(eventClass);
+            }
+        };
+    }
+
+    /**
+     * Finds the resolver for the specified class of event: the resolver registered for the class or the closest of its
+     * super classes, or otherwise the best getter of the class
+     *
+     * @param eventClass the class of event
+     * @return the resolver
+     * @since 0.1.0
+     */
+    @NotNull
+    private static Function<Event, CommandSender> findResolver(@NotNull Class<?> eventClass) {
+        for (Class<?> clazz = eventClass; clazz != null; clazz = clazz.getSuperclass()) {
+            Function<Event, CommandSender> resolver = REGISTERED_RESOLVERS.get(clazz);
+
+            if (resolver != null) {
+                return resolver;
+            }
+        }
+
+        Method getter = findGetter(eventClass);
+
+        if (getter == null) {
+            return NO_SENDER;
+        }
+
+        MethodHandle handle;
+
+        try {
+            handle = MethodHandles.publicLookup().unreflect(getter)
+                .asType(MethodType.methodType(CommandSender.class, Event.class));
+        } catch (IllegalAccessException e) {
+            return NO_SENDER;
+        }
+
+        return event -> {
+            try {
+                return (CommandSender) handle.invokeExact(event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Unable to get the command sender of an event", throwable);
+            }
+        };
+    }
+
+    /**
+     * Finds the public getter of the specified class which returns the most specific kind of command sender. Getters
+     * named getPlayer are preferred over other getters with the same kind of command sender; the remaining ties are
+     * broken by name, so the same getter is found every time.
+     *
+     * @param eventClass the class of event
+     * @return the getter, or null if the class has no getter which returns a command sender
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private static Method findGetter(@NotNull Class<?> eventClass) {
+        if (!Modifier.isPublic(eventClass.getModifiers())) {
+            return null;
+        }
+
+        Method bestGetter = null;
+        Comparator<Method> comparator = Comparator.<Method>comparingInt(method -> getRank(method.getReturnType()))
+            .thenComparing(method -> method.getName().equals("getPlayer"))
+            .thenComparing(Method::getName, Comparator.reverseOrder());
+
+        for (Method method : eventClass.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers()) || method.isBridge() ||
+                !method.getName().startsWith("get") || !CommandSender.class.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+
+            if (bestGetter == null || comparator.compare(method, bestGetter) > 0) {
+                bestGetter = method;
+            }
+        }
+
+        return bestGetter;
+    }
+
+    /**
+     * Gets how specific the specified kind of command sender is; higher is more specific
+     *
+     * @param type the kind of command sender
+     * @return the rank
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static int getRank(@NotNull Class<?> type) {
+        if (Player.class.isAssignableFrom(type)) {
+            return 3;
+        }
+
+        if (HumanEntity.class.isAssignableFrom(type)) {
+            return 2;
+        }
+
+        if (Entity.class.isAssignableFrom(type)) {
+            return 1;
+        }
+
+        return 0;
+    }
+}
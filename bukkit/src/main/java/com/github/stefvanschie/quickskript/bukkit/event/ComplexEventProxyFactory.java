@@ -1,5 +1,6 @@
 package com.github.stefvanschie.quickskript.bukkit.event;
 
+import com.github.stefvanschie.quickskript.bukkit.context.SenderResolverRegistry;
 import com.github.stefvanschie.quickskript.bukkit.plugin.QuickSkript;
 import com.github.stefvanschie.quickskript.bukkit.skript.SkriptEventExecutor;
 import com.github.stefvanschie.quickskript.bukkit.util.Platform;
@@ -7,10 +8,12 @@ import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
 import org.bukkit.plugin.EventExecutor;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -20,30 +23,37 @@ import java.util.regex.Pattern;
 /**
  * A factory which is capable of registering complex event handlers.
  * A handler is considered complex if it shouldn't always gets called when the Bukkit event fires.
+ * Filters which are indexed by a {@link Key} are grouped by the values they match, so an event is only tested against
+ * the filters which can match it.
  *
  * @since 0.1.0
  */
 public class ComplexEventProxyFactory extends EventProxyFactory {
 
     /**
-     * The storage of registered event handlers.
+     * The storage of registered event handlers, in the order they were registered. Changes are made while holding the
+     * lock of this factory, after which the dispatcher of the event is rebuilt.
      */
     @NotNull
-    private final Map<Class<? extends Event>, List<Map.Entry<SkriptEventExecutor,
-            Predicate<Event>>>> REGISTERED_HANDLERS = new HashMap<>();
+    private final Map<Class<? extends Event>, List<Handler>> REGISTERED_HANDLERS = new HashMap<>();
+
+    /**
+     * The dispatchers of every event which has handlers registered. Dispatchers are immutable and replaced as a whole
+     * when the handlers change, so events can be handled while handlers are replaced.
+     */
+    @NotNull
+    private final Map<Class<? extends Event>, Dispatcher> DISPATCHERS = new ConcurrentHashMap<>();
 
     /**
      * The executor which handles the execution of all event handlers in the storage.
      */
     @NotNull
     private final EventExecutor HANDLER_EXECUTOR = (listener, event) -> {
-        List<Map.Entry<SkriptEventExecutor, Predicate<Event>>> handlers = REGISTERED_HANDLERS.get(event.getClass());
+        Dispatcher dispatcher = DISPATCHERS.get(event.getClass());
 
         //yes this can be null, thank Bukkit for that
-        if (handlers != null) {
-            handlers.stream()
-                    .filter(handler -> handler.getValue().test(event))
-                    .forEach(handler -> handler.getKey().execute(event));
+        if (dispatcher != null) {
+            dispatcher.dispatch(event);
         }
     };
 
@@ -54,7 +64,8 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
     private final List<EventPattern> eventPatterns = new ArrayList<>();
 
     @Override
-    public boolean tryRegister(@NotNull String text, @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier) {
+    public synchronized boolean tryRegister(@NotNull String text,
+            @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier) {
         for (EventPattern eventPattern : eventPatterns) {
             Matcher matcher = eventPattern.getMatcher(text);
 
@@ -62,24 +73,77 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
                 continue;
             }
 
-            if (eventPattern.getEvent() == null) {
-                QuickSkript.getInstance().getLogger().warning(
-                        "The event '" + matcher.group() + "' is not available on your platform."
-                );
+            Class<? extends Event> eventClass = eventPattern.getEvent();
+
+            //unavailable events are reported when the event is compiled
+            if (eventClass == null) {
                 continue;
             }
 
-            REGISTERED_HANDLERS.computeIfAbsent(eventPattern.getEvent(), event -> {
+            List<Handler> handlers = REGISTERED_HANDLERS.computeIfAbsent(eventClass, event -> {
                 Bukkit.getPluginManager().registerEvent(event, EMPTY_LISTENER,
                         EventPriority.NORMAL, HANDLER_EXECUTOR, QuickSkript.getInstance());
+                //resolve the command sender of the event now, instead of when the event is first fired
+                SenderResolverRegistry.getResolver(event);
                 return new ArrayList<>();
-            }).add(Map.entry(toRegisterSupplier.get(), Objects.requireNonNull(eventPattern.getFilterCreator()).apply(matcher)));
+            });
+
+            handlers.add(new Handler(toRegisterSupplier.get(),
+                Objects.requireNonNull(eventPattern.getFilterCreator()).apply(matcher)));
+            DISPATCHERS.put(eventClass, new Dispatcher(handlers));
             return true;
         }
 
         return false;
     }
 
+    @Override
+    public boolean canRegister(@NotNull String text) {
+        return eventPatterns.stream().anyMatch(eventPattern ->
+            eventPattern.getEvent() != null && eventPattern.getMatcher(text).matches());
+    }
+
+    @Override
+    public boolean isUnavailable(@NotNull String text) {
+        return eventPatterns.stream().anyMatch(eventPattern ->
+            eventPattern.getEvent() == null && eventPattern.getMatcher(text).matches());
+    }
+
+    @Override
+    public synchronized boolean replace(@NotNull SkriptEventExecutor previous,
+            @NotNull SkriptEventExecutor replacement) {
+        for (Map.Entry<Class<? extends Event>, List<Handler>> entry : REGISTERED_HANDLERS.entrySet()) {
+            List<Handler> handlers = entry.getValue();
+
+            for (int index = 0; index < handlers.size(); index++) {
+                Handler handler = handlers.get(index);
+
+                if (handler.executor == previous) {
+                    //the filter only depends on the event text, which is the same for both handlers
+                    handlers.set(index, new Handler(replacement, handler.filter));
+                    DISPATCHERS.put(entry.getKey(), new Dispatcher(handlers));
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized boolean unregister(@NotNull SkriptEventExecutor handler) {
+        for (Map.Entry<Class<? extends Event>, List<Handler>> entry : REGISTERED_HANDLERS.entrySet()) {
+            List<Handler> handlers = entry.getValue();
+
+            if (handlers.removeIf(registered -> registered.executor == handler)) {
+                DISPATCHERS.put(entry.getKey(), new Dispatcher(handlers));
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Maps the specified regex to the specified Bukkit event.
      *
@@ -94,7 +158,25 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
     @NotNull
     public <T extends Event> ComplexEventProxyFactory registerEvent(@NotNull Class<T> event, @NotNull String regex,
             @NotNull Function<Matcher, Predicate<T>> filterCreator) {
-        eventPatterns.add(new EventPattern(event, regex, (Function<Matcher, Predicate<Event>>) (Object) filterCreator));
+        return registerFilteredEvent(event, regex, matcher -> Filter.of(filterCreator.apply(matcher)));
+    }
+
+    /**
+     * Maps the specified regex to the specified Bukkit event, with a filter which may be indexed by a {@link Key}, so
+     * it's only tested for the events with a matching key.
+     *
+     * @param event the event to register
+     * @param regex the pattern of the event in Skript source
+     * @param filterCreator the {@link Function} which creates a {@link Filter}
+     * based on the {@link Matcher} created by the specified regex and the Skript source
+     * @param <T> the event that was registered
+     * @return itself for chaining
+     * @since 0.1.0
+     */
+    @NotNull
+    public <T extends Event> ComplexEventProxyFactory registerFilteredEvent(@NotNull Class<T> event,
+            @NotNull String regex, @NotNull Function<Matcher, Filter<T>> filterCreator) {
+        eventPatterns.add(new EventPattern(event, regex, (Function<Matcher, Filter<Event>>) (Object) filterCreator));
         return this;
     }
 
@@ -119,8 +201,11 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
         }
 
         try {
+            Function<Matcher, Predicate<Event>> predicateCreator =
+                (Function<Matcher, Predicate<Event>>) (Object) filterCreator;
+
             eventPatterns.add(new EventPattern((Class<? extends Event>) Class.forName(eventName), regex,
-                    (Function<Matcher, Predicate<Event>>) (Object) filterCreator));
+                    matcher -> Filter.of(predicateCreator.apply(matcher))));
         } catch (ClassNotFoundException exception) {
             exception.printStackTrace();
         }
@@ -148,10 +233,10 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
          * This is null when {@link #event} is null.
          */
         @Nullable
-        private final Function<Matcher, Predicate<Event>> filterCreator;
+        private final Function<Matcher, Filter<Event>> filterCreator;
 
         EventPattern(@Nullable Class<? extends Event> event, @NotNull String regex,
-                @Nullable Function<Matcher, Predicate<Event>> filterCreator) {
+                @Nullable Function<Matcher, Filter<Event>> filterCreator) {
             this.event = event;
             pattern = Pattern.compile(regex);
             this.filterCreator = filterCreator;
@@ -169,8 +254,344 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
         }
 
         @Nullable
-        Function<Matcher, Predicate<Event>> getFilterCreator() {
+        Function<Matcher, Filter<Event>> getFilterCreator() {
             return filterCreator;
         }
     }
+
+    /**
+     * A property of an event which filters can be indexed by, such as the type of entity or the clicked material.
+     * Filters are indexed by the same key if they use the same instance, so a key should be created once for every
+     * property.
+     *
+     * @param <T> the type of event
+     * @param <K> the type of the property
+     * @since 0.1.0
+     */
+    public static final class Key<T extends Event, K> {
+
+        /**
+         * The function which gets the property of an event
+         */
+        @NotNull
+        private final Function<? super T, ? extends K> extractor;
+
+        /**
+         * Creates a new key
+         *
+         * @param extractor the function which gets the property of an event, which may return null
+         * @since 0.1.0
+         */
+        public Key(@NotNull Function<? super T, ? extends K> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Decides whether a handler should be executed for an event. A filter may be indexed by a {@link Key}, in which
+     * case it only matches events whose property is one of the specified values; the predicate is then only tested
+     * for those events.
+     *
+     * @param <T> the type of event
+     * @since 0.1.0
+     */
+    public static final class Filter<T extends Event> {
+
+        /**
+         * The key this filter is indexed by, or null if this filter isn't indexed
+         */
+        @Nullable
+        private final Key<T, ?> key;
+
+        /**
+         * The values of the key this filter matches, or null if this filter isn't indexed
+         */
+        @Nullable
+        private final Set<?> values;
+
+        /**
+         * The predicate an event has to match
+         */
+        @NotNull
+        private final Predicate<T> predicate;
+
+        /**
+         * Creates a new filter
+         *
+         * @param key the key this filter is indexed by, or null if this filter isn't indexed
+         * @param values the values of the key this filter matches, or null if this filter isn't indexed
+         * @param predicate the predicate an event has to match
+         * @since 0.1.0
+         */
+        private Filter(@Nullable Key<T, ?> key, @Nullable Set<?> values, @NotNull Predicate<T> predicate) {
+            this.key = key;
+            this.values = values;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Creates a filter which isn't indexed, so its predicate is tested for every event
+         *
+         * @param predicate the predicate an event has to match
+         * @param <T> the type of event
+         * @return the filter
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static <T extends Event> Filter<T> of(@NotNull Predicate<T> predicate) {
+            return new Filter<>(null, null, predicate);
+        }
+
+        /**
+         * Creates a filter which only matches events whose property is one of the specified values
+         *
+         * @param key the property
+         * @param values the values of the property to match
+         * @param <T> the type of event
+         * @param <K> the type of the property
+         * @return the filter
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static <T extends Event, K> Filter<T> keyed(@NotNull Key<T, K> key,
+            @NotNull Collection<? extends K> values) {
+            return keyed(key, values, event -> true);
+        }
+
+        /**
+         * Creates a filter which only matches events whose property is one of the specified values and which match
+         * the specified predicate. The predicate is only tested for events with a matching property.
+         *
+         * @param key the property
+         * @param values the values of the property to match
+         * @param predicate the predicate an event has to match
+         * @param <T> the type of event
+         * @param <K> the type of the property
+         * @return the filter
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static <T extends Event, K> Filter<T> keyed(@NotNull Key<T, K> key,
+            @NotNull Collection<? extends K> values, @NotNull Predicate<T> predicate) {
+            return new Filter<>(key, new HashSet<>(values), predicate);
+        }
+    }
+
+    /**
+     * A registered event handler with the filter it was registered with
+     *
+     * @since 0.1.0
+     */
+    private static final class Handler {
+
+        /**
+         * The handler
+         */
+        @NotNull
+        private final SkriptEventExecutor executor;
+
+        /**
+         * The filter of the handler
+         */
+        @NotNull
+        private final Filter<Event> filter;
+
+        /**
+         * Creates a new registered handler
+         *
+         * @param executor the handler
+         * @param filter the filter of the handler
+         * @since 0.1.0
+         */
+        private Handler(@NotNull SkriptEventExecutor executor, @NotNull Filter<Event> filter) {
+            this.executor = executor;
+            this.filter = filter;
+        }
+
+        /**
+         * Executes the handler if the event matches its predicate
+         *
+         * @param event the event
+         * @since 0.1.0
+         */
+        private void handle(@NotNull Event event) {
+            if (filter.predicate.test(event)) {
+                executor.execute(event);
+            }
+        }
+    }
+
+    /**
+     * An immutable table of the handlers of a single event class. Handlers with an indexed filter are grouped by the
+     * values of their key, so dispatching an event only extracts every key once and looks up the handlers which match
+     * it, instead of testing the filter of every handler. Matching handlers are still executed in the order they were
+     * registered in.
+     *
+     * @since 0.1.0
+     */
+    private static final class Dispatcher {
+
+        /**
+         * The handlers whose filter isn't indexed, which are tested for every event
+         */
+        @NotNull
+        private final HandlerGroup unindexedHandlers;
+
+        /**
+         * The keys the filters of the other handlers are indexed by
+         */
+        @NotNull
+        private final Key<Event, ?>[] keys;
+
+        /**
+         * The handlers by the values of their key, at the same index as their key
+         */
+        @NotNull
+        private final Map<Object, HandlerGroup>[] indexedHandlers;
+
+        /**
+         * Creates a new dispatcher for the specified handlers
+         *
+         * @param handlers the handlers, in the order they were registered
+         * @since 0.1.0
+         */
+        @SuppressWarnings("unchecked")
+        private Dispatcher(@NotNull List<Handler> handlers) {
+            List<Integer> unindexedPositions = new ArrayList<>();
+            Map<Key<Event, ?>, Map<Object, List<Integer>>> indexes = new LinkedHashMap<>();
+
+            for (int position = 0; position < handlers.size(); position++) {
+                Filter<Event> filter = handlers.get(position).filter;
+
+                if (filter.key == null || filter.values == null) {
+                    unindexedPositions.add(position);
+                    continue;
+                }
+
+                Map<Object, List<Integer>> index = indexes.computeIfAbsent(filter.key, key -> new HashMap<>());
+
+                for (Object value : filter.values) {
+                    index.computeIfAbsent(value, key -> new ArrayList<>()).add(position);
+                }
+            }
+
+            this.unindexedHandlers = new HandlerGroup(handlers, unindexedPositions);
+            keys = indexes.keySet().toArray(new Key[0]);
+            indexedHandlers = new Map[keys.length];
+
+            for (int index = 0; index < keys.length; index++) {
+                Map<Object, HandlerGroup> handlersByValue = new HashMap<>();
+
+                indexes.get(keys[index]).forEach((value, positions) ->
+                    handlersByValue.put(value, new HandlerGroup(handlers, positions)));
+                indexedHandlers[index] = handlersByValue;
+            }
+        }
+
+        /**
+         * Executes every handler whose filter matches the specified event, in the order they were registered in. If
+         * the matching handlers come from multiple groups, the groups are merged by the registration position.
+         *
+         * @param event the event
+         * @since 0.1.0
+         */
+        private void dispatch(@NotNull Event event) {
+            HandlerGroup first = unindexedHandlers.handlers.length == 0 ? null : unindexedHandlers;
+            HandlerGroup[] groups = null;
+            int groupCount = first == null ? 0 : 1;
+
+            for (int index = 0; index < keys.length; index++) {
+                HandlerGroup group = indexedHandlers[index].get(keys[index].extractor.apply(event));
+
+                if (group == null) {
+                    continue;
+                }
+
+                if (groupCount == 0) {
+                    first = group;
+                } else {
+                    if (groups == null) {
+                        groups = new HandlerGroup[keys.length + 1];
+                        groups[0] = first;
+                    }
+
+                    groups[groupCount] = group;
+                }
+
+                groupCount++;
+            }
+
+            if (groups == null) {
+                if (first != null) {
+                    for (Handler handler : first.handlers) {
+                        handler.handle(event);
+                    }
+                }
+
+                return;
+            }
+
+            int[] cursors = new int[groupCount];
+
+            while (true) {
+                int nextGroup = -1;
+                int nextPosition = Integer.MAX_VALUE;
+
+                for (int group = 0; group < groupCount; group++) {
+                    int cursor = cursors[group];
+
+                    if (cursor < groups[group].positions.length && groups[group].positions[cursor] < nextPosition) {
+                        nextGroup = group;
+                        nextPosition = groups[group].positions[cursor];
+                    }
+                }
+
+                if (nextGroup == -1) {
+                    return;
+                }
+
+                groups[nextGroup].handlers[cursors[nextGroup]++].handle(event);
+            }
+        }
+    }
+
+    /**
+     * Handlers together with the positions they were registered at, in ascending order
+     *
+     * @since 0.1.0
+     */
+    private static final class HandlerGroup {
+
+        /**
+         * The handlers
+         */
+        @NotNull
+        private final Handler[] handlers;
+
+        /**
+         * The registration position of every handler, at the same index as the handler
+         */
+        @NotNull
+        private final int[] positions;
+
+        /**
+         * Creates a new group of the handlers at the specified positions
+         *
+         * @param handlers all registered handlers, in the order they were registered
+         * @param positions the positions of the handlers in this group, in ascending order
+         * @since 0.1.0
+         */
+        private HandlerGroup(@NotNull List<Handler> handlers, @NotNull List<Integer> positions) {
+            this.handlers = new Handler[positions.size()];
+            this.positions = new int[positions.size()];
+
+            for (int index = 0; index < this.handlers.length; index++) {
+                this.positions[index] = positions.get(index);
+                this.handlers[index] = handlers.get(this.positions[index]);
+            }
+        }
+    }
 }
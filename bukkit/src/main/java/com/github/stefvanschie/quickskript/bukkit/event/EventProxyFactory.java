@@ -26,4 +26,45 @@ public abstract class EventProxyFactory {
      * @since 0.1.0
      */
     public abstract boolean tryRegister(@NotNull String text, @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier);
+
+    /**
+     * Checks whether {@link #tryRegister(String, Supplier)} would register a handler for the given text, without
+     * registering anything. This can be used to find out whether an event has to be parsed at all.
+     *
+     * @param text the text to be parsed
+     * @return whether a registration would take place
+     * @since 0.1.0
+     */
+    public abstract boolean canRegister(@NotNull String text);
+
+    /**
+     * Checks whether the given text matches an event of this factory which isn't available on the current platform, so
+     * {@link #tryRegister(String, Supplier)} can't register a handler for it.
+     *
+     * @param text the text to be parsed
+     * @return whether the text matches an unavailable event
+     * @since 0.1.0
+     */
+    public abstract boolean isUnavailable(@NotNull String text);
+
+    /**
+     * Puts the specified handler in place of the specified registered handler, without registering anything with
+     * Bukkit. The replacement will be executed for exactly the same events as the previous handler.
+     *
+     * @param previous the registered handler
+     * @param replacement the handler to put in its place
+     * @return whether the previous handler was registered with this factory and has been replaced
+     * @since 0.1.0
+     */
+    public abstract boolean replace(@NotNull SkriptEventExecutor previous, @NotNull SkriptEventExecutor replacement);
+
+    /**
+     * Unregisters the specified handler, so it will no longer be executed. The Bukkit listener stays registered, even
+     * if no handlers are left for it.
+     *
+     * @param handler the handler to unregister
+     * @return whether the handler was registered with this factory and has been unregistered
+     * @since 0.1.0
+     */
+    public abstract boolean unregister(@NotNull SkriptEventExecutor handler);
 }
@@ -1,5 +1,6 @@
 package com.github.stefvanschie.quickskript.bukkit.event;
 
+import com.github.stefvanschie.quickskript.bukkit.context.SenderResolverRegistry;
 import com.github.stefvanschie.quickskript.bukkit.plugin.QuickSkript;
 import com.github.stefvanschie.quickskript.bukkit.skript.SkriptEventExecutor;
 import com.github.stefvanschie.quickskript.bukkit.util.Platform;
@@ -23,51 +24,27 @@ import java.util.regex.Pattern;
 public class SimpleEventProxyFactory extends EventProxyFactory {
 
     /**
-     * The storage of registered event handlers.
+     * The storage of registered event handlers. Changes are made while holding the lock of this factory, after which
+     * the dispatch table is replaced.
      */
     @NotNull
     private final Map<Class<? extends Event>, List<SkriptEventExecutor>> REGISTERED_HANDLERS = new HashMap<>();
 
+    /**
+     * The handlers to execute for every class of event which has been fired, see {@link #createDispatchTable()}. This
+     * is replaced by an empty table whenever the handlers change, so the handlers are looked up again.
+     */
+    @NotNull
+    private volatile ClassValue<SkriptEventExecutor[]> dispatchTable = createDispatchTable();
+
     /**
      * The executor which handles the execution of all event handlers in the storage.
      */
     @NotNull
     private final EventExecutor HANDLER_EXECUTOR = (listener, event) -> {
-        /*
-        Paper has a custom implementation of the PaperServerListPingEvent which will be returned in here, so we need to
-        accommodate for that.
-         */
-        if (event.getClass().getCanonicalName()
-            .equals("com.destroystokyo.paper.network.StandardPaperServerListPingEventImpl")) {
-            for (Map.Entry<Class<? extends Event>, List<SkriptEventExecutor>> entry : REGISTERED_HANDLERS.entrySet()) {
-                if (!entry.getKey().getCanonicalName()
-                    .equals("com.destroystokyo.paper.event.server.PaperServerListPingEvent")) {
-                    continue;
-                }
-
-                entry.getValue().forEach(handler -> handler.execute(event));
-                break;
-            }
+        for (SkriptEventExecutor handler : dispatchTable.get(event.getClass())) {
+            handler.execute(event);
         }
-
-        /*
-        Bukkit on the other hand may register multiple events to the same handler, causing issues. This ensures that
-        every type and parent of an event is properly called.
-         */
-
-        Class<?> clazz = event.getClass();
-
-        do {
-            List<SkriptEventExecutor> handlers = REGISTERED_HANDLERS.get(clazz);
-
-            if (handlers != null) {
-                handlers.forEach(handler -> handler.execute(event));
-            }
-
-            clazz = clazz.getSuperclass();
-        } while (clazz != null);
-
-        //Which other surprises will be found in the event system? Find out the next time this file gets changed.
     };
 
     /**
@@ -77,7 +54,8 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
     private final List<Map.Entry<Class<? extends Event>, Pattern>> eventPatterns = new ArrayList<>();
 
     @Override
-    public boolean tryRegister(@NotNull String text, @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier) {
+    public synchronized boolean tryRegister(@NotNull String text,
+            @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier) {
         for (Map.Entry<Class<? extends Event>, Pattern> eventPattern : eventPatterns) {
             Matcher matcher = eventPattern.getValue().matcher(text);
 
@@ -85,24 +63,133 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
                 continue;
             }
 
+            //unavailable events are reported when the event is compiled
             if (eventPattern.getKey() == null) {
-                QuickSkript.getInstance().getLogger().warning(
-                    "The event '" + matcher.group() + "' is not available on your platform."
-                );
                 continue;
             }
 
             REGISTERED_HANDLERS.computeIfAbsent(eventPattern.getKey(), event -> {
                 Bukkit.getPluginManager().registerEvent(event, EMPTY_LISTENER,
                         EventPriority.NORMAL, HANDLER_EXECUTOR, QuickSkript.getInstance());
+                //resolve the command sender of the event now, instead of when the event is first fired
+                SenderResolverRegistry.getResolver(event);
                 return new ArrayList<>();
             }).add(toRegisterSupplier.get());
+            dispatchTable = createDispatchTable();
             return true;
         }
 
         return false;
     }
 
+    @Override
+    public boolean canRegister(@NotNull String text) {
+        return eventPatterns.stream().anyMatch(eventPattern ->
+            eventPattern.getKey() != null && eventPattern.getValue().matcher(text).matches());
+    }
+
+    @Override
+    public boolean isUnavailable(@NotNull String text) {
+        return eventPatterns.stream().anyMatch(eventPattern ->
+            eventPattern.getKey() == null && eventPattern.getValue().matcher(text).matches());
+    }
+
+    @Override
+    public synchronized boolean replace(@NotNull SkriptEventExecutor previous,
+            @NotNull SkriptEventExecutor replacement) {
+        for (List<SkriptEventExecutor> handlers : REGISTERED_HANDLERS.values()) {
+            int index = handlers.indexOf(previous);
+
+            if (index != -1) {
+                handlers.set(index, replacement);
+                dispatchTable = createDispatchTable();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized boolean unregister(@NotNull SkriptEventExecutor handler) {
+        for (List<SkriptEventExecutor> handlers : REGISTERED_HANDLERS.values()) {
+            if (handlers.remove(handler)) {
+                dispatchTable = createDispatchTable();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates an empty dispatch table for the currently registered handlers. The handlers of a class of event are
+     * resolved the first time an event of that class is fired, after which firing it costs a single lookup.
+     *
+     * @return the dispatch table
+     * @since 0.1.0
+     */
+    @NotNull
+    private ClassValue<SkriptEventExecutor[]> createDispatchTable() {
+        return new ClassValue<>() {
+            @Override
+            protected SkriptEventExecutor[] computeValue(Class<?> eventClass) {
+                synchronized (SimpleEventProxyFactory.this) {
+                    return resolveHandlers(eventClass);
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the handlers which should be executed when an event of the specified class is fired
+     *
+     * @param eventClass the class of the event
+     * @return the handlers
+     * @since 0.1.0
+     */
+    @NotNull
+    private SkriptEventExecutor[] resolveHandlers(@NotNull Class<?> eventClass) {
+        Set<Class<?>> handledClasses = new LinkedHashSet<>();
+
+        /*
+        Paper has a custom implementation of the PaperServerListPingEvent which will be returned in here, so we need to
+        accommodate for that.
+         */
+        if ("com.destroystokyo.paper.network.StandardPaperServerListPingEventImpl"
+            .equals(eventClass.getCanonicalName())) {
+            for (Class<? extends Event> registeredClass : REGISTERED_HANDLERS.keySet()) {
+                if ("com.destroystokyo.paper.event.server.PaperServerListPingEvent"
+                    .equals(registeredClass.getCanonicalName())) {
+                    handledClasses.add(registeredClass);
+                    break;
+                }
+            }
+        }
+
+        /*
+        Bukkit on the other hand may register multiple events to the same handler, causing issues. This ensures that
+        every type and parent of an event is properly called.
+         */
+        for (Class<?> clazz = eventClass; clazz != null; clazz = clazz.getSuperclass()) {
+            handledClasses.add(clazz);
+        }
+
+        //Which other surprises will be found in the event system? Find out the next time this file gets changed.
+
+        List<SkriptEventExecutor> handlers = new ArrayList<>();
+
+        for (Class<?> handledClass : handledClasses) {
+            List<SkriptEventExecutor> classHandlers = REGISTERED_HANDLERS.get(handledClass);
+
+            if (classHandlers != null) {
+                handlers.addAll(classHandlers);
+            }
+        }
+
+        return handlers.toArray(new SkriptEventExecutor[0]);
+    }
+
     /**
      * Maps the specified regex to the specified Bukkit event.
      *
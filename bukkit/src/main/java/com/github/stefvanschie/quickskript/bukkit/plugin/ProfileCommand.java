@@ -0,0 +1,311 @@
+package com.github.stefvanschie.quickskript.bukkit.plugin;
+
+import com.github.stefvanschie.quickskript.bukkit.util.CommandMapWrapper;
+import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.skript.profiler.HistogramSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NoOpSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.ProfilerReport;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * A command that lets {@link CommandSender}s view and export the times measured by the active {@link SkriptProfiler}.
+ * Reports are only created when this command is used, so the profiler can keep running in production.
+ *
+ * Usage:
+ * <ul>
+ *     <li>{@code /qsprofile [top] [amount] [total|mean|p99|calls]}: shows the slowest triggers of every type,</li>
+ *     <li>{@code /qsprofile reset}: removes all measured times and starts a new window,</li>
+ *     <li>{@code /qsprofile stop}: stops measuring, keeping the times of the window for viewing and exporting,</li>
+ *     <li>{@code /qsprofile start}: removes all measured times and starts measuring again,</li>
+ *     <li>{@code /qsprofile dump [csv|json]}: writes all times to a file in the profiles folder.</li>
+ * </ul>
+ */
+public class ProfileCommand implements CommandExecutor {
+
+    /**
+     * The types of context of the entry points which are measured
+     */
+    @NotNull
+    private static final List<Class<? extends Context>> CONTEXT_TYPES = List.of(EventContext.class,
+        CommandContext.class);
+
+    /**
+     * The amount of triggers shown by default
+     */
+    private static final int DEFAULT_AMOUNT = 10;
+
+    /**
+     * The time at which the current window started, in nanoseconds
+     */
+    private long windowStartTime = System.nanoTime();
+
+    /**
+     * The profiler which was active before measuring was stopped, or null if measuring hasn't been stopped
+     */
+    @Nullable
+    private SkriptProfiler<?> stoppedProfiler;
+
+    /**
+     * The report of the window which was stopped, or null if measuring hasn't been stopped
+     */
+    @Nullable
+    private ProfilerReport stoppedReport;
+
+    /**
+     * Creates a new profile command
+     *
+     * @since 0.1.0
+     */
+    private ProfileCommand() {}
+
+    /**
+     * Registers this {@link CommandExecutor} into Bukkit's command system.
+     */
+    public static void register() {
+        var wrapper = new CommandMapWrapper();
+        PluginCommand command = wrapper.create("qsprofile");
+        command.setPermission("quickskript.profile");
+        command.setDescription("Shows and exports the execution times of triggers.");
+        command.setUsage("/<command> [top [amount] [total|mean|p99|calls]|reset|start|stop|dump [csv|json]]");
+        command.setExecutor(new ProfileCommand());
+        wrapper.register(command);
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+            @NotNull String label, @NotNull String[] args) {
+        String subcommand = args.length == 0 ? "top" : args[0].toLowerCase(Locale.ROOT);
+
+        switch (subcommand) {
+            case "top":
+                return showTop(sender, args);
+            case "reset":
+                reset(sender);
+                return true;
+            case "start":
+                start(sender);
+                return true;
+            case "stop":
+                stop(sender);
+                return true;
+            case "dump":
+                return dump(sender, args);
+            default:
+                return showTop(sender, args);
+        }
+    }
+
+    /**
+     * Shows the triggers of every type of context with the highest times
+     *
+     * @param sender the sender to show the triggers to
+     * @param args the arguments of the command
+     * @return true if the arguments were valid, false otherwise
+     * @since 0.1.0
+     */
+    private boolean showTop(@NotNull CommandSender sender, @NotNull String[] args) {
+        int index = args.length > 0 && args[0].equalsIgnoreCase("top") ? 1 : 0;
+        int amount = DEFAULT_AMOUNT;
+        ProfilerReport.Order order = ProfilerReport.Order.TOTAL;
+
+        try {
+            if (index < args.length) {
+                amount = Integer.parseInt(args[index++]);
+            }
+
+            if (index < args.length) {
+                order = ProfilerReport.Order.valueOf(args[index++].toUpperCase(Locale.ROOT));
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        if (index < args.length || amount <= 0) {
+            return false;
+        }
+
+        ProfilerReport report = getReport();
+
+        sender.sendMessage(ChatColor.YELLOW + "Top " + amount + " triggers by " +
+            order.name().toLowerCase(Locale.ROOT) + " over " + ChatColor.WHITE +
+            String.format(Locale.ROOT, "%.1f", report.getWindowTime() / 1e9) + ChatColor.YELLOW + " seconds" +
+            (stoppedProfiler == null ? ":" : " (stopped):"));
+
+        for (Class<? extends Context> contextType : CONTEXT_TYPES) {
+            List<ProfilerReport.Row> rows = report.getTop(order, Integer.MAX_VALUE);
+
+            rows.removeIf(row -> row.getContextType() != contextType);
+
+            if (rows.isEmpty()) {
+                continue;
+            }
+
+            sender.sendMessage(ChatColor.GOLD + rows.get(0).getContextName() + " triggers");
+
+            for (ProfilerReport.Row row : rows.subList(0, Math.min(amount, rows.size()))) {
+                Long p99Time = row.getP99Time();
+
+                sender.sendMessage(ChatColor.WHITE + row.getIdentifier().toString() + ChatColor.GRAY + String.format(
+                    Locale.ROOT, " total %.1f ms, mean %.1f µs, p99 %s, %.2f calls/s",
+                    row.getTotalTime() / 1e6, row.getMeanTime() / 1e3,
+                    p99Time == null ? "n/a" : String.format(Locale.ROOT, "%.1f µs", p99Time / 1e3),
+                    report.getCallRate(row)) + (row.getBudgetExceededCount() == 0 ? "" : ChatColor.RED +
+                    ", " + row.getBudgetExceededCount() + " over budget"));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all measured times and starts a new window
+     *
+     * @param sender the sender which reset the profiler
+     * @since 0.1.0
+     */
+    private void reset(@NotNull CommandSender sender) {
+        if (stoppedProfiler != null) {
+            sender.sendMessage(ChatColor.RED + "Profiling is stopped, use start to start a new window.");
+            return;
+        }
+
+        SkriptProfiler.getActive().reset();
+        windowStartTime = System.nanoTime();
+
+        sender.sendMessage(ChatColor.YELLOW + "Reset the profiler.");
+    }
+
+    /**
+     * Starts measuring again, with a new window
+     *
+     * @param sender the sender which started measuring
+     * @since 0.1.0
+     */
+    private void start(@NotNull CommandSender sender) {
+        SkriptProfiler<?> profiler = stoppedProfiler;
+
+        if (profiler == null) {
+            profiler = SkriptProfiler.getActive();
+
+            if (profiler instanceof NoOpSkriptProfiler) {
+                profiler = new HistogramSkriptProfiler();
+            }
+        }
+
+        profiler.reset();
+        SkriptProfiler.setActive(profiler);
+
+        stoppedProfiler = null;
+        stoppedReport = null;
+        windowStartTime = System.nanoTime();
+
+        sender.sendMessage(ChatColor.YELLOW + "Started profiling.");
+    }
+
+    /**
+     * Stops measuring, keeping the report of the current window
+     *
+     * @param sender the sender which stopped measuring
+     * @since 0.1.0
+     */
+    private void stop(@NotNull CommandSender sender) {
+        if (stoppedProfiler != null) {
+            sender.sendMessage(ChatColor.RED + "Profiling is already stopped.");
+            return;
+        }
+
+        stoppedReport = getReport();
+        stoppedProfiler = SkriptProfiler.getActive();
+        SkriptProfiler.setActive(new NoOpSkriptProfiler());
+
+        sender.sendMessage(ChatColor.YELLOW + "Stopped profiling.");
+    }
+
+    /**
+     * Writes the report of the current window to a file in the profiles folder
+     *
+     * @param sender the sender which requested the file
+     * @param args the arguments of the command
+     * @return true if the arguments were valid, false otherwise
+     * @since 0.1.0
+     */
+    private boolean dump(@NotNull CommandSender sender, @NotNull String[] args) {
+        if (args.length > 2) {
+            return false;
+        }
+
+        String format = args.length == 2 ? args[1].toLowerCase(Locale.ROOT) : "csv";
+
+        if (!format.equals("csv") && !format.equals("json")) {
+            return false;
+        }
+
+        QuickSkript plugin = QuickSkript.getInstance();
+        ProfilerReport report = getReport();
+        File file = new File(new File(plugin.getDataFolder(), "profiles"),
+            "triggers-" + System.currentTimeMillis() + '.' + format);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            String message;
+
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                message = ChatColor.RED + "Unable to create profiles folder.";
+            } else {
+                try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    if (format.equals("csv")) {
+                        report.writeCsv(writer);
+                    } else {
+                        report.writeJson(writer);
+                    }
+
+                    message = ChatColor.YELLOW + "Wrote the profile to " + ChatColor.WHITE + file.getPath();
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Unable to write the profile", e);
+                    message = ChatColor.RED + "Unable to write the profile.";
+                }
+            }
+
+            String finalMessage = message;
+
+            Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(finalMessage));
+        });
+
+        return true;
+    }
+
+    /**
+     * Gets the report of the window which was stopped, or a report of the active profiler if measuring wasn't stopped
+     *
+     * @return the report
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ProfilerReport getReport() {
+        if (stoppedReport != null) {
+            return stoppedReport;
+        }
+
+        return ProfilerReport.create(SkriptProfiler.getActive(), CONTEXT_TYPES, System.nanoTime() - windowStartTime);
+    }
+}
@@ -4,16 +4,23 @@ import com.github.stefvanschie.quickskript.bukkit.integration.money.VaultIntegra
 import com.github.stefvanschie.quickskript.bukkit.integration.region.RegionIntegration;
 import com.github.stefvanschie.quickskript.bukkit.integration.region.WorldGuardIntegration;
 import com.github.stefvanschie.quickskript.bukkit.skript.BukkitSkriptLoader;
+import com.github.stefvanschie.quickskript.bukkit.skript.TriggerScheduler;
 import com.github.stefvanschie.quickskript.bukkit.util.event.ExperienceOrbSpawnEvent;
 import com.github.stefvanschie.quickskript.bukkit.util.event.QuickSkriptPostEnableEvent;
 import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseCache;
 import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.HistogramSkriptProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.NoOpSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NodeProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.WholeSkriptProfiler;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Contract;
@@ -22,7 +29,12 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -48,6 +60,25 @@ public class QuickSkript extends JavaPlugin {
      */
     private RegionIntegration regions;
 
+    /**
+     * The reloader of the loaded skripts, or null if the skripts couldn't be loaded
+     */
+    @Nullable
+    private SkriptReloader skriptReloader;
+
+    /**
+     * The profiler which measures every statement, or null if statements aren't profiled
+     */
+    @Nullable
+    private NodeProfiler nodeProfiler;
+
+    /**
+     * The scheduler which moves triggers between threads, or null if triggers are always executed on the thread their
+     * event was fired on
+     */
+    @Nullable
+    private TriggerScheduler triggerScheduler;
+
     public static void main(String[] args) {
         new QuickSkript().onEnable(); //fake entry point for code analyzers
         throw new AssertionError("Plugins shouldn't be used as entry points!");
@@ -71,6 +102,7 @@ public class QuickSkript extends JavaPlugin {
         saveDefaultConfig();
 
         setProfilerImplementation();
+        createTriggerScheduler();
 
         PluginManager pluginManager = Bukkit.getPluginManager();
 
@@ -94,20 +126,85 @@ public class QuickSkript extends JavaPlugin {
         printIntegrations();
 
         var skriptLoader = new BukkitSkriptLoader();
+        skriptLoader.setSectionCompilationEnabled(getConfig().getBoolean("compile-triggers"));
+        setExecutionBudget(skriptLoader);
+
+        if (getConfig().getBoolean("profile-statements")) {
+            nodeProfiler = new NodeProfiler();
+            skriptLoader.setNodeProfiler(nodeProfiler);
+        }
+
         loadScripts(skriptLoader);
 
         if (getConfig().getBoolean("enable-execute-command")) {
             ExecuteCommand.register(skriptLoader);
         }
 
+        if (getConfig().getBoolean("enable-profile-command")) {
+            ProfileCommand.register();
+        }
+
+        if (skriptReloader != null) {
+            if (getConfig().getBoolean("enable-reload-command")) {
+                ReloadCommand.register(skriptReloader);
+            }
+
+            if (getConfig().getBoolean("watch-skripts")) {
+                try {
+                    skriptReloader.startWatching();
+                } catch (IOException e) {
+                    getLogger().log(Level.SEVERE, "Unable to watch the skripts folder for changes", e);
+                }
+            }
+        }
+
         pluginManager.callEvent(new QuickSkriptPostEnableEvent());
     }
 
     @Override
     public void onDisable() {
+        if (triggerScheduler != null) {
+            triggerScheduler.shutdown();
+            triggerScheduler = null;
+        }
+
+        if (skriptReloader != null) {
+            skriptReloader.close();
+            skriptReloader = null;
+        }
+
+        if (nodeProfiler != null) {
+            writeStatementProfile(nodeProfiler);
+            nodeProfiler = null;
+        }
+
         instance = null;
     }
 
+    /**
+     * Writes the times measured by the specified profiler as collapsed stacks to the profiles folder, so they can be
+     * turned into a flame graph
+     *
+     * @param nodeProfiler the profiler to write the times of
+     * @since 0.1.0
+     */
+    private void writeStatementProfile(@NotNull NodeProfiler nodeProfiler) {
+        File profileFolder = new File(getDataFolder(), "profiles");
+
+        if (!profileFolder.exists() && !profileFolder.mkdirs()) {
+            getLogger().severe("Unable to create profiles folder.");
+            return;
+        }
+
+        File file = new File(profileFolder, "statements-" + System.currentTimeMillis() + ".collapsed");
+
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            nodeProfiler.writeCollapsedStacks(writer);
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "Unable to write the statement profile", e);
+        }
+    }
+
     private void setProfilerImplementation() {
         switch (getConfig().getString("profiler-implementation").toLowerCase()) {
             case "noop":
@@ -119,6 +216,9 @@ public class QuickSkript extends JavaPlugin {
             case "whole":
                 SkriptProfiler.setActive(new WholeSkriptProfiler());
                 break;
+            case "histogram":
+                SkriptProfiler.setActive(new HistogramSkriptProfiler());
+                break;
             default:
                 getLogger().severe("Invalid profiler implementation in config.yml, using default one.");
                 break;
@@ -126,7 +226,87 @@ public class QuickSkript extends JavaPlugin {
     }
 
     /**
-     * Loads all available scripts
+     * Creates the trigger scheduler as configured in the config.yml, unless asynchronous triggers are disabled.
+     *
+     * @since 0.1.0
+     */
+    private void createTriggerScheduler() {
+        ConfigurationSection section = getConfig().getConfigurationSection("async-triggers");
+
+        if (section == null || !section.getBoolean("enabled")) {
+            return;
+        }
+
+        int workerThreads = section.getInt("worker-threads");
+        int queueSize = section.getInt("queue-size");
+        long mainThreadTime = section.getLong("main-thread-time");
+
+        if (workerThreads < 1 || queueSize < 1 || mainThreadTime < 0) {
+            getLogger().severe("Invalid async triggers settings in config.yml, triggers won't be moved between " +
+                "threads.");
+            return;
+        }
+
+        triggerScheduler = new TriggerScheduler(this, workerThreads, queueSize,
+            TimeUnit.MILLISECONDS.toNanos(mainThreadTime));
+    }
+
+    /**
+     * Sets the default execution budget of triggers and the overrides for specific skripts and triggers, as configured
+     * in the config.yml.
+     *
+     * @param skriptLoader the skript loader to set the budgets on
+     * @since 0.1.0
+     */
+    private void setExecutionBudget(@NotNull SkriptLoader skriptLoader) {
+        ConfigurationSection section = getConfig().getConfigurationSection("execution-budget");
+
+        if (section == null) {
+            return;
+        }
+
+        skriptLoader.setExecutionBudget(getExecutionBudget(section));
+
+        ConfigurationSection overrides = section.getConfigurationSection("overrides");
+
+        if (overrides == null) {
+            return;
+        }
+
+        for (String entryPoint : overrides.getKeys(false)) {
+            ConfigurationSection override = overrides.getConfigurationSection(entryPoint);
+
+            if (override == null) {
+                getLogger().severe("Invalid execution budget override for " + entryPoint + " in config.yml.");
+                continue;
+            }
+
+            skriptLoader.setExecutionBudget(entryPoint, getExecutionBudget(override));
+        }
+    }
+
+    /**
+     * Reads an execution budget from the specified section of the config.yml. Missing and negative limits are treated
+     * as unlimited.
+     *
+     * @param section the section containing the time in milliseconds and the amount of steps
+     * @return the execution budget
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ExecutionBudget getExecutionBudget(@NotNull ConfigurationSection section) {
+        long timeLimit = TimeUnit.MILLISECONDS.toNanos(Math.max(section.getLong("time"), 0));
+
+        return new ExecutionBudget(timeLimit, Math.max(section.getLong("steps"), 0));
+    }
+
+    /**
+     * Loads all available scripts. The skripts are read and parsed in parallel on the common fork-join pool, after
+     * which only their commands and events are registered on the main thread. If enabled, the parse outcome of every
+     * skript is cached on disk, so unchanged skripts don't have to be searched through all factories again. A section
+     * which can't be parsed is logged and skipped, while the rest of its skript is still registered. The loaded skripts
+     * are handed to the {@link SkriptReloader}, so they can be reloaded later.
      *
      * @param skriptLoader the skript loader to parse with
      * @since 0.1.0
@@ -138,29 +318,72 @@ public class QuickSkript extends JavaPlugin {
             return;
         }
 
-        List<FileSkript> skripts = Arrays.stream(Objects.requireNonNull(skriptFolder.listFiles()))
+        Path cacheFolder = getConfig().getBoolean("enable-parse-cache")
+            ? getDataFolder().toPath().resolve("cache") : null;
+        //the fingerprint only covers the patterns, so a different plugin version has to invalidate the cache as well
+        String factoryFingerprint = skriptLoader.getFactoryIndex().getFingerprint() + ':' +
+            getDescription().getVersion();
+
+        List<CompiledSkript> skripts = Arrays.stream(Objects.requireNonNull(skriptFolder.listFiles()))
                 .parallel()
                 .filter(file -> file.isFile() && file.getName().endsWith(".sk"))
                 .map(file -> {
                     String skriptName = FileSkript.getName(file);
+                    FileSkript skript;
+
                     try {
-                        return FileSkript.load(skriptName, file);
+                        skript = FileSkript.load(skriptName, file);
                     } catch (IOException e) {
                         getLogger().log(Level.SEVERE, "Unable to load skript named " + skriptName, e);
                         return null;
                     }
+
+                    CompiledSkript compiledSkript = cacheFolder == null
+                        ? skript.compile(skriptLoader)
+                        : compile(skriptLoader, skript, cacheFolder.resolve(skriptName + ".cache"), factoryFingerprint);
+
+                    //the other sections of the skript are still registered
+                    for (ParseException e : compiledSkript.getParseExceptions()) {
+                        getLogger().log(Level.SEVERE, "Error while parsing:" + e.getExtraInfo(skript), e);
+                    }
+
+                    return compiledSkript;
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        for (FileSkript skript : skripts) {
+        skripts.forEach(CompiledSkript::register);
+
+        skriptReloader = new SkriptReloader(this, skriptLoader, skriptFolder);
+        skripts.forEach(skriptReloader::add);
+    }
+
+    /**
+     * Compiles the specified skript with the help of the parse cache stored in the specified file. The cache is
+     * written back if parsing changed it.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @param skript the skript to compile
+     * @param cacheFile the file the parse cache of this skript is stored in
+     * @param factoryFingerprint the fingerprint of the registered factories
+     * @return the compiled skript
+     * @since 0.1.0
+     */
+    @NotNull
+    private CompiledSkript compile(@NotNull SkriptLoader skriptLoader, @NotNull FileSkript skript,
+                                   @NotNull Path cacheFile, @NotNull String factoryFingerprint) {
+        ParseCache parseCache = ParseCache.load(cacheFile, skript.getContentHash(), factoryFingerprint);
+        CompiledSkript compiledSkript = skript.compile(skriptLoader, parseCache);
+
+        if (parseCache.isModified()) {
             try {
-                skript.registerCommands(skriptLoader);
-                skript.registerEventExecutors(skriptLoader);
-            } catch (ParseException e) {
-                getLogger().log(Level.SEVERE, "Error while parsing:" + e.getExtraInfo(skript), e);
+                parseCache.save(cacheFile);
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "Unable to save the parse cache of skript " + skript.getName(), e);
             }
         }
+
+        return compiledSkript;
     }
 
     /**
@@ -178,6 +401,18 @@ public class QuickSkript extends JavaPlugin {
         }
     }
 
+    /**
+     * Gets the scheduler which moves triggers between threads. This is null if asynchronous triggers are disabled.
+     *
+     * @return the trigger scheduler or null if triggers aren't moved between threads
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public TriggerScheduler getTriggerScheduler() {
+        return triggerScheduler;
+    }
+
     /**
      * Gets the integration with vault. This is null if vault is not available.
      *
@@ -0,0 +1,83 @@
+package com.github.stefvanschie.quickskript.bukkit.plugin;
+
+import com.github.stefvanschie.quickskript.bukkit.util.CommandMapWrapper;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+
+/**
+ * A command that lets {@link CommandSender}s reload all changed skripts, or a single skript.
+ */
+public class ReloadCommand implements CommandExecutor {
+
+    /**
+     * The skript reloader
+     */
+    @NotNull
+    private final SkriptReloader skriptReloader;
+
+    /**
+     * Creates a new reload command
+     *
+     * @param skriptReloader the associated skript reloader
+     * @since 0.1.0
+     */
+    private ReloadCommand(@NotNull SkriptReloader skriptReloader) {
+        this.skriptReloader = skriptReloader;
+    }
+
+    /**
+     * Registers this {@link CommandExecutor} into Bukkit's command system.
+     *
+     * @param skriptReloader the skript reloader the command should use
+     * @since 0.1.0
+     */
+    public static void register(@NotNull SkriptReloader skriptReloader) {
+        var wrapper = new CommandMapWrapper();
+        PluginCommand command = wrapper.create("skreload");
+        command.setPermission("quickskript.reload");
+        command.setDescription("Reloads all changed skripts, or only the specified skript.");
+        command.setUsage("/<command> [skript]");
+        command.setExecutor(new ReloadCommand(skriptReloader));
+        wrapper.register(command);
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+        @NotNull String label, @NotNull String[] args) {
+        if (args.length > 1) {
+            return false;
+        }
+
+        CompletableFuture<Integer> reload = args.length == 0
+            ? skriptReloader.reloadAll()
+            : skriptReloader.reload(args[0]);
+
+        reload.whenComplete((count, throwable) -> Bukkit.getScheduler().runTask(QuickSkript.getInstance(), () -> {
+            if (throwable == null) {
+                sender.sendMessage(ChatColor.YELLOW + "Reloaded " + ChatColor.WHITE + count + ChatColor.YELLOW +
+                    (count == 1 ? " skript." : " skripts."));
+                return;
+            }
+
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+
+            if (cause instanceof IllegalArgumentException) {
+                sender.sendMessage(ChatColor.RED + cause.getMessage());
+                return;
+            }
+
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Unable to reload skripts", cause);
+            sender.sendMessage(ChatColor.RED + "Unable to reload skripts, see the console for details.");
+        }));
+        return true;
+    }
+}
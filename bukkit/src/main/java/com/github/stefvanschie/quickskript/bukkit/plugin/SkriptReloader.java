@@ -0,0 +1,302 @@
+package com.github.stefvanschie.quickskript.bukkit.plugin;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+
+/**
+ * Reloads skripts while the server is running. Only skripts whose files changed are loaded again, and of those only
+ * the top-level sections which changed are parsed again, see {@link FileSkript#recompile(SkriptLoader,
+ * CompiledSkript)}. Reloads happen one after another on a separate thread; only putting the recompiled skripts in
+ * place of the registered ones happens on the main thread. Handlers of events which are still present take the place
+ * of the previous handlers, so no Bukkit listeners are registered again.
+ *
+ * @since 0.1.0
+ */
+public class SkriptReloader {
+
+    /**
+     * The time to wait after a file changed before reloading, so multiple changes from a single save are combined
+     */
+    private static final long WATCH_DELAY_MILLIS = 200;
+
+    /**
+     * The plugin to reload for
+     */
+    @NotNull
+    private final QuickSkript plugin;
+
+    /**
+     * The skript loader to parse with
+     */
+    @NotNull
+    private final SkriptLoader skriptLoader;
+
+    /**
+     * The folder the skripts are stored in
+     */
+    @NotNull
+    private final File skriptFolder;
+
+    /**
+     * The registered skripts by their name. This is only modified on the main thread, while the reload thread waits.
+     */
+    @NotNull
+    private final Map<String, CompiledSkript> skripts = new ConcurrentHashMap<>();
+
+    /**
+     * The executor which reloads the skripts on a single thread
+     */
+    @NotNull
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "QuickSkript reloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The service which watches the skript folder, or null if the folder isn't being watched
+     */
+    @Nullable
+    private WatchService watchService;
+
+    /**
+     * Creates a new skript reloader
+     *
+     * @param plugin the plugin to reload for
+     * @param skriptLoader the skript loader to parse with
+     * @param skriptFolder the folder the skripts are stored in
+     * @since 0.1.0
+     */
+    public SkriptReloader(@NotNull QuickSkript plugin, @NotNull SkriptLoader skriptLoader, @NotNull File skriptFolder) {
+        this.plugin = plugin;
+        this.skriptLoader = skriptLoader;
+        this.skriptFolder = skriptFolder;
+    }
+
+    /**
+     * Adds the specified skript, which has been registered when the skripts were loaded
+     *
+     * @param skript the registered skript
+     * @since 0.1.0
+     */
+    public void add(@NotNull CompiledSkript skript) {
+        skripts.put(skript.getSkript().getName(), skript);
+    }
+
+    /**
+     * Reloads all skripts whose file changed, was added or was removed
+     *
+     * @return a future which completes with the amount of reloaded skripts
+     * @since 0.1.0
+     */
+    @NotNull
+    public CompletableFuture<Integer> reloadAll() {
+        return CompletableFuture.supplyAsync(() -> {
+            Set<String> names = new HashSet<>(skripts.keySet());
+
+            for (File file : Objects.requireNonNull(skriptFolder.listFiles())) {
+                if (file.isFile() && file.getName().endsWith(".sk")) {
+                    names.add(FileSkript.getName(file));
+                }
+            }
+
+            return reloadInternal(names);
+        }, executor);
+    }
+
+    /**
+     * Reloads the skript with the specified name if its file changed, was added or was removed. The future fails with
+     * an {@link IllegalArgumentException} if the name contains a path separator, since it would then point at a file
+     * outside of the skript folder.
+     *
+     * @param name the name of the skript
+     * @return a future which completes with the amount of reloaded skripts, which is either zero or one
+     * @since 0.1.0
+     */
+    @NotNull
+    public CompletableFuture<Integer> reload(@NotNull String name) {
+        if (name.indexOf('/') != -1 || name.indexOf('\\') != -1) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid skript name: " + name));
+        }
+
+        return CompletableFuture.supplyAsync(() -> reloadInternal(Set.of(name)), executor);
+    }
+
+    /**
+     * Starts watching the skript folder, reloading skripts as soon as their files change
+     *
+     * @throws IOException if the folder can't be watched
+     * @since 0.1.0
+     */
+    public void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+
+        skriptFolder.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.watchService = watchService;
+
+        Thread thread = new Thread(() -> watch(watchService), "QuickSkript skript watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the skript folder and stops any pending reloads
+     *
+     * @since 0.1.0
+     */
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Unable to stop watching the skripts folder", e);
+            }
+
+            watchService = null;
+        }
+
+        executor.shutdownNow();
+    }
+
+    /**
+     * Waits for changes in the skript folder and reloads the changed skripts, until the specified service is closed
+     *
+     * @param watchService the service to wait for changes with
+     * @since 0.1.0
+     */
+    private void watch(@NotNull WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                Thread.sleep(WATCH_DELAY_MILLIS);
+
+                Set<String> names = new HashSet<>();
+
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        Object context = event.context();
+
+                        if (context instanceof Path && context.toString().endsWith(".sk")) {
+                            names.add(FileSkript.getName(((Path) context).toFile()));
+                        }
+                    }
+
+                    key.reset();
+                } while ((key = watchService.poll()) != null);
+
+                if (!names.isEmpty()) {
+                    CompletableFuture.supplyAsync(() -> reloadInternal(names), executor);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ignored) {
+            //the watcher has been stopped
+        } catch (RejectedExecutionException ignored) {
+            //the reloader has been closed while a change came in
+        }
+    }
+
+    /**
+     * Reloads the skripts with the specified names. This is called on the reload thread and waits for the reloaded
+     * skripts to be put in place on the main thread.
+     *
+     * @param names the names of the skripts to reload
+     * @return the amount of reloaded skripts
+     * @since 0.1.0
+     */
+    private int reloadInternal(@NotNull Collection<String> names) {
+        Map<String, CompiledSkript> reloaded = new HashMap<>();
+        Set<String> removed = new HashSet<>();
+
+        for (String name : names) {
+            File file = new File(skriptFolder, name + ".sk");
+            CompiledSkript previous = skripts.get(name);
+
+            if (!file.isFile()) {
+                if (previous != null) {
+                    removed.add(name);
+                }
+
+                continue;
+            }
+
+            FileSkript skript;
+
+            try {
+                skript = FileSkript.load(name, file);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to load skript named " + name, e);
+                continue;
+            }
+
+            CompiledSkript compiled = previous == null
+                ? skript.compile(skriptLoader)
+                : skript.recompile(skriptLoader, previous);
+
+            if (compiled == previous) {
+                continue;
+            }
+
+            for (ParseException e : compiled.getParseExceptions()) {
+                plugin.getLogger().log(Level.SEVERE, "Error while parsing:" + e.getExtraInfo(skript), e);
+            }
+
+            //the previous version stays registered, instead of losing the sections which can no longer be parsed
+            if (previous == null || compiled.getParseExceptions().isEmpty()) {
+                reloaded.put(name, compiled);
+            }
+        }
+
+        if (reloaded.isEmpty() && removed.isEmpty()) {
+            return 0;
+        }
+
+        Future<?> future = Bukkit.getScheduler().callSyncMethod(plugin, () -> {
+            reloaded.forEach((name, skript) -> {
+                CompiledSkript previous = skripts.put(name, skript);
+
+                if (previous == null) {
+                    skript.register();
+                } else {
+                    skript.replace(previous);
+                }
+            });
+
+            for (String name : removed) {
+                skripts.remove(name).unregister();
+            }
+
+            return null;
+        });
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "Error while replacing reloaded skripts", e.getCause());
+            return 0;
+        }
+
+        return reloaded.size() + removed.size();
+    }
+}
@@ -34,14 +34,15 @@ import com.github.stefvanschie.quickskript.core.psi.function.*;
 import com.github.stefvanschie.quickskript.core.psi.literal.*;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.skript.CompiledUnit;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.util.text.Text;
 import org.apache.commons.lang.StringUtils;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.command.PluginCommand;
 import org.bukkit.entity.Enderman;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Sheep;
 import org.bukkit.entity.Silverfish;
 import org.bukkit.event.block.*;
@@ -64,6 +65,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -77,6 +81,13 @@ import java.util.stream.Collectors;
  */
 public class BukkitSkriptLoader extends SkriptLoader {
 
+    /**
+     * The pattern of an event header which ends with an execution mode, see {@link ExecutionMode}
+     */
+    @NotNull
+    private static final Pattern EXECUTION_MODE_PATTERN = Pattern.compile("(.+?)\\s*\\((sync|async)\\)",
+        Pattern.CASE_INSENSITIVE);
+
     /**
      * A list of all event proxy factories.
      */
@@ -408,24 +419,41 @@ public class BukkitSkriptLoader extends SkriptLoader {
                 .registerEvent(WorldUnloadEvent.class, "(?:on )?world unload(?:ing)?")
         );
 
+        //the properties complex events are indexed by, so a filter is only tested for the events it can match
+        ComplexEventProxyFactory.Key<EntityChangeBlockEvent, EntityType> changingEntityType =
+            new ComplexEventProxyFactory.Key<>(EntityChangeBlockEvent::getEntityType);
+        ComplexEventProxyFactory.Key<PlayerInteractEvent, Action> interactAction =
+            new ComplexEventProxyFactory.Key<>(PlayerInteractEvent::getAction);
+        ComplexEventProxyFactory.Key<PlayerInteractEvent, Material> interactMaterial =
+            new ComplexEventProxyFactory.Key<>(event -> {
+                Block clickedBlock = event.getClickedBlock();
+
+                return clickedBlock == null ? null : clickedBlock.getType();
+            });
+
         registerEvent(new ComplexEventProxyFactory()
-                .registerEvent(EntityChangeBlockEvent.class, "(?:on )?enderman place", matcher -> event ->
-                        event.getEntity() instanceof Enderman && event.getTo() != Material.AIR)
-                .registerEvent(EntityChangeBlockEvent.class, "(?:on )?enderman pickup", matcher -> event ->
-                        event.getEntity() instanceof Enderman && event.getTo() == Material.AIR)
-                .registerEvent(EntityChangeBlockEvent.class, "(?:on )?sheep eat", matcher -> event ->
-                        event.getEntity() instanceof Sheep)
-                .registerEvent(EntityChangeBlockEvent.class, "(?:on )?silverfish enter", matcher -> event ->
-                        event.getEntity() instanceof Silverfish && EnumSet.of(
+                .registerFilteredEvent(EntityChangeBlockEvent.class, "(?:on )?enderman place", matcher ->
+                        ComplexEventProxyFactory.Filter.keyed(changingEntityType, EnumSet.of(EntityType.ENDERMAN),
+                            event -> event.getEntity() instanceof Enderman && event.getTo() != Material.AIR))
+                .registerFilteredEvent(EntityChangeBlockEvent.class, "(?:on )?enderman pickup", matcher ->
+                        ComplexEventProxyFactory.Filter.keyed(changingEntityType, EnumSet.of(EntityType.ENDERMAN),
+                            event -> event.getEntity() instanceof Enderman && event.getTo() == Material.AIR))
+                .registerFilteredEvent(EntityChangeBlockEvent.class, "(?:on )?sheep eat", matcher ->
+                        ComplexEventProxyFactory.Filter.keyed(changingEntityType, EnumSet.of(EntityType.SHEEP),
+                            event -> event.getEntity() instanceof Sheep))
+                .registerFilteredEvent(EntityChangeBlockEvent.class, "(?:on )?silverfish enter", matcher ->
+                        ComplexEventProxyFactory.Filter.keyed(changingEntityType, EnumSet.of(EntityType.SILVERFISH),
+                            event -> event.getEntity() instanceof Silverfish && EnumSet.of(
                                 Material.INFESTED_COBBLESTONE,
                                 Material.INFESTED_STONE,
                                 Material.INFESTED_CHISELED_STONE_BRICKS,
                                 Material.INFESTED_CRACKED_STONE_BRICKS,
                                 Material.INFESTED_MOSSY_STONE_BRICKS,
                                 Material.INFESTED_STONE_BRICKS
-                        ).contains(event.getTo()))
-                .registerEvent(EntityChangeBlockEvent.class, "(?:on )?silverfish exit", matcher -> event ->
-                        event.getEntity() instanceof Silverfish && event.getTo() == Material.AIR)
+                            ).contains(event.getTo())))
+                .registerFilteredEvent(EntityChangeBlockEvent.class, "(?:on )?silverfish exit", matcher ->
+                        ComplexEventProxyFactory.Filter.keyed(changingEntityType, EnumSet.of(EntityType.SILVERFISH),
+                            event -> event.getEntity() instanceof Silverfish && event.getTo() == Material.AIR))
                 .registerEvent(PlayerCommandPreprocessEvent.class, "(?:on )?command \"([\\s\\S]+)\"", matcher -> {
                     String command = matcher.group(1); //TODO the regex of this group is probably incorrect
                     String finalCommand = command.startsWith("/") ? command.substring(1) : command;
@@ -440,35 +468,28 @@ public class BukkitSkriptLoader extends SkriptLoader {
                     return group.equals("sign") || group.equals("signing")
                             ? PlayerEditBookEvent::isSigning : event -> !event.isSigning();
                 })
-                .registerEvent(PlayerInteractEvent.class, "(?:on )?(?:(right|left)(?: |-)?)?(?:mouse(?: |-)?)?click(?:ing)?", matcher -> {
+                .registerFilteredEvent(PlayerInteractEvent.class, "(?:on )?(?:(right|left)(?: |-)?)?(?:mouse(?: |-)?)?click(?:ing)?", matcher -> {
                     //TODO: This expression needs to be completed in the future, since it's missing optional additional parts
                     String clickType = matcher.group(1);
 
                     if (clickType == null) {
-                        return event -> true;
+                        return ComplexEventProxyFactory.Filter.of(event -> true);
                     }
 
                     if (clickType.equals("left")) {
-                        return event -> {
-                            Action action = event.getAction();
-                            return action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK;
-                        };
+                        return ComplexEventProxyFactory.Filter.keyed(interactAction,
+                            EnumSet.of(Action.LEFT_CLICK_AIR, Action.LEFT_CLICK_BLOCK));
                     }
 
                     if (clickType.equals("right")) {
-                        return event -> {
-                            Action action = event.getAction();
-                            return action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK;
-                        };
+                        return ComplexEventProxyFactory.Filter.keyed(interactAction,
+                            EnumSet.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK));
                     }
 
                     throw new AssertionError("Unknown click type detected for event registration");
                 })
-                .registerEvent(PlayerInteractEvent.class, "(?:on )?(?:step(?:ping)? on )?(?:a )?(?:pressure )?plate",
-                    matcher -> event -> {
-                        Block clickedBlock = event.getClickedBlock();
-
-                        return event.getAction() == Action.PHYSICAL && clickedBlock != null && EnumSet.of(
+                .registerFilteredEvent(PlayerInteractEvent.class, "(?:on )?(?:step(?:ping)? on )?(?:a )?(?:pressure )?plate",
+                    matcher -> ComplexEventProxyFactory.Filter.keyed(interactMaterial, EnumSet.of(
                             Material.OAK_PRESSURE_PLATE,
                             Material.SPRUCE_PRESSURE_PLATE,
                             Material.BIRCH_PRESSURE_PLATE,
@@ -478,17 +499,12 @@ public class BukkitSkriptLoader extends SkriptLoader {
                             Material.STONE_PRESSURE_PLATE,
                             Material.HEAVY_WEIGHTED_PRESSURE_PLATE,
                             Material.LIGHT_WEIGHTED_PRESSURE_PLATE
-                        ).contains(clickedBlock.getType());
-                    })
-                .registerEvent(PlayerInteractEvent.class, "(?:on )?(?:trip |(?:step(?:ping)? on )?(?:a )?tripwire)",
-                    matcher -> event -> {
-                        Block clickedBlock = event.getClickedBlock();
-
-                        return event.getAction() == Action.PHYSICAL && clickedBlock != null && EnumSet.of(
+                        ), event -> event.getAction() == Action.PHYSICAL))
+                .registerFilteredEvent(PlayerInteractEvent.class, "(?:on )?(?:trip |(?:step(?:ping)? on )?(?:a )?tripwire)",
+                    matcher -> ComplexEventProxyFactory.Filter.keyed(interactMaterial, EnumSet.of(
                             Material.TRIPWIRE,
                             Material.TRIPWIRE_HOOK
-                        ).contains(clickedBlock.getType());
-                    })
+                        ), event -> event.getAction() == Action.PHYSICAL))
                 .registerEvent(PlayerJoinEvent.class, "(?:on )?first (?:join|login)", matcher -> event ->
                         !event.getPlayer().hasPlayedBefore())
                 .registerEvent(PluginDisableEvent.class, "(?:on )?(server|skript) (stop|unload|disable)",
@@ -496,13 +512,12 @@ public class BukkitSkriptLoader extends SkriptLoader {
         );
     }
 
+    @Nullable
     @SuppressWarnings("HardcodedFileSeparator")
     @Override
-    public void tryRegisterCommand(Skript skript, SkriptFileSection section) {
+    public CompiledUnit tryCompileCommand(@NotNull Skript skript, @NotNull SkriptFileSection section) {
         String commandName = section.getText().substring("command /".length());
 
-        PluginCommand command = commandMapWrapper.create(commandName);
-
         List<SkriptFileLine> lines = section.getNodes().stream()
             .filter(node -> node instanceof SkriptFileLine)
             .map(node -> (SkriptFileLine) node)
@@ -510,33 +525,18 @@ public class BukkitSkriptLoader extends SkriptLoader {
 
         String description = getFileLineValue(lines, "description:",
             "Command " + commandName + " has multiple valid descriptions");
-        if (description != null) {
-            command.setDescription(Text.parse(description).toString());
-        }
 
         String aliases = getFileLineValue(lines, "aliases:",
             "Command " + commandName + " has multiple valid aliases");
-        if (aliases != null) {
-            command.setAliases(Arrays.asList(StringUtils.replace(aliases, " ", "").split(",")));
-        }
 
         String permission = getFileLineValue(lines, "permission:",
             "Command " + commandName + " has multiple valid permissions");
-        if (permission != null) {
-            command.setPermission(Text.parse(permission).toString());
-        }
 
         String permissionMessage = getFileLineValue(lines, "permission message:",
             "Command " + commandName + " has multiple valid permission messages");
-        if (permissionMessage != null) {
-            command.setPermissionMessage(Text.parse(permissionMessage).toString());
-        }
 
         String usage = getFileLineValue(lines, "usage:",
             "Command " + commandName + " has multiple valid usages");
-        if (usage != null) {
-            command.setUsage(Text.parse(usage).toString());
-        }
 
         String rawTarget = getFileLineValue(lines, "usage:",
             "Command " + commandName + " has multiple valid execution targets");
@@ -560,25 +560,41 @@ public class BukkitSkriptLoader extends SkriptLoader {
         if (trigger == null) {
             QuickSkript.getInstance().getLogger().severe("Command " + commandName +
                 " failed to load, because no trigger is set");
-            return;
+            return null;
         }
 
-        command.setExecutor(new SkriptCommandExecutor(this, skript, trigger, target));
+        SkriptCommandExecutor executor = new SkriptCommandExecutor(this, skript, trigger, target);
 
-        commandMapWrapper.register(command);
+        return new CompiledCommand(commandMapWrapper, commandName,
+            description == null ? null : Text.parse(description).toString(),
+            aliases == null ? List.of() : Arrays.asList(StringUtils.replace(aliases, " ", "").split(",")),
+            permission == null ? null : Text.parse(permission).toString(),
+            permissionMessage == null ? null : Text.parse(permissionMessage).toString(),
+            usage == null ? null : Text.parse(usage).toString(), executor);
     }
 
+    @Nullable
     @Override
-    public void tryRegisterEvent(Skript skript, SkriptFileSection section) {
-        String input = section.getText();
-
-        input = input.trim();
-
-        for (EventProxyFactory factory : events) {
-            if (factory.tryRegister(input, () -> new SkriptEventExecutor(this, skript, section))) {
-                return;
+    public CompiledUnit tryCompileEvent(@NotNull Skript skript, @NotNull SkriptFileSection section) {
+        String text = section.getText().trim();
+        Matcher matcher = EXECUTION_MODE_PATTERN.matcher(text);
+        boolean modeGiven = matcher.matches();
+        String event = modeGiven ? matcher.group(1) : text;
+        ExecutionMode executionMode = modeGiven
+            ? Objects.requireNonNull(ExecutionMode.byName(matcher.group(2))) : ExecutionMode.AUTOMATIC;
+
+        //only parse if a factory will actually register it
+        if (events.stream().noneMatch(factory -> factory.canRegister(event))) {
+            if (events.stream().anyMatch(factory -> factory.isUnavailable(event))) {
+                QuickSkript.getInstance().getLogger().warning(
+                    "The event '" + event + "' is not available on your platform."
+                );
             }
+
+            return null;
         }
+
+        return new CompiledEvent(events, event, new SkriptEventExecutor(this, skript, section, executionMode));
     }
 
     /**
@@ -0,0 +1,160 @@
+package com.github.stefvanschie.quickskript.bukkit.skript;
+
+import com.github.stefvanschie.quickskript.bukkit.util.CommandMapWrapper;
+import com.github.stefvanschie.quickskript.core.skript.CompiledUnit;
+import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled skript command, which is registered as a {@link PluginCommand}.
+ *
+ * @since 0.1.0
+ */
+class CompiledCommand implements CompiledUnit {
+
+    /**
+     * The wrapper of the command map to register in
+     */
+    @NotNull
+    private final CommandMapWrapper commandMapWrapper;
+
+    /**
+     * The name of the command
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * The description of the command, or null if it has none
+     */
+    @Nullable
+    private final String description;
+
+    /**
+     * The aliases of the command
+     */
+    @NotNull
+    private final List<String> aliases;
+
+    /**
+     * The permission of the command, or null if it has none
+     */
+    @Nullable
+    private final String permission;
+
+    /**
+     * The message shown to those who lack the permission, or null to use the default message
+     */
+    @Nullable
+    private final String permissionMessage;
+
+    /**
+     * The usage of the command, or null if it has none
+     */
+    @Nullable
+    private final String usage;
+
+    /**
+     * The executor of the command
+     */
+    @NotNull
+    private final SkriptCommandExecutor executor;
+
+    /**
+     * The registered command, or null if this unit isn't registered
+     */
+    @Nullable
+    private PluginCommand command;
+
+    /**
+     * Creates a new compiled command
+     *
+     * @param commandMapWrapper the wrapper of the command map to register in
+     * @param name the name of the command
+     * @param description the description, or null
+     * @param aliases the aliases
+     * @param permission the permission, or null
+     * @param permissionMessage the permission message, or null
+     * @param usage the usage, or null
+     * @param executor the executor of the command
+     * @since 0.1.0
+     */
+    CompiledCommand(@NotNull CommandMapWrapper commandMapWrapper, @NotNull String name, @Nullable String description,
+                    @NotNull List<String> aliases, @Nullable String permission, @Nullable String permissionMessage,
+                    @Nullable String usage, @NotNull SkriptCommandExecutor executor) {
+        this.commandMapWrapper = commandMapWrapper;
+        this.name = name;
+        this.description = description;
+        this.aliases = aliases;
+        this.permission = permission;
+        this.permissionMessage = permissionMessage;
+        this.usage = usage;
+        this.executor = executor;
+    }
+
+    @Override
+    public void register() {
+        command = commandMapWrapper.create(name);
+        command.setAliases(aliases);
+
+        apply(command);
+
+        commandMapWrapper.register(command);
+    }
+
+    @Override
+    public void unregister() {
+        if (command == null) {
+            return;
+        }
+
+        commandMapWrapper.unregister(command);
+        command = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This is possible if the previous unit is a registered command with the same name and aliases, since those are
+     * the only properties the command map knows about. All other properties and the executor are changed on the
+     * existing command.
+     */
+    @Override
+    public boolean replace(@NotNull CompiledUnit previous) {
+        if (!(previous instanceof CompiledCommand)) {
+            return false;
+        }
+
+        CompiledCommand previousCommand = (CompiledCommand) previous;
+
+        if (previousCommand.command == null || !previousCommand.name.equals(name) ||
+            !previousCommand.aliases.equals(aliases)) {
+            return false;
+        }
+
+        command = previousCommand.command;
+        previousCommand.command = null;
+
+        apply(command);
+
+        return true;
+    }
+
+    /**
+     * Sets all properties, except the name and aliases, and the executor of the specified command
+     *
+     * @param command the command to change
+     * @since 0.1.0
+     */
+    private void apply(@NotNull PluginCommand command) {
+        command.setDescription(Objects.requireNonNullElse(description, ""));
+        command.setPermission(permission);
+        command.setPermissionMessage(permissionMessage);
+        command.setUsage(Objects.requireNonNullElse(usage, "/" + name));
+        command.setExecutor(executor);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.stefvanschie.quickskript.bukkit.skript;
+
+import com.github.stefvanschie.quickskript.bukkit.event.EventProxyFactory;
+import com.github.stefvanschie.quickskript.core.skript.CompiledUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A compiled skript event, which is registered with the first {@link EventProxyFactory} that accepts it.
+ *
+ * @since 0.1.0
+ */
+class CompiledEvent implements CompiledUnit {
+
+    /**
+     * The factories to try to register with, in order
+     */
+    @NotNull
+    private final List<EventProxyFactory> factories;
+
+    /**
+     * The text of the event
+     */
+    @NotNull
+    private final String text;
+
+    /**
+     * The executor of the event
+     */
+    @NotNull
+    private final SkriptEventExecutor executor;
+
+    /**
+     * The factory this event is registered with, or null if this unit isn't registered
+     */
+    @Nullable
+    private EventProxyFactory factory;
+
+    /**
+     * Creates a new compiled event
+     *
+     * @param factories the factories to try to register with, in order
+     * @param text the text of the event
+     * @param executor the executor of the event
+     * @since 0.1.0
+     */
+    CompiledEvent(@NotNull List<EventProxyFactory> factories, @NotNull String text,
+                  @NotNull SkriptEventExecutor executor) {
+        this.factories = factories;
+        this.text = text;
+        this.executor = executor;
+    }
+
+    @Override
+    public void register() {
+        for (EventProxyFactory factory : factories) {
+            if (factory.tryRegister(text, () -> executor)) {
+                this.factory = factory;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void unregister() {
+        if (factory == null) {
+            return;
+        }
+
+        factory.unregister(executor);
+        factory = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This is possible if the previous unit is a registered event with the same text, so the executor can take the
+     * place of the previous executor with the factory it's registered with.
+     */
+    @Override
+    public boolean replace(@NotNull CompiledUnit previous) {
+        if (!(previous instanceof CompiledEvent)) {
+            return false;
+        }
+
+        CompiledEvent previousEvent = (CompiledEvent) previous;
+
+        if (previousEvent.factory == null || !previousEvent.text.equals(text) ||
+            !previousEvent.factory.replace(previousEvent.executor, executor)) {
+            return false;
+        }
+
+        factory = previousEvent.factory;
+        previousEvent.factory = null;
+
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.stefvanschie.quickskript.bukkit.skript;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Determines on which thread the trigger of an event is executed. The mode of a trigger can be given by ending the
+ * header of the event with '(sync)' or '(async)', e.g. 'on chat (async):'; triggers without one are
+ * {@link #AUTOMATIC}.
+ *
+ * @since 0.1.0
+ */
+public enum ExecutionMode {
+
+    /**
+     * The trigger is executed on the thread the event was fired on, unless the event was fired off the main thread
+     * and the trigger isn't async safe, in which case it's handed to the main thread. Triggers which change the event
+     * are never handed over, since their changes would no longer have an effect.
+     *
+     * @since 0.1.0
+     */
+    AUTOMATIC,
+
+    /**
+     * The trigger is always executed on the main thread. If the event was fired off the main thread, the trigger is
+     * handed to the main thread, so it can no longer change the outcome of the event.
+     *
+     * @since 0.1.0
+     */
+    SYNCHRONOUS,
+
+    /**
+     * The trigger is never executed on the main thread. If the event was fired on the main thread, the trigger is
+     * handed to a worker thread, so it can no longer change the outcome of the event.
+     *
+     * @since 0.1.0
+     */
+    ASYNCHRONOUS;
+
+    /**
+     * Gets the execution mode with the specified name, as used in the header of an event
+     *
+     * @param name the name, either 'sync' or 'async', in any case
+     * @return the execution mode, or null if there is none with the specified name
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static ExecutionMode byName(@NotNull String name) {
+        switch (name.toLowerCase(Locale.ENGLISH)) {
+            case "sync":
+                return SYNCHRONOUS;
+            case "async":
+                return ASYNCHRONOUS;
+            default:
+                return null;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException
 import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.Optimization;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -56,6 +57,11 @@ public class SkriptCommandExecutor implements CommandExecutor {
         this.skript = skript;
         this.executionTarget = executionTarget;
         elements = new PsiBaseSection(skriptLoader, skript, section, CommandContext.class);
+
+        for (Optimization optimization : elements.getOptimizations()) {
+            QuickSkript.getInstance().getLogger().warning(optimization.getDescription() +
+                optimization.getExtraInfo(skript));
+        }
     }
 
     @Override
@@ -64,11 +70,15 @@ public class SkriptCommandExecutor implements CommandExecutor {
             return false;
         }
 
+        CommandContextImpl context = CommandContextImpl.acquire(skript, sender);
+
         try {
-            elements.execute(new CommandContextImpl(skript, sender));
+            elements.execute(context);
         } catch (ExecutionException e) {
             QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while executing skript:" +
                     e.getExtraInfo(skript), e);
+        } finally {
+            context.release();
         }
         return true;
     }
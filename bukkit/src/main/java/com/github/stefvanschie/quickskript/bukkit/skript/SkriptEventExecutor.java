@@ -8,13 +8,16 @@ import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException
 import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.Optimization;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.logging.Level;
 
 /**
- * Represents an arbitrary skript event handler.
+ * Represents an arbitrary skript event handler. Depending on its {@link ExecutionMode}, the handler is either executed
+ * directly when the event is fired, or handed to the {@link TriggerScheduler} to be executed on another thread.
  *
  * @since 0.1.0
  */
@@ -32,31 +35,110 @@ public class SkriptEventExecutor {
     @NotNull
     private final PsiBaseSection elements;
 
+    /**
+     * Whether the elements may only be executed on the main thread
+     */
+    private final boolean mainThreadOnly;
+
+    /**
+     * Whether the elements may only be executed off the main thread
+     */
+    private final boolean offMainThreadOnly;
+
+    /**
+     * Whether the elements have to be executed on the thread the event is fired on, even though they aren't async
+     * safe, because they change the event
+     */
+    private final boolean changesEventUnsafely;
+
+    /**
+     * Whether a warning has been logged about executing the elements off the main thread, see
+     * {@link #changesEventUnsafely}
+     */
+    private volatile boolean unsafeExecutionWarned;
+
     /**
      * Constructs a new skript event.
      *
+     * @param skriptLoader the skript loader to parse the elements with
      * @param skript the source of this event handler code
      * @param section the file section to load the elements from
+     * @param executionMode the thread the elements should be executed on
      * @since 0.1.0
      */
     SkriptEventExecutor(@NotNull SkriptLoader skriptLoader, @NotNull Skript skript,
-        @NotNull SkriptFileSection section) {
+        @NotNull SkriptFileSection section, @NotNull ExecutionMode executionMode) {
         this.skript = skript;
         elements = new PsiBaseSection(skriptLoader, skript, section, EventContext.class);
+
+        var logger = QuickSkript.getInstance().getLogger();
+
+        for (Optimization optimization : elements.getOptimizations()) {
+            logger.warning(optimization.getDescription() + optimization.getExtraInfo(skript));
+        }
+
+        if (executionMode == ExecutionMode.ASYNCHRONOUS && !elements.isAsyncSafe()) {
+            logger.warning("The event at line " + section.getLineNumber() + " in skript " + skript.getName() +
+                " is executed asynchronously, but uses elements which may only be used on the main thread");
+        }
+
+        //handing the elements to the main thread would silently stop their changes to the event from having an effect
+        changesEventUnsafely = executionMode == ExecutionMode.AUTOMATIC && !elements.isAsyncSafe() &&
+            elements.changesEvent();
+        mainThreadOnly = executionMode == ExecutionMode.SYNCHRONOUS ||
+            (executionMode == ExecutionMode.AUTOMATIC && !elements.isAsyncSafe() && !elements.changesEvent());
+        offMainThreadOnly = executionMode == ExecutionMode.ASYNCHRONOUS;
     }
 
     /**
-     * Executes the contents of this event
+     * Executes the contents of this event. If the contents can't be executed on the thread the event was fired on,
+     * they're handed to the {@link TriggerScheduler} instead, unless asynchronous triggers are disabled.
      *
      * @param event the event being executed
      * @since 0.1.0
      */
     public void execute(@NotNull Event event) {
+        TriggerScheduler scheduler = QuickSkript.getInstance().getTriggerScheduler();
+
+        if (scheduler == null) {
+            executeNow(event);
+        } else if (Bukkit.isPrimaryThread()) {
+            if (offMainThreadOnly) {
+                scheduler.runAsync(() -> executeNow(event));
+            } else {
+                executeNow(event);
+            }
+        } else if (mainThreadOnly) {
+            scheduler.runOnMainThread(() -> executeNow(event));
+        } else {
+            if (changesEventUnsafely && !unsafeExecutionWarned) {
+                unsafeExecutionWarned = true;
+                QuickSkript.getInstance().getLogger().warning("The event at line " + elements.getLineNumber() +
+                    " in skript " + skript.getName() + " changes an event which is fired asynchronously, but uses " +
+                    "elements which may only be used on the main thread; mark it with '(sync)' if the change isn't " +
+                    "needed");
+            }
+
+            executeNow(event);
+        }
+    }
+
+    /**
+     * Executes the contents of this event on the current thread
+     *
+     * @param event the event being executed
+     * @since 0.1.0
+     */
+    private void executeNow(@NotNull Event event) {
+        EventContextImpl context = EventContextImpl.acquire(skript, event);
+
         try {
-            elements.execute(new EventContextImpl(skript, event));
+            elements.execute(context);
         } catch (ExecutionException e) {
             QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while executing:" +
                     e.getExtraInfo(skript), e);
+        } finally {
+            context.release();
         }
     }
 }
@@ -0,0 +1,196 @@
+package com.github.stefvanschie.quickskript.bukkit.skript;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Moves the execution of triggers between threads. Triggers which may not run on the main thread are executed by a
+ * bounded pool of worker threads; when all workers are busy and the queue is full, the thread which handed the trigger
+ * over executes it itself, which slows down the thread firing the events. Since those triggers may never run on the
+ * main thread, the main thread waits for room in the queue instead, for at most a tick, after which the trigger is
+ * dropped so a stalled worker can't freeze the server. Triggers which have to run on the main thread are queued and
+ * executed in batches once per tick, for at most the configured time per tick, so a burst of triggers is spread over
+ * multiple ticks instead of delaying a single one.
+ *
+ * @since 0.1.0
+ */
+public class TriggerScheduler {
+
+    /**
+     * The maximum time in milliseconds the main thread waits for room in the queue of the workers
+     */
+    private static final long QUEUE_TIMEOUT = 50;
+
+    /**
+     * The plugin the tasks of this scheduler belong to
+     */
+    @NotNull
+    private final Plugin plugin;
+
+    /**
+     * The threads which execute the triggers that may not run on the main thread
+     */
+    @NotNull
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * The triggers which are waiting to be executed on the main thread
+     */
+    @NotNull
+    private final Queue<Runnable> mainThreadTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The maximum time in nanoseconds spent on executing queued triggers per tick, or 0 to execute all of them
+     */
+    private final long mainThreadTimeLimit;
+
+    /**
+     * The task which executes the queued triggers every tick
+     */
+    @NotNull
+    private final BukkitTask drainTask;
+
+    /**
+     * Creates and starts a new trigger scheduler
+     *
+     * @param plugin the plugin the tasks of the scheduler belong to
+     * @param workerThreads the amount of worker threads, at least one
+     * @param queueSize the amount of triggers which may wait for a worker thread, at least one
+     * @param mainThreadTimeLimit the maximum time in nanoseconds spent on queued triggers per tick, or 0 for no limit
+     * @since 0.1.0
+     */
+    public TriggerScheduler(@NotNull Plugin plugin, int workerThreads, int queueSize, long mainThreadTimeLimit) {
+        if (workerThreads < 1 || queueSize < 1 || mainThreadTimeLimit < 0) {
+            throw new IllegalArgumentException("Invalid trigger scheduler settings");
+        }
+
+        this.plugin = plugin;
+        this.mainThreadTimeLimit = mainThreadTimeLimit;
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "QuickSkript Worker #" + threadCount.incrementAndGet());
+
+                thread.setDaemon(true);
+                return thread;
+            }, this::reject);
+        drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1, 1);
+    }
+
+    /**
+     * Executes the specified trigger on a worker thread. If all workers are busy and the queue is full, the trigger is
+     * executed on the current thread instead, or if that's the main thread, this waits until the queue has room. If
+     * the queue still has no room after a tick, the trigger is dropped and a warning is logged.
+     *
+     * @param task the trigger to execute
+     * @since 0.1.0
+     */
+    public void runAsync(@NotNull Runnable task) {
+        workers.execute(task);
+    }
+
+    /**
+     * Executes the specified trigger on the main thread during one of the next ticks
+     *
+     * @param task the trigger to execute
+     * @since 0.1.0
+     */
+    public void runOnMainThread(@NotNull Runnable task) {
+        mainThreadTasks.add(task);
+    }
+
+    /**
+     * Stops this scheduler. The worker threads are given a few seconds to finish, after which the triggers which are
+     * still waiting for the main thread are executed. This has to be called on the main thread.
+     *
+     * @since 0.1.0
+     */
+    public void shutdown() {
+        drainTask.cancel();
+        workers.shutdown();
+
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Asynchronous triggers didn't finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Runnable task;
+
+        while ((task = mainThreadTasks.poll()) != null) {
+            run(task);
+        }
+    }
+
+    /**
+     * Handles a trigger for which the workers have no room, see {@link #runAsync(Runnable)}. Triggers handed over
+     * after this scheduler was shut down are discarded.
+     *
+     * @param task the trigger
+     * @param workers the workers which had no room for the trigger
+     * @since 0.1.0
+     */
+    private void reject(@NotNull Runnable task, @NotNull ThreadPoolExecutor workers) {
+        if (workers.isShutdown()) {
+            return;
+        }
+
+        if (!Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+
+        try {
+            if (!workers.getQueue().offer(task, QUEUE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Dropped an asynchronous trigger, because no worker thread became " +
+                    "available in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a worker", e);
+        }
+    }
+
+    /**
+     * Executes the queued triggers until the queue is empty or the time limit of this tick is used up
+     *
+     * @since 0.1.0
+     */
+    private void drain() {
+        long startTime = System.nanoTime();
+        Runnable task;
+
+        while ((task = mainThreadTasks.poll()) != null) {
+            run(task);
+
+            if (mainThreadTimeLimit != 0 && System.nanoTime() - startTime >= mainThreadTimeLimit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Executes the specified queued trigger, so a failing trigger doesn't stop the others in the batch
+     *
+     * @param task the trigger to execute
+     * @since 0.1.0
+     */
+    private void run(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Error while executing a trigger on the main thread", e);
+        }
+    }
+}
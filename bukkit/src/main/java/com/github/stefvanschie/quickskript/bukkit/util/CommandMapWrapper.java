@@ -2,8 +2,10 @@ package com.github.stefvanschie.quickskript.bukkit.util;
 
 import com.github.stefvanschie.quickskript.bukkit.plugin.QuickSkript;
 import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
 import org.bukkit.command.CommandMap;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.command.SimpleCommandMap;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.SimplePluginManager;
 import org.jetbrains.annotations.NotNull;
@@ -11,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -32,6 +35,12 @@ public class CommandMapWrapper {
     @NotNull
     private final CommandMap map;
 
+    /**
+     * The commands known to the {@link CommandMap} by their labels, which is the only way to remove commands from it.
+     */
+    @NotNull
+    private final Map<String, Command> knownCommands;
+
     public CommandMapWrapper() {
         try {
             Constructor<PluginCommand> rawConstructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
@@ -49,6 +58,11 @@ public class CommandMapWrapper {
             commandMapField.setAccessible(true);
             map = (CommandMap) commandMapField.get(Bukkit.getPluginManager());
 
+            Field knownCommandsField = SimpleCommandMap.class.getDeclaredField("knownCommands");
+            knownCommandsField.setAccessible(true);
+            //noinspection unchecked
+            knownCommands = (Map<String, Command>) knownCommandsField.get(map);
+
         } catch (ReflectiveOperationException e) {
             throw new AssertionError("Error while getting the CommandMap:", e);
         }
@@ -61,4 +75,15 @@ public class CommandMapWrapper {
     public void register(PluginCommand command) {
         map.register("quickskript", command);
     }
+
+    /**
+     * Unregisters the specified command, including all its aliases, so it can no longer be executed
+     *
+     * @param command the command to unregister
+     * @since 0.1.0
+     */
+    public void unregister(@NotNull PluginCommand command) {
+        command.unregister(map);
+        knownCommands.values().removeIf(knownCommand -> knownCommand == command);
+    }
 }
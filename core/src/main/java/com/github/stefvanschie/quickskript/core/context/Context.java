@@ -21,4 +21,14 @@ public interface Context {
     @NotNull
     @Contract(pure = true)
     Skript getSkript();
+
+    /**
+     * Gets the frame which stores the state of the execution this context belongs to
+     *
+     * @return the execution frame
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    ExecutionFrame getFrame();
 }
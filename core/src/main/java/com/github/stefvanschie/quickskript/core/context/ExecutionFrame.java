@@ -0,0 +1,233 @@
+package com.github.stefvanschie.quickskript.core.context;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.exception.BudgetExceededException;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The state psi elements need while a single execution is running, such as the element a filter is currently
+ * testing. Psi elements are shared between every execution of their tree, possibly on multiple threads, so they keep
+ * this state in the frame of the execution instead of in their own fields. A frame belongs to a single execution and
+ * should therefore only be used by one thread at a time.
+ *
+ * @since 0.1.0
+ */
+public final class ExecutionFrame {
+
+    /**
+     * The frame for executions without a context, per thread
+     */
+    @NotNull
+    private static final ThreadLocal<ExecutionFrame> CONTEXTLESS_FRAME = ThreadLocal.withInitial(ExecutionFrame::new);
+
+    /**
+     * The maximum amount of steps which are taken between two checks of the time budget, since reading the clock is
+     * more expensive than counting
+     */
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    /**
+     * The values stored by psi elements, by the element that stored them
+     */
+    @NotNull
+    private final Map<PsiElement<?>, Object> values = new IdentityHashMap<>();
+
+    /**
+     * The values stored in slots, or null if no value has been stored in a slot yet
+     */
+    @Nullable
+    private Map<Slot, Object> slotValues;
+
+    /**
+     * The budget of the running execution, or null if the execution has no budget
+     */
+    @Nullable
+    private ExecutionBudget budget;
+
+    /**
+     * The time at which the budget was started, in nanoseconds
+     */
+    private long budgetStartTime;
+
+    /**
+     * The amount of steps which can still be taken before the budget has to be checked again
+     */
+    private long budgetCountdown;
+
+    /**
+     * The amount of steps which can be taken after the countdown has run out, before the step budget is exceeded
+     */
+    private long budgetRemainingSteps;
+
+    /**
+     * Gets the frame of the execution with the specified context. Executions without a context use a frame which is
+     * shared by all of those executions on the current thread.
+     *
+     * @param context the context of the execution, or null
+     * @return the frame
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ExecutionFrame of(@Nullable Context context) {
+        return context == null ? CONTEXTLESS_FRAME.get() : context.getFrame();
+    }
+
+    /**
+     * Gets the value the specified element stored
+     *
+     * @param element the element which stored the value
+     * @return the value, or null if the element hasn't stored a value
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Object get(@NotNull PsiElement<?> element) {
+        return values.get(element);
+    }
+
+    /**
+     * Stores a value for the specified element. Storing null removes the value.
+     *
+     * @param element the element to store the value for
+     * @param value the value to store, or null
+     * @return the value that was stored before, or null if there was none
+     * @since 0.1.0
+     */
+    @Nullable
+    public Object set(@NotNull PsiElement<?> element, @Nullable Object value) {
+        if (value == null) {
+            return values.remove(element);
+        }
+
+        return values.put(element, value);
+    }
+
+    /**
+     * Gets the value stored in the specified slot
+     *
+     * @param slot the slot
+     * @return the value, or null if no value has been stored in the slot
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Object get(@NotNull Slot slot) {
+        return slotValues == null ? null : slotValues.get(slot);
+    }
+
+    /**
+     * Stores a value in the specified slot
+     *
+     * @param slot the slot to store the value in
+     * @param value the value to store
+     * @since 0.1.0
+     */
+    public void set(@NotNull Slot slot, @NotNull Object value) {
+        if (slotValues == null) {
+            slotValues = new IdentityHashMap<>();
+        }
+
+        slotValues.put(slot, value);
+    }
+
+    /**
+     * Starts tracking the specified budget for the running execution. If a budget is already being tracked, for example
+     * because the entry point was invoked from within another one, the outer budget stays in effect and this returns
+     * false; only the caller which received true should end the budget.
+     *
+     * @param budget the budget of the execution
+     * @return true if the budget was started, false if another budget was already being tracked
+     * @since 0.1.0
+     */
+    public boolean startBudget(@NotNull ExecutionBudget budget) {
+        if (this.budget != null) {
+            return false;
+        }
+
+        long steps = budget.getStepLimit() == 0 ? Long.MAX_VALUE : budget.getStepLimit();
+
+        this.budget = budget;
+        budgetStartTime = System.nanoTime();
+        budgetCountdown = Math.min(steps, TIME_CHECK_INTERVAL);
+        budgetRemainingSteps = steps - budgetCountdown;
+
+        return true;
+    }
+
+    /**
+     * Takes a step and checks whether the budget of the running execution is exceeded. The amount of steps is counted
+     * on every call, while the time is only read once every {@link #TIME_CHECK_INTERVAL} steps. This does nothing if
+     * no budget is being tracked.
+     *
+     * @param lineNumber the line number of the section taking the step
+     * @throws BudgetExceededException if the budget is exceeded
+     * @since 0.1.0
+     */
+    public void checkBudget(int lineNumber) {
+        ExecutionBudget budget = this.budget;
+
+        if (budget == null || --budgetCountdown >= 0) {
+            return;
+        }
+
+        if (budgetRemainingSteps == 0) {
+            throw new BudgetExceededException("Execution exceeded its budget of " + budget.getStepLimit() +
+                " steps at line " + lineNumber, lineNumber);
+        }
+
+        long elapsedTime = System.nanoTime() - budgetStartTime;
+
+        if (budget.getTimeLimit() != 0 && elapsedTime > budget.getTimeLimit()) {
+            throw new BudgetExceededException("Execution exceeded its budget of " + budget.getTimeLimit() +
+                " ns at line " + lineNumber + ", after running for " + elapsedTime + " ns", lineNumber);
+        }
+
+        //this step is taken from the next batch
+        long batch = Math.min(budgetRemainingSteps, TIME_CHECK_INTERVAL);
+
+        budgetRemainingSteps -= batch;
+        budgetCountdown = batch - 1;
+    }
+
+    /**
+     * Stops tracking the budget of the running execution
+     *
+     * @since 0.1.0
+     */
+    public void endBudget() {
+        budget = null;
+    }
+
+    /**
+     * Removes all stored values, so the frame can be reused for another execution. This is cheap if nothing was stored.
+     *
+     * @since 0.1.0
+     */
+    public void clear() {
+        //clearing an identity hash map always clears its whole table, even when it's empty
+        if (!values.isEmpty()) {
+            values.clear();
+        }
+
+        if (slotValues != null && !slotValues.isEmpty()) {
+            slotValues.clear();
+        }
+
+        endBudget();
+    }
+
+    /**
+     * A place for a value which is shared by multiple psi elements during a single execution, such as the value of an
+     * expression which occurs multiple times in a trigger. Slots are compared by identity.
+     *
+     * @since 0.1.0
+     */
+    public static final class Slot {}
+}
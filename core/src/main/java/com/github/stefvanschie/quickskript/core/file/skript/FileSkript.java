@@ -1,15 +1,19 @@
 package com.github.stefvanschie.quickskript.core.file.skript;
 
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
+import com.github.stefvanschie.quickskript.core.skript.CompiledUnit;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseCache;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +37,12 @@ public class FileSkript implements Skript {
     @NotNull
     private final SkriptFileSection section;
 
+    /**
+     * The hash of the lines of this skript, after comments and trailing whitespace have been removed
+     */
+    @NotNull
+    private final String contentHash;
+
     /**
      * Loads a skript file from a given file
      *
@@ -102,7 +112,7 @@ public class FileSkript implements Skript {
             //TODO pre-compile patterns
         }
 
-        return new FileSkript(name, new SkriptFileSection("", 0, lines));
+        return new FileSkript(name, new SkriptFileSection("", 0, lines), ParseCache.hash(String.join("\n", lines)));
     }
 
     /**
@@ -125,10 +135,12 @@ public class FileSkript implements Skript {
      *
      * @param name the name of the Skript
      * @param section the backing section of this file
+     * @param contentHash the hash of the lines of this file
      */
-    private FileSkript(@NotNull String name, @NotNull SkriptFileSection section) {
+    private FileSkript(@NotNull String name, @NotNull SkriptFileSection section, @NotNull String contentHash) {
         this.name = name;
         this.section = section;
+        this.contentHash = contentHash;
     }
 
     @NotNull
@@ -137,6 +149,19 @@ public class FileSkript implements Skript {
         return name;
     }
 
+    /**
+     * Gets the hash of the lines of this skript, after comments and trailing whitespace have been removed. Skripts with
+     * the same hash parse into the same elements.
+     *
+     * @return the content hash
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getContentHash() {
+        return contentHash;
+    }
+
     /**
      * Returns an immutable list of nodes
      *
@@ -150,50 +175,134 @@ public class FileSkript implements Skript {
     }
 
     /**
-     * Registers all events in this skript
+     * Compiles all commands and events in this skript, without registering them. Since this only parses, it may be
+     * called from any thread; the returned skript can then be registered on the thread registrations belong on.
      *
      * @param skriptLoader the skript loader to parse with
+     * @return the compiled skript
      * @since 0.1.0
      */
-    public void registerEventExecutors(@NotNull SkriptLoader skriptLoader) {
-        getNodes().stream()
-                .filter(node -> node instanceof SkriptFileSection)
-                .map(node -> (SkriptFileSection) node)
-                .forEach(node -> registerEvent(skriptLoader, node));
+    @NotNull
+    public CompiledSkript compile(@NotNull SkriptLoader skriptLoader) {
+        return compile(skriptLoader, section -> null);
     }
 
     /**
-     * Registers all commands in this skript
+     * Compiles the commands and events in this skript which changed compared to the specified previously compiled
+     * version of this skript, without registering them. Top-level sections which are identical to a section of the
+     * previous version, including their line numbers, keep the unit compiled for that section; only the other sections
+     * are parsed, so sections which merely moved are parsed again. If nothing changed at all, the previous version
+     * itself is returned. The returned skript should be put in place of the previous version with
+     * {@link CompiledSkript#replace(CompiledSkript)}.
      *
      * @param skriptLoader the skript loader to parse with
+     * @param previous the previously compiled version of this skript
+     * @return the compiled skript
      * @since 0.1.0
      */
-    public void registerCommands(@NotNull SkriptLoader skriptLoader) {
-        getNodes().stream()
-                .filter(node -> node.getText().startsWith("command")
-                        && node instanceof SkriptFileSection)
-                .forEach(node -> registerCommand(skriptLoader, (SkriptFileSection) node));
+    @NotNull
+    public CompiledSkript recompile(@NotNull SkriptLoader skriptLoader, @NotNull CompiledSkript previous) {
+        Skript previousSkript = previous.getSkript();
+
+        if (previousSkript instanceof FileSkript && ((FileSkript) previousSkript).contentHash.equals(contentHash)) {
+            return previous;
+        }
+
+        List<Map.Entry<SkriptFileSection, CompiledUnit>> unclaimed = new LinkedList<>(previous.getUnits().entrySet());
+
+        return compile(skriptLoader, section -> {
+            Iterator<Map.Entry<SkriptFileSection, CompiledUnit>> iterator = unclaimed.iterator();
+
+            while (iterator.hasNext()) {
+                Map.Entry<SkriptFileSection, CompiledUnit> entry = iterator.next();
+
+                if (entry.getKey().isIdenticalTo(section)) {
+                    iterator.remove();
+                    return entry.getValue();
+                }
+            }
+
+            return null;
+        });
     }
 
     /**
-     * Registers an individual command from the given section
+     * Compiles all commands and events in this skript, without registering them, with the help of the specified
+     * cache. The cache is consulted before searching for elements, and is updated with the outcome of every search, so
+     * it can be saved afterwards.
      *
      * @param skriptLoader the skript loader to parse with
-     * @param section the command section which starts with 'command'
+     * @param parseCache the cache of this skript
+     * @return the compiled skript
      * @since 0.1.0
      */
-    private void registerCommand(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section) {
-        skriptLoader.tryRegisterCommand(this, section);
+    @NotNull
+    public CompiledSkript compile(@NotNull SkriptLoader skriptLoader, @NotNull ParseCache parseCache) {
+        skriptLoader.setParseCache(parseCache);
+
+        try {
+            return compile(skriptLoader);
+        } finally {
+            skriptLoader.setParseCache(null);
+        }
     }
 
     /**
-     * Registers an individual event from the given section
+     * Compiles all top-level sections of this skript. Every section is first offered to the specified function, which
+     * may return an already compiled unit for it; only if it returns null the section is parsed. Sections starting
+     * with 'command' are compiled as command, or as event if they aren't a command after all. All other sections are
+     * compiled as event. The commands come before the events in the returned skript, so they're registered first. A
+     * section which can't be parsed doesn't stop the other sections from being compiled; its exception is stored in
+     * the returned skript instead, see {@link CompiledSkript#getParseExceptions()}.
      *
      * @param skriptLoader the skript loader to parse with
-     * @param section the command section which starts with 'on'
+     * @param compiledUnits the function which returns the already compiled unit of a section, or null
+     * @return the compiled skript
      * @since 0.1.0
      */
-    private void registerEvent(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section) {
-        skriptLoader.tryRegisterEvent(this, section);
+    @NotNull
+    private CompiledSkript compile(@NotNull SkriptLoader skriptLoader,
+                                   @NotNull Function<SkriptFileSection, CompiledUnit> compiledUnits) {
+        Map<SkriptFileSection, CompiledUnit> commands = new LinkedHashMap<>();
+        Map<SkriptFileSection, CompiledUnit> events = new LinkedHashMap<>();
+        List<ParseException> parseExceptions = new ArrayList<>();
+
+        for (SkriptFileNode node : getNodes()) {
+            if (!(node instanceof SkriptFileSection)) {
+                continue;
+            }
+
+            SkriptFileSection section = (SkriptFileSection) node;
+            boolean command = section.getText().startsWith("command");
+            CompiledUnit unit = compiledUnits.apply(section);
+
+            if (unit != null) {
+                (command ? commands : events).put(section, unit);
+                continue;
+            }
+
+            try {
+                if (command) {
+                    unit = skriptLoader.tryCompileCommand(this, section);
+
+                    if (unit != null) {
+                        commands.put(section, unit);
+                        continue;
+                    }
+                }
+
+                unit = skriptLoader.tryCompileEvent(this, section);
+
+                if (unit != null) {
+                    events.put(section, unit);
+                }
+            } catch (ParseException e) {
+                parseExceptions.add(e);
+            }
+        }
+
+        commands.putAll(events);
+
+        return new CompiledSkript(this, commands, parseExceptions);
     }
 }
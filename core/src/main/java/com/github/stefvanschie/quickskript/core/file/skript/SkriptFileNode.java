@@ -55,4 +55,18 @@ public class SkriptFileNode {
     public int getLineNumber() {
         return lineNumber;
     }
+
+    /**
+     * Gets whether the specified node is identical to this node: it is of the same kind, has the same text and the same
+     * line number, and if it's a section, identical underlying nodes. Since parsed elements keep the line numbers they
+     * were parsed at, only identical nodes are parsed into the same elements.
+     *
+     * @param node the node to compare with
+     * @return true if the nodes are identical, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isIdenticalTo(@NotNull SkriptFileNode node) {
+        return getClass() == node.getClass() && lineNumber == node.lineNumber && text.equals(node.text);
+    }
 }
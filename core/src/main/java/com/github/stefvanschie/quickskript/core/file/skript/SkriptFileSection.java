@@ -48,6 +48,28 @@ public class SkriptFileSection extends SkriptFileNode {
         return nodes;
     }
 
+    @Contract(pure = true)
+    @Override
+    public boolean isIdenticalTo(@NotNull SkriptFileNode node) {
+        if (!super.isIdenticalTo(node)) {
+            return false;
+        }
+
+        List<SkriptFileNode> otherNodes = ((SkriptFileSection) node).nodes;
+
+        if (nodes.size() != otherNodes.size()) {
+            return false;
+        }
+
+        for (int index = 0; index < nodes.size(); index++) {
+            if (!nodes.get(index).isIdenticalTo(otherNodes.get(index))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Parses all of the nodes, including the ones inside nested
      * sections into a psi structure
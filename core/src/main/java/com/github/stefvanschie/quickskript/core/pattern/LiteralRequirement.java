@@ -0,0 +1,107 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The literals an input has to contain in order to be matched by a {@link SkriptPattern}. All literals of the pattern
+ * itself have to be present, and for every choice group at least one of the choices has to be satisfied. Optional
+ * groups don't require anything.
+ *
+ * @since 0.1.0
+ */
+public final class LiteralRequirement {
+
+    /**
+     * A requirement which is always satisfied
+     */
+    @NotNull
+    static final LiteralRequirement NONE = new LiteralRequirement(Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * The literals which all have to be present
+     */
+    @NotNull
+    private final List<String> literals;
+
+    /**
+     * The requirements of each choice group; for each of them, one of the requirements has to be satisfied
+     */
+    @NotNull
+    private final List<List<LiteralRequirement>> choices;
+
+    /**
+     * Creates a new requirement
+     *
+     * @param literals the literals, see {@link #literals}
+     * @param choices the choices, see {@link #choices}
+     * @since 0.1.0
+     */
+    LiteralRequirement(@NotNull List<String> literals, @NotNull List<List<LiteralRequirement>> choices) {
+        this.literals = Collections.unmodifiableList(literals);
+        this.choices = Collections.unmodifiableList(choices);
+    }
+
+    /**
+     * Gets the literals which all have to be present
+     *
+     * @return the literals
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    /**
+     * Gets the requirements of each choice group. For each choice group, one of its requirements has to be satisfied.
+     *
+     * @return the requirements per choice group
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<List<LiteralRequirement>> getChoices() {
+        return choices;
+    }
+
+    /**
+     * Gets whether this requirement is always satisfied
+     *
+     * @return true if nothing is required, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return literals.isEmpty() && choices.isEmpty();
+    }
+
+    /**
+     * Checks whether this requirement is satisfied
+     *
+     * @param present tests whether a literal is present
+     * @return true if the requirement is satisfied, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isSatisfiedBy(@NotNull Predicate<String> present) {
+        for (String literal : literals) {
+            if (!present.test(literal)) {
+                return false;
+            }
+        }
+
+        for (List<LiteralRequirement> choice : choices) {
+            if (choice.stream().noneMatch(requirement -> requirement.isSatisfiedBy(present))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
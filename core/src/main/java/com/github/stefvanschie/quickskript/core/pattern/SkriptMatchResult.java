@@ -11,17 +11,41 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
 /**
- * A class holding information about an attempted match
+ * A class holding information about an attempted match. The matched groups are stored as spans into the strings they
+ * were matched in, so no strings are created until they're asked for.
  *
  * @since 0.1.0
  */
 public class SkriptMatchResult {
 
     /**
-     * An ordered list of all groups that were matched and the exact part that matched
+     * The groups that were matched, in order
      */
     @NotNull
-    private final List<Pair<SkriptPatternGroup, String>> matchedGroups = new ArrayList<>();
+    private SkriptPatternGroup[] groups;
+
+    /**
+     * The strings the matched groups were matched in
+     */
+    @NotNull
+    private String[] sources;
+
+    /**
+     * The start offsets of the matched groups in their source
+     */
+    @NotNull
+    private int[] starts;
+
+    /**
+     * The end offsets of the matched groups in their source
+     */
+    @NotNull
+    private int[] ends;
+
+    /**
+     * The amount of matched groups
+     */
+    private int size;
 
     /**
      * The final parse mark of the match
@@ -29,29 +53,95 @@ public class SkriptMatchResult {
     private int parseMark;
 
     /**
-     * The resting string
+     * The string the resting string is part of
      */
     @NotNull
-    private String restingString = "";
+    private String restingSource = "";
+
+    /**
+     * The offset in the {@link #restingSource} at which the resting string starts
+     */
+    private int restingStart;
+
+    /**
+     * Creates a new, empty match result
+     *
+     * @since 0.1.0
+     */
+    public SkriptMatchResult() {
+        this(4);
+    }
+
+    /**
+     * Creates a new, empty match result with room for the specified amount of groups
+     *
+     * @param capacity the amount of groups to make room for
+     * @since 0.1.0
+     */
+    SkriptMatchResult(int capacity) {
+        this.groups = new SkriptPatternGroup[capacity];
+        this.sources = new String[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
 
     /**
      * Adds a group that was successfully matched
      *
      * @param group the group that was matched
      * @param text the text that made the group match
-     * @throws IllegalStateException if this match was already terminated
+     * @param index the index at which the group should be inserted
      * @since 0.1.0
      * @see #addMatchedGroup(SkriptPatternGroup, String)
      */
     public void addMatchedGroup(@NotNull SkriptPatternGroup group, @NotNull String text, int index) {
-        matchedGroups.add(index, new Pair<>(group, text));
+        addMatchedGroup(group, text, 0, text.length(), index);
+    }
+
+    /**
+     * Adds a group that was successfully matched, by its span in the string it was matched in
+     *
+     * @param group the group that was matched
+     * @param source the string the group was matched in
+     * @param start the start offset of the match in the source
+     * @param end the end offset of the match in the source
+     * @param index the index at which the group should be inserted
+     * @since 0.1.0
+     */
+    void addMatchedGroup(@NotNull SkriptPatternGroup group, @NotNull String source, int start, int end, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        if (size == groups.length) {
+            int capacity = Math.max(4, size * 2);
+
+            groups = Arrays.copyOf(groups, capacity);
+            sources = Arrays.copyOf(sources, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+
+        int moved = size - index;
+
+        if (moved > 0) {
+            System.arraycopy(groups, index, groups, index + 1, moved);
+            System.arraycopy(sources, index, sources, index + 1, moved);
+            System.arraycopy(starts, index, starts, index + 1, moved);
+            System.arraycopy(ends, index, ends, index + 1, moved);
+        }
+
+        groups[index] = group;
+        sources[index] = source;
+        starts[index] = start;
+        ends[index] = end;
+        size++;
     }
 
     /**
      * Adds a parse mark to the final parse mark
      *
      * @param parseMark the parse mark
-     * @throws IllegalStateException if this match was already terminated
      * @since 0.1.0
      */
     public void addParseMark(int parseMark) {
@@ -68,15 +158,15 @@ public class SkriptMatchResult {
     public String getMatchedString() {
         StringBuilder builder = new StringBuilder();
 
-        matchedGroups.forEach(pair -> {
-            SkriptPatternGroup skriptPatternGroup = pair.getX();
+        for (int index = 0; index < size; index++) {
+            SkriptPatternGroup skriptPatternGroup = groups[index];
 
             if (skriptPatternGroup instanceof ChoiceGroup || skriptPatternGroup instanceof OptionalGroup) {
-                return;
+                continue;
             }
 
-            builder.append(pair.getY());
-        });
+            builder.append(sources[index], starts[index], ends[index]);
+        }
 
         return builder.toString();
     }
@@ -90,9 +180,16 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public SkriptMatchResult shallowCopy() {
-        SkriptMatchResult result = new SkriptMatchResult();
-        result.matchedGroups.addAll(matchedGroups);
-        result.restingString = restingString;
+        SkriptMatchResult result = new SkriptMatchResult(Math.max(4, size));
+
+        System.arraycopy(groups, 0, result.groups, 0, size);
+        System.arraycopy(sources, 0, result.sources, 0, size);
+        System.arraycopy(starts, 0, result.starts, 0, size);
+        System.arraycopy(ends, 0, result.ends, 0, size);
+
+        result.size = size;
+        result.restingSource = restingSource;
+        result.restingStart = restingStart;
         result.parseMark = parseMark;
 
         return result;
@@ -108,11 +205,13 @@ public class SkriptMatchResult {
     @Nullable
     @Contract(pure = true)
     public String getMatchedString(@NotNull SkriptPatternGroup group) {
-        return matchedGroups.stream()
-            .filter(pair -> pair.getX().equals(group))
-            .map(Pair::getY)
-            .findAny()
-            .orElse(null);
+        for (int index = 0; index < size; index++) {
+            if (groups[index].equals(group)) {
+                return getMatchedText(index);
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -124,7 +223,7 @@ public class SkriptMatchResult {
      * @see #addMatchedGroup(SkriptPatternGroup, String, int)
      */
     public void addMatchedGroup(@NotNull SkriptPatternGroup group, @NotNull String text) {
-        addMatchedGroup(group, text, matchedGroups.size());
+        addMatchedGroup(group, text, size);
     }
 
     /**
@@ -135,12 +234,13 @@ public class SkriptMatchResult {
      */
     @Contract(pure = true)
     public boolean hasUnmatchedParts() {
-        return !restingString.isEmpty();
+        return restingStart < restingSource.length();
     }
 
     /**
-     * Gets a list of the matched groups and the strings that were matched. This is a copy of the original list and is
-     * immutable.
+     * Gets a list of the matched groups and the strings that were matched. The strings are created each time this is
+     * called, so prefer {@link #getMatchedGroup(int)} and {@link #getMatchedText(int)} when not all texts are needed.
+     * The returned list is immutable.
      *
      * @return the matched groups
      * @since 0.1.0
@@ -148,9 +248,58 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public List<Pair<SkriptPatternGroup, String>> getMatchedGroups() {
+        List<Pair<SkriptPatternGroup, String>> matchedGroups = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            matchedGroups.add(new Pair<>(groups[index], getMatchedText(index)));
+        }
+
         return Collections.unmodifiableList(matchedGroups);
     }
 
+    /**
+     * Gets the amount of matched groups
+     *
+     * @return the amount of matched groups
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getMatchedGroupCount() {
+        return size;
+    }
+
+    /**
+     * Gets the matched group at the specified index
+     *
+     * @param index the index of the matched group
+     * @return the group
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public SkriptPatternGroup getMatchedGroup(int index) {
+        Objects.checkIndex(index, size);
+
+        return groups[index];
+    }
+
+    /**
+     * Gets the text that matched the group at the specified index. The text is only created when this is called.
+     *
+     * @param index the index of the matched group
+     * @return the matched text
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getMatchedText(int index) {
+        Objects.checkIndex(index, size);
+
+        return sources[index].substring(starts[index], ends[index]);
+    }
+
     /**
      * Sets the resting string of this match
      *
@@ -158,7 +307,19 @@ public class SkriptMatchResult {
      * @since 0.1.0
      */
     public void setRestingString(@NotNull String restingString) {
-        this.restingString = restingString;
+        setRestingString(restingString, 0);
+    }
+
+    /**
+     * Sets the resting string of this match as the part of the source starting at the specified offset
+     *
+     * @param source the string the resting string is part of
+     * @param start the offset at which the resting string starts
+     * @since 0.1.0
+     */
+    void setRestingString(@NotNull String source, int start) {
+        this.restingSource = source;
+        this.restingStart = start;
     }
 
     /**
@@ -170,7 +331,7 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public String getRestingString() {
-        return restingString;
+        return restingSource.substring(restingStart);
     }
 
     /**
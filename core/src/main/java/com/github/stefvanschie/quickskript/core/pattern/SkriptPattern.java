@@ -4,6 +4,7 @@ import com.github.stefvanschie.quickskript.core.pattern.group.*;
 import com.github.stefvanschie.quickskript.core.util.Pair;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Function;
@@ -22,6 +23,57 @@ public class SkriptPattern {
      */
     private final List<SkriptPatternGroup> groups;
 
+    /**
+     * The text this pattern was parsed from
+     */
+    @NotNull
+    private final String source;
+
+    /**
+     * The characters an input has to start with in order to be fully matched by this pattern, or null if this can't be
+     * determined
+     */
+    @Nullable
+    private final Set<Character> firstCharacters;
+
+    /**
+     * Whether this pattern may match without consuming any characters
+     */
+    private final boolean matchesEmpty;
+
+    /**
+     * The literals an input has to contain to be matched by this pattern
+     */
+    @NotNull
+    private final LiteralRequirement literalRequirement;
+
+    /**
+     * The compiled state machine of this pattern
+     */
+    @NotNull
+    private final SkriptPatternMatcher matcher;
+
+    /**
+     * Whether {@link #match(String)} uses the compiled {@link SkriptPatternMatcher} instead of matching the groups
+     * recursively
+     */
+    private static volatile boolean compiledMatching = true;
+
+    /**
+     * Returned by {@link #collectFirstCharacters(List, Set)} when all first characters were collected
+     */
+    private static final int FIRST_CHARACTERS_COMPLETE = 0;
+
+    /**
+     * Returned by {@link #collectFirstCharacters(List, Set)} when the groups may match without consuming anything
+     */
+    private static final int FIRST_CHARACTERS_EMPTY = 1;
+
+    /**
+     * Returned by {@link #collectFirstCharacters(List, Set)} when the groups may start with any character
+     */
+    private static final int FIRST_CHARACTERS_UNKNOWN = 2;
+
     /**
      * A set with functions that can parse groups
      */
@@ -39,10 +91,20 @@ public class SkriptPattern {
      * Creates a new skript pattern
      *
      * @param groups the groups
+     * @param source the text the pattern was parsed from
      * @since 0.1.0
      */
-    private SkriptPattern(List<SkriptPatternGroup> groups) {
+    private SkriptPattern(List<SkriptPatternGroup> groups, @NotNull String source) {
         this.groups = groups;
+        this.source = source;
+
+        Set<Character> characters = new HashSet<>();
+        int state = collectFirstCharacters(groups, characters);
+
+        this.firstCharacters = state == FIRST_CHARACTERS_UNKNOWN ? null : Collections.unmodifiableSet(characters);
+        this.matchesEmpty = state == FIRST_CHARACTERS_EMPTY;
+        this.literalRequirement = collectLiteralRequirement(groups);
+        this.matcher = SkriptPatternMatcher.compile(groups);
     }
 
     /**
@@ -72,7 +134,7 @@ public class SkriptPattern {
             }
         }
 
-        return new SkriptPattern(groups);
+        return new SkriptPattern(groups, input);
     }
 
     /**
@@ -81,26 +143,45 @@ public class SkriptPattern {
      * wasn't matched can be found inside the {@link SkriptMatchResult}. The match has to start at the start of the
      * input, it will not match somewhere in the middle of the string. The list containing these results is mutable.
      *
+     * Unless compiled matching was turned off, the compiled {@link SkriptPatternMatcher} is used.
+     *
      * @param input the input to match
      * @return the match result
      * @since 0.1.0
+     * @see #setCompiledMatching(boolean)
      */
     @NotNull
     @Contract(pure = true)
     public List<SkriptMatchResult> match(@NotNull String input) {
+        if (!compiledMatching) {
+            return matchRecursively(input);
+        }
+
+        if (!containsLiterals(input)) {
+            return new ArrayList<>(0);
+        }
+
+        return matcher.match(input);
+    }
+
+    /**
+     * Tries to match the given input to this pattern by letting each group match recursively. This gives the same
+     * results as {@link #match(String)}, but is considerably slower.
+     *
+     * @param input the input to match
+     * @return the match result
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<SkriptMatchResult> matchRecursively(@NotNull String input) {
         if (groups.isEmpty()) {
             return new ArrayList<>(0);
         }
 
         //exit early if matching will absolutely fail
-        for (SkriptPatternGroup group : groups) {
-            if (!(group instanceof LiteralGroup)) {
-                continue;
-            }
-
-            if (!input.contains(((LiteralGroup) group).getText())) {
-                return new ArrayList<>(0);
-            }
+        if (!containsLiterals(input)) {
+            return new ArrayList<>(0);
         }
 
         return groups.get(0).match(groups.subList(1, groups.size()).toArray(SkriptPatternGroup[]::new), input);
@@ -124,6 +205,90 @@ public class SkriptPattern {
         return patterns;
     }
 
+    /**
+     * Gets the characters a non-empty input has to start with in order to be fully matched by this pattern. Returns
+     * null if the pattern may start with any character, for example when it starts with a type or a regex.
+     *
+     * @return the possible first characters or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Set<Character> getFirstCharacters() {
+        return firstCharacters;
+    }
+
+    /**
+     * Checks whether the given input contains every top-level literal of this pattern. If it doesn't, the input can't
+     * be matched.
+     *
+     * @param input the input to check
+     * @return true if all top-level literals are present, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private boolean containsLiterals(@NotNull String input) {
+        for (SkriptPatternGroup group : groups) {
+            if (!(group instanceof LiteralGroup)) {
+                continue;
+            }
+
+            if (!input.contains(((LiteralGroup) group).getText())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the literals an input has to contain to be matched by this pattern. This includes the literals in choice
+     * groups, but not the ones in optional groups.
+     *
+     * @return the literal requirement
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public LiteralRequirement getLiteralRequirement() {
+        return literalRequirement;
+    }
+
+    /**
+     * Gets the compiled state machine of this pattern
+     *
+     * @return the matcher
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public SkriptPatternMatcher getMatcher() {
+        return matcher;
+    }
+
+    /**
+     * Gets the groups of this pattern, without the groups inside other groups
+     *
+     * @return an immutable list of the top-level groups
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    List<SkriptPatternGroup> getTopLevelGroups() {
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * Sets whether {@link #match(String)} should use the compiled {@link SkriptPatternMatcher} or match the groups
+     * recursively. Compiled matching is on by default.
+     *
+     * @param compiledMatching true to use the compiled matcher, false to match recursively
+     * @since 0.1.0
+     */
+    public static void setCompiledMatching(boolean compiledMatching) {
+        SkriptPattern.compiledMatching = compiledMatching;
+    }
+
     /**
      * Gets all groups. This will also return groups inside other groups.
      *
@@ -137,4 +302,135 @@ public class SkriptPattern {
             .flatMap(group -> Stream.concat(Stream.of(group), group.getChildren().stream()))
             .collect(Collectors.toUnmodifiableList());
     }
+
+    /**
+     * Collects the characters which the specified groups may start with. Optional groups, and spaces which may be
+     * skipped alongside them, are looked past, so the collected characters are a superset of the real possibilities.
+     *
+     * @param groups the top-level groups of a pattern
+     * @param characters the set to add the characters to
+     * @return {@link #FIRST_CHARACTERS_COMPLETE} if the groups can't match without consuming a collected character,
+     *         {@link #FIRST_CHARACTERS_EMPTY} if the groups may match without consuming anything or
+     *         {@link #FIRST_CHARACTERS_UNKNOWN} if the groups may start with any character
+     * @since 0.1.0
+     */
+    private static int collectFirstCharacters(@NotNull List<SkriptPatternGroup> groups,
+        @NotNull Set<Character> characters) {
+        boolean skippableSpace = false;
+
+        for (int index = 0; index < groups.size(); index++) {
+            SkriptPatternGroup group = groups.get(index);
+
+            if (group instanceof LiteralGroup) {
+                characters.add(((LiteralGroup) group).getText().charAt(0));
+                return FIRST_CHARACTERS_COMPLETE;
+            }
+
+            if (group instanceof SpaceGroup) {
+                characters.add(' ');
+
+                //spaces around optional groups may be skipped
+                if (skippableSpace || (index + 1 < groups.size() && groups.get(index + 1) instanceof OptionalGroup)) {
+                    skippableSpace = false;
+                    continue;
+                }
+
+                return FIRST_CHARACTERS_COMPLETE;
+            }
+
+            SkriptPattern[] patterns;
+
+            if (group instanceof ChoiceGroup) {
+                patterns = ((ChoiceGroup) group).getPatterns();
+            } else if (group instanceof OptionalGroup) {
+                patterns = ((OptionalGroup) group).getPatterns();
+            } else {
+                return FIRST_CHARACTERS_UNKNOWN;
+            }
+
+            boolean empty = group instanceof OptionalGroup;
+
+            for (SkriptPattern pattern : patterns) {
+                if (pattern.firstCharacters == null) {
+                    return FIRST_CHARACTERS_UNKNOWN;
+                }
+
+                characters.addAll(pattern.firstCharacters);
+                empty |= pattern.matchesEmpty;
+            }
+
+            if (!empty) {
+                return FIRST_CHARACTERS_COMPLETE;
+            }
+
+            skippableSpace = group instanceof OptionalGroup;
+        }
+
+        return FIRST_CHARACTERS_EMPTY;
+    }
+
+    /**
+     * Collects the literals any input matched by the specified groups has to contain
+     *
+     * @param groups the top-level groups of a pattern
+     * @return the literal requirement
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static LiteralRequirement collectLiteralRequirement(@NotNull List<SkriptPatternGroup> groups) {
+        List<String> literals = new ArrayList<>();
+        List<List<LiteralRequirement>> choices = new ArrayList<>();
+
+        for (SkriptPatternGroup group : groups) {
+            if (group instanceof LiteralGroup) {
+                literals.add(((LiteralGroup) group).getText());
+                continue;
+            }
+
+            if (!(group instanceof ChoiceGroup)) {
+                continue;
+            }
+
+            List<LiteralRequirement> alternatives = new ArrayList<>();
+            boolean unconstrained = false;
+
+            for (SkriptPattern pattern : ((ChoiceGroup) group).getPatterns()) {
+                //an empty choice never matches anything
+                if (pattern.groups.isEmpty()) {
+                    continue;
+                }
+
+                if (pattern.literalRequirement.isEmpty()) {
+                    unconstrained = true;
+                    break;
+                }
+
+                alternatives.add(pattern.literalRequirement);
+            }
+
+            if (!unconstrained && !alternatives.isEmpty()) {
+                choices.add(alternatives);
+            }
+        }
+
+        if (literals.isEmpty() && choices.isEmpty()) {
+            return LiteralRequirement.NONE;
+        }
+
+        return new LiteralRequirement(literals, choices);
+    }
+
+    /**
+     * Gets the text this pattern was parsed from
+     *
+     * @return the source of this pattern
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public String toString() {
+        return source;
+    }
 }
@@ -0,0 +1,552 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import com.github.stefvanschie.quickskript.core.pattern.group.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * A {@link SkriptPattern} compiled into a state machine over character offsets. Every group becomes one or more
+ * states; choices and optionals become split states whose branches are tried in order. Matching walks the states
+ * depth-first and keeps track of the spans of the matched groups as offsets into the input, so the input is never
+ * sliced while matching and the results only refer to spans of the input. This produces exactly the same results, in
+ * the same order, as {@link SkriptPattern#matchRecursively(String)}.
+ *
+ * @since 0.1.0
+ */
+public final class SkriptPatternMatcher {
+
+    /**
+     * Matches a {@link LiteralGroup}
+     */
+    private static final byte LITERAL = 0;
+
+    /**
+     * Matches a {@link SpaceGroup}
+     */
+    private static final byte SPACE = 1;
+
+    /**
+     * Matches a {@link TypeGroup} with every possible length, longest first
+     */
+    private static final byte TYPE = 2;
+
+    /**
+     * Matches a {@link RegexGroup} with every possible length, longest first
+     */
+    private static final byte REGEX = 3;
+
+    /**
+     * Tries each of its branches in order
+     */
+    private static final byte SPLIT = 4;
+
+    /**
+     * Starts a choice or optional group and applies its parse mark
+     */
+    private static final byte OPEN = 5;
+
+    /**
+     * Ends the most recently opened choice or optional group
+     */
+    private static final byte CLOSE = 6;
+
+    /**
+     * Accepts the match, leaving the rest of the input unmatched
+     */
+    private static final byte ACCEPT = 7;
+
+    /**
+     * The kind of each state
+     */
+    @NotNull
+    private final byte[] kinds;
+
+    /**
+     * The group each state matches or opens, null for other states
+     */
+    @NotNull
+    private final SkriptPatternGroup[] groups;
+
+    /**
+     * The state following each state, or -1 if a state doesn't have a single following state
+     */
+    @NotNull
+    private final int[] nexts;
+
+    /**
+     * The branches of each split state, null for other states
+     */
+    @NotNull
+    private final int[][] branches;
+
+    /**
+     * The parse mark applied by each open state, 0 for other states
+     */
+    @NotNull
+    private final int[] parseMarks;
+
+    /**
+     * The initial state, or -1 if this matcher never matches anything
+     */
+    private final int start;
+
+    /**
+     * Creates a new matcher from the compiled states
+     *
+     * @param builder the builder holding the states
+     * @param start the initial state, see {@link #start}
+     * @since 0.1.0
+     */
+    private SkriptPatternMatcher(@NotNull Builder builder, int start) {
+        this.kinds = Arrays.copyOf(builder.kinds, builder.size);
+        this.groups = Arrays.copyOf(builder.groups, builder.size);
+        this.nexts = Arrays.copyOf(builder.nexts, builder.size);
+        this.branches = Arrays.copyOf(builder.branches, builder.size);
+        this.parseMarks = Arrays.copyOf(builder.parseMarks, builder.size);
+        this.start = start;
+    }
+
+    /**
+     * Matches the given input. See {@link SkriptPattern#match(String)} for the semantics.
+     *
+     * @param input the input to match
+     * @return the match results, in a mutable list
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<SkriptMatchResult> match(@NotNull String input) {
+        List<SkriptMatchResult> results = new ArrayList<>();
+
+        if (start != -1) {
+            run(new State(input, results), start, 0);
+        }
+
+        return results;
+    }
+
+    /**
+     * Walks the states depth-first starting at the specified state
+     *
+     * @param state the state of the current match
+     * @param index the state to continue at
+     * @param offset the offset in the input to continue at
+     * @since 0.1.0
+     */
+    private void run(@NotNull State state, int index, int offset) {
+        String input = state.input;
+
+        switch (kinds[index]) {
+            case LITERAL:
+                String text = ((LiteralGroup) groups[index]).getText();
+
+                if (input.startsWith(text, offset)) {
+                    state.push(groups[index], offset, offset + text.length());
+                    run(state, nexts[index], offset + text.length());
+                    state.pop();
+                }
+
+                return;
+            case SPACE:
+                if (offset < input.length() && input.charAt(offset) == ' ') {
+                    state.push(groups[index], offset, offset + 1);
+                    run(state, nexts[index], offset + 1);
+                    state.pop();
+                }
+
+                return;
+            case TYPE:
+                int length = input.length();
+
+                do {
+                    state.push(groups[index], offset, length);
+                    run(state, nexts[index], length);
+                    state.pop();
+
+                    length--;
+                } while (length > offset);
+
+                return;
+            case REGEX:
+                Matcher matcher = ((RegexGroup) groups[index]).getPattern().matcher(input);
+                int end = input.length();
+
+                do {
+                    matcher.region(offset, end);
+
+                    if (matcher.lookingAt()) {
+                        int matchEnd = matcher.end();
+
+                        state.push(groups[index], offset, matchEnd);
+                        run(state, nexts[index], matchEnd);
+                        state.pop();
+                    }
+
+                    end--;
+                } while (end > offset);
+
+                return;
+            case SPLIT:
+                for (int branch : branches[index]) {
+                    run(state, branch, offset);
+                }
+
+                return;
+            case OPEN:
+                int entry = state.push(groups[index], offset, -1);
+
+                state.parseMark ^= parseMarks[index];
+                state.openEntries[state.openDepth++] = entry;
+
+                run(state, nexts[index], offset);
+
+                state.openDepth--;
+                state.parseMark ^= parseMarks[index];
+                state.pop();
+
+                return;
+            case CLOSE:
+                int closing = state.openEntries[--state.openDepth];
+                int previousEnd = state.ends[closing];
+
+                state.ends[closing] = offset;
+
+                run(state, nexts[index], offset);
+
+                state.ends[closing] = previousEnd;
+                state.openEntries[state.openDepth++] = closing;
+
+                return;
+            case ACCEPT:
+                state.accept(offset);
+
+                return;
+            default:
+                throw new IllegalStateException("Unknown state kind " + kinds[index]);
+        }
+    }
+
+    /**
+     * Compiles the specified top-level groups of a pattern into a matcher
+     *
+     * @param groups the top-level groups
+     * @return the matcher
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static SkriptPatternMatcher compile(@NotNull List<SkriptPatternGroup> groups) {
+        Builder builder = new Builder();
+
+        //an empty pattern never matches anything
+        if (groups.isEmpty()) {
+            return new SkriptPatternMatcher(builder, -1);
+        }
+
+        int accept = builder.add(ACCEPT, null, -1, null, 0);
+
+        return new SkriptPatternMatcher(builder, builder.compileSequence(groups, accept));
+    }
+
+    /**
+     * Collects the states while compiling.
+     *
+     * @since 0.1.0
+     */
+    private static final class Builder {
+
+        /**
+         * The kinds of the states
+         */
+        @NotNull
+        private byte[] kinds = new byte[16];
+
+        /**
+         * The groups of the states
+         */
+        @NotNull
+        private SkriptPatternGroup[] groups = new SkriptPatternGroup[16];
+
+        /**
+         * The following states
+         */
+        @NotNull
+        private int[] nexts = new int[16];
+
+        /**
+         * The branches of the split states
+         */
+        @NotNull
+        private int[][] branches = new int[16][];
+
+        /**
+         * The parse marks of the open states
+         */
+        @NotNull
+        private int[] parseMarks = new int[16];
+
+        /**
+         * The amount of states
+         */
+        private int size;
+
+        /**
+         * Adds a new state
+         *
+         * @param kind the kind of the state
+         * @param group the group of the state, or null
+         * @param next the following state, or -1
+         * @param branches the branches of a split state, or null
+         * @param parseMark the parse mark of an open state, or 0
+         * @return the index of the new state
+         * @since 0.1.0
+         */
+        private int add(byte kind, SkriptPatternGroup group, int next, int[] branches, int parseMark) {
+            if (size == kinds.length) {
+                int capacity = size * 2;
+
+                this.kinds = Arrays.copyOf(this.kinds, capacity);
+                this.groups = Arrays.copyOf(this.groups, capacity);
+                this.nexts = Arrays.copyOf(this.nexts, capacity);
+                this.branches = Arrays.copyOf(this.branches, capacity);
+                this.parseMarks = Arrays.copyOf(this.parseMarks, capacity);
+            }
+
+            this.kinds[size] = kind;
+            this.groups[size] = group;
+            this.nexts[size] = next;
+            this.branches[size] = branches;
+            this.parseMarks[size] = parseMark;
+
+            return size++;
+        }
+
+        /**
+         * Compiles a sequence of top-level groups, continuing at the specified state once all groups have matched
+         *
+         * @param groups the groups
+         * @param next the state to continue at
+         * @return the first state of the sequence
+         * @since 0.1.0
+         */
+        private int compileSequence(@NotNull List<SkriptPatternGroup> groups, int next) {
+            int size = groups.size();
+            int[] starts = new int[size + 1];
+
+            starts[size] = next;
+
+            //compile back to front, so every group knows where the groups following it start
+            for (int index = size - 1; index >= 0; index--) {
+                starts[index] = compileGroup(groups, index, starts);
+            }
+
+            return starts[0];
+        }
+
+        /**
+         * Compiles a single group of a sequence
+         *
+         * @param groups the groups of the sequence
+         * @param index the index of the group to compile
+         * @param starts the first states of the groups after this group, and of the state after the sequence
+         * @return the first state of the group
+         * @since 0.1.0
+         */
+        private int compileGroup(@NotNull List<SkriptPatternGroup> groups, int index, @NotNull int[] starts) {
+            SkriptPatternGroup group = groups.get(index);
+            int size = groups.size();
+            int next = starts[index + 1];
+
+            if (group instanceof LiteralGroup) {
+                return add(LITERAL, group, next, null, 0);
+            }
+
+            if (group instanceof TypeGroup) {
+                return add(TYPE, group, next, null, 0);
+            }
+
+            if (group instanceof RegexGroup) {
+                return add(REGEX, group, next, null, 0);
+            }
+
+            if (group instanceof SpaceGroup) {
+                int space = add(SPACE, group, next, null, 0);
+
+                if (index + 1 < size && groups.get(index + 1) instanceof OptionalGroup) {
+                    //the space may be skipped together with the optional group
+                    return add(SPLIT, null, -1, new int[]{space, starts[index + 2]}, 0);
+                }
+
+                return space;
+            }
+
+            SkriptPattern[] patterns;
+            int[] marks;
+
+            if (group instanceof ChoiceGroup) {
+                patterns = ((ChoiceGroup) group).getPatterns();
+                marks = ((ChoiceGroup) group).getParseMarks();
+            } else if (group instanceof OptionalGroup) {
+                patterns = ((OptionalGroup) group).getPatterns();
+                marks = ((OptionalGroup) group).getParseMarks();
+            } else {
+                throw new IllegalStateException("Unknown group type " + group.getClass().getName());
+            }
+
+            int close = add(CLOSE, null, next, null, 0);
+            List<Integer> alternatives = new ArrayList<>(patterns.length + 2);
+
+            for (int pattern = 0; pattern < patterns.length; pattern++) {
+                List<SkriptPatternGroup> patternGroups = patterns[pattern].getTopLevelGroups();
+
+                //an empty choice never matches anything
+                if (patternGroups.isEmpty()) {
+                    continue;
+                }
+
+                int patternStart = compileSequence(patternGroups, close);
+
+                alternatives.add(add(OPEN, group, patternStart, null, marks[pattern]));
+            }
+
+            if (group instanceof OptionalGroup) {
+                alternatives.add(next);
+
+                //a space directly after the optional group may be skipped together with it
+                if (index + 2 < size && groups.get(index + 1) instanceof SpaceGroup) {
+                    alternatives.add(starts[index + 2]);
+                }
+            }
+
+            return add(SPLIT, null, -1, alternatives.stream().mapToInt(Integer::intValue).toArray(), 0);
+        }
+    }
+
+    /**
+     * The state of a single match: the spans of the groups matched so far.
+     *
+     * @since 0.1.0
+     */
+    private static final class State {
+
+        /**
+         * The input being matched
+         */
+        @NotNull
+        private final String input;
+
+        /**
+         * The list to add finished results to
+         */
+        @NotNull
+        private final List<SkriptMatchResult> results;
+
+        /**
+         * The matched groups
+         */
+        @NotNull
+        private SkriptPatternGroup[] groups = new SkriptPatternGroup[8];
+
+        /**
+         * The start offsets of the matched groups
+         */
+        @NotNull
+        private int[] starts = new int[8];
+
+        /**
+         * The end offsets of the matched groups, -1 for groups which are still open
+         */
+        @NotNull
+        private int[] ends = new int[8];
+
+        /**
+         * The amount of matched groups
+         */
+        private int size;
+
+        /**
+         * The entries of the choice and optional groups which are currently open
+         */
+        @NotNull
+        private int[] openEntries = new int[8];
+
+        /**
+         * The amount of open groups
+         */
+        private int openDepth;
+
+        /**
+         * The combined parse mark of the matched groups
+         */
+        private int parseMark;
+
+        /**
+         * Creates a new match state
+         *
+         * @param input the input, see {@link #input}
+         * @param results the results, see {@link #results}
+         * @since 0.1.0
+         */
+        private State(@NotNull String input, @NotNull List<SkriptMatchResult> results) {
+            this.input = input;
+            this.results = results;
+        }
+
+        /**
+         * Adds a matched group
+         *
+         * @param group the group
+         * @param start the start offset of the group
+         * @param end the end offset of the group
+         * @return the index of the added entry
+         * @since 0.1.0
+         */
+        private int push(@NotNull SkriptPatternGroup group, int start, int end) {
+            if (size == groups.length) {
+                groups = Arrays.copyOf(groups, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                openEntries = Arrays.copyOf(openEntries, size * 2);
+            }
+
+            groups[size] = group;
+            starts[size] = start;
+            ends[size] = end;
+
+            return size++;
+        }
+
+        /**
+         * Removes the most recently matched group
+         *
+         * @since 0.1.0
+         */
+        private void pop() {
+            groups[--size] = null;
+        }
+
+        /**
+         * Creates a result from the groups matched so far
+         *
+         * @param offset the offset up to which the input was matched
+         * @since 0.1.0
+         */
+        private void accept(int offset) {
+            SkriptMatchResult result = new SkriptMatchResult(size);
+
+            for (int index = 0; index < size; index++) {
+                result.addMatchedGroup(groups[index], input, starts[index], ends[index], index);
+            }
+
+            result.setRestingString(input, offset);
+            result.addParseMark(parseMark);
+
+            results.add(result);
+        }
+    }
+}
@@ -52,7 +52,7 @@ public class ChoiceGroup implements SkriptPatternGroup {
 
         for (int i = 0; i < patterns.length; i++) {
             SkriptPattern pattern = patterns[i];
-            List<SkriptMatchResult> patternResults = pattern.match(input);
+            List<SkriptMatchResult> patternResults = pattern.matchRecursively(input);
 
             for (SkriptMatchResult patternResult : patternResults) {
                 patternResult.addParseMark(parseMarks[i]);
@@ -71,16 +71,15 @@ public class ChoiceGroup implements SkriptPatternGroup {
             patternResults.forEach(result -> {
                 List<SkriptMatchResult> calleeResults = followingGroups[0].match(newArray, result.getRestingString());
 
-                List<Pair<SkriptPatternGroup, String>> matchedGroups = new ArrayList<>(result.getMatchedGroups());
-
-                Collections.reverse(matchedGroups);
-
                 calleeResults.forEach(res -> {
                     SkriptMatchResult copy = result.shallowCopy();
 
                     copy.addMatchedGroup(this, copy.getMatchedString(), 0);
-                    res.getMatchedGroups().forEach(pair ->
-                        copy.addMatchedGroup(pair.getX(), pair.getY(), copy.getMatchedGroups().size()));
+
+                    for (int index = 0; index < res.getMatchedGroupCount(); index++) {
+                        copy.addMatchedGroup(res.getMatchedGroup(index), res.getMatchedText(index));
+                    }
+
                     copy.setRestingString(res.getRestingString());
                     copy.addParseMark(res.getParseMark());
 
@@ -2,6 +2,7 @@ package com.github.stefvanschie.quickskript.core.psi;
 
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
 import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,6 +32,13 @@ public abstract class PsiElement<T> {
     @Nullable
     private PsiElement<?> parent;
 
+    /**
+     * The slot the value of this element is stored in during a single execution, so other elements which are
+     * structurally identical to this one don't have to compute it again, or null if the value isn't shared
+     */
+    @Nullable
+    private ExecutionFrame.Slot slot;
+
     /**
      * Creates a new element with the given line number
      *
@@ -50,7 +58,11 @@ public abstract class PsiElement<T> {
      */
     @Nullable
     public final T execute(@Nullable Context context) {
-        return isPreComputed() ? preComputed : executeImpl(context);
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
+        return slot == null || context == null ? executeImpl(context) : executeShared(context, slot);
     }
 
     /**
@@ -76,6 +88,69 @@ public abstract class PsiElement<T> {
             (result == null ? "null" : result.getClass().getSimpleName()), lineNumber);
     }
 
+    /**
+     * Returns a pre computed value if {@link #isPreComputed()} returns true otherwise executes this element as a
+     * primitive double. Elements which calculate numbers override {@link #executeDoubleImpl(Context)}, so nested
+     * calculations don't box their intermediate results. If the result is not a {@link Number} an
+     * {@link ExecutionException} is thrown.
+     *
+     * @param context the context this code is being executed in, may be null if the code is expected to be pre computed
+     * @return the computed number
+     * @since 0.1.0
+     */
+    public final double executeDouble(@Nullable Context context) {
+        if (isPreComputed() || slot != null) {
+            return execute(context, Number.class).doubleValue();
+        }
+
+        return executeDoubleImpl(context);
+    }
+
+    /**
+     * Returns a pre computed value if {@link #isPreComputed()} returns true otherwise executes this element as a
+     * primitive boolean. Elements which check a condition override {@link #executeBooleanImpl(Context)}, so the result
+     * doesn't have to be boxed. If the result is not a {@link Boolean} an {@link ExecutionException} is thrown.
+     *
+     * @param context the context this code is being executed in, may be null if the code is expected to be pre computed
+     * @return the computed boolean
+     * @since 0.1.0
+     */
+    public final boolean executeBoolean(@Nullable Context context) {
+        if (isPreComputed() || slot != null) {
+            return execute(context, Boolean.class);
+        }
+
+        return executeBooleanImpl(context);
+    }
+
+    /**
+     * Gets the value of this element from the specified slot of the execution with the specified context, executing
+     * this element and storing its value in the slot if no value has been stored yet
+     *
+     * @param context the context this code is being executed in
+     * @param slot the slot the value is shared in
+     * @return the computed value
+     * @since 0.1.0
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private T executeShared(@NotNull Context context, @NotNull ExecutionFrame.Slot slot) {
+        ExecutionFrame frame = context.getFrame();
+        Object value = frame.get(slot);
+
+        if (value != null) {
+            return (T) value;
+        }
+
+        T result = executeImpl(context);
+
+        if (result != null) {
+            frame.set(slot, result);
+        }
+
+        return result;
+    }
+
     /**
      * Executes this element
      *
@@ -88,6 +163,30 @@ public abstract class PsiElement<T> {
         throw new UnsupportedOperationException("Cannot execute expression without implementation.");
     }
 
+    /**
+     * Executes this element as a primitive double. By default this executes this element normally and unboxes the
+     * result.
+     *
+     * @param context the context this code is being executed in, or null during pre computation
+     * @return the computed number
+     * @since 0.1.0
+     */
+    protected double executeDoubleImpl(@Nullable Context context) {
+        return execute(context, Number.class).doubleValue();
+    }
+
+    /**
+     * Executes this element as a primitive boolean. By default this executes this element normally and unboxes the
+     * result.
+     *
+     * @param context the context this code is being executed in, or null during pre computation
+     * @return the computed boolean
+     * @since 0.1.0
+     */
+    protected boolean executeBooleanImpl(@Nullable Context context) {
+        return execute(context, Boolean.class);
+    }
+
     /**
      * Sets the parent of this element
      *
@@ -100,6 +199,18 @@ public abstract class PsiElement<T> {
         this.parent = parent;
     }
 
+    /**
+     * Sets the slot the value of this element is stored in during a single execution. Elements with the same slot
+     * must be structurally identical and {@link com.github.stefvanschie.quickskript.core.psi.util.Pure}, since only
+     * the first one which is executed is actually executed.
+     *
+     * @param slot the slot to share the value in
+     * @since 0.1.0
+     */
+    public void setSlot(@NotNull ExecutionFrame.Slot slot) {
+        this.slot = slot;
+    }
+
     /**
      * Gets whether this element was pre computed when loading
      *
@@ -111,6 +222,17 @@ public abstract class PsiElement<T> {
         return preComputed != null;
     }
 
+    /**
+     * Gets the line number this element belongs to
+     *
+     * @return the line number
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
     /**
      * Gets the parent of this element, or null if this element is the top-level element
      *
@@ -6,8 +6,6 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-
 /**
  * An abstract representation of a section in a skript file.
  * Other sections should extend upon the functionality implemented in this class:
@@ -21,7 +19,7 @@ public abstract class PsiSection extends PsiElement<ExitSectionsPointerMovement>
      * The elements this section contains.
      */
     @NotNull
-    protected final PsiElement<?>[] elements;
+    protected PsiElement<?>[] elements;
 
     /**
      * Creates a new section with the specified contained elements and line number.
@@ -33,11 +31,6 @@ public abstract class PsiSection extends PsiElement<ExitSectionsPointerMovement>
     protected PsiSection(@NotNull PsiElement<?>[] elements, int lineNumber) {
         super(lineNumber);
         this.elements = elements;
-
-        if (Arrays.stream(elements).anyMatch(element -> element.isPreComputed()
-                && element.execute(null) instanceof Boolean)) {
-            //TODO warning
-        }
     }
 
     @Nullable
@@ -63,4 +56,15 @@ public abstract class PsiSection extends PsiElement<ExitSectionsPointerMovement>
     public PsiElement<?>[] getElements() {
         return elements;
     }
+
+    /**
+     * Replaces all elements in this section. This is used by optimizations on the finished section, before it's being
+     * executed.
+     *
+     * @param elements the new elements
+     * @since 0.1.0
+     */
+    public void setElements(@NotNull PsiElement<?>[] elements) {
+        this.elements = elements;
+    }
 }
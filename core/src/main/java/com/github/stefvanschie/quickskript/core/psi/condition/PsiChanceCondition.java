@@ -6,6 +6,7 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.pattern.group.OptionalGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.util.Pair;
 import org.jetbrains.annotations.Contract;
@@ -20,6 +21,7 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiChanceCondition extends PsiElement<Boolean> {
 
     /**
@@ -48,11 +50,17 @@ public class PsiChanceCondition extends PsiElement<Boolean> {
         this.asPercentage = asPercentage;
     }
 
-    @Nullable
+    @NotNull
     @Contract(pure = true)
     @Override
     protected Boolean executeImpl(@Nullable Context context) {
-        return ThreadLocalRandom.current().nextDouble(asPercentage ? 100 : 1) < number.execute(context, Double.class);
+        return executeBooleanImpl(context);
+    }
+
+    @Contract(pure = true)
+    @Override
+    protected boolean executeBooleanImpl(@Nullable Context context) {
+        return ThreadLocalRandom.current().nextDouble(asPercentage ? 100 : 1) < number.executeDouble(context);
     }
 
     /**
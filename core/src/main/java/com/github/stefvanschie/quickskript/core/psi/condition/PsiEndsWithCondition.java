@@ -4,6 +4,8 @@ import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.util.text.Text;
 import org.jetbrains.annotations.Contract;
@@ -16,6 +18,8 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiEndsWithCondition extends PsiElement<Boolean> {
 
     /**
@@ -58,10 +62,16 @@ public class PsiEndsWithCondition extends PsiElement<Boolean> {
         }
     }
 
-    @Nullable
+    @NotNull
     @Contract(pure = true)
     @Override
     protected Boolean executeImpl(@Nullable Context context) {
+        return executeBooleanImpl(context);
+    }
+
+    @Contract(pure = true)
+    @Override
+    protected boolean executeBooleanImpl(@Nullable Context context) {
         Text text = this.text.execute(context, Text.class);
 
         return positive == text.toString().endsWith(suffix.execute(context, Text.class).toString());
@@ -4,6 +4,8 @@ import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -14,6 +16,8 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiExistsCondition extends PsiElement<Boolean> {
 
     /**
@@ -45,10 +49,16 @@ public class PsiExistsCondition extends PsiElement<Boolean> {
         }
     }
 
-    @Nullable
+    @NotNull
     @Contract(pure = true)
     @Override
     protected Boolean executeImpl(@Nullable Context context) {
+        return executeBooleanImpl(context);
+    }
+
+    @Contract(pure = true)
+    @Override
+    protected boolean executeBooleanImpl(@Nullable Context context) {
         return positive == (object.execute(context) != null);
     }
 
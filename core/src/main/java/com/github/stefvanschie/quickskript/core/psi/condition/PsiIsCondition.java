@@ -4,17 +4,21 @@ import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Checks to see if values on both sides are or aren't equal. If this value is pre computed, we'll throw a warning to
- * signal the user that the expression is unneeded and can be replaced by a direct boolean value.
+ * Checks to see if values on both sides are or aren't equal. If this value is pre computed and used as a condition,
+ * the section optimizer warns the user that the expression is unneeded and can be replaced by a direct boolean value.
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiIsCondition extends PsiElement<Boolean> {
 
     /**
@@ -45,16 +49,20 @@ public class PsiIsCondition extends PsiElement<Boolean> {
         this.positive = positive;
 
         if (this.leftSide.isPreComputed() && this.rightSide.isPreComputed()) {
-            //TODO: Show warning
             preComputed = executeImpl(null);
             this.leftSide = null;
             this.rightSide = null;
         }
     }
 
-    @Nullable
+    @NotNull
     @Override
     protected Boolean executeImpl(@Nullable Context context) {
+        return executeBooleanImpl(context);
+    }
+
+    @Override
+    protected boolean executeBooleanImpl(@Nullable Context context) {
         Object leftResult = leftSide.execute(context);
         Object rightResult = rightSide.execute(context);
 
@@ -3,6 +3,8 @@ package com.github.stefvanschie.quickskript.core.psi.effect;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.ChangesEvent;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -12,6 +14,8 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@ChangesEvent
 public class PsiCancelEventEffect extends PsiElement<Void> {
 
     protected PsiCancelEventEffect(int lineNumber) {
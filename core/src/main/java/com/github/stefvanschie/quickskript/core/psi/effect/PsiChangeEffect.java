@@ -6,6 +6,7 @@ import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
 import com.github.stefvanschie.quickskript.core.psi.expression.util.*;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.PatternTypeOrder;
 import org.jetbrains.annotations.Contract;
@@ -19,6 +20,7 @@ import java.util.Objects;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiChangeEffect extends PsiElement<Void> {
 
     /**
@@ -2,6 +2,7 @@ package com.github.stefvanschie.quickskript.core.psi.effect;
 
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
@@ -13,6 +14,7 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiContinueEffect extends PsiPrecomputedHolder<SimpleInstructionPointerMovement.Loop> {
 
     /**
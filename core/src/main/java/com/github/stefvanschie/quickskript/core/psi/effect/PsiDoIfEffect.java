@@ -6,6 +6,7 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.pattern.group.RegexGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.util.Pair;
@@ -18,6 +19,7 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiDoIfEffect extends PsiElement<Void> {
 
     /**
@@ -54,7 +56,7 @@ public class PsiDoIfEffect extends PsiElement<Void> {
     @Nullable
     @Override
     protected Void executeImpl(@Nullable Context context) {
-        if (condition.execute(context, Boolean.class)) {
+        if (condition.executeBoolean(context)) {
             expression.execute(context);
         }
 
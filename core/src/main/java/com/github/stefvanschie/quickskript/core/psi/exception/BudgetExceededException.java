@@ -0,0 +1,16 @@
+package com.github.stefvanschie.quickskript.core.psi.exception;
+
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
+
+/**
+ * An exception thrown when an execution used up its {@link ExecutionBudget} and was aborted. The line number is the
+ * line of the section at which the budget was found to be exceeded, which is usually the loop that didn't end.
+ *
+ * @since 0.1.0
+ */
+public class BudgetExceededException extends ExecutionException {
+
+    public BudgetExceededException(String message, int lineNumber) {
+        super(message, lineNumber);
+    }
+}
@@ -5,6 +5,8 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -13,6 +15,8 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Calculates the result of an arithmetic expression
  */
+@AsyncSafe
+@Pure
 public class PsiArithmeticExpression extends PsiElement<Number> {
 
     /**
@@ -55,8 +59,14 @@ public class PsiArithmeticExpression extends PsiElement<Number> {
     @Contract(pure = true)
     @Override
     protected Number executeImpl(@Nullable Context context) {
-        double leftNumber = left.execute(context, Number.class).doubleValue();
-        double rightNumber = right.execute(context, Number.class).doubleValue();
+        return executeDoubleImpl(context);
+    }
+
+    @Contract(pure = true)
+    @Override
+    protected double executeDoubleImpl(@Nullable Context context) {
+        double leftNumber = left.executeDouble(context);
+        double rightNumber = right.executeDouble(context);
 
         switch (operation) {
             case ADDITION:
@@ -3,6 +3,7 @@ package com.github.stefvanschie.quickskript.core.psi.expression;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.util.text.Text;
 import org.jetbrains.annotations.Contract;
@@ -13,6 +14,7 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
+@Pure
 public class PsiBukkitVersionExpression extends PsiElement<Text> {
 
     /**
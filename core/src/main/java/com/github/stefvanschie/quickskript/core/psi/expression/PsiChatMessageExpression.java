@@ -4,6 +4,8 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.expression.util.Settable;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.ChangesEvent;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.util.text.Text;
 import org.jetbrains.annotations.Contract;
@@ -14,6 +16,8 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@ChangesEvent
 public class PsiChatMessageExpression extends PsiElement<Text> implements Settable {
 
     /**
@@ -1,6 +1,7 @@
 package com.github.stefvanschie.quickskript.core.psi.expression;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.pattern.group.RegexGroup;
@@ -33,12 +34,6 @@ public class PsiFilterExpression extends PsiElement<Object> {
      */
     private final PsiElement<?> predicate;
 
-    /**
-     * The element that is currently being checked
-     */
-    @Nullable
-    private Object currentLoopingElement;
-
     /**
      * Creates a new element with the given line number
      *
@@ -61,27 +56,38 @@ public class PsiFilterExpression extends PsiElement<Object> {
     @Override
     protected Object executeImpl(@Nullable Context context) {
         Object object = collection.execute(context);
+        ExecutionFrame frame = ExecutionFrame.of(context);
+        //the predicate may contain this expression again, so restore the element of the outer loop afterwards
+        Object previousLoopingElement = frame.get(this);
 
         List<Object> list = new ArrayList<>();
-        PsiCollection.forEach(object, e -> {
-            currentLoopingElement = e;
-            if (predicate.execute(context, Boolean.class)) {
-                list.add(e);
-            }
-        }, null);
-
-        currentLoopingElement = null;
+
+        try {
+            PsiCollection.forEach(object, e -> {
+                frame.set(this, e);
+                if (predicate.executeBoolean(context)) {
+                    list.add(e);
+                }
+            }, null);
+        } finally {
+            frame.set(this, previousLoopingElement);
+        }
+
         return list;
     }
 
     /**
-     * Gets the element we're currently testing
+     * Gets the element we're currently testing in the execution with the specified context. The element is kept in the
+     * {@link ExecutionFrame} of the execution, so multiple executions can test elements at the same time.
      *
+     * @param context the context of the execution
      * @return the current element
      */
     @NotNull
     @Contract(pure = true)
-    public Object getCurrentLoopingElement() {
+    public Object getCurrentLoopingElement(@Nullable Context context) {
+        Object currentLoopingElement = ExecutionFrame.of(context).get(this);
+
         if (currentLoopingElement == null) {
             throw new IllegalStateException("Looping element can only be retrieved when this is being looped over");
         }
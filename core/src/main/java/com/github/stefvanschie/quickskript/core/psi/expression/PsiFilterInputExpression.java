@@ -48,7 +48,7 @@ public class PsiFilterInputExpression extends PsiElement<Object> {
             throw new ExecutionException("Filter input is not inside a filter expression", lineNumber);
         }
 
-        return ((PsiFilterExpression) element).getCurrentLoopingElement();
+        return ((PsiFilterExpression) element).getCurrentLoopingElement(context);
     }
 
     /**
@@ -6,6 +6,8 @@ import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -19,6 +21,8 @@ import java.security.NoSuchAlgorithmException;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiHashExpression extends PsiElement<String> {
 
     /**
@@ -61,7 +65,13 @@ public class PsiHashExpression extends PsiElement<String> {
             throw new ExecutionException("Text should not be null", lineNumber);
         }
 
-        byte[] bytes = messageDigest.digest(object.toString().getBytes());
+        byte[] bytes;
+
+        //message digests keep state while hashing, so executions on multiple threads have to take turns
+        synchronized (messageDigest) {
+            bytes = messageDigest.digest(object.toString().getBytes());
+        }
+
         StringBuilder builder = new StringBuilder(bytes.length * 2);
 
         for (byte b : bytes) {
@@ -5,6 +5,8 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -15,6 +17,8 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiRoundExpression extends PsiElement<Integer> {
 
     /**
@@ -52,16 +56,32 @@ public class PsiRoundExpression extends PsiElement<Integer> {
     @NotNull
     @Override
     protected Integer executeImpl(@Nullable Context context) {
+        return round(context);
+    }
+
+    @Override
+    protected double executeDoubleImpl(@Nullable Context context) {
+        return round(context);
+    }
+
+    /**
+     * Rounds the number according to the {@link #roundMode}
+     *
+     * @param context the context this code is being executed in, or null during pre computation
+     * @return the rounded number
+     * @since 0.1.0
+     */
+    private int round(@Nullable Context context) {
         if (roundMode == RoundMode.DOWN) {
-            return (int) Math.floor(number.execute(context, Number.class).doubleValue());
+            return (int) Math.floor(number.executeDouble(context));
         }
 
         if (roundMode == RoundMode.NEAREST) {
-            return (int) Math.round(number.execute(context, Number.class).doubleValue());
+            return (int) Math.round(number.executeDouble(context));
         }
 
         if (roundMode == RoundMode.UP) {
-            return (int) Math.ceil(number.execute(context, Number.class).doubleValue());
+            return (int) Math.ceil(number.executeDouble(context));
         }
 
         throw new ExecutionException(new UnsupportedOperationException("Unknown rounding mode"), lineNumber);
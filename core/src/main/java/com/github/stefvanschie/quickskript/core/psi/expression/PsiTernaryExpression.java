@@ -8,6 +8,8 @@ import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.util.Pair;
@@ -21,6 +23,8 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiTernaryExpression extends PsiElement<Object> {
 
     /**
@@ -75,7 +79,7 @@ public class PsiTernaryExpression extends PsiElement<Object> {
     @Nullable
     @Override
     protected Object executeImpl(@Nullable Context context) {
-        if (condition.execute(context, Boolean.class)) {
+        if (condition.executeBoolean(context)) {
             return ifCode.execute(context);
         }
 
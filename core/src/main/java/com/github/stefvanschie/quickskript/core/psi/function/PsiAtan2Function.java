@@ -3,6 +3,8 @@ package com.github.stefvanschie.quickskript.core.psi.function;
 import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
@@ -17,6 +19,8 @@ import java.util.regex.Pattern;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiAtan2Function extends PsiElement<Double> {
 
     /**
@@ -47,7 +51,12 @@ public class PsiAtan2Function extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable Context context) {
-        return Math.atan2(x.execute(context, Number.class).doubleValue(), y.execute(context, Number.class).doubleValue());
+        return executeDoubleImpl(context);
+    }
+
+    @Override
+    protected double executeDoubleImpl(@Nullable Context context) {
+        return Math.atan2(x.executeDouble(context), y.executeDouble(context));
     }
 
     /**
@@ -1,10 +1,12 @@
 package com.github.stefvanschie.quickskript.core.psi.function;
 
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiCollection;
 import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
@@ -21,6 +23,8 @@ import java.util.stream.Stream;
  *
  * @since 0.1.0
  */
+@AsyncSafe
+@Pure
 public class PsiProductFunction extends PsiElement<Double> {
 
     /**
@@ -49,6 +53,11 @@ public class PsiProductFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable Context context) {
+        return executeDoubleImpl(context);
+    }
+
+    @Override
+    protected double executeDoubleImpl(@Nullable Context context) {
         Object object = element.execute(context);
 
         Stream<Object> stream = PsiCollection.toStreamStrict(object);
@@ -7,6 +7,7 @@ import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.StateDependent;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.util.Pair;
@@ -36,10 +37,12 @@ public class PsiRegionLiteral extends PsiPrecomputedHolder<Region> {
     }
 
     /**
-     * A factory for creating {@link PsiRegionLiteral}s
+     * A factory for creating {@link PsiRegionLiteral}s. Regions can be created and removed while the server is running,
+     * so whether this factory can parse a name may change.
      *
      * @since 0.1.0
      */
+    @StateDependent
     public static class Factory implements PsiElementFactory {
 
         /**
@@ -1,17 +1,30 @@
 package com.github.stefvanschie.quickskript.core.psi.section;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.BudgetExceededException;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.ChangesEvent;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.compiler.CompiledElements;
+import com.github.stefvanschie.quickskript.core.skript.compiler.ControlFlowCompiler;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.Optimization;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.SectionOptimizer;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.SubexpressionIndex;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NodeProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -33,12 +46,47 @@ public class PsiBaseSection extends PsiSection {
     @NotNull
     private final SkriptProfiler.Identifier profilerIdentifier;
 
+    /**
+     * The recorder of the profiler which was active when this entry point was last executed, so the entry of this
+     * entry point doesn't have to be looked up on every execution
+     */
+    @NotNull
+    private volatile SkriptProfiler.Recorder profilerRecorder;
+
     /**
      * The skript this section is for
      */
     @NotNull
     private final Skript skript;
 
+    /**
+     * The optimizations which were made to the elements of this entry point
+     */
+    @NotNull
+    private final List<Optimization> optimizations;
+
+    /**
+     * The elements compiled to bytecode, or null if the elements are interpreted
+     */
+    @Nullable
+    private final CompiledElements compiledElements;
+
+    /**
+     * The budget of every execution of this entry point, or null if executions are unlimited
+     */
+    @Nullable
+    private final ExecutionBudget executionBudget;
+
+    /**
+     * Whether every element of this entry point is async safe, see {@link #isAsyncSafe()}
+     */
+    private final boolean asyncSafe;
+
+    /**
+     * Whether any element of this entry point changes the event, see {@link #changesEvent()}
+     */
+    private final boolean changesEvent;
+
     /**
      * Creates a new Skript entry point.
      *
@@ -49,19 +97,158 @@ public class PsiBaseSection extends PsiSection {
      */
     public PsiBaseSection(@NotNull SkriptLoader skriptLoader, @NotNull Skript skript,
         @NotNull SkriptFileSection section, @NotNull Class<? extends Context> contextType) {
-        super(section.parseNodes(skriptLoader), section.getLineNumber());
+        this(skriptLoader, skript, section, contextType, new SubexpressionIndex());
+    }
+
+    /**
+     * Creates a new Skript entry point, recording its elements in the specified index while parsing them
+     *
+     * @param skript the Skript which contains this entry point
+     * @param section the section this entry point should be parsed from
+     * @param contextType the type of context of this entry point
+     * @param subexpressionIndex the index to find common sub expressions with
+     * @since 0.1.0
+     */
+    private PsiBaseSection(@NotNull SkriptLoader skriptLoader, @NotNull Skript skript,
+        @NotNull SkriptFileSection section, @NotNull Class<? extends Context> contextType,
+        @NotNull SubexpressionIndex subexpressionIndex) {
+        super(parseNodes(skriptLoader, section, subexpressionIndex), section.getLineNumber());
 
         this.skript = skript;
         this.contextType = contextType;
 
         profilerIdentifier = new SkriptProfiler.Identifier(skript, section.getLineNumber());
+        profilerRecorder = SkriptProfiler.getActive().getRecorder(contextType, profilerIdentifier);
+        optimizations = SectionOptimizer.optimize(this);
+        asyncSafe = !subexpressionIndex.requiresMainThread(this);
+        changesEvent = subexpressionIndex.changesEvent(this);
+        subexpressionIndex.assignSlots(this);
+
+        NodeProfiler nodeProfiler = skriptLoader.getNodeProfiler();
+
+        if (nodeProfiler != null) {
+            nodeProfiler.instrument(profilerIdentifier, this);
+        }
+
+        compiledElements = skriptLoader.isSectionCompilationEnabled() ? ControlFlowCompiler.compile(elements) : null;
+        executionBudget = skriptLoader.getExecutionBudget(skript, section.getLineNumber());
     }
 
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable Context context) {
+        ExecutionFrame frame = executionBudget == null ? null : ExecutionFrame.of(context);
+        boolean budgetStarted = frame != null && frame.startBudget(executionBudget);
         long startTime = System.nanoTime();
+        ExitSectionsPointerMovement pointerMovement;
 
+        try {
+            pointerMovement = compiledElements == null ? executeElements(context) : compiledElements.execute(context);
+        } catch (BudgetExceededException e) {
+            //only the entry point which started the budget counts it, in case this was invoked by another entry point
+            if (budgetStarted) {
+                getProfilerRecorder().recordBudgetExceeded();
+            }
+
+            throw e;
+        } finally {
+            if (budgetStarted) {
+                frame.endBudget();
+            }
+        }
+
+        getProfilerRecorder().record(System.nanoTime() - startTime);
+
+        return pointerMovement == null ? null : exit(pointerMovement, lineNumber);
+    }
+
+    /**
+     * Gets the recorder of the active profiler for this entry point. The recorder is only resolved again when the
+     * active profiler has changed.
+     *
+     * @return the recorder
+     * @since 0.1.0
+     */
+    @NotNull
+    private SkriptProfiler.Recorder getProfilerRecorder() {
+        SkriptProfiler.Recorder recorder = profilerRecorder;
+        SkriptProfiler<?> profiler = SkriptProfiler.getActive();
+
+        if (recorder.getProfiler() != profiler) {
+            recorder = profiler.getRecorder(contextType, profilerIdentifier);
+            profilerRecorder = recorder;
+        }
+
+        return recorder;
+    }
+
+    /**
+     * Gets the optimizations which were made to the elements of this entry point after they were parsed. These point
+     * at code which has no effect or is never executed.
+     *
+     * @return the optimizations
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<Optimization> getOptimizations() {
+        return optimizations;
+    }
+
+    /**
+     * Gets whether every element of this entry point is {@link AsyncSafe}, so it may be executed on another thread than
+     * the main thread. Code which is never executed isn't taken into account.
+     *
+     * @return true if this entry point may be executed on any thread, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isAsyncSafe() {
+        return asyncSafe;
+    }
+
+    /**
+     * Gets whether any element of this entry point {@link ChangesEvent}, so it has to be executed on the thread the
+     * event is fired on for the change to have an effect. Code which is never executed isn't taken into account.
+     *
+     * @return true if this entry point changes the event, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean changesEvent() {
+        return changesEvent;
+    }
+
+    /**
+     * Parses the nodes of the specified section, while recording the parsed elements in the specified index
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @param section the section to parse
+     * @param subexpressionIndex the index to record the parsed elements in
+     * @return the parsed elements
+     * @since 0.1.0
+     */
+    @NotNull
+    private static PsiElement<?>[] parseNodes(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section,
+        @NotNull SubexpressionIndex subexpressionIndex) {
+        skriptLoader.setSubexpressionIndex(subexpressionIndex);
+
+        try {
+            return section.parseNodes(skriptLoader);
+        } finally {
+            skriptLoader.setSubexpressionIndex(null);
+        }
+    }
+
+    /**
+     * Executes the elements one by one, until one of them returns {@link Boolean#FALSE} or a pointer movement
+     *
+     * @param context the context this code is being executed in
+     * @return the pointer movement an element returned, or null if none was returned
+     * @since 0.1.0
+     */
+    @Nullable
+    private ExitSectionsPointerMovement executeElements(@Nullable Context context) {
         for (PsiElement<?> element : elements) {
             Object result = element.execute(context);
 
@@ -70,31 +257,33 @@ public class PsiBaseSection extends PsiSection {
             }
 
             if (result instanceof ExitSectionsPointerMovement) {
-                ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                ExitSectionsPointerMovement.Type type = pointerMovement.getType();
-
-                if (type != ExitSectionsPointerMovement.Type.EVERYTHING) {
-                    throw new ExecutionException(
-                        "Tried to exit trigger, but found a " + type.name().toLowerCase(Locale.getDefault()), lineNumber
-                    );
-                }
-
-                Integer amount = pointerMovement.getAmount();
+                return (ExitSectionsPointerMovement) result;
+            }
+        }
 
-                if (amount == null) {
-                    return new ExitSectionsPointerMovement(type);
-                }
+        return null;
+    }
 
-                if (amount > 1) {
-                    return new ExitSectionsPointerMovement(type, amount - 1);
-                }
+    /**
+     * Exits an entry point because of the specified pointer movement, which one of its elements returned
+     *
+     * @param pointerMovement the returned pointer movement
+     * @param lineNumber the line number of the entry point
+     * @return the pointer movement the entry point should return
+     * @throws ExecutionException if the pointer movement doesn't exit everything
+     * @since 0.1.0
+     */
+    @Nullable
+    public static ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement,
+                                                   int lineNumber) {
+        ExitSectionsPointerMovement.Type type = pointerMovement.getType();
 
-                return null;
-            }
+        if (type != ExitSectionsPointerMovement.Type.EVERYTHING) {
+            throw new ExecutionException(
+                "Tried to exit trigger, but found a " + type.name().toLowerCase(Locale.getDefault()), lineNumber
+            );
         }
 
-        SkriptProfiler.getActive().onTimeMeasured(contextType, profilerIdentifier,
-            System.nanoTime() - startTime);
-        return null;
+        return pointerMovement.exitOne();
     }
 }
@@ -5,7 +5,9 @@ import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiSection;
 import com.github.stefvanschie.quickskript.core.psi.PsiSectionFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -23,11 +25,13 @@ import java.util.regex.Pattern;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiIf extends PsiSection {
 
     /**
      * The condition of the execution.
      */
+    @NotNull
     private final PsiElement<?> condition;
 
     /**
@@ -47,10 +51,6 @@ public class PsiIf extends PsiSection {
     public PsiIf(@NotNull PsiElement<?>[] elements, @NotNull PsiElement<?> condition, int lineNumber) {
         super(elements, lineNumber);
         this.condition = condition;
-
-        if (condition.isPreComputed()) {
-            //TODO warning
-        }
     }
 
     /**
@@ -71,9 +71,11 @@ public class PsiIf extends PsiSection {
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable Context context) {
+        ExecutionBudget.check(context, lineNumber);
+
         PsiElement<?>[] elements;
 
-        if (condition.execute(context, Boolean.class)) {
+        if (condition.executeBoolean(context)) {
             elements = this.elements;
         } else if (elseSection != null) {
             elements = elseSection.getElements();
@@ -89,28 +91,54 @@ public class PsiIf extends PsiSection {
             }
 
             if (result instanceof ExitSectionsPointerMovement) {
-                ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                ExitSectionsPointerMovement.Type type = pointerMovement.getType();
-
-                if (type == ExitSectionsPointerMovement.Type.LOOPS) {
-                    throw new ExecutionException("Tried to exit loop, but found a conditional", lineNumber);
-                }
+                return exit((ExitSectionsPointerMovement) result, lineNumber);
+            }
+        }
 
-                Integer amount = pointerMovement.getAmount();
+        return null;
+    }
 
-                if (amount == null) {
-                    return new ExitSectionsPointerMovement(type);
-                }
+    /**
+     * Gets the condition of the execution
+     *
+     * @return the condition
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<?> getCondition() {
+        return condition;
+    }
 
-                if (amount > 1) {
-                    return new ExitSectionsPointerMovement(type, amount - 1);
-                }
+    /**
+     * Gets the section which should get executed if the condition is not met, if any
+     *
+     * @return the else section, or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public PsiSection getElseSection() {
+        return elseSection;
+    }
 
-                return null;
-            }
+    /**
+     * Exits an if section because of the specified pointer movement, which one of its elements returned
+     *
+     * @param pointerMovement the returned pointer movement
+     * @param lineNumber the line number of the if section
+     * @return the pointer movement the if section should return
+     * @throws ExecutionException if the pointer movement only exits loops
+     * @since 0.1.0
+     */
+    @Nullable
+    public static ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement,
+                                                   int lineNumber) {
+        if (pointerMovement.getType() == ExitSectionsPointerMovement.Type.LOOPS) {
+            throw new ExecutionException("Tried to exit loop, but found a conditional", lineNumber);
         }
 
-        return null;
+        return pointerMovement.exitOne();
     }
 
     /**
@@ -5,8 +5,10 @@ import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiSection;
 import com.github.stefvanschie.quickskript.core.psi.PsiSectionFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -21,11 +23,13 @@ import java.util.regex.Pattern;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public class PsiWhile extends PsiSection {
 
     /**
      * The condition of the continuing execution.
      */
+    @NotNull
     private final PsiElement<?> condition;
 
     /**
@@ -40,17 +44,20 @@ public class PsiWhile extends PsiSection {
         super(elements, lineNumber);
 
         this.condition = condition;
-
-        if (condition.isPreComputed()) {
-            //TODO warning
-        }
     }
 
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable Context context) {
         outerLoop:
-        while (condition.execute(context, Boolean.class)) {
+        while (true) {
+            //the start of every iteration is a back-edge, at which a loop which doesn't end runs out of budget
+            ExecutionBudget.check(context, lineNumber);
+
+            if (!condition.executeBoolean(context)) {
+                break;
+            }
+
             for (PsiElement<?> element : elements) {
                 Object result = element.execute(context);
 
@@ -63,24 +70,7 @@ public class PsiWhile extends PsiSection {
                 }
 
                 if (result instanceof ExitSectionsPointerMovement) {
-                    ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                    ExitSectionsPointerMovement.Type type = pointerMovement.getType();
-
-                    if (type == ExitSectionsPointerMovement.Type.CONDITIONALS) {
-                        throw new ExecutionException("Tried to exit conditional, but found a loop", lineNumber);
-                    }
-
-                    Integer amount = pointerMovement.getAmount();
-
-                    if (amount == null) {
-                        return new ExitSectionsPointerMovement(type);
-                    }
-
-                    if (amount > 1) {
-                        return new ExitSectionsPointerMovement(type, amount - 1);
-                    }
-
-                    return null;
+                    return exit((ExitSectionsPointerMovement) result, lineNumber);
                 }
             }
         }
@@ -88,6 +78,37 @@ public class PsiWhile extends PsiSection {
         return null;
     }
 
+    /**
+     * Gets the condition of the continuing execution
+     *
+     * @return the condition
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<?> getCondition() {
+        return condition;
+    }
+
+    /**
+     * Exits a while section because of the specified pointer movement, which one of its elements returned
+     *
+     * @param pointerMovement the returned pointer movement
+     * @param lineNumber the line number of the while section
+     * @return the pointer movement the while section should return
+     * @throws ExecutionException if the pointer movement only exits conditionals
+     * @since 0.1.0
+     */
+    @Nullable
+    public static ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement,
+                                                   int lineNumber) {
+        if (pointerMovement.getType() == ExitSectionsPointerMovement.Type.CONDITIONALS) {
+            throw new ExecutionException("Tried to exit conditional, but found a loop", lineNumber);
+        }
+
+        return pointerMovement.exitOne();
+    }
+
     /**
      * A factory for creating while sections.
      *
@@ -0,0 +1,21 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that elements of the annotated type may be executed on any thread while the server keeps running. This is
+ * the case for elements which only work with their own values, the values of the elements they were parsed from and
+ * the event that is being handled, and which don't change the state of the server other than by sending messages.
+ * Elements of other types are assumed to only be executable on the main thread. An entry point of which every element
+ * is async safe may be executed on another thread, see
+ * {@link com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection#isAsyncSafe()}.
+ *
+ * This is inherited by subclasses, so platform specific implementations of an async safe element may not access the
+ * state of the server either.
+ *
+ * @since 0.1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AsyncSafe {}
@@ -0,0 +1,20 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that elements of the annotated type change the event which is being handled: effects when they're
+ * executed, like cancelling the event, and expressions when they're changed, like setting the chat message. Such a
+ * change only has an effect while the event is being fired, so an entry point containing any of these elements has to
+ * be executed on the thread the event is fired on, see
+ * {@link com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection#changesEvent()}. Since an expression may
+ * be used without being changed, this is an overestimate.
+ *
+ * This is inherited by subclasses, so platform specific implementations of these elements are included as well.
+ *
+ * @since 0.1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ChangesEvent {}
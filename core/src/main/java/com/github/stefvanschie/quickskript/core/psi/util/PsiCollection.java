@@ -21,6 +21,7 @@ import java.util.stream.StreamSupport;
  *
  * @since 0.1.0
  */
+@AsyncSafe
 public final class PsiCollection<T> extends PsiElement<Collection<T>> {
 
     /**
@@ -0,0 +1,19 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that elements of the annotated type have no side effects and return an equal value every time they're
+ * executed during a single execution of a trigger, as long as the elements they were parsed from do so as well.
+ * Elements of other types are assumed to be impure. When a trigger contains the same pure expression multiple times,
+ * it's only executed once per execution of the trigger and the other occurrences reuse its value, so the value may
+ * not be modified by the elements using it.
+ *
+ * This is inherited by subclasses, so platform specific implementations of a pure element are pure as well.
+ *
+ * @since 0.1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pure {}
@@ -0,0 +1,21 @@
+package com.github.stefvanschie.quickskript.core.psi.util.parsing;
+
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseCache;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that whether the annotated factory can parse a piece of text depends on state which may change while the
+ * server is running, like the regions which currently exist. Parsing the same text may therefore give a different
+ * outcome later on, so the outcome of parsing any text for which a method of this factory was invoked, and of any text
+ * containing it, is never stored in a {@link ParseCache}.
+ *
+ * This is inherited by subclasses, so platform specific factories of a state dependent factory are state dependent as
+ * well.
+ *
+ * @since 0.1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface StateDependent {}
@@ -56,6 +56,27 @@ public class ExitSectionsPointerMovement {
         this.amount = amount;
     }
 
+    /**
+     * Gets the movement which remains after one section has been exited from. If every layer should be exited from,
+     * this is the same movement; if this was the last layer to exit from, this is null.
+     *
+     * @return the remaining movement, or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public ExitSectionsPointerMovement exitOne() {
+        if (amount == null) {
+            return this;
+        }
+
+        if (amount > 1) {
+            return new ExitSectionsPointerMovement(type, amount - 1);
+        }
+
+        return null;
+    }
+
     /**
      * The amount of layers which should be exited from. Null if every layer should be exited from.
      *
@@ -0,0 +1,172 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * All commands and events of a skript, parsed but not yet registered.
+ *
+ * @since 0.1.0
+ */
+public final class CompiledSkript {
+
+    /**
+     * The skript these units were compiled from
+     */
+    @NotNull
+    private final Skript skript;
+
+    /**
+     * The compiled units by the top-level section they were compiled from, in the order they should be registered in
+     */
+    @NotNull
+    private final Map<SkriptFileSection, CompiledUnit> units;
+
+    /**
+     * The exceptions thrown while parsing the top-level sections which couldn't be compiled
+     */
+    @NotNull
+    private final List<ParseException> parseExceptions;
+
+    /**
+     * Creates a new compiled skript
+     *
+     * @param skript the skript the units were compiled from
+     * @param units the compiled units by the section they were compiled from, in the order they should be registered
+     *              in
+     * @since 0.1.0
+     */
+    public CompiledSkript(@NotNull Skript skript, @NotNull Map<SkriptFileSection, CompiledUnit> units) {
+        this(skript, units, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new compiled skript of which some top-level sections couldn't be compiled
+     *
+     * @param skript the skript the units were compiled from
+     * @param units the compiled units by the section they were compiled from, in the order they should be registered
+     *              in
+     * @param parseExceptions the exceptions thrown while parsing the sections which couldn't be compiled
+     * @since 0.1.0
+     */
+    public CompiledSkript(@NotNull Skript skript, @NotNull Map<SkriptFileSection, CompiledUnit> units,
+        @NotNull List<ParseException> parseExceptions) {
+        this.skript = skript;
+        this.units = Collections.unmodifiableMap(new LinkedHashMap<>(units));
+        this.parseExceptions = Collections.unmodifiableList(new ArrayList<>(parseExceptions));
+    }
+
+    /**
+     * Registers all units of this skript, in order
+     *
+     * @since 0.1.0
+     */
+    public void register() {
+        units.values().forEach(CompiledUnit::register);
+    }
+
+    /**
+     * Unregisters all units of this skript
+     *
+     * @since 0.1.0
+     */
+    public void unregister() {
+        units.values().forEach(CompiledUnit::unregister);
+    }
+
+    /**
+     * Puts this skript in place of the specified registered version of it. Units which this skript shares with the
+     * previous version are left untouched. A new unit takes the place of a unit of the previous version which was
+     * compiled from a section with the same header if possible, see {@link CompiledUnit#replace(CompiledUnit)}. All
+     * remaining units of the previous version are unregistered, after which the remaining new units are registered.
+     *
+     * @param previous the registered version of this skript
+     * @since 0.1.0
+     */
+    public void replace(@NotNull CompiledSkript previous) {
+        if (previous == this) {
+            return;
+        }
+
+        Set<CompiledUnit> previousUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+        previousUnits.addAll(previous.units.values());
+
+        Set<CompiledUnit> sharedUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (CompiledUnit unit : units.values()) {
+            if (previousUnits.contains(unit)) {
+                sharedUnits.add(unit);
+            }
+        }
+
+        Map<String, Deque<CompiledUnit>> removedUnits = new LinkedHashMap<>();
+
+        previous.units.forEach((section, unit) -> {
+            if (!sharedUnits.contains(unit)) {
+                removedUnits.computeIfAbsent(section.getText(), header -> new ArrayDeque<>()).add(unit);
+            }
+        });
+
+        List<CompiledUnit> addedUnits = new ArrayList<>();
+
+        units.forEach((section, unit) -> {
+            if (sharedUnits.contains(unit)) {
+                return;
+            }
+
+            Deque<CompiledUnit> candidates = removedUnits.get(section.getText());
+
+            if (candidates != null && !candidates.isEmpty() && unit.replace(candidates.getFirst())) {
+                candidates.removeFirst();
+                return;
+            }
+
+            addedUnits.add(unit);
+        });
+
+        removedUnits.values().forEach(candidates -> candidates.forEach(CompiledUnit::unregister));
+        addedUnits.forEach(CompiledUnit::register);
+    }
+
+    /**
+     * Gets the skript these units were compiled from
+     *
+     * @return the skript
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Skript getSkript() {
+        return skript;
+    }
+
+    /**
+     * Gets the compiled units by the top-level section they were compiled from, in the order they should be
+     * registered in
+     *
+     * @return the compiled units
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Map<SkriptFileSection, CompiledUnit> getUnits() {
+        return units;
+    }
+
+    /**
+     * Gets the exceptions thrown while parsing the top-level sections which couldn't be compiled. These sections have
+     * no unit, but the other sections of the skript are compiled regardless.
+     *
+     * @return the parse exceptions, which is empty if every section was compiled
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<ParseException> getParseExceptions() {
+        return parseExceptions;
+    }
+}
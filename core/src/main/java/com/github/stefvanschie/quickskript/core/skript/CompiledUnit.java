@@ -0,0 +1,41 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command or event of a skript whose code has already been parsed, but which hasn't been registered yet. Compiling
+ * can happen on any thread, whereas registering, unregistering and replacing have to happen on the thread the platform
+ * expects registrations on.
+ *
+ * @since 0.1.0
+ */
+public interface CompiledUnit {
+
+    /**
+     * Registers this unit, so it can be executed. This does not parse anything.
+     *
+     * @since 0.1.0
+     */
+    void register();
+
+    /**
+     * Unregisters this unit again, so it will no longer be executed. This does nothing if this unit isn't registered.
+     *
+     * @since 0.1.0
+     */
+    void unregister();
+
+    /**
+     * Tries to take the place of the specified registered unit, without unregistering and registering anything with
+     * the platform. This is only possible if both units would be registered in the same way, e.g. both are handlers
+     * of the same event. If this returns true, this unit is registered and the specified unit no longer is. If this
+     * returns false, nothing changed.
+     *
+     * @param previous the registered unit to replace
+     * @return true if this unit took the place of the specified unit, false otherwise
+     * @since 0.1.0
+     */
+    default boolean replace(@NotNull CompiledUnit previous) {
+        return false;
+    }
+}
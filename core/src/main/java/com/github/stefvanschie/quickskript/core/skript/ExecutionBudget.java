@@ -0,0 +1,99 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.psi.exception.BudgetExceededException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A limit on how long a single execution of an entry point may run, so a loop which never ends can't freeze the thread
+ * it runs on. The budget is expressed as a time in nanoseconds, as an amount of steps, or both. A step is taken every
+ * time a section is entered and every time a loop starts its next iteration; these are the points at which the budget
+ * is checked. Once the budget is used up, the execution is aborted with a {@link BudgetExceededException}.
+ *
+ * @since 0.1.0
+ */
+public final class ExecutionBudget {
+
+    /**
+     * The maximum time an execution may take in nanoseconds, or zero if the time is unlimited
+     */
+    private final long timeLimit;
+
+    /**
+     * The maximum amount of steps an execution may take, or zero if the amount of steps is unlimited
+     */
+    private final long stepLimit;
+
+    /**
+     * Creates a new execution budget
+     *
+     * @param timeLimit the maximum time an execution may take in nanoseconds, or zero for no limit
+     * @param stepLimit the maximum amount of steps an execution may take, or zero for no limit
+     * @throws IllegalArgumentException if either limit is negative
+     * @since 0.1.0
+     */
+    public ExecutionBudget(long timeLimit, long stepLimit) {
+        if (timeLimit < 0 || stepLimit < 0) {
+            throw new IllegalArgumentException("The limits of an execution budget can't be negative");
+        }
+
+        this.timeLimit = timeLimit;
+        this.stepLimit = stepLimit;
+    }
+
+    /**
+     * Takes a step in the execution with the specified context and checks whether its budget is exceeded. This does
+     * nothing if the execution has no budget.
+     *
+     * @param context the context of the execution, or null
+     * @param lineNumber the line number of the section taking the step
+     * @throws BudgetExceededException if the budget of the execution is exceeded
+     * @since 0.1.0
+     */
+    public static void check(@Nullable Context context, int lineNumber) {
+        ExecutionFrame.of(context).checkBudget(lineNumber);
+    }
+
+    /**
+     * Gets the maximum time an execution may take in nanoseconds, or zero if the time is unlimited
+     *
+     * @return the time limit
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Gets the maximum amount of steps an execution may take, or zero if the amount of steps is unlimited
+     *
+     * @return the step limit
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getStepLimit() {
+        return stepLimit;
+    }
+
+    /**
+     * Checks whether this budget limits anything
+     *
+     * @return true if either the time or the amount of steps is limited, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isLimited() {
+        return timeLimit != 0 || stepLimit != 0;
+    }
+
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public String toString() {
+        return "ExecutionBudget{timeLimit=" + timeLimit + ", stepLimit=" + stepLimit + '}';
+    }
+}
@@ -2,28 +2,32 @@ package com.github.stefvanschie.quickskript.core.skript;
 
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
-import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
 import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
 import com.github.stefvanschie.quickskript.core.psi.*;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
-import com.github.stefvanschie.quickskript.core.psi.util.parsing.exception.IllegalFallbackAnnotationAmountException;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.StateDependent;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
-import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.PatternTypeOrder;
-import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.PatternTypeOrderHolder;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.exception.ParsingAnnotationInvalidValueException;
+import com.github.stefvanschie.quickskript.core.skript.compiler.ControlFlowCompiler;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.SubexpressionIndex;
+import com.github.stefvanschie.quickskript.core.skript.parsing.BasicParseMemo;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ElementFactoryDescriptor;
+import com.github.stefvanschie.quickskript.core.skript.parsing.FactoryIndex;
+import com.github.stefvanschie.quickskript.core.skript.parsing.LiteralPrefilter;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseCache;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseMemo;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseRoute;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NodeProfiler;
 import com.github.stefvanschie.quickskript.core.util.registry.*;
-import com.github.stefvanschie.quickskript.core.util.Pair;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.Supplier;
@@ -40,29 +44,59 @@ import java.util.function.Supplier;
 public abstract class SkriptLoader {
 
     /**
-     * A list of all psi element factories.
+     * An index of all psi element factories, compiled when they were registered.
      */
     @NotNull
-    private final List<PsiElementFactory> elements = new ArrayList<>();
+    private final FactoryIndex factoryIndex = new FactoryIndex();
 
     /**
-     * A cache for a factory and a list of methods with their patterns. This is gradually built up for element factories
-     * that are being tested and can be used in the future to avoid having to do lookups.
+     * The prefilter which finds the patterns whose required literals are present in an input
      */
     @NotNull
-    private final Map<PsiElementFactory, Map<Method, SkriptPattern[]>> elementsCached = new HashMap<>();
+    private final LiteralPrefilter literalPrefilter = new LiteralPrefilter();
+
+    /**
+     * The parse state of every thread which is parsing with this loader, so skripts can be compiled in parallel
+     */
+    @NotNull
+    private final ThreadLocal<ParseState> parseState = ThreadLocal.withInitial(ParseState::new);
 
     /**
      * A list of all psi section factories.
      */
     @NotNull
-    private final List<PsiSectionFactory<?>> sections = new ArrayList<>();
+    private final List<PsiSectionFactory<?>> sections = new CopyOnWriteArrayList<>();
 
     /**
      * A map indexing converters by their name.
      */
     @NotNull
-    private final Map<String, PsiConverter<?>> converters = new HashMap<>();
+    private final Map<String, PsiConverter<?>> converters = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the elements of entry points should be compiled to bytecode, see {@link ControlFlowCompiler}
+     */
+    private volatile boolean sectionCompilationEnabled;
+
+    /**
+     * The profiler which measures every statement of entry points, or null if entry points are only measured as a
+     * whole
+     */
+    @Nullable
+    private volatile NodeProfiler nodeProfiler;
+
+    /**
+     * The budget of every execution of an entry point without an override, or null if executions are unlimited
+     */
+    @Nullable
+    private volatile ExecutionBudget executionBudget;
+
+    /**
+     * The budgets which override the default budget, by the name of a skript or by an entry point in the form
+     * {@code <skript name>:<line number>}
+     */
+    @NotNull
+    private final Map<String, ExecutionBudget> executionBudgetOverrides = new ConcurrentHashMap<>();
 
     /**
      * A biome registry for working with biomes
@@ -115,6 +149,13 @@ public abstract class SkriptLoader {
      * Parses text into psi elements.
      * Returns null if no element was found.
      *
+     * The outcome of every parsed piece of text is stored in the {@link ParseMemo} for as long as the outermost call to
+     * this method runs, so that the same text, which may be tried by many different patterns, is only searched once.
+     * Every thread has its own memo, so this method may be called from multiple threads at the same time. If a
+     * {@link ParseCache} is set for the current thread, its decisions are tried before searching, and the decisions of
+     * every search are stored in it, unless the outcome depends on a {@link StateDependent} factory. If a
+     * {@link SubexpressionIndex} is set for the current thread, every parsed element is recorded in it.
+     *
      * @param input the text to be parsed
      * @param lineNumber the line number of the element which will potentially be parsed
      * @return the parsed psi element, or null if none were found
@@ -125,252 +166,450 @@ public abstract class SkriptLoader {
     public PsiElement<?> tryParseElement(@NotNull String input, int lineNumber) {
         input = input.trim();
 
-        for (PsiElementFactory factory : elements) {
-            Map<Method, SkriptPattern[]> methods = elementsCached.get(factory);
+        ParseState state = parseState.get();
+        boolean outerNestedPure = state.nestedPure;
+        boolean outerStateDependent = state.stateDependent;
 
-            if (methods == null) {
-                methods = new HashMap<>();
-                List<Method> newMethods = new ArrayList<>(Arrays.asList(factory.getClass().getMethods()));
+        state.depth++;
+        state.nestedPure = true;
+        state.stateDependent = false;
 
-                for (Method method : newMethods) {
-                    Pattern pattern = method.getAnnotation(Pattern.class);
+        try {
+            PsiElement<?> element = parseElement(state, input, lineNumber);
+            SubexpressionIndex subexpressionIndex = state.subexpressionIndex;
 
-                    if (pattern == null) {
-                        continue;
-                    }
+            if (element != null && state.fallbackChildren != null && state.depth == state.fallbackDepth + 1) {
+                state.fallbackChildren.add(element);
+            }
 
-                    Class<?> searching = factory.getClass();
-                    Field field = null;
+            if (element != null && subexpressionIndex != null) {
+                boolean pure = element.isPreComputed() || (state.nestedPure && SubexpressionIndex.isPure(element));
 
-                    do {
-                        try {
-                            field = searching.getDeclaredField(pattern.value());
-                        } catch (NoSuchFieldException ignore) {}
+                subexpressionIndex.record(input, element, pure);
+                outerNestedPure &= pure;
+            }
 
-                        searching = searching.getSuperclass();
-                    } while (searching != null);
+            return element;
+        } finally {
+            state.nestedPure = outerNestedPure;
+            state.stateDependent |= outerStateDependent;
 
-                    if (field == null) {
-                        throw new IllegalStateException("Unable to find field '" + pattern.value() + "' associated with Pattern annotation");
-                    }
+            if (--state.depth == 0) {
+                state.parseMemo.clear();
+                state.stateDependentInputs.clear();
+            }
+        }
+    }
 
-                    field.setAccessible(true);
+    /**
+     * Parses text into psi elements, by looking at the {@link ParseMemo} and the {@link ParseCache} before searching.
+     * Returns null if no element was found.
+     *
+     * @param state the parse state of the current thread
+     * @param input the trimmed text to be parsed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @return the parsed psi element, or null if none were found
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private PsiElement<?> parseElement(@NotNull ParseState state, @NotNull String input, int lineNumber) {
+        ParseMemo parseMemo = state.parseMemo;
+        ParseMemo.Entry entry = parseMemo.lookup(input);
 
-                    Class<?> type = field.getType();
+        if (entry != null) {
+            ParseRoute route = entry.getRoute();
 
-                    SkriptPattern[] skriptPatterns;
+            if (state.stateDependentInputs.contains(input)) {
+                state.stateDependent = true;
+            }
 
-                    try {
-                        if (type == SkriptPattern.class) {
-                            skriptPatterns = new SkriptPattern[]{
-                                (SkriptPattern) field.get(factory)
-                            };
-                        } else if (type == SkriptPattern[].class) {
-                            skriptPatterns = (SkriptPattern[]) field.get(factory);
-                        } else {
-                            continue;
-                        }
-                    } catch (IllegalAccessException exception) {
-                        exception.printStackTrace();
-                        continue;
-                    }
+            if (route == null) {
+                return null;
+            }
 
-                    methods.put(method, skriptPatterns);
-                }
+            PsiElement<?> element = route.replay(lineNumber);
 
-                elementsCached.put(factory, methods);
+            if (element != null) {
+                return element;
             }
+        }
 
-            for (Map.Entry<Method, SkriptPattern[]> entry : methods.entrySet()) {
-                Method method = entry.getKey();
-                SkriptPattern[] skriptPatterns = entry.getValue();
+        ParseCache parseCache = state.parseCache;
+        SearchResult result = null;
 
-                try {
-                    for (int skriptPatternIndex = 0; skriptPatternIndex < skriptPatterns.length; skriptPatternIndex++) {
-                        PatternTypeOrderHolder holder = method.getAnnotation(PatternTypeOrderHolder.class);
-                        PatternTypeOrder patternTypeOrder = null;
-
-                        if (holder != null) {
-                            int amount = 0;
-                            PatternTypeOrder order = null;
-
-                            for (PatternTypeOrder typeOrder : holder.value()) {
-                                for (int patternIndex : typeOrder.patterns()) {
-                                    if (patternIndex != skriptPatternIndex) {
-                                        continue;
-                                    }
-
-                                    amount++;
-                                    order = typeOrder;
-                                }
-                            }
+        if (parseCache != null) {
+            ParseCache.Decision decision = parseCache.lookup(input);
 
-                            if (amount > 1) {
-                                throw new ParsingAnnotationInvalidValueException(
-                                    "Multiple PatternMetadata on the same method specify the same pattern"
-                                );
-                            }
+            if (decision != null && decision.isFailure()) {
+                parseMemo.store(input, ParseMemo.Entry.FAILURE);
+                return null;
+            }
 
-                            patternTypeOrder = order;
-                        }
+            if (decision != null) {
+                result = replayDecision(decision, input, lineNumber);
+            }
+        }
 
-                        SkriptPattern skriptPattern = skriptPatterns[skriptPatternIndex];
-                        int typeGroupAmount = 0;
+        if (result == null) {
+            result = searchElement(input, lineNumber);
 
-                        for (SkriptPatternGroup group : skriptPattern.getGroups()) {
-                            if (group instanceof TypeGroup) {
-                                typeGroupAmount++;
-                            }
-                        }
+            if (state.stateDependent) {
+                //the outcome may be different next time, so it may only be reused during this parse
+                state.stateDependentInputs.add(input);
+            } else if (parseCache != null) {
+                parseCache.store(input, result == null ? ParseCache.Decision.FAILURE : result.decision);
+            }
+        }
+
+        if (result == null) {
+            parseMemo.store(input, ParseMemo.Entry.FAILURE);
+            return null;
+        }
+
+        parseMemo.store(input, ParseMemo.Entry.success(result.route));
+        return result.element;
+    }
+
+    /**
+     * Parses text into psi elements by trying the factories from the {@link FactoryIndex} in order, without looking at
+     * the {@link ParseMemo}. Returns null if no element was found. If the index is verifying, the outcome is checked
+     * against trying all factories.
+     *
+     * @param input the trimmed text to be parsed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @return the parsed psi element and how it was found, or null if none were found
+     * @throws IllegalStateException if the index is verifying and it pruned a factory which could parse the input
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private SearchResult searchElement(@NotNull String input, int lineNumber) {
+        List<ElementFactoryDescriptor> candidates = factoryIndex.getCandidates(input);
+        SearchResult result = searchElement(candidates, input, lineNumber);
+
+        if (!factoryIndex.isVerifying() || candidates.size() == factoryIndex.getFactories().size()) {
+            return result;
+        }
+
+        SearchResult expected = searchElement(factoryIndex.getFactories(), input, lineNumber);
+        Class<?> expectedClass = expected == null ? null : expected.element.getClass();
+        Class<?> actualClass = result == null ? null : result.element.getClass();
 
-                        if (method.getParameterCount() < typeGroupAmount + 1) {
-                            throw new IllegalStateException("Method '" + method.getName() + "' has "
-                                + method.getParameterCount() + " parameters, but we expected at least " +
-                                (typeGroupAmount + 1) + " parameters");
+        if (expectedClass != actualClass) {
+            throw new IllegalStateException("Factory index parsed '" + input + "' into " + actualClass +
+                ", but all factories parsed it into " + expectedClass);
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses text into psi elements by trying the specified factories in order. Returns null if no element was found.
+     *
+     * @param factories the factories to try
+     * @param input the trimmed text to be parsed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @return the parsed psi element and how it was found, or null if none were found
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private SearchResult searchElement(@NotNull List<ElementFactoryDescriptor> factories, @NotNull String input,
+        int lineNumber) {
+        BitSet literals = literalPrefilter.scan(input);
+
+        for (ElementFactoryDescriptor descriptor : factories) {
+            ElementFactoryDescriptor.PatternMethod[] methods = descriptor.getPatternMethods();
+
+            for (int methodIndex = 0; methodIndex < methods.length; methodIndex++) {
+                ElementFactoryDescriptor.PatternMethod method = methods[methodIndex];
+                ElementFactoryDescriptor.CompiledPattern[] patterns = method.getPatterns();
+
+                try {
+                    for (int patternIndex = 0; patternIndex < patterns.length; patternIndex++) {
+                        ElementFactoryDescriptor.CompiledPattern pattern = patterns[patternIndex];
+
+                        if (!pattern.getLiteralRequirement().isSatisfiedBy(literals)) {
+                            continue;
                         }
 
-                        results:
-                        for (SkriptMatchResult result : skriptPattern.match(input)) {
+                        List<SkriptMatchResult> results = pattern.getPattern().match(input);
+
+                        for (int matchIndex = 0; matchIndex < results.size(); matchIndex++) {
+                            SkriptMatchResult result = results.get(matchIndex);
+
                             if (result.hasUnmatchedParts()) {
                                 continue;
                             }
 
-                            Collection<Pair<SkriptPatternGroup, String>> matchedGroups = result.getMatchedGroups();
-
-                            List<TypeGroup> groups = new ArrayList<>();
+                            markStateDependent(descriptor);
 
-                            for (Pair<SkriptPatternGroup, String> matchedGroup : matchedGroups) {
-                                SkriptPatternGroup group = matchedGroup.getX();
+                            PsiElement<?> element = invokePatternMethod(method, pattern, result, lineNumber);
 
-                                if (group instanceof TypeGroup) {
-                                    groups.add((TypeGroup) group);
-                                }
+                            if (element == null) {
+                                continue;
                             }
 
-                            List<String> matchedTypeTexts = new ArrayList<>();
+                            return new SearchResult(element, patternRoute(method, pattern, result),
+                                ParseCache.Decision.pattern(factoryIndex.indexOf(descriptor), methodIndex,
+                                    patternIndex, matchIndex));
+                        }
+                    }
+                } catch (InvocationTargetException exception) {
+                    exception.printStackTrace();
+                }
+            }
 
-                            for (Pair<SkriptPatternGroup, String> matchedGroup : matchedGroups) {
-                                if (matchedGroup.getX() instanceof TypeGroup) {
-                                    matchedTypeTexts.add(matchedGroup.getY());
-                                }
-                            }
+            if (descriptor.hasFallback()) {
+                markStateDependent(descriptor);
 
-                            Object[] elements = new Object[typeGroupAmount];
+                PsiElement<?> element = invokeFallbackMethod(descriptor, input, lineNumber);
 
-                            for (int i = 0; i < elements.length && i < groups.size(); i++) {
-                                List<TypeGroup> typeGroups = new ArrayList<>();
+                if (element != null) {
+                    return new SearchResult(element, fallbackRoute(descriptor, input),
+                        ParseCache.Decision.fallback(factoryIndex.indexOf(descriptor)));
+                }
+            }
+        }
 
-                                for (SkriptPatternGroup group : skriptPattern.getGroups()) {
-                                    if (group instanceof TypeGroup) {
-                                        typeGroups.add((TypeGroup) group);
-                                    }
-                                }
+        return null;
+    }
 
-                                int elementIndex = typeGroups.indexOf(groups.get(i));
+    /**
+     * Parses text into psi elements by following a decision from the {@link ParseCache}, so only a single pattern has
+     * to be matched. Returns null if the decision doesn't lead to an element, for example because the factories
+     * changed.
+     *
+     * @param decision the decision to follow
+     * @param input the trimmed text to be parsed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @return the parsed psi element and how it was found, or null if the decision didn't lead to an element
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private SearchResult replayDecision(@NotNull ParseCache.Decision decision, @NotNull String input,
+        int lineNumber) {
+        List<ElementFactoryDescriptor> factories = factoryIndex.getFactories();
 
-                                if (patternTypeOrder != null && !Arrays.equals(patternTypeOrder.typeOrder(), new int[]{})) {
-                                    elementIndex = patternTypeOrder.typeOrder()[i];
+        if (decision.getFactory() >= factories.size()) {
+            return null;
+        }
 
-                                    if (elements[elementIndex] != null) {
-                                        throw new ParsingAnnotationInvalidValueException(
-                                            "Type order of PatternMetadata contains duplicate number '" + elementIndex + "'"
-                                        );
-                                    }
-                                }
+        ElementFactoryDescriptor descriptor = factories.get(decision.getFactory());
 
-                                String matchedTypeText = matchedTypeTexts.get(i);
+        //decisions of these factories are never stored, so the cache is outdated
+        if (descriptor.isStateDependent()) {
+            return null;
+        }
 
-                                if (groups.get(i).getConstraint() == TypeGroup.Constraint.LITERAL) {
-                                    elements[elementIndex] = matchedTypeText;
-                                } else {
-                                    elements[elementIndex] = tryParseElement(matchedTypeText, lineNumber);
-                                }
+        if (decision.isFallback()) {
+            if (!descriptor.hasFallback()) {
+                return null;
+            }
 
-                                //recursive retry
-                                if (elements[elementIndex] == null) {
-                                    continue results;
-                                }
-                            }
+            PsiElement<?> element = invokeFallbackMethod(descriptor, input, lineNumber);
 
-                            method.setAccessible(true);
+            return element == null ? null : new SearchResult(element, fallbackRoute(descriptor, input), decision);
+        }
 
-                            Class<?>[] parameterTypes = method.getParameterTypes();
-                            List<Object> parameters = new ArrayList<>(Arrays.asList(elements));
+        ElementFactoryDescriptor.PatternMethod[] methods = descriptor.getPatternMethods();
 
-                            //allow an optional SkriptLoader in front
-                            if (parameterTypes[parameters.size() - elements.length] == SkriptLoader.class) {
-                                parameters.add(parameters.size() - elements.length, this);
-                            }
-                            //allow an optional SkriptMatchResult in front
-                            if (parameterTypes[parameters.size() - elements.length] == SkriptMatchResult.class) {
-                                parameters.add(parameters.size() - elements.length, result);
-                            }
+        if (decision.getMethod() >= methods.length) {
+            return null;
+        }
 
-                            parameters.add(lineNumber);
+        ElementFactoryDescriptor.PatternMethod method = methods[decision.getMethod()];
+        ElementFactoryDescriptor.CompiledPattern[] patterns = method.getPatterns();
 
-                            Object[] parameterArray = parameters.toArray(Object[]::new);
-                            PsiElement<?> element = (PsiElement<?>) method.invoke(factory, parameterArray);
+        if (decision.getPattern() >= patterns.length) {
+            return null;
+        }
 
-                            if (element == null) {
-                                continue;
-                            }
+        ElementFactoryDescriptor.CompiledPattern pattern = patterns[decision.getPattern()];
+        List<SkriptMatchResult> results = pattern.getPattern().match(input);
 
-                            for (Object child : elements) {
-                                if (child instanceof PsiElement<?>) {
-                                    ((PsiElement<?>) child).setParent(element);
-                                }
-                            }
+        if (decision.getMatch() >= results.size()) {
+            return null;
+        }
 
-                            return element;
-                        }
-                    }
-                } catch (IllegalAccessException | InvocationTargetException exception) {
-                    exception.printStackTrace();
-                }
+        SkriptMatchResult result = results.get(decision.getMatch());
+
+        if (result.hasUnmatchedParts()) {
+            return null;
+        }
+
+        try {
+            PsiElement<?> element = invokePatternMethod(method, pattern, result, lineNumber);
+
+            return element == null ? null : new SearchResult(element, patternRoute(method, pattern, result), decision);
+        } catch (InvocationTargetException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Creates a route which constructs an element again by invoking a method annotated with {@link Pattern}
+     *
+     * @param method the method to invoke
+     * @param pattern the pattern that was matched
+     * @param result the successful match of the pattern
+     * @return the route
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ParseRoute patternRoute(@NotNull ElementFactoryDescriptor.PatternMethod method,
+        @NotNull ElementFactoryDescriptor.CompiledPattern pattern, @NotNull SkriptMatchResult result) {
+        return replayLineNumber -> {
+            try {
+                return invokePatternMethod(method, pattern, result, replayLineNumber);
+            } catch (InvocationTargetException exception) {
+                exception.printStackTrace();
+                return null;
             }
+        };
+    }
 
-            Set<Method> fallbackMethods = new HashSet<>();
+    /**
+     * Creates a route which constructs an element again by invoking a method annotated with {@link Fallback}
+     *
+     * @param descriptor the descriptor of the factory the method belongs to
+     * @param input the text to be parsed
+     * @return the route
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ParseRoute fallbackRoute(@NotNull ElementFactoryDescriptor descriptor, @NotNull String input) {
+        return replayLineNumber -> invokeFallbackMethod(descriptor, input, replayLineNumber);
+    }
 
-            for (Method method : factory.getClass().getMethods()) {
-                if (method.getAnnotation(Fallback.class) != null) {
-                    fallbackMethods.add(method);
-                }
+    /**
+     * Invokes a method annotated with {@link Pattern} for a successful match. The texts matched by the types in the
+     * pattern are parsed first and passed as parameters to the method.
+     *
+     * @param method the method to invoke
+     * @param pattern the pattern that was matched
+     * @param result the successful match of the pattern
+     * @param lineNumber the line number of the element
+     * @return the created element, or null if either a type couldn't be parsed or the method returned null
+     * @throws InvocationTargetException if the method threw an exception
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> invokePatternMethod(@NotNull ElementFactoryDescriptor.PatternMethod method,
+        @NotNull ElementFactoryDescriptor.CompiledPattern pattern, @NotNull SkriptMatchResult result, int lineNumber)
+        throws InvocationTargetException {
+        Object[] elements = new Object[pattern.getTypeGroupAmount()];
+        int matchIndex = 0;
+
+        for (int index = 0; index < result.getMatchedGroupCount() && matchIndex < elements.length; index++) {
+            SkriptPatternGroup group = result.getMatchedGroup(index);
+
+            if (!(group instanceof TypeGroup)) {
+                continue;
             }
 
-            int size = fallbackMethods.size();
+            TypeGroup typeGroup = (TypeGroup) group;
+            int elementIndex = pattern.getParameterIndex(typeGroup, matchIndex);
 
-            if (size > 1) {
-                throw new IllegalFallbackAnnotationAmountException(
-                    "Illegal amount of fallback annotations detected. Maximum is 1, but there were '" + size + "'."
+            if (pattern.hasTypeOrder() && elements[elementIndex] != null) {
+                throw new ParsingAnnotationInvalidValueException(
+                    "Type order of PatternMetadata contains duplicate number '" + elementIndex + "'"
                 );
             }
 
-            if (size == 1) {
-                //will only loop once
-                for (Method method : fallbackMethods) {
-                    try {
-                        List<Object> parameters = new ArrayList<>();
+            String matchedTypeText = result.getMatchedText(index);
 
-                        if (method.getParameterTypes()[0] == SkriptLoader.class) {
-                            parameters.add(this);
-                        }
+            if (typeGroup.getConstraint() == TypeGroup.Constraint.LITERAL) {
+                elements[elementIndex] = matchedTypeText;
+            } else {
+                elements[elementIndex] = tryParseElement(matchedTypeText, lineNumber);
+            }
 
-                        parameters.add(input);
-                        parameters.add(lineNumber);
+            //recursive retry
+            if (elements[elementIndex] == null) {
+                return null;
+            }
 
-                        Object result = method.invoke(factory, parameters.toArray(Object[]::new));
+            matchIndex++;
+        }
 
-                        if (result != null) {
-                            return (PsiElement<?>) result;
-                        }
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        e.printStackTrace();
-                    }
-                }
+        PsiElement<?> element = (PsiElement<?>) method.invoke(result, elements, lineNumber);
+
+        if (element == null) {
+            return null;
+        }
+
+        for (Object child : elements) {
+            if (child instanceof PsiElement<?>) {
+                ((PsiElement<?>) child).setParent(element);
             }
         }
 
-        return null;
+        return element;
+    }
+
+    /**
+     * Marks the outcome of the currently running search as state dependent if the specified factory is, because one of
+     * its methods is about to be invoked
+     *
+     * @param descriptor the descriptor of the factory
+     * @since 0.1.0
+     */
+    private void markStateDependent(@NotNull ElementFactoryDescriptor descriptor) {
+        if (descriptor.isStateDependent()) {
+            parseState.get().stateDependent = true;
+        }
+    }
+
+    /**
+     * Invokes a method annotated with {@link Fallback}. Since a fallback method parses its own children, every element
+     * it parses directly gets the created element as parent, if it doesn't have one yet. This includes the elements
+     * the method tried but discarded, so the parents are an overestimate.
+     *
+     * @param descriptor the descriptor of the factory the method belongs to
+     * @param input the text to be parsed
+     * @param lineNumber the line number of the element
+     * @return the created element, or null if the method couldn't create one
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> invokeFallbackMethod(@NotNull ElementFactoryDescriptor descriptor, @NotNull String input,
+        int lineNumber) {
+        ParseState state = parseState.get();
+        List<PsiElement<?>> outerFallbackChildren = state.fallbackChildren;
+        int outerFallbackDepth = state.fallbackDepth;
+        List<PsiElement<?>> children = new ArrayList<>();
+        PsiElement<?> element = null;
+
+        state.fallbackChildren = children;
+        state.fallbackDepth = state.depth;
+
+        try {
+            element = (PsiElement<?>) descriptor.invokeFallback(input, lineNumber);
+        } catch (InvocationTargetException e) {
+            e.printStackTrace();
+        } finally {
+            state.fallbackChildren = outerFallbackChildren;
+            state.fallbackDepth = outerFallbackDepth;
+        }
+
+        if (element == null) {
+            return null;
+        }
+
+        for (PsiElement<?> child : children) {
+            //a fallback may return one of its children as is, like the element between parentheses
+            if (child != element && child.getParent() == null) {
+                child.setParent(element);
+            }
+        }
+
+        return element;
     }
 
     /**
@@ -459,13 +698,14 @@ public abstract class SkriptLoader {
     }
 
     /**
-     * Registers the specified factory.
+     * Registers the specified factory. The factory is compiled into an {@link ElementFactoryDescriptor} right away,
+     * so all patterns and annotations are resolved here instead of while parsing.
      *
      * @param factory the element factory to register
      * @since 0.1.0
      */
     protected void registerElement(@NotNull PsiElementFactory factory) {
-        elements.add(factory);
+        factoryIndex.add(ElementFactoryDescriptor.compile(this, factory));
     }
 
     /**
@@ -486,11 +726,206 @@ public abstract class SkriptLoader {
      * @since 0.1.0
      */
     protected void registerConverter(@NotNull String name, @NotNull PsiConverter<?> converter) {
-        if (converters.put(name, converter) != null) {
+        if (converters.putIfAbsent(name, converter) != null) {
             throw new IllegalArgumentException("A PsiConverter with the same name has already been registered.");
         }
     }
 
+    /**
+     * Gets the index used to find the factories which could parse a piece of text
+     *
+     * @return the factory index
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public FactoryIndex getFactoryIndex() {
+        return factoryIndex;
+    }
+
+    /**
+     * Gets the prefilter which finds the patterns whose required literals are present in an input
+     *
+     * @return the literal prefilter
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public LiteralPrefilter getLiteralPrefilter() {
+        return literalPrefilter;
+    }
+
+    /**
+     * Gets the memo which stores the outcomes of parsed text during a single parse on the current thread
+     *
+     * @return the parse memo
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public ParseMemo getParseMemo() {
+        return parseState.get().parseMemo;
+    }
+
+    /**
+     * Sets the memo which stores the outcomes of parsed text during a single parse on the current thread. This may not
+     * be called while parsing.
+     *
+     * @param parseMemo the new parse memo
+     * @since 0.1.0
+     */
+    public void setParseMemo(@NotNull ParseMemo parseMemo) {
+        ParseState state = parseState.get();
+
+        if (state.depth != 0) {
+            throw new IllegalStateException("The parse memo can't be changed while parsing.");
+        }
+
+        state.parseMemo = parseMemo;
+    }
+
+    /**
+     * Sets the cache which stores how text was parsed for the skript that is being parsed on the current thread. This
+     * may not be called while parsing.
+     *
+     * @param parseCache the new parse cache, or null to not use a cache
+     * @since 0.1.0
+     */
+    public void setParseCache(@Nullable ParseCache parseCache) {
+        ParseState state = parseState.get();
+
+        if (state.depth != 0) {
+            throw new IllegalStateException("The parse cache can't be changed while parsing.");
+        }
+
+        state.parseCache = parseCache;
+    }
+
+    /**
+     * Sets the index which records every element that is parsed on the current thread, together with the text it was
+     * parsed from and whether it's pure. This may not be called while parsing.
+     *
+     * @param subexpressionIndex the new subexpression index, or null to not record elements
+     * @since 0.1.0
+     */
+    public void setSubexpressionIndex(@Nullable SubexpressionIndex subexpressionIndex) {
+        ParseState state = parseState.get();
+
+        if (state.depth != 0) {
+            throw new IllegalStateException("The subexpression index can't be changed while parsing.");
+        }
+
+        state.subexpressionIndex = subexpressionIndex;
+    }
+
+    /**
+     * Gets whether the elements of entry points are compiled to bytecode when they're parsed, see
+     * {@link ControlFlowCompiler}
+     *
+     * @return true if entry points are compiled, false if they're interpreted
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isSectionCompilationEnabled() {
+        return sectionCompilationEnabled;
+    }
+
+    /**
+     * Sets whether the elements of entry points should be compiled to bytecode when they're parsed. This only affects
+     * entry points which are parsed afterwards.
+     *
+     * @param sectionCompilationEnabled true to compile entry points, false to interpret them
+     * @since 0.1.0
+     */
+    public void setSectionCompilationEnabled(boolean sectionCompilationEnabled) {
+        this.sectionCompilationEnabled = sectionCompilationEnabled;
+    }
+
+    /**
+     * Gets the profiler which instruments the statements of entry points when they're parsed, see
+     * {@link NodeProfiler}
+     *
+     * @return the node profiler, or null if entry points aren't instrumented
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public NodeProfiler getNodeProfiler() {
+        return nodeProfiler;
+    }
+
+    /**
+     * Sets the profiler which instruments the statements of entry points when they're parsed. This only affects entry
+     * points which are parsed afterwards.
+     *
+     * @param nodeProfiler the node profiler, or null to stop instrumenting entry points
+     * @since 0.1.0
+     */
+    public void setNodeProfiler(@Nullable NodeProfiler nodeProfiler) {
+        this.nodeProfiler = nodeProfiler;
+    }
+
+    /**
+     * Gets the budget of every execution of an entry point which doesn't have an override, see
+     * {@link ExecutionBudget}
+     *
+     * @return the default budget, or null if executions are unlimited
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public ExecutionBudget getExecutionBudget() {
+        return executionBudget;
+    }
+
+    /**
+     * Sets the budget of every execution of an entry point which doesn't have an override. This only affects entry
+     * points which are parsed afterwards.
+     *
+     * @param executionBudget the default budget, or null to not limit executions
+     * @since 0.1.0
+     */
+    public void setExecutionBudget(@Nullable ExecutionBudget executionBudget) {
+        this.executionBudget = executionBudget;
+    }
+
+    /**
+     * Overrides the default budget for all entry points of a skript, or for a single entry point. An override for an
+     * entry point takes precedence over an override for its skript. An unlimited budget can be used to exempt entry
+     * points from the default budget. This only affects entry points which are parsed afterwards.
+     *
+     * @param entryPoint the name of a skript, or an entry point in the form {@code <skript name>:<line number>}
+     * @param executionBudget the budget to use instead of the default budget, or null to remove the override
+     * @since 0.1.0
+     */
+    public void setExecutionBudget(@NotNull String entryPoint, @Nullable ExecutionBudget executionBudget) {
+        if (executionBudget == null) {
+            executionBudgetOverrides.remove(entryPoint);
+        } else {
+            executionBudgetOverrides.put(entryPoint, executionBudget);
+        }
+    }
+
+    /**
+     * Gets the budget of the entry point at the specified line of the specified skript, taking overrides into account
+     *
+     * @param skript the skript of the entry point
+     * @param lineNumber the line number of the entry point
+     * @return the budget, or null if executions of the entry point are unlimited
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public ExecutionBudget getExecutionBudget(@NotNull Skript skript, int lineNumber) {
+        ExecutionBudget budget = executionBudgetOverrides.get(skript.getName() + ':' + lineNumber);
+
+        if (budget == null) {
+            budget = executionBudgetOverrides.getOrDefault(skript.getName(), executionBudget);
+        }
+
+        return budget == null || !budget.isLimited() ? null : budget;
+    }
+
     /**
      * Gets the biome registry attached to this skript loader
      *
@@ -580,22 +1015,132 @@ public abstract class SkriptLoader {
     protected abstract void registerDefaultEvents();
 
     /**
-     * Tries to register the command in the given section. If this is not a command, or if it could not be registered
-     * for some reason, this will do nothing.
+     * Tries to compile the command in the given section. This only parses the command and doesn't register anything,
+     * so it may be called from any thread. Returns null if this is not a command, or if it could not be compiled for
+     * some reason.
      *
      * @param skript the skript this command belongs to
      * @param section the section to parse
+     * @return the compiled command, or null if none was compiled
      * @since 0.1.0
      */
-    public abstract void tryRegisterCommand(Skript skript, SkriptFileSection section);
+    @Nullable
+    public abstract CompiledUnit tryCompileCommand(@NotNull Skript skript, @NotNull SkriptFileSection section);
 
     /**
-     * Tries to register the event in the given section. If this is not an event, or if it could not be registered
-     * for some reason, this will do nothing.
+     * Tries to compile the event in the given section. This only parses the event and doesn't register anything, so it
+     * may be called from any thread. Returns null if this is not an event, or if it could not be compiled for some
+     * reason.
      *
-     * @param skript the skript this command belongs to
+     * @param skript the skript this event belongs to
      * @param section the section to parse
+     * @return the compiled event, or null if none was compiled
      * @since 0.1.0
      */
-    public abstract void tryRegisterEvent(Skript skript, SkriptFileSection section);
+    @Nullable
+    public abstract CompiledUnit tryCompileEvent(@NotNull Skript skript, @NotNull SkriptFileSection section);
+
+    /**
+     * The state of the parse a single thread is currently doing
+     *
+     * @since 0.1.0
+     */
+    private static final class ParseState {
+
+        /**
+         * The memo which stores the outcomes of parsed text during a single parse
+         */
+        @NotNull
+        private ParseMemo parseMemo = new BasicParseMemo();
+
+        /**
+         * The amount of nested {@link SkriptLoader#tryParseElement(String, int)} calls that are currently running.
+         * The {@link #parseMemo} is cleared once this drops back to zero.
+         */
+        private int depth;
+
+        /**
+         * The cache of the skript that is being parsed, or null if no cache is used
+         */
+        @Nullable
+        private ParseCache parseCache;
+
+        /**
+         * The index which records the parsed elements, or null if they aren't recorded
+         */
+        @Nullable
+        private SubexpressionIndex subexpressionIndex;
+
+        /**
+         * Whether all elements which have been parsed so far by nested calls of the currently running
+         * {@link SkriptLoader#tryParseElement(String, int)} are pure
+         */
+        private boolean nestedPure = true;
+
+        /**
+         * Whether a state dependent factory has been invoked so far by the currently running
+         * {@link SkriptLoader#tryParseElement(String, int)}, including its nested calls
+         */
+        private boolean stateDependent;
+
+        /**
+         * The texts parsed during a single parse of which the outcome is state dependent, so the outcome of text
+         * containing them is state dependent as well when they are looked up in the {@link #parseMemo}
+         */
+        @NotNull
+        private final Set<String> stateDependentInputs = new HashSet<>();
+
+        /**
+         * The elements parsed directly by the currently running fallback method, or null if no fallback method is
+         * running, see {@link SkriptLoader#invokeFallbackMethod(ElementFactoryDescriptor, String, int)}
+         */
+        @Nullable
+        private List<PsiElement<?>> fallbackChildren;
+
+        /**
+         * The {@link #depth} at which the currently running fallback method was invoked
+         */
+        private int fallbackDepth;
+    }
+
+    /**
+     * The outcome of a successful search for an element.
+     *
+     * @since 0.1.0
+     */
+    private static final class SearchResult {
+
+        /**
+         * The element that was found
+         */
+        @NotNull
+        private final PsiElement<?> element;
+
+        /**
+         * The route which constructs the element again
+         */
+        @NotNull
+        private final ParseRoute route;
+
+        /**
+         * The decision which leads to the element, for storing in a {@link ParseCache}
+         */
+        @NotNull
+        private final ParseCache.Decision decision;
+
+        /**
+         * Creates a new search result
+         *
+         * @param element the element, see {@link #element}
+         * @param route the route, see {@link #route}
+         * @param decision the decision, see {@link #decision}
+         * @since 0.1.0
+         */
+        private SearchResult(@NotNull PsiElement<?> element, @NotNull ParseRoute route,
+            @NotNull ParseCache.Decision decision) {
+            this.element = element;
+            this.route = route;
+            this.decision = decision;
+        }
+    }
 }
@@ -12,6 +12,8 @@ import com.github.stefvanschie.quickskript.core.psi.literal.*;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -265,11 +267,12 @@ public class StandaloneSkriptLoader extends SkriptLoader {
         //TODO: find a way to register events without relying on impl.
     }
 
+    @Nullable
     @SuppressWarnings("HardcodedFileSeparator")
     @Override
-    public void tryRegisterCommand(Skript skript, SkriptFileSection section) {
+    public CompiledUnit tryCompileCommand(@NotNull Skript skript, @NotNull SkriptFileSection section) {
         if (!section.getText().startsWith("command /")) {
-            return;
+            return null;
         }
 
         String command = section.getText().substring("command /".length());
@@ -286,15 +289,83 @@ public class StandaloneSkriptLoader extends SkriptLoader {
 
         PsiBaseSection baseSection = new PsiBaseSection(this, skript, trigger, CommandContext.class);
 
-        commands.put(command, baseSection);
+        return new MapUnit(commands, command, baseSection);
     }
 
+    @Nullable
     @Override
-    public void tryRegisterEvent(Skript skript, SkriptFileSection section) {
+    public CompiledUnit tryCompileEvent(@NotNull Skript skript, @NotNull SkriptFileSection section) {
         String event = section.getText();
 
-        if (registeredEvents.stream().anyMatch(pattern -> pattern.matcher(event).matches())) {
-            events.put(event, new PsiBaseSection(this, skript, section, EventContext.class));
+        if (registeredEvents.stream().noneMatch(pattern -> pattern.matcher(event).matches())) {
+            return null;
+        }
+
+        PsiBaseSection baseSection = new PsiBaseSection(this, skript, section, EventContext.class);
+
+        return new MapUnit(events, event, baseSection);
+    }
+
+    /**
+     * A unit which is registered by putting its section in a map
+     *
+     * @since 0.1.0
+     */
+    private static class MapUnit implements CompiledUnit {
+
+        /**
+         * The map to register in
+         */
+        @NotNull
+        private final Map<String, PsiBaseSection> map;
+
+        /**
+         * The key to register under
+         */
+        @NotNull
+        private final String key;
+
+        /**
+         * The section to register
+         */
+        @NotNull
+        private final PsiBaseSection section;
+
+        /**
+         * Creates a new unit
+         *
+         * @param map the map to register in
+         * @param key the key to register under
+         * @param section the section to register
+         * @since 0.1.0
+         */
+        private MapUnit(@NotNull Map<String, PsiBaseSection> map, @NotNull String key,
+                        @NotNull PsiBaseSection section) {
+            this.map = map;
+            this.key = key;
+            this.section = section;
+        }
+
+        @Override
+        public void register() {
+            map.put(key, section);
+        }
+
+        @Override
+        public void unregister() {
+            map.remove(key, section);
+        }
+
+        @Override
+        public boolean replace(@NotNull CompiledUnit previous) {
+            if (!(previous instanceof MapUnit)) {
+                return false;
+            }
+
+            MapUnit previousUnit = (MapUnit) previous;
+
+            return previousUnit.map == map && previousUnit.key.equals(key) &&
+                map.replace(key, previousUnit.section, section);
         }
     }
 }
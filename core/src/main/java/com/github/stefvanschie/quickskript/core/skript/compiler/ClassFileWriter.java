@@ -0,0 +1,502 @@
+package com.github.stefvanschie.quickskript.core.skript.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A minimal writer of class files, which supports just enough to emit the classes of the {@link ControlFlowCompiler}.
+ * The class files are written in version 49, so no stack map frames have to be computed; the type inferring verifier
+ * checks them instead.
+ *
+ * @since 0.1.0
+ */
+class ClassFileWriter {
+
+    /**
+     * The magic number every class file starts with
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * The major version of the written class files, which is the last one without stack map frames
+     */
+    private static final int MAJOR_VERSION = 49;
+
+    /**
+     * The entries of the constant pool, in order
+     */
+    @NotNull
+    private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+
+    /**
+     * The indices of the entries in the constant pool, by a description of their content
+     */
+    @NotNull
+    private final Map<String, Integer> constantIndices = new HashMap<>();
+
+    /**
+     * The index the next entry in the constant pool will get
+     */
+    private int nextConstantIndex = 1;
+
+    /**
+     * The written fields
+     */
+    @NotNull
+    private final List<byte[]> fields = new ArrayList<>();
+
+    /**
+     * The written methods
+     */
+    @NotNull
+    private final List<byte[]> methods = new ArrayList<>();
+
+    /**
+     * Adds a field
+     *
+     * @param access the access flags
+     * @param name the name of the field
+     * @param descriptor the type descriptor of the field
+     * @since 0.1.0
+     */
+    void addField(int access, @NotNull String name, @NotNull String descriptor) {
+        fields.add(write(output -> {
+            output.writeShort(access);
+            output.writeShort(utf8(name));
+            output.writeShort(utf8(descriptor));
+            output.writeShort(0);
+        }));
+    }
+
+    /**
+     * Adds a method with the specified code
+     *
+     * @param access the access flags
+     * @param name the name of the method
+     * @param descriptor the method descriptor
+     * @param code the code of the method
+     * @since 0.1.0
+     */
+    void addMethod(int access, @NotNull String name, @NotNull String descriptor, @NotNull Code code) {
+        byte[] bytes = code.toByteArray();
+        int codeAttributeName = utf8("Code");
+
+        methods.add(write(output -> {
+            output.writeShort(access);
+            output.writeShort(utf8(name));
+            output.writeShort(utf8(descriptor));
+            output.writeShort(1);
+
+            output.writeShort(codeAttributeName);
+            output.writeInt(12 + bytes.length);
+            output.writeShort(code.maxStack);
+            output.writeShort(code.maxLocals);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            output.writeShort(0);
+            output.writeShort(0);
+        }));
+    }
+
+    /**
+     * Writes the class file
+     *
+     * @param access the access flags of the class
+     * @param name the internal name of the class
+     * @param superName the internal name of the super class
+     * @param interfaces the internal names of the implemented interfaces
+     * @return the class file
+     * @since 0.1.0
+     */
+    @NotNull
+    byte[] toByteArray(int access, @NotNull String name, @NotNull String superName, @NotNull String... interfaces) {
+        int thisClass = classConstant(name);
+        int superClass = classConstant(superName);
+        int[] interfaceClasses = Arrays.stream(interfaces).mapToInt(this::classConstant).toArray();
+
+        return write(output -> {
+            output.writeInt(MAGIC);
+            output.writeShort(0);
+            output.writeShort(MAJOR_VERSION);
+            output.writeShort(nextConstantIndex);
+            constantPool.writeTo(output);
+
+            output.writeShort(access);
+            output.writeShort(thisClass);
+            output.writeShort(superClass);
+            output.writeShort(interfaceClasses.length);
+
+            for (int interfaceClass : interfaceClasses) {
+                output.writeShort(interfaceClass);
+            }
+
+            output.writeShort(fields.size());
+
+            for (byte[] field : fields) {
+                output.write(field);
+            }
+
+            output.writeShort(methods.size());
+
+            for (byte[] method : methods) {
+                output.write(method);
+            }
+
+            output.writeShort(0);
+        });
+    }
+
+    /**
+     * Gets the index of a class constant
+     *
+     * @param internalName the internal name of the class
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    int classConstant(@NotNull String internalName) {
+        int name = utf8(internalName);
+
+        return constant("Class " + internalName, output -> {
+            output.writeByte(7);
+            output.writeShort(name);
+        });
+    }
+
+    /**
+     * Gets the index of an integer constant
+     *
+     * @param value the value
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    int integerConstant(int value) {
+        return constant("Integer " + value, output -> {
+            output.writeByte(3);
+            output.writeInt(value);
+        });
+    }
+
+    /**
+     * Gets the index of a field reference
+     *
+     * @param owner the internal name of the class declaring the field
+     * @param name the name of the field
+     * @param descriptor the type descriptor of the field
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    int fieldConstant(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        return memberConstant(9, owner, name, descriptor);
+    }
+
+    /**
+     * Gets the index of a method reference of a class
+     *
+     * @param owner the internal name of the class declaring the method
+     * @param name the name of the method
+     * @param descriptor the method descriptor
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    int methodConstant(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        return memberConstant(10, owner, name, descriptor);
+    }
+
+    /**
+     * Gets the index of a field or method reference
+     *
+     * @param tag the tag of the reference
+     * @param owner the internal name of the declaring class
+     * @param name the name of the member
+     * @param descriptor the descriptor of the member
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    private int memberConstant(int tag, @NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        int ownerClass = classConstant(owner);
+        int memberName = utf8(name);
+        int memberDescriptor = utf8(descriptor);
+        int nameAndType = constant("NameAndType " + name + ' ' + descriptor, output -> {
+            output.writeByte(12);
+            output.writeShort(memberName);
+            output.writeShort(memberDescriptor);
+        });
+
+        return constant("Member " + tag + ' ' + owner + ' ' + name + ' ' + descriptor, output -> {
+            output.writeByte(tag);
+            output.writeShort(ownerClass);
+            output.writeShort(nameAndType);
+        });
+    }
+
+    /**
+     * Gets the index of a UTF-8 constant
+     *
+     * @param value the value
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    private int utf8(@NotNull String value) {
+        return constant("Utf8 " + value, output -> {
+            output.writeByte(1);
+            output.writeUTF(value);
+        });
+    }
+
+    /**
+     * Gets the index of the constant with the specified key, writing it to the constant pool if it isn't present yet
+     *
+     * @param key the description of the content of the constant
+     * @param writer the writer of the constant
+     * @return the constant pool index
+     * @since 0.1.0
+     */
+    private int constant(@NotNull String key, @NotNull Writer writer) {
+        Integer index = constantIndices.get(key);
+
+        if (index != null) {
+            return index;
+        }
+
+        byte[] bytes = write(writer);
+
+        constantPool.write(bytes, 0, bytes.length);
+        constantIndices.put(key, nextConstantIndex);
+
+        return nextConstantIndex++;
+    }
+
+    /**
+     * Writes bytes with the specified writer
+     *
+     * @param writer the writer
+     * @return the written bytes
+     * @since 0.1.0
+     */
+    @NotNull
+    private static byte[] write(@NotNull Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Something which writes to a data output
+     *
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    private interface Writer {
+
+        /**
+         * Writes to the specified output
+         *
+         * @param output the output to write to
+         * @throws IOException if writing failed
+         * @since 0.1.0
+         */
+        void write(@NotNull DataOutputStream output) throws IOException;
+    }
+
+    /**
+     * The code of a single method
+     *
+     * @since 0.1.0
+     */
+    static class Code {
+
+        /**
+         * The maximum length of the code of a single method
+         */
+        private static final int MAX_CODE_LENGTH = 65535;
+
+        /**
+         * The maximum size of the operand stack
+         */
+        private final int maxStack;
+
+        /**
+         * The amount of local variables, including the parameters
+         */
+        private final int maxLocals;
+
+        /**
+         * The instructions written so far
+         */
+        @NotNull
+        private byte[] bytes = new byte[256];
+
+        /**
+         * The amount of bytes written so far
+         */
+        private int length;
+
+        /**
+         * Creates new, empty code
+         *
+         * @param maxStack the maximum size of the operand stack
+         * @param maxLocals the amount of local variables, including the parameters
+         * @since 0.1.0
+         */
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        /**
+         * Writes an instruction without operands
+         *
+         * @param opcode the opcode
+         * @since 0.1.0
+         */
+        void op(int opcode) {
+            writeByte(opcode);
+        }
+
+        /**
+         * Writes an instruction with a single byte operand
+         *
+         * @param opcode the opcode
+         * @param operand the operand
+         * @since 0.1.0
+         */
+        void opByte(int opcode, int operand) {
+            writeByte(opcode);
+            writeByte(operand);
+        }
+
+        /**
+         * Writes an instruction with a two byte operand, like a constant pool index
+         *
+         * @param opcode the opcode
+         * @param operand the operand
+         * @since 0.1.0
+         */
+        void opShort(int opcode, int operand) {
+            writeByte(opcode);
+            writeByte(operand >> 8);
+            writeByte(operand);
+        }
+
+        /**
+         * Writes a jump instruction to the specified label
+         *
+         * @param opcode the opcode of the jump
+         * @param label the label to jump to
+         * @since 0.1.0
+         */
+        void jump(int opcode, @NotNull Label label) {
+            int position = length;
+
+            opShort(opcode, 0);
+
+            if (label.position == -1) {
+                label.jumps.add(position);
+            } else {
+                patch(position, label.position);
+            }
+        }
+
+        /**
+         * Places the specified label at the current position
+         *
+         * @param label the label
+         * @since 0.1.0
+         */
+        void mark(@NotNull Label label) {
+            label.position = length;
+
+            for (int jump : label.jumps) {
+                patch(jump, length);
+            }
+
+            label.jumps.clear();
+        }
+
+        /**
+         * Gets the written instructions
+         *
+         * @return the instructions
+         * @throws CodeTooLargeException if there are more instructions than fit in a method
+         * @since 0.1.0
+         */
+        @NotNull
+        byte[] toByteArray() {
+            if (length > MAX_CODE_LENGTH) {
+                throw new CodeTooLargeException();
+            }
+
+            return Arrays.copyOf(bytes, length);
+        }
+
+        /**
+         * Sets the offset of the jump instruction at the specified position to the specified target
+         *
+         * @param position the position of the jump instruction
+         * @param target the position to jump to
+         * @throws CodeTooLargeException if the offset doesn't fit in a jump instruction
+         * @since 0.1.0
+         */
+        private void patch(int position, int target) {
+            int offset = target - position;
+
+            if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                throw new CodeTooLargeException();
+            }
+
+            bytes[position + 1] = (byte) (offset >> 8);
+            bytes[position + 2] = (byte) offset;
+        }
+
+        /**
+         * Writes a single byte
+         *
+         * @param value the byte
+         * @since 0.1.0
+         */
+        private void writeByte(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+
+            bytes[length++] = (byte) value;
+        }
+    }
+
+    /**
+     * A position in the code which can be jumped to, before or after it has been placed
+     *
+     * @since 0.1.0
+     */
+    static class Label {
+
+        /**
+         * The position of this label, or -1 if it hasn't been placed yet
+         */
+        private int position = -1;
+
+        /**
+         * The positions of the jump instructions which have to be patched once this label is placed
+         */
+        @NotNull
+        private final List<Integer> jumps = new ArrayList<>();
+    }
+
+    /**
+     * Thrown when the code of a method is too large for the jump instructions
+     *
+     * @since 0.1.0
+     */
+    static class CodeTooLargeException extends RuntimeException {}
+}
@@ -0,0 +1,24 @@
+package com.github.stefvanschie.quickskript.core.skript.compiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The elements of an entry point, compiled to bytecode by the {@link ControlFlowCompiler}.
+ *
+ * @since 0.1.0
+ */
+public interface CompiledElements {
+
+    /**
+     * Executes the elements in order, until one of them returns {@link Boolean#FALSE} or an
+     * {@link ExitSectionsPointerMovement}. This behaves exactly like executing the elements one by one.
+     *
+     * @param context the context this code is being executed in
+     * @return the pointer movement an element returned, or null if none was returned
+     * @since 0.1.0
+     */
+    @Nullable
+    ExitSectionsPointerMovement execute(@Nullable Context context);
+}
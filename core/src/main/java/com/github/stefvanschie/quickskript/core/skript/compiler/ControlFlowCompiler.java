@@ -0,0 +1,504 @@
+package com.github.stefvanschie.quickskript.core.skript.compiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lowers the control flow of an entry point to bytecode. Only the statements themselves are lowered: the if and while
+ * sections are turned into jumps within a single method, their conditions are evaluated with
+ * {@link PsiElement#executeBoolean(Context)}, and pre computed statements are loaded directly. Every other statement,
+ * including every expression and condition inside it, is still executed by calling
+ * {@link PsiElement#execute(Context)} on it, so this only removes the overhead of walking the sections, not that of
+ * executing the elements themselves. In return every element is supported, and the lowered code behaves exactly like
+ * the interpreted code.
+ *
+ * Every compiled class is defined in its own class loader, so it can be unloaded as soon as its entry point is no
+ * longer used.
+ *
+ * @since 0.1.0
+ */
+public final class ControlFlowCompiler {
+
+    /**
+     * The package the compiled classes are placed in
+     */
+    private static final String PACKAGE = "com/github/stefvanschie/quickskript/core/skript/compiler/generated/";
+
+    //the internal names of the classes the compiled code refers to
+    private static final String OBJECT = "java/lang/Object";
+    private static final String BOOLEAN = "java/lang/Boolean";
+    private static final String ELEMENT = "com/github/stefvanschie/quickskript/core/psi/PsiElement";
+    private static final String CONTEXT = "com/github/stefvanschie/quickskript/core/context/Context";
+    private static final String POINTER_MOVEMENT =
+        "com/github/stefvanschie/quickskript/core/psi/util/pointermovement/ExitSectionsPointerMovement";
+    private static final String LOOP =
+        "com/github/stefvanschie/quickskript/core/psi/util/pointermovement/SimpleInstructionPointerMovement$Loop";
+    private static final String IF = "com/github/stefvanschie/quickskript/core/psi/section/PsiIf";
+    private static final String WHILE = "com/github/stefvanschie/quickskript/core/psi/section/PsiWhile";
+    private static final String EXECUTION_BUDGET = "com/github/stefvanschie/quickskript/core/skript/ExecutionBudget";
+    private static final String COMPILED_ELEMENTS =
+        "com/github/stefvanschie/quickskript/core/skript/compiler/CompiledElements";
+
+    //access flags
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    //opcodes
+    private static final int ACONST_NULL = 0x01;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE = 0x3a;
+    private static final int IFEQ = 0x99;
+    private static final int IF_ACMPEQ = 0xa5;
+    private static final int GOTO = 0xa7;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int CHECKCAST = 0xc0;
+    private static final int INSTANCEOF = 0xc1;
+
+    /**
+     * The local variable which holds the result of the last executed element
+     */
+    private static final int RESULT = 2;
+
+    /**
+     * The counter used to give every compiled class a unique name
+     */
+    @NotNull
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    /**
+     * The writer of the compiled class
+     */
+    @NotNull
+    private final ClassFileWriter writer = new ClassFileWriter();
+
+    /**
+     * The code of the execute method
+     */
+    @NotNull
+    private final ClassFileWriter.Code code = new ClassFileWriter.Code(4, 3);
+
+    /**
+     * The internal name of the compiled class
+     */
+    @NotNull
+    private final String className = PACKAGE + "CompiledElements" + COUNTER.incrementAndGet();
+
+    /**
+     * The values of the fields of the compiled class, in order
+     */
+    @NotNull
+    private final List<Object> values = new ArrayList<>();
+
+    /**
+     * The type descriptors of the fields of the compiled class, in order
+     */
+    @NotNull
+    private final List<String> descriptors = new ArrayList<>();
+
+    /**
+     * Creates a new compiler for a single class
+     *
+     * @since 0.1.0
+     */
+    private ControlFlowCompiler() {}
+
+    /**
+     * Compiles the specified elements of an entry point. Every call defines a new class, so the result should be kept
+     * instead of compiling the same elements again. Returns null if the elements are too large to compile; they should
+     * be interpreted instead in that case.
+     *
+     * @param elements the elements to compile
+     * @return the compiled elements, or null
+     * @since 0.1.0
+     */
+    @Nullable
+    public static CompiledElements compile(@NotNull PsiElement<?>[] elements) {
+        ControlFlowCompiler compiler = new ControlFlowCompiler();
+
+        try {
+            compiler.emitElements(elements);
+
+            return compiler.define();
+        } catch (ClassFileWriter.CodeTooLargeException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Emits the body of the execute method
+     *
+     * @param elements the elements of the entry point
+     * @since 0.1.0
+     */
+    private void emitElements(@NotNull PsiElement<?>[] elements) {
+        ClassFileWriter.Label end = new ClassFileWriter.Label();
+
+        for (PsiElement<?> element : elements) {
+            ClassFileWriter.Label next = new ClassFileWriter.Label();
+
+            emitStatement(element);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(GETSTATIC, writer.fieldConstant(BOOLEAN, "FALSE", descriptor(BOOLEAN)));
+            code.jump(IF_ACMPEQ, end);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(INSTANCEOF, writer.classConstant(POINTER_MOVEMENT));
+            code.jump(IFEQ, next);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(CHECKCAST, writer.classConstant(POINTER_MOVEMENT));
+            code.op(ARETURN);
+
+            code.mark(next);
+        }
+
+        code.mark(end);
+        code.op(ACONST_NULL);
+        code.op(ARETURN);
+    }
+
+    /**
+     * Emits the execution of the specified element, storing its result in {@link #RESULT}
+     *
+     * @param element the element to execute
+     * @since 0.1.0
+     */
+    private void emitStatement(@NotNull PsiElement<?> element) {
+        if (element.isPreComputed()) {
+            loadField(element.execute(null), OBJECT);
+            code.opByte(ASTORE, RESULT);
+        } else if (element.getClass() == PsiIf.class) {
+            emitIf((PsiIf) element);
+        } else if (element.getClass() == PsiWhile.class) {
+            emitWhile((PsiWhile) element);
+        } else {
+            loadField(element, ELEMENT);
+            code.op(ALOAD_1);
+            code.opShort(INVOKEVIRTUAL, writer.methodConstant(ELEMENT, "execute",
+                '(' + descriptor(CONTEXT) + ')' + descriptor(OBJECT)));
+            code.opByte(ASTORE, RESULT);
+        }
+    }
+
+    /**
+     * Emits an if section, storing the pointer movement it returns in {@link #RESULT}
+     *
+     * @param section the if section
+     * @since 0.1.0
+     */
+    private void emitIf(@NotNull PsiIf section) {
+        ClassFileWriter.Label otherwise = new ClassFileWriter.Label();
+        ClassFileWriter.Label end = new ClassFileWriter.Label();
+
+        emitBudgetCheck(section.getLineNumber());
+        emitCondition(section.getCondition());
+        code.jump(IFEQ, otherwise);
+
+        emitConditionalElements(section.getElements(), section.getLineNumber(), end);
+        code.jump(GOTO, end);
+
+        code.mark(otherwise);
+
+        PsiSection elseSection = section.getElseSection();
+
+        if (elseSection == null) {
+            code.op(ACONST_NULL);
+            code.opByte(ASTORE, RESULT);
+        } else {
+            emitConditionalElements(elseSection.getElements(), section.getLineNumber(), end);
+        }
+
+        code.mark(end);
+    }
+
+    /**
+     * Emits the elements of an if section. When the elements have been executed, {@link #RESULT} is null and the code
+     * continues after the elements. When an element returned a pointer movement, {@link #RESULT} holds the pointer
+     * movement the if section returns and the code jumps to the specified label.
+     *
+     * @param elements the elements to execute
+     * @param lineNumber the line number of the if section
+     * @param exit the label to jump to when an element returned a pointer movement
+     * @since 0.1.0
+     */
+    private void emitConditionalElements(@NotNull PsiElement<?>[] elements, int lineNumber,
+                                         @NotNull ClassFileWriter.Label exit) {
+        ClassFileWriter.Label end = new ClassFileWriter.Label();
+
+        for (PsiElement<?> element : elements) {
+            ClassFileWriter.Label next = new ClassFileWriter.Label();
+
+            emitStatement(element);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(GETSTATIC, writer.fieldConstant(BOOLEAN, "FALSE", descriptor(BOOLEAN)));
+            code.jump(IF_ACMPEQ, end);
+
+            emitExit(IF, lineNumber, next, exit);
+
+            code.mark(next);
+        }
+
+        code.mark(end);
+        code.op(ACONST_NULL);
+        code.opByte(ASTORE, RESULT);
+    }
+
+    /**
+     * Emits a while section, storing the pointer movement it returns in {@link #RESULT}
+     *
+     * @param section the while section
+     * @since 0.1.0
+     */
+    private void emitWhile(@NotNull PsiWhile section) {
+        ClassFileWriter.Label start = new ClassFileWriter.Label();
+        ClassFileWriter.Label done = new ClassFileWriter.Label();
+        ClassFileWriter.Label end = new ClassFileWriter.Label();
+
+        code.mark(start);
+
+        emitBudgetCheck(section.getLineNumber());
+        emitCondition(section.getCondition());
+        code.jump(IFEQ, done);
+
+        for (PsiElement<?> element : section.getElements()) {
+            ClassFileWriter.Label next = new ClassFileWriter.Label();
+
+            emitStatement(element);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(GETSTATIC, writer.fieldConstant(BOOLEAN, "FALSE", descriptor(BOOLEAN)));
+            code.jump(IF_ACMPEQ, start);
+
+            code.opByte(ALOAD, RESULT);
+            code.opShort(GETSTATIC, writer.fieldConstant(LOOP, SimpleInstructionPointerMovement.Loop.CONTINUE.name(),
+                descriptor(LOOP)));
+            code.jump(IF_ACMPEQ, start);
+
+            emitExit(WHILE, section.getLineNumber(), next, end);
+
+            code.mark(next);
+        }
+
+        code.jump(GOTO, start);
+
+        code.mark(done);
+        code.op(ACONST_NULL);
+        code.opByte(ASTORE, RESULT);
+
+        code.mark(end);
+    }
+
+    /**
+     * Emits the check whether {@link #RESULT} is a pointer movement. If it isn't, the code jumps to the specified next
+     * label. If it is, the pointer movement is passed to the exit method of the specified section class, the result of
+     * which is stored in {@link #RESULT}, after which the code jumps to the specified exit label.
+     *
+     * @param section the internal name of the section class which is exited
+     * @param lineNumber the line number of the section
+     * @param next the label to jump to if there is no pointer movement
+     * @param exit the label to jump to after exiting the section
+     * @since 0.1.0
+     */
+    private void emitExit(@NotNull String section, int lineNumber, @NotNull ClassFileWriter.Label next,
+                          @NotNull ClassFileWriter.Label exit) {
+        code.opByte(ALOAD, RESULT);
+        code.opShort(INSTANCEOF, writer.classConstant(POINTER_MOVEMENT));
+        code.jump(IFEQ, next);
+
+        code.opByte(ALOAD, RESULT);
+        code.opShort(CHECKCAST, writer.classConstant(POINTER_MOVEMENT));
+        pushInt(lineNumber);
+        code.opShort(INVOKESTATIC, writer.methodConstant(section, "exit",
+            '(' + descriptor(POINTER_MOVEMENT) + "I)" + descriptor(POINTER_MOVEMENT)));
+        code.opByte(ASTORE, RESULT);
+        code.jump(GOTO, exit);
+    }
+
+    /**
+     * Emits a step in the execution budget, see {@link ExecutionBudget#check(Context, int)}
+     *
+     * @param lineNumber the line number of the section taking the step
+     * @since 0.1.0
+     */
+    private void emitBudgetCheck(int lineNumber) {
+        code.op(ALOAD_1);
+        pushInt(lineNumber);
+        code.opShort(INVOKESTATIC, writer.methodConstant(EXECUTION_BUDGET, "check",
+            '(' + descriptor(CONTEXT) + "I)V"));
+    }
+
+    /**
+     * Emits the execution of the specified condition, leaving its value as int on the stack
+     *
+     * @param condition the condition
+     * @since 0.1.0
+     */
+    private void emitCondition(@NotNull PsiElement<?> condition) {
+        loadField(condition, ELEMENT);
+        code.op(ALOAD_1);
+        code.opShort(INVOKEVIRTUAL, writer.methodConstant(ELEMENT, "executeBoolean", '(' + descriptor(CONTEXT) + ")Z"));
+    }
+
+    /**
+     * Emits loading a field which holds the specified value
+     *
+     * @param value the value
+     * @param type the internal name of the type of the field
+     * @since 0.1.0
+     */
+    private void loadField(@Nullable Object value, @NotNull String type) {
+        int index = values.size();
+
+        values.add(value);
+        descriptors.add(descriptor(type));
+
+        code.op(ALOAD_0);
+        code.opShort(GETFIELD, writer.fieldConstant(className, "value" + index, descriptor(type)));
+    }
+
+    /**
+     * Emits pushing the specified int on the stack
+     *
+     * @param value the int
+     * @param target the code to emit to
+     * @since 0.1.0
+     */
+    private void pushInt(int value, @NotNull ClassFileWriter.Code target) {
+        if (value >= 0 && value <= 5) {
+            target.op(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            target.opByte(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            target.opShort(SIPUSH, value);
+        } else {
+            target.opShort(LDC_W, writer.integerConstant(value));
+        }
+    }
+
+    /**
+     * Emits pushing the specified int on the stack of the execute method
+     *
+     * @param value the int
+     * @since 0.1.0
+     */
+    private void pushInt(int value) {
+        pushInt(value, code);
+    }
+
+    /**
+     * Writes the compiled class, defines it and creates an instance of it
+     *
+     * @return the compiled elements
+     * @since 0.1.0
+     */
+    @NotNull
+    private CompiledElements define() {
+        ClassFileWriter.Code constructor = new ClassFileWriter.Code(3, 2);
+
+        constructor.op(ALOAD_0);
+        constructor.opShort(INVOKESPECIAL, writer.methodConstant(OBJECT, "<init>", "()V"));
+
+        for (int index = 0; index < values.size(); index++) {
+            String descriptor = descriptors.get(index);
+
+            writer.addField(ACC_PRIVATE | ACC_FINAL, "value" + index, descriptor);
+
+            constructor.op(ALOAD_0);
+            constructor.op(ALOAD_1);
+            pushInt(index, constructor);
+            constructor.op(AALOAD);
+            constructor.opShort(CHECKCAST, writer.classConstant(descriptor.substring(1, descriptor.length() - 1)));
+            constructor.opShort(PUTFIELD, writer.fieldConstant(className, "value" + index, descriptor));
+        }
+
+        constructor.op(RETURN);
+
+        writer.addMethod(ACC_PUBLIC, "<init>", "([" + descriptor(OBJECT) + ")V", constructor);
+        writer.addMethod(ACC_PUBLIC, "execute", '(' + descriptor(CONTEXT) + ')' + descriptor(POINTER_MOVEMENT),
+            code);
+
+        byte[] bytes = writer.toByteArray(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, OBJECT, COMPILED_ELEMENTS);
+        Class<?> compiledClass = new CompiledClassLoader().define(className.replace('/', '.'), bytes);
+
+        try {
+            return (CompiledElements) compiledClass.getConstructor(Object[].class)
+                .newInstance((Object) values.toArray());
+        } catch (ReflectiveOperationException exception) {
+            throw new AssertionError("Unable to instantiate compiled elements", exception);
+        }
+    }
+
+    /**
+     * Gets the type descriptor of the specified class
+     *
+     * @param internalName the internal name of the class
+     * @return the type descriptor
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String descriptor(@NotNull String internalName) {
+        return 'L' + internalName + ';';
+    }
+
+    /**
+     * The class loader a single compiled class is defined in
+     *
+     * @since 0.1.0
+     */
+    private static class CompiledClassLoader extends ClassLoader {
+
+        /**
+         * Creates a new class loader, which delegates to the class loader of the compiler
+         *
+         * @since 0.1.0
+         */
+        private CompiledClassLoader() {
+            super(ControlFlowCompiler.class.getClassLoader());
+        }
+
+        /**
+         * Defines the specified class
+         *
+         * @param name the binary name of the class
+         * @param bytes the class file
+         * @return the defined class
+         * @since 0.1.0
+         */
+        @NotNull
+        private Class<?> define(@NotNull String name, @NotNull byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
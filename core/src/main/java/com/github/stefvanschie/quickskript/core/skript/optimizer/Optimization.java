@@ -0,0 +1,82 @@
+package com.github.stefvanschie.quickskript.core.skript.optimizer;
+
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a change the {@link SectionOptimizer} made to a section. Since the optimizer only changes code which has
+ * no effect or can never be executed, every optimization points at code which the user probably didn't intend to
+ * write like that.
+ *
+ * @since 0.1.0
+ */
+public class Optimization {
+
+    /**
+     * A description of what was changed
+     */
+    @NotNull
+    private final String description;
+
+    /**
+     * The line number of the changed code
+     */
+    private final int lineNumber;
+
+    /**
+     * Creates a new optimization
+     *
+     * @param description a description of what was changed
+     * @param lineNumber the line number of the changed code
+     * @since 0.1.0
+     */
+    public Optimization(@NotNull String description, int lineNumber) {
+        this.description = description;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Gets a description of what was changed
+     *
+     * @return the description
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the line number of the changed code
+     *
+     * @return the line number
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets extra information about where the optimization was made, in the same format as the extra information of
+     * parse and execution exceptions
+     *
+     * @param skript the skript the optimized section belongs to
+     * @return the extra information
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getExtraInfo(@NotNull Skript skript) {
+        return System.lineSeparator() + "Skript name: " + skript.getName() + " | Line number: " + lineNumber;
+    }
+
+    @NotNull
+    @Contract(pure = true)
+    @Override
+    public String toString() {
+        return description + " (line " + lineNumber + ')';
+    }
+}
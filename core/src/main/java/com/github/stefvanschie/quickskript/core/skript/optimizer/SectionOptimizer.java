@@ -0,0 +1,316 @@
+package com.github.stefvanschie.quickskript.core.skript.optimizer;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimizes a finished section and all sections nested in it. Elements fold their own constant sub expressions when
+ * they're created; this removes what became dead code because of that:
+ * <ul>
+ *     <li>if sections whose condition is pre computed are replaced by the branch which is executed; the branch is
+ *     inlined if that doesn't change which sections are exited,</li>
+ *     <li>while sections whose condition is pre computed to be false are removed,</li>
+ *     <li>elements after an exit, after a continue in a loop and after a condition which is pre computed to be false
+ *     are removed, since they're never executed,</li>
+ *     <li>other pre computed elements are removed, since executing them has no effect.</li>
+ * </ul>
+ * Every change is reported as an {@link Optimization}, since it usually means the skript doesn't do what its author
+ * intended.
+ *
+ * @since 0.1.0
+ */
+public final class SectionOptimizer {
+
+    /**
+     * The optimizations which have been made so far
+     */
+    @NotNull
+    private final List<Optimization> optimizations = new ArrayList<>();
+
+    /**
+     * Creates a new optimizer for a single section
+     *
+     * @since 0.1.0
+     */
+    private SectionOptimizer() {}
+
+    /**
+     * Optimizes the specified section and all sections nested in it. The elements of the sections are replaced by
+     * their optimized elements.
+     *
+     * @param section the section to optimize
+     * @return the optimizations which have been made, in the order of the skript
+     * @since 0.1.0
+     */
+    @NotNull
+    public static List<Optimization> optimize(@NotNull PsiSection section) {
+        SectionOptimizer optimizer = new SectionOptimizer();
+
+        optimizer.optimizeSection(section);
+
+        return optimizer.optimizations;
+    }
+
+    /**
+     * Optimizes the elements of the specified section and of its else section, if it has one
+     *
+     * @param section the section to optimize
+     * @since 0.1.0
+     */
+    private void optimizeSection(@NotNull PsiSection section) {
+        section.setElements(optimizeElements(section.getElements(), section instanceof PsiWhile));
+
+        if (section instanceof PsiIf) {
+            PsiSection elseSection = ((PsiIf) section).getElseSection();
+
+            if (elseSection != null) {
+                optimizeSection(elseSection);
+            }
+        }
+    }
+
+    /**
+     * Optimizes the specified elements of a single section
+     *
+     * @param elements the elements to optimize
+     * @param loop whether the elements belong to a loop, in which case a continue skips the remaining elements
+     * @return the optimized elements
+     * @since 0.1.0
+     */
+    @NotNull
+    private PsiElement<?>[] optimizeElements(@NotNull PsiElement<?>[] elements, boolean loop) {
+        List<PsiElement<?>> result = new ArrayList<>(elements.length);
+
+        for (int index = 0; index < elements.length; index++) {
+            PsiElement<?> element = elements[index];
+
+            if (element instanceof PsiIf) {
+                optimizeSection((PsiIf) element);
+                addIf(result, (PsiIf) element);
+                continue;
+            }
+
+            if (element instanceof PsiWhile) {
+                optimizeSection((PsiWhile) element);
+                addWhile(result, (PsiWhile) element);
+                continue;
+            }
+
+            if (element instanceof PsiSection) {
+                optimizeSection((PsiSection) element);
+                result.add(element);
+                continue;
+            }
+
+            if (!element.isPreComputed()) {
+                result.add(element);
+                continue;
+            }
+
+            Object value = element.execute(null);
+
+            if (value instanceof ExitSectionsPointerMovement ||
+                (loop && value == SimpleInstructionPointerMovement.Loop.CONTINUE)) {
+                result.add(element);
+                removeUnreachable(elements, index + 1);
+                break;
+            }
+
+            if (value == Boolean.FALSE) {
+                optimizations.add(new Optimization("Removed a condition which is always false",
+                    element.getLineNumber()));
+                removeUnreachable(elements, index + 1);
+                break;
+            }
+
+            optimizations.add(new Optimization("Removed an element without effect", element.getLineNumber()));
+        }
+
+        return result.toArray(PsiElement[]::new);
+    }
+
+    /**
+     * Adds the specified if section to the result, replacing it by the executed branch if its condition is pre
+     * computed
+     *
+     * @param result the optimized elements to add to
+     * @param section the already optimized if section
+     * @since 0.1.0
+     */
+    private void addIf(@NotNull List<PsiElement<?>> result, @NotNull PsiIf section) {
+        PsiElement<?> condition = section.getCondition();
+
+        //a condition which isn't a boolean fails when it's executed, which shouldn't change
+        if (!condition.isPreComputed() || !(condition.execute(null) instanceof Boolean)) {
+            result.add(section);
+            return;
+        }
+
+        boolean met = (Boolean) condition.execute(null);
+        PsiSection elseSection = section.getElseSection();
+        int lineNumber = section.getLineNumber();
+        PsiElement<?>[] elements;
+
+        if (met) {
+            elements = section.getElements();
+
+            optimizations.add(new Optimization(elseSection == null
+                ? "Condition is always true"
+                : "Condition is always true, removed the else section", lineNumber));
+        } else {
+            elements = elseSection == null ? new PsiElement<?>[0] : elseSection.getElements();
+
+            optimizations.add(new Optimization(elseSection == null
+                ? "Condition is always false, removed the if section"
+                : "Condition is always false, removed the if section and kept the else section", lineNumber));
+        }
+
+        if (isTransparent(elements)) {
+            Collections.addAll(result, elements);
+        } else if (met && elseSection == null) {
+            result.add(section);
+        } else {
+            //keep a section, so exits and stopping conditions still only leave the branch
+            result.add(new PsiIf(elements, new PsiPrecomputedHolder<>(true, lineNumber), lineNumber));
+        }
+    }
+
+    /**
+     * Adds the specified while section to the result, unless its condition is pre computed to be false
+     *
+     * @param result the optimized elements to add to
+     * @param section the already optimized while section
+     * @since 0.1.0
+     */
+    private void addWhile(@NotNull List<PsiElement<?>> result, @NotNull PsiWhile section) {
+        PsiElement<?> condition = section.getCondition();
+
+        if (condition.isPreComputed()) {
+            Object value = condition.execute(null);
+
+            if (value == Boolean.FALSE) {
+                optimizations.add(new Optimization("Condition is always false, removed the while section",
+                    section.getLineNumber()));
+                return;
+            }
+
+            if (value == Boolean.TRUE) {
+                optimizations.add(new Optimization("Condition is always true, the loop only ends by exiting it",
+                    section.getLineNumber()));
+            }
+        }
+
+        result.add(section);
+    }
+
+    /**
+     * Reports the removal of the specified elements from the specified index onwards, if there are any
+     *
+     * @param elements the elements of the section
+     * @param fromIndex the index of the first unreachable element
+     * @since 0.1.0
+     */
+    private void removeUnreachable(@NotNull PsiElement<?>[] elements, int fromIndex) {
+        int amount = elements.length - fromIndex;
+
+        if (amount <= 0) {
+            return;
+        }
+
+        optimizations.add(new Optimization("Removed " + amount + " unreachable element" + (amount == 1 ? "" : "s"),
+            elements[fromIndex].getLineNumber()));
+    }
+
+    /**
+     * Checks whether the specified elements can be moved out of their section into the enclosing section without
+     * changing their behavior. This is the case if none of them can stop the section or exit sections.
+     *
+     * @param elements the elements to check
+     * @return true if the elements can be inlined, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean isTransparent(@NotNull PsiElement<?>[] elements) {
+        for (PsiElement<?> element : elements) {
+            if (element instanceof PsiSection) {
+                if (containsExit((PsiSection) element)) {
+                    return false;
+                }
+            } else if (element.isPreComputed() || !returnsNothing(element.getClass())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the specified section or any of its nested sections contains an element which exits sections
+     *
+     * @param section the section to check
+     * @return true if an exit was found, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean containsExit(@NotNull PsiSection section) {
+        for (PsiElement<?> element : section.getElements()) {
+            if (element.isPreComputed() && element.execute(null) instanceof ExitSectionsPointerMovement) {
+                return true;
+            }
+
+            if (element instanceof PsiSection && containsExit((PsiSection) element)) {
+                return true;
+            }
+        }
+
+        if (section instanceof PsiIf) {
+            PsiSection elseSection = ((PsiIf) section).getElseSection();
+
+            return elseSection != null && containsExit(elseSection);
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether elements of the specified type are declared to never return a value, like all effects. Such
+     * elements can't stop their section.
+     *
+     * @param type the type of element
+     * @return true if the element never returns a value, false if it may
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean returnsNothing(@NotNull Class<?> type) {
+        Type superclass = type.getGenericSuperclass();
+
+        while (superclass != null) {
+            if (superclass instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) superclass;
+
+                if (parameterizedType.getRawType() == PsiElement.class) {
+                    return parameterizedType.getActualTypeArguments()[0] == Void.class;
+                }
+
+                superclass = ((Class<?>) parameterizedType.getRawType()).getGenericSuperclass();
+            } else {
+                superclass = ((Class<?>) superclass).getGenericSuperclass();
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.stefvanschie.quickskript.core.skript.optimizer;
+
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.ChangesEvent;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Finds common sub expressions in a single entry point, so each of them only has to be executed once per execution.
+ * While the entry point is parsed, every {@link Pure} element is recorded together with the text it was parsed from.
+ * Since parsing the same text always results in the same tree of elements, elements parsed from the same text are
+ * structurally identical. Once the entry point is finished, the elements which occur more than once share an
+ * {@link ExecutionFrame.Slot}, so only the first one executed computes the value.
+ *
+ * Only elements which are pure and were parsed from pure elements are recorded, so effects and elements which depend
+ * on the state of the execution, like variables, are never shared.
+ *
+ * Since every parsed element passes through this index, it also records the elements which aren't {@link AsyncSafe}
+ * and the elements which {@link ChangesEvent}, so it can tell on which thread the finished entry point has to be
+ * executed.
+ *
+ * @since 0.1.0
+ */
+public class SubexpressionIndex {
+
+    /**
+     * The recorded elements by the text they were parsed from. This includes elements which were discarded while
+     * parsing, since parsing the same text may be tried multiple times.
+     */
+    @NotNull
+    private final Map<String, List<PsiElement<?>>> elements = new HashMap<>();
+
+    /**
+     * The recorded elements which aren't async safe. Like {@link #elements}, this includes discarded elements.
+     */
+    @NotNull
+    private final List<PsiElement<?>> mainThreadElements = new ArrayList<>();
+
+    /**
+     * The recorded elements which change the event. Like {@link #elements}, this includes discarded elements.
+     */
+    @NotNull
+    private final List<PsiElement<?>> eventChangingElements = new ArrayList<>();
+
+    /**
+     * Records an element which has been parsed
+     *
+     * @param text the text the element was parsed from
+     * @param element the parsed element
+     * @param pure whether the element and all elements it was parsed from are pure
+     * @since 0.1.0
+     */
+    public void record(@NotNull String text, @NotNull PsiElement<?> element, boolean pure) {
+        if (!element.isPreComputed() && !isAsyncSafe(element)) {
+            mainThreadElements.add(element);
+        }
+
+        if (!element.isPreComputed() && changesEvent(element)) {
+            eventChangingElements.add(element);
+        }
+
+        if (!pure || element.isPreComputed()) {
+            return;
+        }
+
+        elements.computeIfAbsent(text, key -> new ArrayList<>()).add(element);
+    }
+
+    /**
+     * Checks whether any recorded element which is part of the specified section isn't async safe, in which case the
+     * section has to be executed on the main thread. This has to be called before {@link #assignSlots(PsiSection)}.
+     *
+     * @param section the finished section which was parsed while recording
+     * @return true if the section has to be executed on the main thread, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean requiresMainThread(@NotNull PsiSection section) {
+        Set<PsiElement<?>> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        addRoots(section, roots);
+
+        //sections aren't parsed as elements, so they aren't recorded
+        for (PsiElement<?> root : roots) {
+            if (root instanceof PsiSection && !isAsyncSafe(root)) {
+                return true;
+            }
+        }
+
+        return isAnyExecuted(mainThreadElements, roots);
+    }
+
+    /**
+     * Checks whether any recorded element which is part of the specified section changes the event, in which case the
+     * section has to be executed on the thread the event is fired on. This has to be called before
+     * {@link #assignSlots(PsiSection)}.
+     *
+     * @param section the finished section which was parsed while recording
+     * @return true if the section changes the event, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean changesEvent(@NotNull PsiSection section) {
+        Set<PsiElement<?>> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        addRoots(section, roots);
+
+        //sections aren't parsed as elements, so they aren't recorded
+        for (PsiElement<?> root : roots) {
+            if (root instanceof PsiSection && changesEvent(root)) {
+                return true;
+            }
+        }
+
+        return isAnyExecuted(eventChangingElements, roots);
+    }
+
+    /**
+     * Gives every recorded element which is part of the specified section and occurs more than once a slot, which it
+     * shares with the structurally identical elements. The recorded elements are forgotten afterwards.
+     *
+     * @param section the finished section which was parsed while recording
+     * @return the amount of sub expressions which are shared
+     * @since 0.1.0
+     */
+    public int assignSlots(@NotNull PsiSection section) {
+        Set<PsiElement<?>> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        addRoots(section, roots);
+
+        int amount = 0;
+
+        for (List<PsiElement<?>> candidates : elements.values()) {
+            List<PsiElement<?>> occurrences = new ArrayList<>(candidates.size());
+
+            for (PsiElement<?> candidate : candidates) {
+                if (isExecuted(candidate, roots)) {
+                    occurrences.add(candidate);
+                }
+            }
+
+            if (occurrences.size() < 2) {
+                continue;
+            }
+
+            ExecutionFrame.Slot slot = new ExecutionFrame.Slot();
+
+            for (PsiElement<?> occurrence : occurrences) {
+                occurrence.setSlot(slot);
+            }
+
+            amount++;
+        }
+
+        elements.clear();
+        mainThreadElements.clear();
+        eventChangingElements.clear();
+
+        return amount;
+    }
+
+    /**
+     * Checks whether elements of the type of the specified element are annotated as {@link Pure}
+     *
+     * @param element the element to check
+     * @return true if the element is pure, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public static boolean isPure(@NotNull PsiElement<?> element) {
+        return element.getClass().isAnnotationPresent(Pure.class);
+    }
+
+    /**
+     * Checks whether elements of the type of the specified element are annotated as {@link AsyncSafe}
+     *
+     * @param element the element to check
+     * @return true if the element is async safe, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public static boolean isAsyncSafe(@NotNull PsiElement<?> element) {
+        return element.getClass().isAnnotationPresent(AsyncSafe.class);
+    }
+
+    /**
+     * Checks whether elements of the type of the specified element are annotated as {@link ChangesEvent}
+     *
+     * @param element the element to check
+     * @return true if the element changes the event, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public static boolean changesEvent(@NotNull PsiElement<?> element) {
+        return element.getClass().isAnnotationPresent(ChangesEvent.class);
+    }
+
+    /**
+     * Adds the elements and conditions of the specified section and its nested sections to the roots. All executed
+     * elements are either one of these roots or one of their descendants.
+     *
+     * @param section the section
+     * @param roots the roots to add to
+     * @since 0.1.0
+     */
+    private static void addRoots(@NotNull PsiSection section, @NotNull Set<PsiElement<?>> roots) {
+        for (PsiElement<?> element : section.getElements()) {
+            roots.add(element);
+
+            if (element instanceof PsiSection) {
+                addRoots((PsiSection) element, roots);
+            }
+        }
+
+        if (section instanceof PsiIf) {
+            PsiIf ifSection = (PsiIf) section;
+            PsiSection elseSection = ifSection.getElseSection();
+
+            roots.add(ifSection.getCondition());
+
+            if (elseSection != null) {
+                addRoots(elseSection, roots);
+            }
+        } else if (section instanceof PsiWhile) {
+            roots.add(((PsiWhile) section).getCondition());
+        }
+    }
+
+    /**
+     * Checks whether any of the specified elements is executed as part of the section with the specified roots
+     *
+     * @param elements the elements to check
+     * @param roots the roots of the section
+     * @return true if any element is executed, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean isAnyExecuted(@NotNull List<PsiElement<?>> elements, @NotNull Set<PsiElement<?>> roots) {
+        for (PsiElement<?> element : elements) {
+            if (isExecuted(element, roots)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the specified element is executed as part of the section with the specified roots. This is the
+     * case if it's a root or a descendant of a root, without any pre computed element in between.
+     *
+     * @param element the element to check
+     * @param roots the roots of the section
+     * @return true if the element is executed, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean isExecuted(@NotNull PsiElement<?> element, @NotNull Set<PsiElement<?>> roots) {
+        PsiElement<?> current = element;
+
+        while (current != null && !current.isPreComputed()) {
+            if (roots.contains(current)) {
+                return true;
+            }
+
+            current = current.getParent();
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A simple memo: stores every outcome in a hash map keyed by the parsed text
+ *
+ * @since 0.1.0
+ */
+public class BasicParseMemo extends ParseMemo {
+
+    /**
+     * The storage of the outcomes
+     */
+    @NotNull
+    private final Map<String, Entry> storage = new HashMap<>();
+
+    /**
+     * The amount of lookups which found an outcome
+     */
+    private long hits;
+
+    /**
+     * The amount of lookups which didn't find an outcome
+     */
+    private long misses;
+
+    @Nullable
+    @Override
+    public Entry lookup(@NotNull String input) {
+        Entry entry = storage.get(input);
+
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+
+        return entry;
+    }
+
+    @Override
+    public void store(@NotNull String input, @NotNull Entry entry) {
+        storage.put(input, entry);
+    }
+
+    @Override
+    public void clear() {
+        storage.clear();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses;
+    }
+}
@@ -0,0 +1,635 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
+import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
+import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
+import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.StateDependent;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.exception.IllegalFallbackAnnotationAmountException;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.PatternTypeOrder;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.PatternTypeOrderHolder;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.exception.ParsingAnnotationInvalidValueException;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * An immutable, precompiled view of a {@link PsiElementFactory}. All annotations, pattern fields and methods of the
+ * factory are resolved once when the factory gets registered, so parsing doesn't need to do any reflection.
+ *
+ * @since 0.1.0
+ */
+public final class ElementFactoryDescriptor {
+
+    /**
+     * The factory this descriptor was compiled from
+     */
+    @NotNull
+    private final PsiElementFactory factory;
+
+    /**
+     * The methods annotated with {@link Pattern}
+     */
+    @NotNull
+    private final PatternMethod[] patternMethods;
+
+    /**
+     * The handle of the method annotated with {@link Fallback}, taking the text and the line number, or null if the
+     * factory has no fallback
+     */
+    @Nullable
+    private final MethodHandle fallback;
+
+    /**
+     * The characters an input has to start with for this factory to be able to parse it, or null if this factory may
+     * parse input starting with any character
+     */
+    @Nullable
+    private final Set<Character> firstCharacters;
+
+    /**
+     * Whether the factory is annotated with {@link StateDependent}
+     */
+    private final boolean stateDependent;
+
+    /**
+     * Creates a new descriptor
+     *
+     * @param factory the factory, see {@link #factory}
+     * @param patternMethods the pattern methods, see {@link #patternMethods}
+     * @param fallback the fallback handle, see {@link #fallback}
+     * @param firstCharacters the first characters, see {@link #firstCharacters}
+     * @since 0.1.0
+     */
+    private ElementFactoryDescriptor(@NotNull PsiElementFactory factory, @NotNull PatternMethod[] patternMethods,
+        @Nullable MethodHandle fallback, @Nullable Set<Character> firstCharacters) {
+        this.factory = factory;
+        this.patternMethods = patternMethods;
+        this.fallback = fallback;
+        this.firstCharacters = firstCharacters;
+
+        stateDependent = factory.getClass().isAnnotationPresent(StateDependent.class);
+    }
+
+    /**
+     * Gets the factory this descriptor was compiled from
+     *
+     * @return the factory
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElementFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Gets the methods annotated with {@link Pattern}, in the order in which they should be tried
+     *
+     * @return the pattern methods
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PatternMethod[] getPatternMethods() {
+        return patternMethods;
+    }
+
+    /**
+     * Gets whether this factory has a method annotated with {@link Fallback}
+     *
+     * @return true if there is a fallback, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean hasFallback() {
+        return fallback != null;
+    }
+
+    /**
+     * Gets whether the outcome of this factory depends on state which may change, see {@link StateDependent}
+     *
+     * @return true if the factory is state dependent, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isStateDependent() {
+        return stateDependent;
+    }
+
+    /**
+     * Gets the characters a non-empty input has to start with for this factory to be able to parse it. Returns null if
+     * this factory may parse input starting with any character, which is always the case if it has a fallback.
+     *
+     * @return the possible first characters or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Set<Character> getFirstCharacters() {
+        return firstCharacters;
+    }
+
+    /**
+     * Invokes the fallback method of this factory
+     *
+     * @param input the text to be parsed
+     * @param lineNumber the line number of the element
+     * @return the value returned by the fallback method
+     * @throws InvocationTargetException if the fallback method threw an exception
+     * @throws IllegalStateException if this factory has no fallback
+     * @since 0.1.0
+     */
+    @Nullable
+    public Object invokeFallback(@NotNull String input, int lineNumber) throws InvocationTargetException {
+        if (fallback == null) {
+            throw new IllegalStateException("This factory does not have a fallback method");
+        }
+
+        try {
+            return (Object) fallback.invokeExact(input, lineNumber);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    /**
+     * Compiles the specified factory into a descriptor
+     *
+     * @param skriptLoader the skript loader which is passed to methods asking for it
+     * @param factory the factory to compile
+     * @return the descriptor
+     * @throws IllegalStateException if a pattern field can't be found or a method doesn't have enough parameters
+     * @throws ParsingAnnotationInvalidValueException if a pattern has multiple type orders
+     * @throws IllegalFallbackAnnotationAmountException if there are multiple fallback methods
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ElementFactoryDescriptor compile(@NotNull SkriptLoader skriptLoader,
+        @NotNull PsiElementFactory factory) {
+        //the order of a hash map is kept, so the methods are tried in the same order as before they were compiled
+        Map<Method, SkriptPattern[]> methods = new HashMap<>();
+
+        for (Method method : factory.getClass().getMethods()) {
+            Pattern pattern = method.getAnnotation(Pattern.class);
+
+            if (pattern == null) {
+                continue;
+            }
+
+            SkriptPattern[] skriptPatterns = getPatterns(factory, pattern.value());
+
+            if (skriptPatterns != null) {
+                methods.put(method, skriptPatterns);
+            }
+        }
+
+        List<PatternMethod> patternMethods = new ArrayList<>(methods.size());
+
+        for (Map.Entry<Method, SkriptPattern[]> entry : methods.entrySet()) {
+            patternMethods.add(PatternMethod.compile(skriptLoader, factory, entry.getKey(), entry.getValue()));
+        }
+
+        Method fallbackMethod = null;
+        int fallbackAmount = 0;
+
+        for (Method method : factory.getClass().getMethods()) {
+            if (method.getAnnotation(Fallback.class) != null) {
+                fallbackMethod = method;
+                fallbackAmount++;
+            }
+        }
+
+        if (fallbackAmount > 1) {
+            throw new IllegalFallbackAnnotationAmountException(
+                "Illegal amount of fallback annotations detected. Maximum is 1, but there were '" + fallbackAmount + "'."
+            );
+        }
+
+        MethodHandle fallback = null;
+
+        if (fallbackMethod != null) {
+            MethodHandle handle = unreflect(fallbackMethod).bindTo(factory);
+
+            if (fallbackMethod.getParameterTypes()[0] == SkriptLoader.class) {
+                handle = MethodHandles.insertArguments(handle, 0, skriptLoader);
+            }
+
+            fallback = handle.asType(MethodType.methodType(Object.class, String.class, int.class));
+        }
+
+        Set<Character> firstCharacters = fallback == null ? new HashSet<>() : null;
+
+        for (int index = 0; index < patternMethods.size() && firstCharacters != null; index++) {
+            for (CompiledPattern pattern : patternMethods.get(index).getPatterns()) {
+                Set<Character> characters = pattern.getPattern().getFirstCharacters();
+
+                if (characters == null) {
+                    firstCharacters = null;
+                    break;
+                }
+
+                firstCharacters.addAll(characters);
+            }
+        }
+
+        return new ElementFactoryDescriptor(factory, patternMethods.toArray(PatternMethod[]::new), fallback,
+            firstCharacters == null ? null : Collections.unmodifiableSet(firstCharacters));
+    }
+
+    /**
+     * Gets the patterns stored in the field with the specified name
+     *
+     * @param factory the factory holding the field
+     * @param fieldName the name of the field
+     * @return the patterns, or null if the field doesn't hold patterns
+     * @throws IllegalStateException if the field couldn't be found
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    private static SkriptPattern[] getPatterns(@NotNull PsiElementFactory factory, @NotNull String fieldName) {
+        Class<?> searching = factory.getClass();
+        Field field = null;
+
+        do {
+            try {
+                field = searching.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException ignore) {}
+
+            searching = searching.getSuperclass();
+        } while (searching != null);
+
+        if (field == null) {
+            throw new IllegalStateException("Unable to find field '" + fieldName + "' associated with Pattern annotation");
+        }
+
+        field.setAccessible(true);
+
+        Class<?> type = field.getType();
+
+        try {
+            if (type == SkriptPattern.class) {
+                return new SkriptPattern[]{
+                    (SkriptPattern) field.get(factory)
+                };
+            } else if (type == SkriptPattern[].class) {
+                return (SkriptPattern[]) field.get(factory);
+            }
+        } catch (IllegalAccessException exception) {
+            exception.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a method handle for the specified method, ignoring access checks
+     *
+     * @param method the method
+     * @return the method handle
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static MethodHandle unreflect(@NotNull Method method) {
+        method.setAccessible(true);
+
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Unable to access method '" + method.getName() + "'", exception);
+        }
+    }
+
+    /**
+     * A precompiled method annotated with {@link Pattern}.
+     *
+     * @since 0.1.0
+     */
+    public static final class PatternMethod {
+
+        /**
+         * The name of the method
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * The handle of the method, taking an array of the optional {@link SkriptMatchResult} and the types followed by
+         * the line number. The {@link SkriptLoader} and the factory are already bound.
+         */
+        @NotNull
+        private final MethodHandle invoker;
+
+        /**
+         * The length of the array passed to the {@link #invoker}
+         */
+        private final int argumentCount;
+
+        /**
+         * Whether the method takes the {@link SkriptMatchResult} in front of the types
+         */
+        private final boolean takesMatchResult;
+
+        /**
+         * The patterns of this method
+         */
+        @NotNull
+        private final CompiledPattern[] patterns;
+
+        /**
+         * Creates a new pattern method
+         *
+         * @param name the name, see {@link #name}
+         * @param invoker the invoker, see {@link #invoker}
+         * @param argumentCount the argument count, see {@link #argumentCount}
+         * @param takesMatchResult whether the match result is passed, see {@link #takesMatchResult}
+         * @param patterns the patterns, see {@link #patterns}
+         * @since 0.1.0
+         */
+        private PatternMethod(@NotNull String name, @NotNull MethodHandle invoker, int argumentCount,
+            boolean takesMatchResult, @NotNull CompiledPattern[] patterns) {
+            this.name = name;
+            this.invoker = invoker;
+            this.argumentCount = argumentCount;
+            this.takesMatchResult = takesMatchResult;
+            this.patterns = patterns;
+        }
+
+        /**
+         * Invokes this method with the specified types
+         *
+         * @param result the successful match
+         * @param types the parsed types, in the order of the method's parameters
+         * @param lineNumber the line number of the element
+         * @return the value returned by the method
+         * @throws InvocationTargetException if the method threw an exception
+         * @throws IllegalArgumentException if the amount of types doesn't fit the method's parameters
+         * @since 0.1.0
+         */
+        @Nullable
+        public Object invoke(@NotNull SkriptMatchResult result, @NotNull Object[] types, int lineNumber)
+            throws InvocationTargetException {
+            int offset = takesMatchResult ? 1 : 0;
+
+            if (offset + types.length != argumentCount) {
+                throw new IllegalArgumentException("Method '" + name + "' expects " + argumentCount +
+                    " arguments before the line number, but " + (offset + types.length) + " were given");
+            }
+
+            Object[] arguments = new Object[argumentCount];
+
+            if (takesMatchResult) {
+                arguments[0] = result;
+            }
+
+            System.arraycopy(types, 0, arguments, offset, types.length);
+
+            try {
+                return (Object) invoker.invokeExact(arguments, lineNumber);
+            } catch (Throwable throwable) {
+                throw new InvocationTargetException(throwable);
+            }
+        }
+
+        /**
+         * Gets the name of this method
+         *
+         * @return the name
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the patterns of this method, in the order in which they should be tried
+         *
+         * @return the patterns
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public CompiledPattern[] getPatterns() {
+            return patterns;
+        }
+
+        /**
+         * Compiles the specified method
+         *
+         * @param skriptLoader the skript loader which is passed to the method if it asks for it
+         * @param factory the factory the method belongs to
+         * @param method the method
+         * @param skriptPatterns the patterns of the method
+         * @return the compiled method
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private static PatternMethod compile(@NotNull SkriptLoader skriptLoader, @NotNull PsiElementFactory factory,
+            @NotNull Method method, @NotNull SkriptPattern[] skriptPatterns) {
+            CompiledPattern[] patterns = new CompiledPattern[skriptPatterns.length];
+            PatternTypeOrderHolder holder = method.getAnnotation(PatternTypeOrderHolder.class);
+
+            for (int index = 0; index < skriptPatterns.length; index++) {
+                PatternTypeOrder patternTypeOrder = null;
+
+                if (holder != null) {
+                    int amount = 0;
+
+                    for (PatternTypeOrder typeOrder : holder.value()) {
+                        for (int patternIndex : typeOrder.patterns()) {
+                            if (patternIndex != index) {
+                                continue;
+                            }
+
+                            amount++;
+                            patternTypeOrder = typeOrder;
+                        }
+                    }
+
+                    if (amount > 1) {
+                        throw new ParsingAnnotationInvalidValueException(
+                            "Multiple PatternMetadata on the same method specify the same pattern"
+                        );
+                    }
+                }
+
+                patterns[index] = new CompiledPattern(skriptPatterns[index], patternTypeOrder,
+                    skriptLoader.getLiteralPrefilter().register(skriptPatterns[index].getLiteralRequirement()));
+
+                int typeGroupAmount = patterns[index].getTypeGroupAmount();
+
+                if (method.getParameterCount() < typeGroupAmount + 1) {
+                    throw new IllegalStateException("Method '" + method.getName() + "' has "
+                        + method.getParameterCount() + " parameters, but we expected at least " +
+                        (typeGroupAmount + 1) + " parameters");
+                }
+            }
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            MethodHandle handle = unreflect(method).bindTo(factory);
+            int offset = 0;
+
+            //allow an optional SkriptLoader in front
+            if (parameterTypes.length > 1 && parameterTypes[0] == SkriptLoader.class) {
+                handle = MethodHandles.insertArguments(handle, 0, skriptLoader);
+                offset++;
+            }
+
+            //allow an optional SkriptMatchResult in front
+            boolean takesMatchResult = parameterTypes.length > offset + 1 &&
+                parameterTypes[offset] == SkriptMatchResult.class;
+            int argumentCount = parameterTypes.length - offset - 1;
+
+            MethodHandle invoker = handle
+                .asType(MethodType.genericMethodType(argumentCount).appendParameterTypes(int.class))
+                .asSpreader(0, Object[].class, argumentCount);
+
+            return new PatternMethod(method.getName(), invoker, argumentCount, takesMatchResult, patterns);
+        }
+    }
+
+    /**
+     * A pattern of a {@link PatternMethod} with its type information resolved.
+     *
+     * @since 0.1.0
+     */
+    public static final class CompiledPattern {
+
+        /**
+         * The pattern
+         */
+        @NotNull
+        private final SkriptPattern pattern;
+
+        /**
+         * All type groups in the pattern, including nested ones, in the order in which they appear
+         */
+        @NotNull
+        private final TypeGroup[] typeGroups;
+
+        /**
+         * The custom order in which matched types should be passed to the method, or null for the default order
+         */
+        @Nullable
+        private final int[] typeOrder;
+
+        /**
+         * The literals an input has to contain to be matched by the pattern
+         */
+        @NotNull
+        private final LiteralPrefilter.Requirement literalRequirement;
+
+        /**
+         * Creates a new compiled pattern
+         *
+         * @param pattern the pattern, see {@link #pattern}
+         * @param patternTypeOrder the type order annotation for this pattern, or null if there is none
+         * @param literalRequirement the literal requirement, see {@link #literalRequirement}
+         * @since 0.1.0
+         */
+        private CompiledPattern(@NotNull SkriptPattern pattern, @Nullable PatternTypeOrder patternTypeOrder,
+            @NotNull LiteralPrefilter.Requirement literalRequirement) {
+            this.pattern = pattern;
+            this.literalRequirement = literalRequirement;
+
+            List<TypeGroup> typeGroups = new ArrayList<>();
+
+            for (SkriptPatternGroup group : pattern.getGroups()) {
+                if (group instanceof TypeGroup) {
+                    typeGroups.add((TypeGroup) group);
+                }
+            }
+
+            this.typeGroups = typeGroups.toArray(TypeGroup[]::new);
+            this.typeOrder = patternTypeOrder == null || patternTypeOrder.typeOrder().length == 0
+                ? null : patternTypeOrder.typeOrder();
+        }
+
+        /**
+         * Gets the pattern
+         *
+         * @return the pattern
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public SkriptPattern getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Gets the literals an input has to contain to be matched by the pattern
+         *
+         * @return the literal requirement
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public LiteralPrefilter.Requirement getLiteralRequirement() {
+            return literalRequirement;
+        }
+
+        /**
+         * Gets the amount of type groups in the pattern, including nested ones
+         *
+         * @return the amount of type groups
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getTypeGroupAmount() {
+            return typeGroups.length;
+        }
+
+        /**
+         * Gets the index of the parameter the specified matched type group should be passed as
+         *
+         * @param group the type group that was matched
+         * @param matchIndex the index of the type group among all matched type groups
+         * @return the parameter index, or -1 if the group does not belong to this pattern
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getParameterIndex(@NotNull TypeGroup group, int matchIndex) {
+            if (typeOrder != null) {
+                return typeOrder[matchIndex];
+            }
+
+            for (int index = 0; index < typeGroups.length; index++) {
+                if (typeGroups[index] == group) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Gets whether a custom type order is used
+         *
+         * @return true if the types are reordered, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean hasTypeOrder() {
+            return typeOrder != null;
+        }
+    }
+}
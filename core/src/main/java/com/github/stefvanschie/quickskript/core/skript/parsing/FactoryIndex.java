@@ -0,0 +1,217 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An index which maps the first character of an input to the factories which could possibly parse it. Factories whose
+ * patterns may start with any character, for example because they start with a type or regex, or which have a fallback
+ * method, are candidates for every input. The candidates are always kept in registration order, so trying them in order
+ * gives the same result as trying every factory.
+ *
+ * The index may be used by multiple threads at the same time, also while factories are being added. A search which
+ * runs while a factory is added may or may not see that factory.
+ *
+ * @since 0.1.0
+ */
+public class FactoryIndex {
+
+    /**
+     * All factories, in registration order
+     */
+    @NotNull
+    private final List<ElementFactoryDescriptor> factories = new CopyOnWriteArrayList<>();
+
+    /**
+     * The position of every factory in {@link #factories}
+     */
+    @NotNull
+    private final Map<ElementFactoryDescriptor, Integer> indices = new ConcurrentHashMap<>();
+
+    /**
+     * The factories which are candidates for every input, in registration order
+     */
+    @NotNull
+    private final List<ElementFactoryDescriptor> wildcards = new CopyOnWriteArrayList<>();
+
+    /**
+     * The candidates per first character, including the wildcards, in registration order
+     */
+    @NotNull
+    private final Map<Character, List<ElementFactoryDescriptor>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Whether every pruned search should be checked against a search over all factories
+     */
+    private volatile boolean verifying;
+
+    /**
+     * The amount of candidates returned by {@link #getCandidates(String)}
+     */
+    @NotNull
+    private final LongAdder candidateCount = new LongAdder();
+
+    /**
+     * The amount of factories which were registered at the times {@link #getCandidates(String)} was called
+     */
+    @NotNull
+    private final LongAdder factoryCount = new LongAdder();
+
+    /**
+     * Adds the specified factory to this index
+     *
+     * @param descriptor the compiled factory
+     * @since 0.1.0
+     */
+    public synchronized void add(@NotNull ElementFactoryDescriptor descriptor) {
+        indices.put(descriptor, factories.size());
+        factories.add(descriptor);
+
+        Set<Character> characters = descriptor.getFirstCharacters();
+
+        if (characters == null) {
+            wildcards.add(descriptor);
+            buckets.values().forEach(bucket -> bucket.add(descriptor));
+            return;
+        }
+
+        for (char character : characters) {
+            buckets.computeIfAbsent(character, key -> new CopyOnWriteArrayList<>(wildcards)).add(descriptor);
+        }
+    }
+
+    /**
+     * Gets the factories which could possibly parse the specified input, in registration order
+     *
+     * @param input the trimmed input
+     * @return the candidate factories
+     * @since 0.1.0
+     */
+    @NotNull
+    public List<ElementFactoryDescriptor> getCandidates(@NotNull String input) {
+        List<ElementFactoryDescriptor> candidates;
+
+        if (input.isEmpty()) {
+            candidates = factories;
+        } else {
+            candidates = buckets.getOrDefault(input.charAt(0), wildcards);
+        }
+
+        candidateCount.add(candidates.size());
+        factoryCount.add(factories.size());
+
+        return candidates;
+    }
+
+    /**
+     * Gets all factories in this index, in registration order
+     *
+     * @return all factories
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<ElementFactoryDescriptor> getFactories() {
+        return Collections.unmodifiableList(factories);
+    }
+
+    /**
+     * Gets the position of the specified factory in {@link #getFactories()}
+     *
+     * @param descriptor the factory
+     * @return the index of the factory, or -1 if it isn't in this index
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int indexOf(@NotNull ElementFactoryDescriptor descriptor) {
+        return indices.getOrDefault(descriptor, -1);
+    }
+
+    /**
+     * Gets a fingerprint of all factories in this index, their pattern methods and patterns, in registration order. The
+     * fingerprint changes whenever a factory is added, removed or reordered, or when any of their patterns change.
+     *
+     * @return the fingerprint
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getFingerprint() {
+        StringBuilder builder = new StringBuilder();
+
+        for (ElementFactoryDescriptor descriptor : factories) {
+            builder.append(descriptor.getFactory().getClass().getName());
+
+            if (descriptor.hasFallback()) {
+                builder.append(" fallback");
+            }
+
+            for (ElementFactoryDescriptor.PatternMethod method : descriptor.getPatternMethods()) {
+                builder.append('\n').append(method.getName());
+
+                for (ElementFactoryDescriptor.CompiledPattern pattern : method.getPatterns()) {
+                    builder.append('\n').append(pattern.getPattern());
+                }
+            }
+
+            builder.append('\n');
+        }
+
+        return ParseCache.hash(builder.toString());
+    }
+
+    /**
+     * Gets the fraction of factories which didn't have to be tried thanks to this index, between 0 and 1. Returns 0 if
+     * this index hasn't been used yet.
+     *
+     * @return the pruning ratio
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public double getPruningRatio() {
+        long factories = factoryCount.sum();
+
+        if (factories == 0) {
+            return 0;
+        }
+
+        return 1 - (double) candidateCount.sum() / factories;
+    }
+
+    /**
+     * Resets the statistics used for {@link #getPruningRatio()}
+     *
+     * @since 0.1.0
+     */
+    public void resetStatistics() {
+        candidateCount.reset();
+        factoryCount.reset();
+    }
+
+    /**
+     * Gets whether every pruned search is checked against a search over all factories
+     *
+     * @return true if searches are verified, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isVerifying() {
+        return verifying;
+    }
+
+    /**
+     * Sets whether every pruned search should be checked against a search over all factories. This is meant for
+     * debugging, since it makes parsing considerably slower.
+     *
+     * @param verifying true to verify searches, false otherwise
+     * @since 0.1.0
+     */
+    public void setVerifying(boolean verifying) {
+        this.verifying = verifying;
+    }
+}
@@ -0,0 +1,356 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import com.github.stefvanschie.quickskript.core.pattern.LiteralRequirement;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A prefilter which finds out which patterns can't match an input, because the input lacks literals the pattern
+ * requires. The required literals of all registered patterns are put into a single Aho-Corasick automaton, so a single
+ * pass over the input finds every literal that's present. The automaton is immutable once built, so it can be used by
+ * multiple threads at the same time.
+ *
+ * @since 0.1.0
+ */
+public class LiteralPrefilter {
+
+    /**
+     * The ids of the registered literals
+     */
+    @NotNull
+    private final Map<String, Integer> literalIds = new HashMap<>();
+
+    /**
+     * The registered literals, indexed by their id
+     */
+    @NotNull
+    private final List<String> literals = new ArrayList<>();
+
+    /**
+     * The automaton over all registered literals, or null if it has to be built again
+     */
+    @Nullable
+    private volatile Automaton automaton;
+
+    /**
+     * Registers the literals of the specified requirement
+     *
+     * @param requirement the requirement of a pattern
+     * @return the requirement in terms of the registered literals
+     * @since 0.1.0
+     */
+    @NotNull
+    public synchronized Requirement register(@NotNull LiteralRequirement requirement) {
+        List<String> requiredLiterals = requirement.getLiterals();
+        int[] ids = new int[requiredLiterals.size()];
+
+        for (int index = 0; index < ids.length; index++) {
+            ids[index] = literalIds.computeIfAbsent(requiredLiterals.get(index), literal -> {
+                literals.add(literal);
+                automaton = null;
+
+                return literals.size() - 1;
+            });
+        }
+
+        List<List<LiteralRequirement>> requiredChoices = requirement.getChoices();
+        Requirement[][] choices = new Requirement[requiredChoices.size()][];
+
+        for (int index = 0; index < choices.length; index++) {
+            List<LiteralRequirement> alternatives = requiredChoices.get(index);
+
+            choices[index] = new Requirement[alternatives.size()];
+
+            for (int alternative = 0; alternative < alternatives.size(); alternative++) {
+                choices[index][alternative] = register(alternatives.get(alternative));
+            }
+        }
+
+        return new Requirement(ids, choices);
+    }
+
+    /**
+     * Finds all registered literals in the specified input
+     *
+     * @param input the input to search
+     * @return the ids of the literals which are present in the input
+     * @since 0.1.0
+     */
+    @NotNull
+    public BitSet scan(@NotNull String input) {
+        Automaton automaton = this.automaton;
+
+        if (automaton == null) {
+            automaton = build();
+        }
+
+        return automaton.scan(input);
+    }
+
+    /**
+     * Builds the automaton over all registered literals, unless another thread already did
+     *
+     * @return the automaton
+     * @since 0.1.0
+     */
+    @NotNull
+    private synchronized Automaton build() {
+        if (automaton == null) {
+            automaton = new Automaton(literals);
+        }
+
+        return automaton;
+    }
+
+    /**
+     * The literals a pattern requires, in terms of the ids of the registered literals.
+     *
+     * @since 0.1.0
+     */
+    public static final class Requirement {
+
+        /**
+         * The ids of the literals which all have to be present
+         */
+        @NotNull
+        private final int[] literals;
+
+        /**
+         * For each choice group, the requirements of which one has to be satisfied
+         */
+        @NotNull
+        private final Requirement[][] choices;
+
+        /**
+         * Creates a new requirement
+         *
+         * @param literals the literal ids, see {@link #literals}
+         * @param choices the choices, see {@link #choices}
+         * @since 0.1.0
+         */
+        private Requirement(@NotNull int[] literals, @NotNull Requirement[][] choices) {
+            this.literals = literals;
+            this.choices = choices;
+        }
+
+        /**
+         * Checks whether this requirement is satisfied by the literals found in an input
+         *
+         * @param present the literals found by {@link #scan(String)}
+         * @return true if the requirement is satisfied, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isSatisfiedBy(@NotNull BitSet present) {
+            for (int literal : literals) {
+                if (!present.get(literal)) {
+                    return false;
+                }
+            }
+
+            for (Requirement[] choice : choices) {
+                boolean satisfied = false;
+
+                for (Requirement requirement : choice) {
+                    if (requirement.isSatisfiedBy(present)) {
+                        satisfied = true;
+                        break;
+                    }
+                }
+
+                if (!satisfied) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * An Aho-Corasick automaton over a fixed set of literals.
+     *
+     * @since 0.1.0
+     */
+    private static final class Automaton {
+
+        /**
+         * The characters of the outgoing edges of each node, sorted
+         */
+        @NotNull
+        private final char[][] edgeCharacters;
+
+        /**
+         * The targets of the outgoing edges of each node, in the same order as {@link #edgeCharacters}
+         */
+        @NotNull
+        private final int[][] edgeTargets;
+
+        /**
+         * The node to fall back to when a node has no edge for a character
+         */
+        @NotNull
+        private final int[] failures;
+
+        /**
+         * The ids of the literals which end at each node, including the ones reachable through failure links
+         */
+        @NotNull
+        private final int[][] outputs;
+
+        /**
+         * Builds a new automaton
+         *
+         * @param literals the literals, indexed by their id
+         * @since 0.1.0
+         */
+        private Automaton(@NotNull List<String> literals) {
+            List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+            List<List<Integer>> nodeOutputs = new ArrayList<>();
+
+            edges.add(new TreeMap<>());
+            nodeOutputs.add(new ArrayList<>());
+
+            for (int id = 0; id < literals.size(); id++) {
+                String literal = literals.get(id);
+                int node = 0;
+
+                for (int index = 0; index < literal.length(); index++) {
+                    Integer next = edges.get(node).get(literal.charAt(index));
+
+                    if (next == null) {
+                        next = edges.size();
+
+                        edges.get(node).put(literal.charAt(index), next);
+                        edges.add(new TreeMap<>());
+                        nodeOutputs.add(new ArrayList<>());
+                    }
+
+                    node = next;
+                }
+
+                nodeOutputs.get(node).add(id);
+            }
+
+            int size = edges.size();
+
+            this.edgeCharacters = new char[size][];
+            this.edgeTargets = new int[size][];
+            this.failures = new int[size];
+            this.outputs = new int[size][];
+
+            for (int node = 0; node < size; node++) {
+                TreeMap<Character, Integer> nodeEdges = edges.get(node);
+
+                edgeCharacters[node] = new char[nodeEdges.size()];
+                edgeTargets[node] = new int[nodeEdges.size()];
+
+                int index = 0;
+
+                for (Map.Entry<Character, Integer> edge : nodeEdges.entrySet()) {
+                    edgeCharacters[node][index] = edge.getKey();
+                    edgeTargets[node][index] = edge.getValue();
+                    index++;
+                }
+            }
+
+            //breadth-first, so the failure node of a node's parent is always known before the node itself
+            Deque<Integer> queue = new ArrayDeque<>();
+            outputs[0] = toArray(nodeOutputs.get(0));
+
+            for (int child : edgeTargets[0]) {
+                failures[child] = 0;
+                queue.add(child);
+            }
+
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                List<Integer> output = nodeOutputs.get(node);
+
+                for (int id : outputs[failures[node]]) {
+                    output.add(id);
+                }
+
+                outputs[node] = toArray(output);
+
+                for (int index = 0; index < edgeCharacters[node].length; index++) {
+                    char character = edgeCharacters[node][index];
+                    int child = edgeTargets[node][index];
+                    int failure = failures[node];
+
+                    while (failure != 0 && next(failure, character) == -1) {
+                        failure = failures[failure];
+                    }
+
+                    int target = next(failure, character);
+
+                    failures[child] = target == -1 ? 0 : target;
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * Finds all literals in the specified input
+         *
+         * @param input the input to search
+         * @return the ids of the literals present in the input
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private BitSet scan(@NotNull String input) {
+            BitSet present = new BitSet();
+            int node = 0;
+
+            for (int index = 0; index < input.length(); index++) {
+                char character = input.charAt(index);
+                int next = next(node, character);
+
+                while (next == -1 && node != 0) {
+                    node = failures[node];
+                    next = next(node, character);
+                }
+
+                node = next == -1 ? 0 : next;
+
+                for (int id : outputs[node]) {
+                    present.set(id);
+                }
+            }
+
+            return present;
+        }
+
+        /**
+         * Follows the edge of the specified node for the specified character
+         *
+         * @param node the node
+         * @param character the character
+         * @return the target node, or -1 if there is no such edge
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private int next(int node, char character) {
+            int index = Arrays.binarySearch(edgeCharacters[node], character);
+
+            return index < 0 ? -1 : edgeTargets[node][index];
+        }
+
+        /**
+         * Converts a list of integers to an array
+         *
+         * @param list the list
+         * @return the array
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private static int[] toArray(@NotNull List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A memo which does not store any outcomes: every input will be parsed again from scratch.
+ *
+ * @since 0.1.0
+ */
+public class NoOpParseMemo extends ParseMemo {
+
+    @Nullable
+    @Override
+    public Entry lookup(@NotNull String input) {
+        return null;
+    }
+
+    @Override
+    public void store(@NotNull String input, @NotNull Entry entry) {}
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public long getHitCount() {
+        return 0;
+    }
+
+    @Override
+    public long getMissCount() {
+        return 0;
+    }
+}
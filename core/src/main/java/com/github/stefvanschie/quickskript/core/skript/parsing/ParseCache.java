@@ -0,0 +1,459 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A persistent cache of the parse outcomes of a single skript. For every piece of text that was parsed, the cache
+ * remembers which factory, method, pattern and match created the element, or that the text couldn't be parsed. When
+ * the skript is parsed again, the {@link SkriptLoader} only has to try that single pattern instead of searching
+ * through all factories. The cache is only valid for the exact skript content and the exact set of registered
+ * factories it was created for; otherwise it starts out empty.
+ *
+ * @since 0.1.0
+ */
+public class ParseCache {
+
+    /**
+     * The first bytes of every cache file
+     */
+    private static final int MAGIC = 0x51534b43;
+
+    /**
+     * The version of the file format, which should be incremented whenever the format changes
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The hash of the content of the skript this cache belongs to
+     */
+    @NotNull
+    private final String contentHash;
+
+    /**
+     * The fingerprint of the factories this cache was created with
+     */
+    @NotNull
+    private final String factoryFingerprint;
+
+    /**
+     * The stored decisions, by the trimmed text they were made for
+     */
+    @NotNull
+    private final Map<String, Decision> decisions = new ConcurrentHashMap<>();
+
+    /**
+     * Whether decisions were stored since this cache was created or loaded
+     */
+    private volatile boolean modified;
+
+    /**
+     * The amount of lookups which found a stored decision
+     */
+    @NotNull
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * The amount of lookups which didn't find a stored decision
+     */
+    @NotNull
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a new, empty cache
+     *
+     * @param contentHash the hash of the content of the skript
+     * @param factoryFingerprint the fingerprint of the registered factories, see {@link FactoryIndex#getFingerprint()}
+     * @since 0.1.0
+     */
+    public ParseCache(@NotNull String contentHash, @NotNull String factoryFingerprint) {
+        this.contentHash = contentHash;
+        this.factoryFingerprint = factoryFingerprint;
+    }
+
+    /**
+     * Loads the cache stored in the specified file. If the file doesn't exist, can't be read, or was created for
+     * different content or factories, an empty cache is returned instead.
+     *
+     * @param file the file to load from
+     * @param contentHash the hash of the content of the skript
+     * @param factoryFingerprint the fingerprint of the registered factories, see {@link FactoryIndex#getFingerprint()}
+     * @return the loaded cache, or an empty cache
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ParseCache load(@NotNull Path file, @NotNull String contentHash,
+        @NotNull String factoryFingerprint) {
+        ParseCache cache = new ParseCache(contentHash, factoryFingerprint);
+
+        if (!Files.isRegularFile(file)) {
+            return cache;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(contentHash) ||
+                !input.readUTF().equals(factoryFingerprint)) {
+                return cache;
+            }
+
+            int size = input.readInt();
+
+            for (int index = 0; index < size; index++) {
+                String text = input.readUTF();
+
+                cache.decisions.put(text, Decision.read(input));
+            }
+        } catch (IOException exception) {
+            cache.decisions.clear();
+        }
+
+        return cache;
+    }
+
+    /**
+     * Saves this cache to the specified file, creating the parent directories if needed
+     *
+     * @param file the file to save to
+     * @throws IOException if the file couldn't be written
+     * @since 0.1.0
+     */
+    public void save(@NotNull Path file) throws IOException {
+        Path parent = file.getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(contentHash);
+            output.writeUTF(factoryFingerprint);
+
+            Map<String, Decision> snapshot = Map.copyOf(decisions);
+
+            output.writeInt(snapshot.size());
+
+            for (Map.Entry<String, Decision> entry : snapshot.entrySet()) {
+                output.writeUTF(entry.getKey());
+                entry.getValue().write(output);
+            }
+        }
+
+        modified = false;
+    }
+
+    /**
+     * Looks up the decision for the specified text
+     *
+     * @param input the trimmed text that is being parsed
+     * @return the stored decision, or null if none was stored
+     * @since 0.1.0
+     */
+    @Nullable
+    public Decision lookup(@NotNull String input) {
+        Decision decision = decisions.get(input);
+
+        (decision == null ? missCount : hitCount).increment();
+
+        return decision;
+    }
+
+    /**
+     * Stores the decision for the specified text
+     *
+     * @param input the trimmed text that was parsed
+     * @param decision the decision
+     * @since 0.1.0
+     */
+    public void store(@NotNull String input, @NotNull Decision decision) {
+        if (!decision.equals(decisions.put(input, decision))) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Gets whether decisions were stored since this cache was created or last loaded or saved
+     *
+     * @return true if this cache should be saved, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Gets the amount of stored decisions
+     *
+     * @return the size of this cache
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int size() {
+        return decisions.size();
+    }
+
+    /**
+     * Gets the amount of lookups which found a stored decision
+     *
+     * @return the hit count
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the amount of lookups which didn't find a stored decision
+     *
+     * @return the miss count
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Hashes the specified text with SHA-256
+     *
+     * @param text the text to hash
+     * @return the hash as hexadecimal string
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static String hash(@NotNull String text) {
+        MessageDigest messageDigest;
+
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new AssertionError("SHA-256 should be supported by every Java platform", exception);
+        }
+
+        byte[] bytes = messageDigest.digest(text.getBytes(StandardCharsets.UTF_8));
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+
+        for (byte b : bytes) {
+            builder
+                .append(Character.forDigit((b & 0xF0) >> 4, 16))
+                .append(Character.forDigit(b & 0x0F, 16));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * How a piece of text was parsed, in terms of the indices of the factory, method, pattern and match which created
+     * the element. The indices refer to the order of {@link FactoryIndex#getFactories()},
+     * {@link ElementFactoryDescriptor#getPatternMethods()},
+     * {@link ElementFactoryDescriptor.PatternMethod#getPatterns()} and the results of matching the pattern.
+     *
+     * @since 0.1.0
+     */
+    public static final class Decision {
+
+        /**
+         * The decision for text which couldn't be parsed
+         */
+        @NotNull
+        public static final Decision FAILURE = new Decision(-1, -1, -1, -1);
+
+        /**
+         * The index of the factory, or -1 if parsing failed
+         */
+        private final int factory;
+
+        /**
+         * The index of the pattern method, or -1 if the fallback method created the element
+         */
+        private final int method;
+
+        /**
+         * The index of the pattern within the method
+         */
+        private final int pattern;
+
+        /**
+         * The index of the match result among all results of the pattern
+         */
+        private final int match;
+
+        /**
+         * Creates a new decision
+         *
+         * @param factory the factory index, see {@link #factory}
+         * @param method the method index, see {@link #method}
+         * @param pattern the pattern index, see {@link #pattern}
+         * @param match the match index, see {@link #match}
+         * @since 0.1.0
+         */
+        private Decision(int factory, int method, int pattern, int match) {
+            this.factory = factory;
+            this.method = method;
+            this.pattern = pattern;
+            this.match = match;
+        }
+
+        /**
+         * Creates a decision for an element which was created by a pattern method
+         *
+         * @param factory the index of the factory
+         * @param method the index of the pattern method
+         * @param pattern the index of the pattern within the method
+         * @param match the index of the match result
+         * @return the decision
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static Decision pattern(int factory, int method, int pattern, int match) {
+            return new Decision(factory, method, pattern, match);
+        }
+
+        /**
+         * Creates a decision for an element which was created by the fallback method of a factory
+         *
+         * @param factory the index of the factory
+         * @return the decision
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static Decision fallback(int factory) {
+            return new Decision(factory, -1, -1, -1);
+        }
+
+        /**
+         * Gets whether the text couldn't be parsed
+         *
+         * @return true if parsing failed, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isFailure() {
+            return factory == -1;
+        }
+
+        /**
+         * Gets whether the element was created by the fallback method of the factory
+         *
+         * @return true if the fallback method created the element, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isFallback() {
+            return factory != -1 && method == -1;
+        }
+
+        /**
+         * Gets the index of the factory
+         *
+         * @return the factory index
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getFactory() {
+            return factory;
+        }
+
+        /**
+         * Gets the index of the pattern method
+         *
+         * @return the method index
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the index of the pattern within the method
+         *
+         * @return the pattern index
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Gets the index of the match result among all results of the pattern
+         *
+         * @return the match index
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getMatch() {
+            return match;
+        }
+
+        /**
+         * Writes this decision to the specified output
+         *
+         * @param output the output to write to
+         * @throws IOException if writing failed
+         * @since 0.1.0
+         */
+        private void write(@NotNull DataOutput output) throws IOException {
+            output.writeInt(factory);
+            output.writeInt(method);
+            output.writeInt(pattern);
+            output.writeInt(match);
+        }
+
+        /**
+         * Reads a decision from the specified input
+         *
+         * @param input the input to read from
+         * @return the decision
+         * @throws IOException if reading failed
+         * @since 0.1.0
+         */
+        @NotNull
+        private static Decision read(@NotNull DataInput input) throws IOException {
+            Decision decision = new Decision(input.readInt(), input.readInt(), input.readInt(), input.readInt());
+
+            return decision.isFailure() ? FAILURE : decision;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof Decision)) {
+                return false;
+            }
+
+            Decision decision = (Decision) object;
+
+            return factory == decision.factory && method == decision.method && pattern == decision.pattern &&
+                match == decision.match;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((factory * 31 + method) * 31 + pattern) * 31 + match;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A memo table which remembers the outcome of parsing a piece of text during a single parse, so that the same
+ * substring doesn't have to be parsed again when it shows up in multiple candidate matches. Both successes and failures
+ * are stored. The memo is cleared by the {@link SkriptLoader} once the outermost parse call finishes.
+ *
+ * @since 0.1.0
+ */
+public abstract class ParseMemo {
+
+    /**
+     * Looks up the outcome for the specified input
+     *
+     * @param input the trimmed text that is being parsed
+     * @return the stored outcome, or null if this input hasn't been parsed yet
+     * @since 0.1.0
+     */
+    @Nullable
+    public abstract Entry lookup(@NotNull String input);
+
+    /**
+     * Stores the outcome of parsing the specified input
+     *
+     * @param input the trimmed text that was parsed
+     * @param entry the outcome of the parse
+     * @since 0.1.0
+     */
+    public abstract void store(@NotNull String input, @NotNull Entry entry);
+
+    /**
+     * Removes all stored outcomes. The hit and miss counters are kept.
+     *
+     * @since 0.1.0
+     */
+    public abstract void clear();
+
+    /**
+     * Gets the amount of lookups which found a stored outcome
+     *
+     * @return the hit count
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public abstract long getHitCount();
+
+    /**
+     * Gets the amount of lookups which didn't find a stored outcome
+     *
+     * @return the miss count
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public abstract long getMissCount();
+
+    /**
+     * The outcome of a single parse.
+     *
+     * @since 0.1.0
+     */
+    public static final class Entry {
+
+        /**
+         * The entry for inputs which couldn't be parsed
+         */
+        @NotNull
+        public static final Entry FAILURE = new Entry(null);
+
+        /**
+         * The route to construct the parsed element again, or null if parsing failed
+         */
+        @Nullable
+        private final ParseRoute route;
+
+        /**
+         * Creates a new entry
+         *
+         * @param route the route, see {@link #route}
+         * @since 0.1.0
+         */
+        private Entry(@Nullable ParseRoute route) {
+            this.route = route;
+        }
+
+        /**
+         * Creates an entry for an input which was parsed successfully
+         *
+         * @param route the route to construct the element again
+         * @return the entry
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static Entry success(@NotNull ParseRoute route) {
+            return new Entry(route);
+        }
+
+        /**
+         * Gets the route which constructs the parsed element, or null if the input couldn't be parsed
+         *
+         * @return the route or null
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public ParseRoute getRoute() {
+            return route;
+        }
+
+        /**
+         * Gets whether the input couldn't be parsed
+         *
+         * @return true if parsing failed, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isFailure() {
+            return route == null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.stefvanschie.quickskript.core.skript.parsing;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes how a piece of text was successfully parsed, so the same element can be constructed again without
+ * searching through all factories and patterns. A route rebuilds a fresh element every time it's replayed, since psi
+ * elements can only be attached to a single parent.
+ *
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ParseRoute {
+
+    /**
+     * Constructs the element this route describes
+     *
+     * @param lineNumber the line number of the element
+     * @return the newly created element, or null if the element could not be constructed again
+     * @since 0.1.0
+     */
+    @Nullable
+    PsiElement<?> replay(int lineNumber);
+}
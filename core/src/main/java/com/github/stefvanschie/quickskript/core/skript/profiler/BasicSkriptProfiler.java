@@ -1,13 +1,20 @@
 package com.github.stefvanschie.quickskript.core.skript.profiler;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A simple profiler: only stores the call counts and the total elapsed times
+ * A simple profiler: only stores the call counts and the total elapsed times. Entry points resolve their entry once,
+ * through {@link #getRecorder(Class, Identifier)}, after which recording doesn't look up or allocate anything. Entries
+ * may be recorded from multiple threads at the same time.
  *
  * @since 0.1.0
  */
@@ -16,13 +23,18 @@ public class BasicSkriptProfiler extends SkriptProfiler<BasicSkriptProfiler.Entr
     /**
      * The storage of the profiler entries
      */
-    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new IdentityHashMap<>();
+    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new ConcurrentHashMap<>();
 
     @Override
     public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime) {
-        storage.computeIfAbsent(contextType, type -> new HashMap<>())
-                .computeIfAbsent(identifier, id -> new Entry())
-                .add(elapsedTime);
+        getRecorder(contextType, identifier).record(elapsedTime);
+    }
+
+    @NotNull
+    @Override
+    public Entry getRecorder(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return storage.computeIfAbsent(contextType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(identifier, id -> new Entry(this));
     }
 
     @Nullable
@@ -39,49 +51,104 @@ public class BasicSkriptProfiler extends SkriptProfiler<BasicSkriptProfiler.Entr
         return entries == null ? Collections.emptySet() : entries.keySet();
     }
 
+    @Nullable
+    @Override
+    public Statistics getStatistics(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? null : new Statistics(entry.count.sum(), entry.getTotalElapsedTime(), null,
+            entry.budgetExceededCount.sum());
+    }
+
+    @Override
+    public void reset() {
+        for (Map<Identifier, Entry> entries : storage.values()) {
+            for (Entry entry : entries.values()) {
+                entry.count.reset();
+                entry.totalTime.reset();
+                entry.budgetExceededCount.reset();
+            }
+        }
+    }
+
     /**
-     * The entry {@link BasicSkriptProfiler} uses.
+     * The entry {@link BasicSkriptProfiler} uses. The counters are {@link LongAdder}s, so threads recording at the same
+     * time don't contend on a single value.
      */
-    public static class Entry {
+    public static class Entry extends Recorder {
 
         /**
          * The number of times the elapsed time was recorded
          */
-        private int count;
+        private final LongAdder count = new LongAdder();
 
         /**
          * The sum of the elapsed times, in nanoseconds
          */
-        private long totalTime;
+        private final LongAdder totalTime = new LongAdder();
+
+        /**
+         * The number of times an execution was aborted because it exceeded its budget
+         */
+        private final LongAdder budgetExceededCount = new LongAdder();
+
+        /**
+         * Creates a new entry for the specified profiler
+         *
+         * @param profiler the profiler this entry belongs to
+         */
+        Entry(@NotNull BasicSkriptProfiler profiler) {
+            super(profiler);
+        }
 
         /**
          * Stores one more execution of the entry point associated with this entry.
          *
          * @param elapsedTime the time in nanoseconds which elapsed during execution this time
          */
-        void add(long elapsedTime) {
-            count++;
-            totalTime += elapsedTime;
+        @Override
+        public void record(long elapsedTime) {
+            count.increment();
+            totalTime.add(elapsedTime);
+        }
+
+        @Override
+        public void recordBudgetExceeded() {
+            budgetExceededCount.increment();
         }
 
         /**
-         * Gets the number of times the elapsed time was recorded.
+         * Gets the number of times the elapsed time was recorded. While other threads are recording, this may not
+         * include their latest executions.
          *
          * @return the number of times the elapsed time was recorded
          * @since 0.1.0
          */
+        @Contract(pure = true)
         public int getCalledCount() {
-            return count;
+            return count.intValue();
         }
 
         /**
-         * Gets the sum of all recorded elapsed times in nanoseconds.
+         * Gets the sum of all recorded elapsed times in nanoseconds. While other threads are recording, this may not
+         * include their latest executions.
          *
          * @return the elapsed time sum in nanoseconds
          * @since 0.1.0
          */
+        @Contract(pure = true)
         public long getTotalElapsedTime() {
-            return totalTime;
+            return totalTime.sum();
+        }
+
+        /**
+         * Gets the number of times an execution was aborted because it exceeded its budget
+         *
+         * @return the budget exceeded count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getBudgetExceededCount() {
+            return budgetExceededCount.sum();
         }
     }
 }
@@ -0,0 +1,303 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of non-negative values, in the style of HDR histograms. Values below {@link #SUB_BUCKET_COUNT}
+ * are counted exactly; every larger power of two is split into {@link #SUB_BUCKET_COUNT} / 2 equally sized buckets,
+ * so every value is counted in a bucket whose width is less than 1/64th of the value. Values which are larger than
+ * {@link #HIGHEST_TRACKABLE_VALUE} are counted in the last bucket, but are still reported as the maximum.
+ *
+ * The histogram uses the same amount of memory regardless of how many values are recorded and values may be recorded
+ * from multiple threads at the same time.
+ *
+ * @since 0.1.0
+ */
+public class Histogram {
+
+    /**
+     * The amount of bits used to distinguish values within a single power of two
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /**
+     * The amount of values which are counted exactly
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The amount of buckets for every power of two from {@link #SUB_BUCKET_COUNT} onwards
+     */
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * The largest value which has its own bucket, about 18 minutes in nanoseconds
+     */
+    private static final long HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    /**
+     * The amount of buckets
+     */
+    private static final int BUCKET_COUNT = getIndex(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    /**
+     * The count of every bucket
+     */
+    @NotNull
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The sum of all recorded values
+     */
+    @NotNull
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The largest recorded value
+     */
+    @NotNull
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a single value. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     * @since 0.1.0
+     */
+    public void record(long value) {
+        long clampedValue = Math.max(value, 0);
+
+        counts.incrementAndGet(getIndex(Math.min(clampedValue, HIGHEST_TRACKABLE_VALUE)));
+        sum.add(clampedValue);
+        max.accumulate(clampedValue);
+    }
+
+    /**
+     * Gets a snapshot of the values which have been recorded so far
+     *
+     * @return the snapshot
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Snapshot getSnapshot() {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            snapshotCounts[index] = counts.get(index);
+        }
+
+        return new Snapshot(snapshotCounts, sum.sum(), max.get());
+    }
+
+    /**
+     * Gets a snapshot of the values which have been recorded since the last reset and resets this histogram, so the
+     * next snapshot only contains the values of the next interval. Every value which is recorded at the same time ends
+     * up in either this snapshot or the next one.
+     *
+     * @return the snapshot
+     * @since 0.1.0
+     */
+    @NotNull
+    public Snapshot getSnapshotAndReset() {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            snapshotCounts[index] = counts.getAndSet(index, 0);
+        }
+
+        return new Snapshot(snapshotCounts, sum.sumThenReset(), max.getThenReset());
+    }
+
+    /**
+     * Removes all recorded values
+     *
+     * @since 0.1.0
+     */
+    public void reset() {
+        getSnapshotAndReset();
+    }
+
+    /**
+     * Gets the index of the bucket the specified value is counted in
+     *
+     * @param value the value, which is between zero and {@link #HIGHEST_TRACKABLE_VALUE}
+     * @return the index of the bucket
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + subBucket - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * Gets the smallest value which is counted in the bucket with the specified index
+     *
+     * @param index the index of the bucket
+     * @return the smallest value
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static long getLowestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+
+        return (long) (offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    /**
+     * Gets the largest value which is counted in the bucket with the specified index
+     *
+     * @param index the index of the bucket
+     * @return the largest value
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static long getHighestValue(int index) {
+        return index + 1 == BUCKET_COUNT ? HIGHEST_TRACKABLE_VALUE : getLowestValue(index + 1) - 1;
+    }
+
+    /**
+     * An immutable copy of the values recorded in a histogram at some point
+     *
+     * @since 0.1.0
+     */
+    public static class Snapshot {
+
+        /**
+         * The count of every bucket
+         */
+        @NotNull
+        private final long[] counts;
+
+        /**
+         * The amount of recorded values
+         */
+        private final long count;
+
+        /**
+         * The sum of the recorded values
+         */
+        private final long sum;
+
+        /**
+         * The largest recorded value
+         */
+        private final long max;
+
+        /**
+         * Creates a new snapshot
+         *
+         * @param counts the count of every bucket
+         * @param sum the sum of the recorded values
+         * @param max the largest recorded value
+         * @since 0.1.0
+         */
+        private Snapshot(@NotNull long[] counts, long sum, long max) {
+            long count = 0;
+            long highestValue = 0;
+
+            for (int index = 0; index < counts.length; index++) {
+                if (counts[index] != 0) {
+                    count += counts[index];
+                    highestValue = getLowestValue(index);
+                }
+            }
+
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            //a value may have been counted while the maximum was taken, so take the maximum of the counts into account
+            this.max = Math.max(max, highestValue);
+        }
+
+        /**
+         * Gets the value below which the specified percentage of the recorded values fall. The value is accurate up to
+         * the width of the bucket it's in. If no values were recorded, this returns zero.
+         *
+         * @param percentile the percentage, between 0 and 100
+         * @return the value at the percentile
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            double fraction = Math.min(Math.max(percentile, 0), 100) / 100;
+            long targetCount = Math.max(1, (long) Math.ceil(fraction * count));
+            long cumulativeCount = 0;
+
+            for (int index = 0; index < counts.length; index++) {
+                cumulativeCount += counts[index];
+
+                if (cumulativeCount >= targetCount) {
+                    return Math.min(getHighestValue(index), max);
+                }
+            }
+
+            return max;
+        }
+
+        /**
+         * Gets the amount of recorded values
+         *
+         * @return the amount of values
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of the recorded values
+         *
+         * @return the sum
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Gets the average of the recorded values, or zero if no values were recorded
+         *
+         * @return the average
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets the largest recorded value, or zero if no values were recorded
+         *
+         * @return the largest value
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getMax() {
+            return max;
+        }
+    }
+}
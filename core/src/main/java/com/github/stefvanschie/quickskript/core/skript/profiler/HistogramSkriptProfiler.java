@@ -0,0 +1,169 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A detailed profiler with constant memory: stores the distribution of the elapsed times of each entry point in a
+ * {@link Histogram}, so percentiles can be queried regardless of how often the entry points were executed. Entries may
+ * be recorded from multiple threads at the same time.
+ *
+ * @since 0.1.0
+ */
+public class HistogramSkriptProfiler extends SkriptProfiler<HistogramSkriptProfiler.Entry> {
+
+    /**
+     * The storage of the profiler entries
+     */
+    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier,
+        long elapsedTime) {
+        getRecorder(contextType, identifier).record(elapsedTime);
+    }
+
+    @NotNull
+    @Override
+    public Entry getRecorder(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return storage.computeIfAbsent(contextType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(identifier, id -> new Entry(this));
+    }
+
+    @Nullable
+    @Override
+    public Entry getEntry(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Map<Identifier, Entry> entries = storage.get(contextType);
+        return entries == null ? null : entries.get(identifier);
+    }
+
+    @NotNull
+    @Override
+    public Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType) {
+        Map<Identifier, Entry> entries = storage.get(contextType);
+        return entries == null ? Collections.emptySet() : entries.keySet();
+    }
+
+    @Nullable
+    @Override
+    public Statistics getStatistics(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+
+        if (entry == null) {
+            return null;
+        }
+
+        Histogram.Snapshot snapshot = entry.getSnapshot();
+
+        return new Statistics(snapshot.getCount(), snapshot.getSum(), snapshot, entry.budgetExceededCount.sum());
+    }
+
+    /**
+     * Gets a snapshot of the elapsed times of every entry point with the specified type of context, recorded since the
+     * previous interval, and starts the next interval. This is meant to be called periodically.
+     *
+     * @param contextType the type of context of the entry points
+     * @return the snapshots by the identifiers of their entry points
+     * @since 0.1.0
+     */
+    @NotNull
+    public Map<Identifier, Histogram.Snapshot> getIntervalSnapshots(@NotNull Class<? extends Context> contextType) {
+        Map<Identifier, Entry> entries = storage.get(contextType);
+
+        if (entries == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<Identifier, Histogram.Snapshot> snapshots = new HashMap<>();
+
+        entries.forEach((identifier, entry) -> snapshots.put(identifier, entry.interval.getSnapshotAndReset()));
+
+        return snapshots;
+    }
+
+    /**
+     * Removes all recorded elapsed times, both of the current interval and in total
+     *
+     * @since 0.1.0
+     */
+    @Override
+    public void reset() {
+        for (Map<Identifier, Entry> entries : storage.values()) {
+            for (Entry entry : entries.values()) {
+                entry.total.reset();
+                entry.interval.reset();
+                entry.budgetExceededCount.reset();
+            }
+        }
+    }
+
+    /**
+     * The entry {@link HistogramSkriptProfiler} uses.
+     */
+    public static class Entry extends Recorder {
+
+        /**
+         * The elapsed times since the profiler was created or reset
+         */
+        @NotNull
+        private final Histogram total = new Histogram();
+
+        /**
+         * The elapsed times since the previous interval
+         */
+        @NotNull
+        private final Histogram interval = new Histogram();
+
+        /**
+         * The number of times an execution was aborted because it exceeded its budget
+         */
+        @NotNull
+        private final LongAdder budgetExceededCount = new LongAdder();
+
+        /**
+         * Creates a new entry for the specified profiler
+         *
+         * @param profiler the profiler this entry belongs to
+         */
+        Entry(@NotNull HistogramSkriptProfiler profiler) {
+            super(profiler);
+        }
+
+        /**
+         * Stores one more execution of the entry point associated with this entry.
+         *
+         * @param elapsedTime the time in nanoseconds which elapsed during execution this time
+         */
+        @Override
+        public void record(long elapsedTime) {
+            total.record(elapsedTime);
+            interval.record(elapsedTime);
+        }
+
+        @Override
+        public void recordBudgetExceeded() {
+            budgetExceededCount.increment();
+        }
+
+        /**
+         * Gets a snapshot of all elapsed times in nanoseconds, which can be queried for percentiles.
+         *
+         * @return the snapshot of the elapsed times
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public Histogram.Snapshot getSnapshot() {
+            return total.getSnapshot();
+        }
+    }
+}
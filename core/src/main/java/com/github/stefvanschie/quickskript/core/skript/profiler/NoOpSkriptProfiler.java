@@ -14,9 +14,24 @@ import java.util.Collections;
  */
 public class NoOpSkriptProfiler extends SkriptProfiler<Object> {
 
+    /**
+     * The recorder every entry point uses, which doesn't store anything either
+     */
+    @NotNull
+    private final Recorder recorder = new Recorder(this) {
+        @Override
+        public void record(long elapsedTime) {}
+    };
+
     @Override
     public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime) {}
 
+    @NotNull
+    @Override
+    public Recorder getRecorder(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return recorder;
+    }
+
     @Nullable
     @Override
     public Object getEntry(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
@@ -28,4 +43,13 @@ public class NoOpSkriptProfiler extends SkriptProfiler<Object> {
     public Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType) {
         return Collections.emptySet();
     }
+
+    @Nullable
+    @Override
+    public Statistics getStatistics(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return null;
+    }
+
+    @Override
+    public void reset() {}
 }
@@ -0,0 +1,477 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A profiler which measures every statement and section of an entry point, instead of only the entry point as a whole.
+ * Entry points which are parsed while a node profiler is set on the skript loader have every statement wrapped in an
+ * element which measures it, so this has no cost for entry points which aren't profiled. For every statement, the
+ * invocation count, the total time and the self time, which excludes the time spent in the statements of nested
+ * sections, are recorded. Statements may be executed from multiple threads at the same time.
+ *
+ * The recorded times can be exported as collapsed stacks, which flame graph tools can turn into a flame graph.
+ *
+ * @since 0.1.0
+ */
+public class NodeProfiler {
+
+    /**
+     * The time spent in the statements nested in the currently executing statement of each thread, in nanoseconds
+     */
+    @NotNull
+    private static final ThreadLocal<long[]> CHILD_TIME = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * The root nodes of all instrumented entry points
+     */
+    @NotNull
+    private final Map<SkriptProfiler.Identifier, Node> roots = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps every statement of the specified entry point and its nested sections, so each of them is measured. This
+     * replaces the root node of any previously instrumented entry point with the same identifier.
+     *
+     * @param identifier the identifier of the entry point
+     * @param section the finished entry point
+     * @return the root node of the entry point
+     * @since 0.1.0
+     */
+    @NotNull
+    public Node instrument(@NotNull SkriptProfiler.Identifier identifier, @NotNull PsiSection section) {
+        Node root = new Node(identifier.toString(), section.getLineNumber(), null);
+
+        instrumentSection(section, root);
+        roots.put(identifier, root);
+
+        return root;
+    }
+
+    /**
+     * Gets the root nodes of all instrumented entry points. The children of a root node are the statements of the
+     * entry point.
+     *
+     * @return the root nodes
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Collection<Node> getRoots() {
+        return Collections.unmodifiableCollection(roots.values());
+    }
+
+    /**
+     * Gets all nodes which were executed at least once, ordered by their self time, highest first
+     *
+     * @return the nodes
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<Node> getNodesBySelfTime() {
+        List<Node> nodes = new ArrayList<>();
+
+        for (Node root : roots.values()) {
+            collectExecutedNodes(root, nodes);
+        }
+
+        nodes.sort(Comparator.comparingLong(Node::getSelfTime).reversed());
+
+        return nodes;
+    }
+
+    /**
+     * Writes the self time of every executed node as a collapsed stack: the names of the node and its ancestors
+     * separated by semicolons, followed by a space and the self time in microseconds. This is the input format of
+     * flame graph tools.
+     *
+     * @param writer the writer to write to
+     * @throws IOException when writing fails
+     * @since 0.1.0
+     */
+    public void writeCollapsedStacks(@NotNull Writer writer) throws IOException {
+        for (Node root : roots.values()) {
+            writeCollapsedStacks(root, root.getFrameName(), writer);
+        }
+    }
+
+    /**
+     * Removes all recorded times, while keeping the instrumented entry points
+     *
+     * @since 0.1.0
+     */
+    public void reset() {
+        for (Node root : roots.values()) {
+            root.reset();
+        }
+    }
+
+    /**
+     * Wraps the statements of the specified section, of its else section and of all nested sections
+     *
+     * @param section the section
+     * @param node the node of the section
+     * @since 0.1.0
+     */
+    private static void instrumentSection(@NotNull PsiSection section, @NotNull Node node) {
+        section.setElements(instrumentElements(section.getElements(), node));
+
+        if (section instanceof PsiIf) {
+            PsiSection elseSection = ((PsiIf) section).getElseSection();
+
+            //the else section is executed by the if section, so its statements are nested in the if section
+            if (elseSection != null) {
+                instrumentSection(elseSection, node);
+            }
+        }
+    }
+
+    /**
+     * Wraps the specified statements, which are nested in the specified node
+     *
+     * @param elements the statements
+     * @param parent the node the statements are nested in
+     * @return the wrapped statements
+     * @since 0.1.0
+     */
+    @NotNull
+    private static PsiElement<?>[] instrumentElements(@NotNull PsiElement<?>[] elements, @NotNull Node parent) {
+        PsiElement<?>[] instrumentedElements = new PsiElement<?>[elements.length];
+
+        for (int index = 0; index < elements.length; index++) {
+            PsiElement<?> element = elements[index];
+            Node node = new Node(getName(element), element.getLineNumber(), parent);
+
+            if (element instanceof PsiSection) {
+                instrumentSection((PsiSection) element, node);
+            }
+
+            parent.children.add(node);
+            instrumentedElements[index] = new ProfiledElement(element, node);
+        }
+
+        return instrumentedElements;
+    }
+
+    /**
+     * Gets a readable name for the specified element, based on its type
+     *
+     * @param element the element
+     * @return the name
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String getName(@NotNull PsiElement<?> element) {
+        String name = element.getClass().getSimpleName();
+
+        if (name.startsWith("Psi")) {
+            name = name.substring("Psi".length());
+        }
+
+        return name.isEmpty() ? element.getClass().getName() : name;
+    }
+
+    /**
+     * Adds the specified node, if it was executed, and its executed descendants to the specified list
+     *
+     * @param node the node
+     * @param nodes the list to add to
+     * @since 0.1.0
+     */
+    private static void collectExecutedNodes(@NotNull Node node, @NotNull List<Node> nodes) {
+        if (node.getInvocationCount() > 0) {
+            nodes.add(node);
+        }
+
+        for (Node child : node.children) {
+            collectExecutedNodes(child, nodes);
+        }
+    }
+
+    /**
+     * Writes the collapsed stacks of the children of the specified node and their descendants
+     *
+     * @param node the node
+     * @param stack the collapsed stack of the node
+     * @param writer the writer to write to
+     * @throws IOException when writing fails
+     * @since 0.1.0
+     */
+    private static void writeCollapsedStacks(@NotNull Node node, @NotNull String stack, @NotNull Writer writer)
+        throws IOException {
+        for (Node child : node.children) {
+            String childStack = stack + ';' + child.getFrameName();
+            long selfTime = child.getSelfTime() / 1000;
+
+            if (selfTime > 0) {
+                writer.write(childStack + ' ' + selfTime + '\n');
+            }
+
+            writeCollapsedStacks(child, childStack, writer);
+        }
+    }
+
+    /**
+     * A statement or section of an instrumented entry point, or the entry point itself
+     *
+     * @since 0.1.0
+     */
+    public static class Node {
+
+        /**
+         * The name of the type of element, or the identifier of the entry point
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * The line number of the element
+         */
+        private final int lineNumber;
+
+        /**
+         * The node this node is nested in, or null if this is the node of an entry point
+         */
+        @Nullable
+        private final Node parent;
+
+        /**
+         * The nodes of the statements nested in this node
+         */
+        @NotNull
+        private final List<Node> children = new CopyOnWriteArrayList<>();
+
+        /**
+         * The amount of times the element was executed
+         */
+        @NotNull
+        private final LongAdder invocationCount = new LongAdder();
+
+        /**
+         * The time spent executing the element, in nanoseconds
+         */
+        @NotNull
+        private final LongAdder totalTime = new LongAdder();
+
+        /**
+         * The time spent executing the element, excluding the time spent in nested statements, in nanoseconds
+         */
+        @NotNull
+        private final LongAdder selfTime = new LongAdder();
+
+        /**
+         * Creates a new node
+         *
+         * @param name the name of the node
+         * @param lineNumber the line number of the element
+         * @param parent the node this node is nested in, or null if this is the node of an entry point
+         * @since 0.1.0
+         */
+        private Node(@NotNull String name, int lineNumber, @Nullable Node parent) {
+            this.name = name;
+            this.lineNumber = lineNumber;
+            this.parent = parent;
+        }
+
+        /**
+         * Gets the name of the type of element, or the identifier of the entry point for the node of an entry point
+         *
+         * @return the name
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the line number of the element
+         *
+         * @return the line number
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the node this node is nested in, or null if this is the node of an entry point
+         *
+         * @return the parent node
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Gets the nodes of the statements nested in this node
+         *
+         * @return the child nodes
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public List<Node> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Gets the amount of times the element was executed. For the node of an entry point, this is always zero.
+         *
+         * @return the invocation count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getInvocationCount() {
+            return invocationCount.sum();
+        }
+
+        /**
+         * Gets the time spent executing the element, including nested statements, in nanoseconds. For the node of an
+         * entry point, this is the total time of its statements.
+         *
+         * @return the total time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getTotalTime() {
+            if (parent == null) {
+                return children.stream().mapToLong(Node::getTotalTime).sum();
+            }
+
+            return totalTime.sum();
+        }
+
+        /**
+         * Gets the time spent executing the element, excluding nested statements, in nanoseconds
+         *
+         * @return the self time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getSelfTime() {
+            return selfTime.sum();
+        }
+
+        /**
+         * Gets the name of this node in a collapsed stack
+         *
+         * @return the frame name
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private String getFrameName() {
+            String frameName = parent == null ? name : name + " (line " + lineNumber + ')';
+
+            return frameName.replace(';', '_').replace('\n', ' ');
+        }
+
+        /**
+         * Records a single execution of the element
+         *
+         * @param totalTime the time the execution took
+         * @param selfTime the time the execution took, excluding nested statements
+         * @since 0.1.0
+         */
+        private void record(long totalTime, long selfTime) {
+            invocationCount.increment();
+            this.totalTime.add(totalTime);
+            this.selfTime.add(selfTime);
+        }
+
+        /**
+         * Removes the recorded times of this node and its descendants
+         *
+         * @since 0.1.0
+         */
+        private void reset() {
+            invocationCount.reset();
+            totalTime.reset();
+            selfTime.reset();
+
+            for (Node child : children) {
+                child.reset();
+            }
+        }
+
+        @NotNull
+        @Contract(pure = true)
+        @Override
+        public String toString() {
+            return getFrameName();
+        }
+    }
+
+    /**
+     * A statement which measures the execution of the statement it wraps
+     *
+     * @since 0.1.0
+     */
+    private static class ProfiledElement extends PsiElement<Object> {
+
+        /**
+         * The wrapped statement
+         */
+        @NotNull
+        private final PsiElement<?> element;
+
+        /**
+         * The node the executions are recorded in
+         */
+        @NotNull
+        private final Node node;
+
+        /**
+         * Creates a new measured statement
+         *
+         * @param element the statement to measure
+         * @param node the node to record the executions in
+         * @since 0.1.0
+         */
+        private ProfiledElement(@NotNull PsiElement<?> element, @NotNull Node node) {
+            super(element.getLineNumber());
+
+            this.element = element;
+            this.node = node;
+        }
+
+        @Nullable
+        @Override
+        protected Object executeImpl(@Nullable Context context) {
+            long[] childTime = CHILD_TIME.get();
+            long outerChildTime = childTime[0];
+
+            childTime[0] = 0;
+
+            long startTime = System.nanoTime();
+
+            try {
+                return element.execute(context);
+            } finally {
+                long totalTime = System.nanoTime() - startTime;
+
+                node.record(totalTime, Math.max(0, totalTime - childTime[0]));
+                childTime[0] = outerChildTime + totalTime;
+            }
+        }
+    }
+}
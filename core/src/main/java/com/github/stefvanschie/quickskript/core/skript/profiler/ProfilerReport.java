@@ -0,0 +1,431 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A report of the entries of a {@link SkriptProfiler} at a single point in time, which can be sorted to find the
+ * slowest entry points and be written as CSV or JSON. Creating a report only reads the entries, so it can be done while
+ * the profiler keeps recording.
+ *
+ * @since 0.1.0
+ */
+public class ProfilerReport {
+
+    /**
+     * The rows of this report, one for each entry point
+     */
+    @NotNull
+    private final List<Row> rows;
+
+    /**
+     * The length of the window the profiler recorded in, in nanoseconds
+     */
+    private final long windowTime;
+
+    /**
+     * Creates a new report
+     *
+     * @param rows the rows of the report
+     * @param windowTime the length of the window the profiler recorded in, in nanoseconds
+     * @since 0.1.0
+     */
+    private ProfilerReport(@NotNull List<Row> rows, long windowTime) {
+        this.rows = rows;
+        this.windowTime = windowTime;
+    }
+
+    /**
+     * Creates a report of the entries of the specified profiler
+     *
+     * @param profiler the profiler
+     * @param contextTypes the types of context to report the entry points of
+     * @param windowTime the length of the window the profiler recorded in, in nanoseconds, used for the call rates
+     * @return the report
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ProfilerReport create(@NotNull SkriptProfiler<?> profiler,
+        @NotNull Collection<Class<? extends Context>> contextTypes, long windowTime) {
+        List<Row> rows = new ArrayList<>();
+
+        for (Class<? extends Context> contextType : contextTypes) {
+            for (SkriptProfiler.Identifier identifier : profiler.getEntryIdentifiers(contextType)) {
+                SkriptProfiler.Statistics statistics = profiler.getStatistics(contextType, identifier);
+
+                if (statistics != null &&
+                    (statistics.getCalledCount() > 0 || statistics.getBudgetExceededCount() > 0)) {
+                    rows.add(new Row(contextType, identifier, statistics));
+                }
+            }
+        }
+
+        return new ProfilerReport(rows, Math.max(windowTime, 1));
+    }
+
+    /**
+     * Gets the rows with the highest value for the specified order
+     *
+     * @param order the value to order by
+     * @param limit the maximum amount of rows
+     * @return the rows, highest first
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<Row> getTop(@NotNull Order order, int limit) {
+        return rows.stream()
+            .sorted(Comparator.comparingDouble(order::getValue).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the amount of times the specified row's entry point was executed per second, during the window
+     *
+     * @param row the row
+     * @return the call rate
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public double getCallRate(@NotNull Row row) {
+        return row.getCalledCount() * 1e9 / windowTime;
+    }
+
+    /**
+     * Gets the length of the window the profiler recorded in, in nanoseconds
+     *
+     * @return the window time
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getWindowTime() {
+        return windowTime;
+    }
+
+    /**
+     * Writes all rows as CSV, with a header line. Times are in nanoseconds and the call rate is in calls per second;
+     * the calls which exceeded their execution budget aren't included in the other columns.
+     *
+     * @param writer the writer to write to
+     * @throws IOException when writing fails
+     * @since 0.1.0
+     */
+    public void writeCsv(@NotNull Writer writer) throws IOException {
+        writer.write("context,entry_point,calls,total_ns,mean_ns,p99_ns,max_ns,calls_per_second,budget_exceeded\n");
+
+        for (Row row : getTop(Order.TOTAL, rows.size())) {
+            writer.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%s,%s,%.3f,%d\n", row.getContextName(),
+                escapeCsv(row.getIdentifier().toString()), row.getCalledCount(), row.getTotalTime(),
+                row.getMeanTime(), toString(row.getP99Time()), toString(row.getMaxTime()), getCallRate(row),
+                row.getBudgetExceededCount()));
+        }
+    }
+
+    /**
+     * Writes all rows as a JSON object, with the window time and an array of entry points. Times are in nanoseconds
+     * and the call rate is in calls per second; percentiles are null if the profiler doesn't store them.
+     *
+     * @param writer the writer to write to
+     * @throws IOException when writing fails
+     * @since 0.1.0
+     */
+    public void writeJson(@NotNull Writer writer) throws IOException {
+        writer.write("{\n  \"window_ns\": " + windowTime + ",\n  \"entry_points\": [");
+
+        boolean first = true;
+
+        for (Row row : getTop(Order.TOTAL, rows.size())) {
+            writer.write(first ? "\n" : ",\n");
+            writer.write(String.format(Locale.ROOT, "    {\"context\": \"%s\", \"entry_point\": \"%s\", " +
+                    "\"calls\": %d, \"total_ns\": %d, \"mean_ns\": %.1f, \"p99_ns\": %s, \"max_ns\": %s, " +
+                    "\"calls_per_second\": %.3f, \"budget_exceeded\": %d}", escapeJson(row.getContextName()),
+                escapeJson(row.getIdentifier().toString()), row.getCalledCount(), row.getTotalTime(),
+                row.getMeanTime(), toJson(row.getP99Time()), toJson(row.getMaxTime()), getCallRate(row),
+                row.getBudgetExceededCount()));
+
+            first = false;
+        }
+
+        writer.write(first ? "]\n}\n" : "\n  ]\n}\n");
+    }
+
+    /**
+     * Converts the specified optional value to a CSV cell
+     *
+     * @param value the value, or null if unknown
+     * @return the cell
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String toString(@Nullable Long value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Converts the specified optional value to a JSON value
+     *
+     * @param value the value, or null if unknown
+     * @return the JSON value
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String toJson(@Nullable Long value) {
+        return value == null ? "null" : value.toString();
+    }
+
+    /**
+     * Quotes the specified text if it contains characters which have a meaning in CSV
+     *
+     * @param text the text
+     * @return the CSV cell
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String escapeCsv(@NotNull String text) {
+        if (text.indexOf(',') == -1 && text.indexOf('"') == -1 && text.indexOf('\n') == -1) {
+            return text;
+        }
+
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Escapes the specified text, so it can be placed in a JSON string
+     *
+     * @param text the text
+     * @return the escaped text
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String escapeJson(@NotNull String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+
+        for (char character : text.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                builder.append('\\').append(character);
+            } else if (character < ' ') {
+                builder.append(String.format(Locale.ROOT, "\\u%04x", (int) character));
+            } else {
+                builder.append(character);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * The values rows can be ordered by
+     *
+     * @since 0.1.0
+     */
+    public enum Order {
+
+        /**
+         * The total elapsed time
+         */
+        TOTAL,
+
+        /**
+         * The average elapsed time
+         */
+        MEAN,
+
+        /**
+         * The 99th percentile of the elapsed times, or the mean if the profiler doesn't store percentiles
+         */
+        P99,
+
+        /**
+         * The amount of calls
+         */
+        CALLS;
+
+        /**
+         * Gets the value of the specified row to order by
+         *
+         * @param row the row
+         * @return the value
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private double getValue(@NotNull Row row) {
+            switch (this) {
+                case TOTAL:
+                    return row.getTotalTime();
+                case MEAN:
+                    return row.getMeanTime();
+                case P99:
+                    Long p99Time = row.getP99Time();
+                    return p99Time == null ? row.getMeanTime() : p99Time;
+                case CALLS:
+                    return row.getCalledCount();
+                default:
+                    throw new AssertionError("Unknown order " + this);
+            }
+        }
+    }
+
+    /**
+     * The statistics of a single entry point in a report
+     *
+     * @since 0.1.0
+     */
+    public static class Row {
+
+        /**
+         * The type of context of the entry point
+         */
+        @NotNull
+        private final Class<? extends Context> contextType;
+
+        /**
+         * The identifier of the entry point
+         */
+        @NotNull
+        private final SkriptProfiler.Identifier identifier;
+
+        /**
+         * The statistics of the entry point
+         */
+        @NotNull
+        private final SkriptProfiler.Statistics statistics;
+
+        /**
+         * Creates a new row
+         *
+         * @param contextType the type of context of the entry point
+         * @param identifier the identifier of the entry point
+         * @param statistics the statistics of the entry point
+         * @since 0.1.0
+         */
+        private Row(@NotNull Class<? extends Context> contextType, @NotNull SkriptProfiler.Identifier identifier,
+            @NotNull SkriptProfiler.Statistics statistics) {
+            this.contextType = contextType;
+            this.identifier = identifier;
+            this.statistics = statistics;
+        }
+
+        /**
+         * Gets the type of context of the entry point
+         *
+         * @return the type of context
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public Class<? extends Context> getContextType() {
+            return contextType;
+        }
+
+        /**
+         * Gets a short name of the type of context of the entry point, like "Event"
+         *
+         * @return the name
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getContextName() {
+            String name = contextType.getSimpleName();
+
+            return name.endsWith("Context") && name.length() > "Context".length()
+                ? name.substring(0, name.length() - "Context".length())
+                : name;
+        }
+
+        /**
+         * Gets the identifier of the entry point
+         *
+         * @return the identifier
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public SkriptProfiler.Identifier getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Gets the amount of times the entry point was executed
+         *
+         * @return the called count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getCalledCount() {
+            return statistics.getCalledCount();
+        }
+
+        /**
+         * Gets the total elapsed time, in nanoseconds
+         *
+         * @return the total time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getTotalTime() {
+            return statistics.getTotalElapsedTime();
+        }
+
+        /**
+         * Gets the average elapsed time, in nanoseconds
+         *
+         * @return the mean time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public double getMeanTime() {
+            return statistics.getMeanElapsedTime();
+        }
+
+        /**
+         * Gets the 99th percentile of the elapsed times in nanoseconds, or null if the profiler doesn't store it
+         *
+         * @return the 99th percentile
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public Long getP99Time() {
+            Histogram.Snapshot distribution = statistics.getDistribution();
+            return distribution == null ? null : distribution.getValueAtPercentile(99);
+        }
+
+        /**
+         * Gets the amount of times an execution of the entry point was aborted because it exceeded its budget
+         *
+         * @return the budget exceeded count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getBudgetExceededCount() {
+            return statistics.getBudgetExceededCount();
+        }
+
+        /**
+         * Gets the largest elapsed time in nanoseconds, or null if the profiler doesn't store it
+         *
+         * @return the largest time
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public Long getMaxTime() {
+            Histogram.Snapshot distribution = statistics.getDistribution();
+            return distribution == null ? null : distribution.getMax();
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
-import java.util.Objects;
 
 /**
  * A profiler capable of measuring the execution times of each Skript entry-point.
@@ -21,7 +20,7 @@ public abstract class SkriptProfiler<T> {
      * A {@link SkriptProfiler} to be used by all skripts
      */
     @NotNull
-    private static SkriptProfiler<?> active = new NoOpSkriptProfiler();
+    private static volatile SkriptProfiler<?> active = new NoOpSkriptProfiler();
 
     /**
      * Gets the current profiler instance.
@@ -53,6 +52,27 @@ public abstract class SkriptProfiler<T> {
      */
     public abstract void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime);
 
+    /**
+     * Gets a recorder for the specified entry point, which can be resolved once and then be used for every execution
+     * of the entry point. By default the recorder calls {@link #onTimeMeasured(Class, Identifier, long)}; profilers
+     * should override this to avoid looking up their storage on every call.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the recorder
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Recorder getRecorder(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return new Recorder(this) {
+            @Override
+            public void record(long elapsedTime) {
+                onTimeMeasured(contextType, identifier, elapsedTime);
+            }
+        };
+    }
+
     /**
      * Gets the entry associated with the specified entry point.
      *
@@ -74,6 +94,28 @@ public abstract class SkriptProfiler<T> {
     @NotNull
     public abstract Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType);
 
+    /**
+     * Gets the statistics of the entry associated with the specified entry point, in a form which doesn't depend on the
+     * type of profiler.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the statistics of the entry, or null if there is no entry
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public abstract Statistics getStatistics(@NotNull Class<? extends Context> contextType,
+        @NotNull Identifier identifier);
+
+    /**
+     * Removes all recorded times, so the entries only contain the times recorded from now on. Recorders which were
+     * handed out keep working.
+     *
+     * @since 0.1.0
+     */
+    public abstract void reset();
+
     /**
      * An identifier which is given to each Skript code entry point.
      * Two identifiers are viewed as equal if they both point to the
@@ -123,7 +165,7 @@ public abstract class SkriptProfiler<T> {
 
         @Override
         public int hashCode() {
-            return Objects.hash(skript, lineNumber);
+            return 31 * System.identityHashCode(skript) + lineNumber;
         }
 
         @Override
@@ -131,4 +173,162 @@ public abstract class SkriptProfiler<T> {
             return skript.getName() + ":" + lineNumber;
         }
     }
+
+    /**
+     * The statistics of a single entry point, as far as they're known by the profiler
+     *
+     * @since 0.1.0
+     */
+    public static class Statistics {
+
+        /**
+         * The number of times the elapsed time was recorded
+         */
+        private final long calledCount;
+
+        /**
+         * The sum of the elapsed times, in nanoseconds
+         */
+        private final long totalElapsedTime;
+
+        /**
+         * The distribution of the elapsed times, or null if the profiler doesn't store it
+         */
+        @Nullable
+        private final Histogram.Snapshot distribution;
+
+        /**
+         * The number of times an execution was aborted because it exceeded its budget
+         */
+        private final long budgetExceededCount;
+
+        /**
+         * Creates new statistics
+         *
+         * @param calledCount the number of times the elapsed time was recorded
+         * @param totalElapsedTime the sum of the elapsed times, in nanoseconds
+         * @param distribution the distribution of the elapsed times, or null if the profiler doesn't store it
+         * @param budgetExceededCount the number of times an execution was aborted because it exceeded its budget
+         * @since 0.1.0
+         */
+        public Statistics(long calledCount, long totalElapsedTime, @Nullable Histogram.Snapshot distribution,
+            long budgetExceededCount) {
+            this.calledCount = calledCount;
+            this.totalElapsedTime = totalElapsedTime;
+            this.distribution = distribution;
+            this.budgetExceededCount = budgetExceededCount;
+        }
+
+        /**
+         * Gets the number of times the elapsed time was recorded
+         *
+         * @return the called count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getCalledCount() {
+            return calledCount;
+        }
+
+        /**
+         * Gets the sum of the elapsed times, in nanoseconds
+         *
+         * @return the total elapsed time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getTotalElapsedTime() {
+            return totalElapsedTime;
+        }
+
+        /**
+         * Gets the average elapsed time in nanoseconds, or zero if nothing was recorded
+         *
+         * @return the mean elapsed time
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public double getMeanElapsedTime() {
+            return calledCount == 0 ? 0 : (double) totalElapsedTime / calledCount;
+        }
+
+        /**
+         * Gets the distribution of the elapsed times, which can be queried for percentiles, or null if the profiler
+         * doesn't store it
+         *
+         * @return the distribution
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public Histogram.Snapshot getDistribution() {
+            return distribution;
+        }
+
+        /**
+         * Gets the number of times an execution was aborted because it exceeded its budget. These executions aren't
+         * included in the called count and the elapsed times.
+         *
+         * @return the budget exceeded count
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getBudgetExceededCount() {
+            return budgetExceededCount;
+        }
+    }
+
+    /**
+     * Records the execution times of a single entry point for the profiler which created it. Recorders may be used by
+     * multiple threads at the same time.
+     *
+     * @since 0.1.0
+     */
+    public abstract static class Recorder {
+
+        /**
+         * The profiler this recorder records for
+         */
+        @NotNull
+        private final SkriptProfiler<?> profiler;
+
+        /**
+         * Creates a new recorder for the specified profiler
+         *
+         * @param profiler the profiler this recorder records for
+         * @since 0.1.0
+         */
+        protected Recorder(@NotNull SkriptProfiler<?> profiler) {
+            this.profiler = profiler;
+        }
+
+        /**
+         * Called whenever the code inside the entry point of this recorder was (successfully) executed.
+         *
+         * @param elapsedTime the time in nanoseconds it took to execute the code in the entry point
+         * @since 0.1.0
+         */
+        public abstract void record(long elapsedTime);
+
+        /**
+         * Called whenever an execution of the entry point of this recorder was aborted because it exceeded its
+         * {@link com.github.stefvanschie.quickskript.core.skript.ExecutionBudget}. By default this isn't recorded.
+         *
+         * @since 0.1.0
+         */
+        public void recordBudgetExceeded() {}
+
+        /**
+         * Gets the profiler this recorder records for. Once this is no longer the active profiler, a new recorder
+         * should be retrieved from the active one.
+         *
+         * @return the profiler
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public SkriptProfiler<?> getProfiler() {
+            return profiler;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A complex profiler: stores each individual call and its elapsed time
@@ -16,11 +17,11 @@ public class WholeSkriptProfiler extends SkriptProfiler<WholeSkriptProfiler.Entr
     /**
      * The storage of the profiler entries
      */
-    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new IdentityHashMap<>();
+    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new ConcurrentHashMap<>();
 
     @Override
     public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime) {
-        storage.computeIfAbsent(contextType, type -> new HashMap<>())
+        storage.computeIfAbsent(contextType, type -> new ConcurrentHashMap<>())
                 .computeIfAbsent(identifier, id -> new Entry())
                 .add(elapsedTime);
     }
@@ -39,6 +40,37 @@ public class WholeSkriptProfiler extends SkriptProfiler<WholeSkriptProfiler.Entr
         return entries == null ? Collections.emptySet() : entries.keySet();
     }
 
+    @Nullable
+    @Override
+    public Statistics getStatistics(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+
+        if (entry == null) {
+            return null;
+        }
+
+        Histogram histogram = new Histogram();
+
+        synchronized (entry.times) {
+            entry.times.forEach(histogram::record);
+        }
+
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+
+        return new Statistics(snapshot.getCount(), snapshot.getSum(), snapshot, 0);
+    }
+
+    @Override
+    public void reset() {
+        for (Map<Identifier, Entry> entries : storage.values()) {
+            for (Entry entry : entries.values()) {
+                synchronized (entry.times) {
+                    entry.times.clear();
+                }
+            }
+        }
+    }
+
     /**
      * The entry {@link WholeSkriptProfiler} uses.
      */
@@ -55,7 +87,9 @@ public class WholeSkriptProfiler extends SkriptProfiler<WholeSkriptProfiler.Entr
          * @param elapsedTime the time in nanoseconds which elapsed during execution this time
          */
         void add(long elapsedTime) {
-            times.add(elapsedTime);
+            synchronized (times) {
+                times.add(elapsedTime);
+            }
         }
 
         /**
@@ -4,8 +4,8 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A cache for storing objects
@@ -17,7 +17,7 @@ public class TemporaryCache {
     /**
      * A map which stores all objects with an identifier
      */
-    private static final Map<String, Object> CACHE = new HashMap<>();
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Adds a key value pair to the cache
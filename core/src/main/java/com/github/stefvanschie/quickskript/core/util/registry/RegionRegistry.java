@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A registry for the regions currently available
@@ -19,7 +20,7 @@ public class RegionRegistry {
      * The regions
      */
     @NotNull
-    private final Set<Region> regions = new HashSet<>();
+    private final Set<Region> regions = ConcurrentHashMap.newKeySet();
 
     /**
      * Adds the provided region to this registry.
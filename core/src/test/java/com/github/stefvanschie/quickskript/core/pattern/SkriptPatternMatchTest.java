@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -262,9 +263,46 @@ class SkriptPatternMatchTest {
         });
     }
 
+    @Test
+    void testCompiledMatching() {
+        CORRECT_PATTERNS.forEach(SkriptPatternMatchTest::assertCompiledMatchingEquals);
+        INCORRECT_PATTERNS.forEach(SkriptPatternMatchTest::assertCompiledMatchingEquals);
+        PARSE_MARKS_PATTERNS.forEach((pattern, pair) -> assertCompiledMatchingEquals(pattern, new String[] {
+            pair.getX()
+        }));
+    }
+
+    @Test
+    void testLiteralRequirements() {
+        CORRECT_PATTERNS.forEach((pattern, correct) -> {
+            for (String string : correct) {
+                assertTrue(pattern.getLiteralRequirement().isSatisfiedBy(string::contains));
+            }
+        });
+
+        assertFalse(SkriptPattern.parse("(x|y) z").getLiteralRequirement().isSatisfiedBy("w z"::contains));
+        assertFalse(SkriptPattern.parse("x (y|z)").getLiteralRequirement().isSatisfiedBy("y z"::contains));
+        assertTrue(SkriptPattern.parse("x [y]").getLiteralRequirement().isSatisfiedBy("x"::contains));
+    }
+
     @Test
     void testParseMarks() {
         PARSE_MARKS_PATTERNS.forEach((pattern, pair) -> assertTrue(pattern.match(pair.getX())
                 .stream().anyMatch(match -> match.getParseMark() == pair.getY())));
     }
+
+    private static void assertCompiledMatchingEquals(SkriptPattern pattern, String[] inputs) {
+        for (String input : inputs) {
+            List<SkriptMatchResult> expected = pattern.matchRecursively(input);
+            List<SkriptMatchResult> actual = pattern.getMatcher().match(input);
+
+            assertEquals(expected.size(), actual.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getMatchedGroups(), actual.get(i).getMatchedGroups());
+                assertEquals(expected.get(i).getRestingString(), actual.get(i).getRestingString());
+                assertEquals(expected.get(i).getParseMark(), actual.get(i).getParseMark());
+            }
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.github.stefvanschie.quickskript.core.psi;
 
 import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
 import org.jetbrains.annotations.NotNull;
@@ -43,6 +45,17 @@ public class TestClassBase {
                 .collect(Collectors.toList());
     }
 
+    @NotNull
+    protected static CompiledSkript assertCompiled(@NotNull FileSkript skript, @NotNull CompiledSkript compiledSkript) {
+        if (!compiledSkript.getParseExceptions().isEmpty()) {
+            ParseException exception = compiledSkript.getParseExceptions().get(0);
+
+            throw new AssertionError("Error while parsing:" + exception.getExtraInfo(skript), exception);
+        }
+
+        return compiledSkript;
+    }
+
     @BeforeAll
     void initialize() {
         skriptLoader = new StandaloneSkriptLoader();
@@ -0,0 +1,205 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileNode;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.expression.PsiFilterExpression;
+import com.github.stefvanschie.quickskript.core.psi.expression.PsiFilterInputExpression;
+import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Parses and executes with many threads at the same time, to check that parse state and execution state aren't shared
+ * between threads.
+ */
+class ConcurrencyStressTest extends TestClassBase {
+
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 1;
+    private static final int EXECUTIONS = 200;
+
+    @Test
+    void testConcurrentParsing() throws InterruptedException {
+        Set<String> uniqueLines = new LinkedHashSet<>();
+
+        for (FileSkript skript : getSampleSkripts()) {
+            collectLines(skript.getNodes(), uniqueLines);
+        }
+
+        List<String> lines = new ArrayList<>(uniqueLines);
+        List<String> expected = lines.stream().map(this::parseOutcome).collect(Collectors.toList());
+
+        runConcurrently(() -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                for (FileSkript skript : getSampleSkripts()) {
+                    try {
+                        skript.compile(skriptLoader);
+                    } catch (ParseException e) {
+                        throw new AssertionError("Error while parsing:" + e.getExtraInfo(skript), e);
+                    }
+                }
+
+                assertEquals(expected, lines.stream().map(this::parseOutcome).collect(Collectors.toList()));
+            }
+        });
+    }
+
+    @Test
+    void testConcurrentFilterExecution() throws InterruptedException {
+        List<Integer> numbers = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<Integer> expected = numbers.stream().filter(number -> number % 2 == 0).collect(Collectors.toList());
+
+        PsiElement<?> input = new PsiFilterInputExpression.Factory().create(null, 1);
+        PsiFilterExpression filter = new PsiFilterExpression.Factory()
+            .create(new ConstantElement(numbers), new EvenPredicate(input), 1);
+
+        runConcurrently(() -> {
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                assertEquals(expected, filter.execute(null));
+            }
+        });
+    }
+
+    @Test
+    void testConcurrentProfiling() throws InterruptedException {
+        FileSkript skript = FileSkript.load("test", List.of("on test:", "    message \"a\" to the console"));
+        BasicSkriptProfiler profiler = new BasicSkriptProfiler();
+        SkriptProfiler.Identifier identifier = new SkriptProfiler.Identifier(skript, 1);
+        SkriptProfiler.Recorder recorder = profiler.getRecorder(EventContext.class, identifier);
+
+        runConcurrently(() -> {
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                recorder.record(2);
+                profiler.onTimeMeasured(EventContext.class, new SkriptProfiler.Identifier(skript, 1), 1);
+            }
+        });
+
+        BasicSkriptProfiler.Entry entry = profiler.getEntry(EventContext.class, identifier);
+
+        assertSame(recorder, entry);
+        assertEquals(THREADS * EXECUTIONS * 2, entry.getCalledCount());
+        assertEquals(THREADS * EXECUTIONS * 3, entry.getTotalElapsedTime());
+    }
+
+    /**
+     * Runs the specified action on {@link #THREADS} threads at once and rethrows the first failure
+     */
+    private static void runConcurrently(@NotNull Runnable action) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.run();
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new AssertionError(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds the text of every line in the specified nodes and their children to the specified collection
+     */
+    private static void collectLines(@NotNull List<SkriptFileNode> nodes, @NotNull Collection<String> lines) {
+        for (SkriptFileNode node : nodes) {
+            if (node instanceof SkriptFileSection) {
+                collectLines(((SkriptFileSection) node).getNodes(), lines);
+            } else {
+                lines.add(node.getText());
+            }
+        }
+    }
+
+    /**
+     * Describes the outcome of parsing the specified line, so outcomes can be compared between threads
+     */
+    @NotNull
+    private String parseOutcome(@NotNull String line) {
+        try {
+            PsiElement<?> element = skriptLoader.tryParseElement(line, 1);
+
+            return element == null ? "null" : element.getClass().getName();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    /**
+     * An element which always returns the same value, without being pre computed
+     */
+    private static class ConstantElement extends PsiElement<Object> {
+
+        private final Object value;
+
+        private ConstantElement(@NotNull Object value) {
+            super(1);
+
+            this.value = value;
+        }
+
+        @NotNull
+        @Override
+        protected Object executeImpl(@Nullable Context context) {
+            return value;
+        }
+    }
+
+    /**
+     * A predicate which checks whether the filter input is even, reading the input twice with a yield in between
+     */
+    private static class EvenPredicate extends PsiElement<Boolean> {
+
+        private final PsiElement<?> input;
+
+        private EvenPredicate(@NotNull PsiElement<?> input) {
+            super(1);
+
+            this.input = input;
+
+            input.setParent(this);
+        }
+
+        @NotNull
+        @Override
+        protected Boolean executeImpl(@Nullable Context context) {
+            Object first = input.execute(context);
+
+            Thread.yield();
+
+            assertEquals(first, input.execute(context));
+
+            return (Integer) first % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.compiler.CompiledElements;
+import com.github.stefvanschie.quickskript.core.skript.compiler.ControlFlowCompiler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether elements compiled to bytecode behave exactly like interpreted elements.
+ */
+class ControlFlowCompilerTest extends TestClassBase {
+
+    private static final ExitSectionsPointerMovement.Type LOOPS = ExitSectionsPointerMovement.Type.LOOPS;
+    private static final ExitSectionsPointerMovement.Type CONDITIONALS = ExitSectionsPointerMovement.Type.CONDITIONALS;
+    private static final ExitSectionsPointerMovement.Type EVERYTHING = ExitSectionsPointerMovement.Type.EVERYTHING;
+
+    @Test
+    void testStatements() {
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            new Log("a", null, log),
+            new Constant("constant"),
+            new Log("b", "value", log),
+            new Log("c", Boolean.FALSE, log),
+            new Log("d", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            new Log("a", null, log),
+            new Constant(Boolean.FALSE),
+            new Log("b", null, log)
+        });
+    }
+
+    @Test
+    void testIf() {
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            new Log("a", null, log),
+            ifSection(new Log("condition", true, log), null,
+                new Log("b", null, log),
+                new Log("c", Boolean.FALSE, log),
+                new Log("d", null, log)
+            ),
+            new Log("e", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            ifSection(new Log("condition", false, log), new PsiElement<?>[] {
+                new Log("else", null, log),
+                ifSection(new Constant(true), null,
+                    new Log("exit", new ExitSectionsPointerMovement(CONDITIONALS, 2), log)
+                ),
+                new Log("unreachable", null, log)
+            }, new Log("then", null, log)),
+            new Log("after", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            ifSection(new Constant(true), null,
+                new Log("exit", new ExitSectionsPointerMovement(), log)
+            ),
+            new Log("unreachable", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            ifSection(new Constant(true), null,
+                new Log("exit", new ExitSectionsPointerMovement(EVERYTHING, 3), log)
+            )
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            ifSection(new Constant(true), null,
+                new Log("exit", new ExitSectionsPointerMovement(LOOPS, 1), log)
+            )
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            ifSection(new Log("condition", "not a boolean", log), null)
+        });
+    }
+
+    @Test
+    void testWhile() {
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            whileSection(new Countdown(3, log),
+                new Log("a", null, log),
+                new Log("b", Boolean.FALSE, log),
+                new Log("c", null, log)
+            ),
+            new Log("after", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            whileSection(new Countdown(3, log),
+                new Log("a", SimpleInstructionPointerMovement.Loop.CONTINUE, log),
+                new Log("b", null, log)
+            ),
+            new Log("after", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            whileSection(new Countdown(5, log),
+                new Log("a", null, log),
+                whileSection(new Countdown(2, log),
+                    ifSection(new Constant(true), null,
+                        new Log("exit", new ExitSectionsPointerMovement(LOOPS, 1), log)
+                    )
+                ),
+                new Log("b", null, log)
+            ),
+            new Log("after", null, log)
+        });
+
+        assertSameBehavior(log -> new PsiElement<?>[] {
+            whileSection(new Countdown(5, log),
+                new Log("exit", new ExitSectionsPointerMovement(CONDITIONALS, 1), log)
+            )
+        });
+    }
+
+    @Test
+    void testSkript() {
+        skriptLoader.setSectionCompilationEnabled(true);
+
+        try {
+            FileSkript.load("test", List.of(
+                "command /test:",
+                "    trigger:",
+                "        set {_x} to 0",
+                "        while {_x} is less than 10:",
+                "            add 1 to {_x}",
+                "            if {_x} is 5:",
+                "                exit 1 loop",
+                "        message \"done\" to the console"
+            )).compile(skriptLoader).register();
+        } finally {
+            skriptLoader.setSectionCompilationEnabled(false);
+        }
+    }
+
+    /**
+     * Executes the elements created by the specified function both interpreted and compiled, and checks that the same
+     * elements are executed in the same order with the same outcome
+     */
+    private static void assertSameBehavior(@NotNull Function<List<String>, PsiElement<?>[]> elementsFunction) {
+        List<String> expectedLog = new ArrayList<>();
+        String expected = outcome(() -> interpret(elementsFunction.apply(expectedLog)));
+
+        List<String> actualLog = new ArrayList<>();
+        CompiledElements compiledElements = ControlFlowCompiler.compile(elementsFunction.apply(actualLog));
+
+        assertNotNull(compiledElements);
+
+        String actual = outcome(() -> compiledElements.execute(null));
+
+        assertEquals(expectedLog, actualLog);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Executes the specified elements one by one, like an entry point does
+     */
+    @Nullable
+    private static ExitSectionsPointerMovement interpret(@NotNull PsiElement<?>[] elements) {
+        for (PsiElement<?> element : elements) {
+            Object result = element.execute(null);
+
+            if (result == Boolean.FALSE) {
+                break;
+            }
+
+            if (result instanceof ExitSectionsPointerMovement) {
+                return (ExitSectionsPointerMovement) result;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Describes the outcome of the specified execution, so outcomes can be compared
+     */
+    @NotNull
+    private static String outcome(@NotNull Execution execution) {
+        try {
+            ExitSectionsPointerMovement result = execution.execute();
+
+            return result == null ? "null" : result.getType() + " " + result.getAmount();
+        } catch (ExecutionException e) {
+            return e.getMessage();
+        }
+    }
+
+    @NotNull
+    private static PsiIf ifSection(@NotNull PsiElement<?> condition, @Nullable PsiElement<?>[] elseElements,
+                                   @NotNull PsiElement<?>... elements) {
+        PsiIf section = new PsiIf(elements, condition, 1);
+
+        if (elseElements != null) {
+            section.setElseSection(new PsiIf(elseElements, new Constant(true), 1));
+        }
+
+        return section;
+    }
+
+    @NotNull
+    private static PsiWhile whileSection(@NotNull PsiElement<?> condition, @NotNull PsiElement<?>... elements) {
+        return new PsiWhile.Factory() {
+            private PsiWhile create() {
+                return create(elements, condition, 1);
+            }
+        }.create();
+    }
+
+    @FunctionalInterface
+    private interface Execution {
+
+        @Nullable
+        ExitSectionsPointerMovement execute();
+    }
+
+    /**
+     * An element which is pre computed
+     */
+    private static class Constant extends PsiElement<Object> {
+
+        private Constant(@NotNull Object value) {
+            super(1);
+
+            preComputed = value;
+        }
+    }
+
+    /**
+     * An element which logs its name and returns a fixed result
+     */
+    private static class Log extends PsiElement<Object> {
+
+        private final String name;
+        private final Object result;
+        private final List<String> log;
+
+        private Log(@NotNull String name, @Nullable Object result, @NotNull List<String> log) {
+            super(1);
+
+            this.name = name;
+            this.result = result;
+            this.log = log;
+        }
+
+        @Nullable
+        @Override
+        protected Object executeImpl(@Nullable Context context) {
+            log.add(name);
+
+            return result;
+        }
+    }
+
+    /**
+     * A condition which is met the specified amount of times
+     */
+    private static class Countdown extends PsiElement<Boolean> {
+
+        private final List<String> log;
+        private int remaining;
+
+        private Countdown(int remaining, @NotNull List<String> log) {
+            super(1);
+
+            this.remaining = remaining;
+            this.log = log;
+        }
+
+        @NotNull
+        @Override
+        protected Boolean executeImpl(@Nullable Context context) {
+            log.add("countdown " + remaining);
+
+            return remaining-- > 0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.exception.BudgetExceededException;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionBudget;
+import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NoOpSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether loops which don't end are aborted once they exceed their budget, both when interpreted and when
+ * compiled, and whether budget overrides are applied.
+ */
+class ExecutionBudgetTest extends TestClassBase {
+
+    private static final List<String> ENDLESS_LOOP = List.of(
+        "on test:",
+        "    while random number between 1 and 10 isn't 11:",
+        "        random number between 1 and 10 isn't 11"
+    );
+
+    @AfterEach
+    void tearDown() {
+        skriptLoader.setExecutionBudget(null);
+        skriptLoader.setExecutionBudget("test", null);
+        skriptLoader.setExecutionBudget("test:1", null);
+        skriptLoader.setSectionCompilationEnabled(false);
+        SkriptProfiler.setActive(new NoOpSkriptProfiler());
+    }
+
+    @Test
+    void testStepBudget() {
+        for (boolean compiled : new boolean[] {false, true}) {
+            BasicSkriptProfiler profiler = new BasicSkriptProfiler();
+            FileSkript skript = FileSkript.load("test", ENDLESS_LOOP);
+
+            SkriptProfiler.setActive(profiler);
+            skriptLoader.setSectionCompilationEnabled(compiled);
+            skriptLoader.setExecutionBudget(new ExecutionBudget(0, 1000));
+
+            PsiBaseSection section = new PsiBaseSection(skriptLoader, skript,
+                (SkriptFileSection) skript.getNodes().get(0), EventContext.class);
+
+            for (int execution = 0; execution < 2; execution++) {
+                BudgetExceededException exception = assertThrows(BudgetExceededException.class,
+                    () -> section.execute(null));
+
+                assertTrue(exception.getMessage().contains("line 2"), exception.getMessage());
+            }
+
+            SkriptProfiler.Statistics statistics = profiler.getStatistics(EventContext.class,
+                new SkriptProfiler.Identifier(skript, 1));
+
+            assertNotNull(statistics);
+            assertEquals(0, statistics.getCalledCount());
+            assertEquals(2, statistics.getBudgetExceededCount());
+        }
+    }
+
+    @Test
+    void testTimeBudget() {
+        FileSkript skript = FileSkript.load("test", ENDLESS_LOOP);
+
+        skriptLoader.setExecutionBudget(new ExecutionBudget(TimeUnit.MILLISECONDS.toNanos(20), 0));
+
+        PsiBaseSection section = new PsiBaseSection(skriptLoader, skript,
+            (SkriptFileSection) skript.getNodes().get(0), EventContext.class);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(BudgetExceededException.class, () -> section.execute(null)));
+    }
+
+    @Test
+    void testOverrides() {
+        FileSkript skript = FileSkript.load("test", ENDLESS_LOOP);
+        ExecutionBudget defaultBudget = new ExecutionBudget(0, 10);
+        ExecutionBudget skriptBudget = new ExecutionBudget(0, 20);
+        ExecutionBudget entryPointBudget = new ExecutionBudget(0, 30);
+
+        skriptLoader.setExecutionBudget(defaultBudget);
+        assertSame(defaultBudget, skriptLoader.getExecutionBudget(skript, 1));
+
+        skriptLoader.setExecutionBudget("test", skriptBudget);
+        assertSame(skriptBudget, skriptLoader.getExecutionBudget(skript, 1));
+
+        skriptLoader.setExecutionBudget("test:1", entryPointBudget);
+        assertSame(entryPointBudget, skriptLoader.getExecutionBudget(skript, 1));
+        assertSame(skriptBudget, skriptLoader.getExecutionBudget(skript, 5));
+
+        skriptLoader.setExecutionBudget("test:1", new ExecutionBudget(0, 0));
+        assertNull(skriptLoader.getExecutionBudget(skript, 1));
+    }
+}
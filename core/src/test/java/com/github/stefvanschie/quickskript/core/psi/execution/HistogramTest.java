@@ -0,0 +1,63 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.skript.profiler.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests whether the percentiles of a histogram are within the precision of its buckets.
+ */
+class HistogramTest {
+
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram();
+        Random random = new Random(0);
+        long[] values = new long[10000];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = (long) Math.exp(random.nextDouble() * 25);
+
+            histogram.record(values[index]);
+        }
+
+        Arrays.sort(values);
+
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+
+        for (double percentile : new double[] {0, 50, 90, 99, 99.9, 100}) {
+            long expected = values[Math.max(0, (int) Math.ceil(percentile / 100 * values.length) - 1)];
+            long actual = snapshot.getValueAtPercentile(percentile);
+
+            assertEquals(expected, actual, Math.max(1, expected / 64.0), "Percentile " + percentile);
+        }
+    }
+
+    @Test
+    void testInterval() {
+        Histogram histogram = new Histogram();
+
+        histogram.record(5);
+        histogram.record(1_000_000);
+
+        Histogram.Snapshot first = histogram.getSnapshotAndReset();
+
+        histogram.record(7);
+
+        Histogram.Snapshot second = histogram.getSnapshotAndReset();
+
+        assertEquals(2, first.getCount());
+        assertEquals(1_000_000, first.getMax());
+        assertEquals(5, first.getValueAtPercentile(50));
+        assertEquals(1, second.getCount());
+        assertEquals(7, second.getMax());
+        assertEquals(0, histogram.getSnapshot().getCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NoOpSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.NodeProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether every statement of an entry point is measured and whether entry points which exit are measured.
+ */
+class NodeProfilerTest extends TestClassBase {
+
+    private static final int EXECUTIONS = 3;
+
+    @Test
+    void test() throws IOException {
+        NodeProfiler nodeProfiler = new NodeProfiler();
+        BasicSkriptProfiler profiler = new BasicSkriptProfiler();
+        FileSkript skript = FileSkript.load("test", List.of(
+            "on test:",
+            "    random number between 1 and 10 isn't 11",
+            "    if random number between 1 and 10 isn't 11:",
+            "        random integer between 1 and 10 isn't 11",
+            "    exit"
+        ));
+        PsiBaseSection section;
+
+        skriptLoader.setNodeProfiler(nodeProfiler);
+        SkriptProfiler.setActive(profiler);
+
+        try {
+            section = new PsiBaseSection(skriptLoader, skript, (SkriptFileSection) skript.getNodes().get(0),
+                EventContext.class);
+
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                section.execute(null);
+            }
+        } finally {
+            skriptLoader.setNodeProfiler(null);
+            SkriptProfiler.setActive(new NoOpSkriptProfiler());
+        }
+
+        BasicSkriptProfiler.Entry entry =
+            profiler.getEntry(EventContext.class, new SkriptProfiler.Identifier(skript, 1));
+
+        assertNotNull(entry);
+        assertEquals(EXECUTIONS, entry.getCalledCount());
+
+        assertEquals(1, nodeProfiler.getRoots().size());
+
+        NodeProfiler.Node root = nodeProfiler.getRoots().iterator().next();
+
+        assertEquals(List.of("IsCondition", "If", "ExitEffect"), names(root.getChildren()));
+        assertEquals(2, root.getChildren().get(0).getLineNumber());
+
+        NodeProfiler.Node ifNode = root.getChildren().get(1);
+        NodeProfiler.Node nestedNode = ifNode.getChildren().get(0);
+
+        assertEquals(List.of("IsCondition"), names(ifNode.getChildren()));
+
+        for (NodeProfiler.Node node : List.of(root.getChildren().get(0), ifNode, nestedNode)) {
+            assertEquals(EXECUTIONS, node.getInvocationCount());
+            assertTrue(node.getSelfTime() <= node.getTotalTime());
+        }
+
+        assertTrue(ifNode.getTotalTime() >= nestedNode.getTotalTime() + ifNode.getSelfTime());
+
+        StringWriter writer = new StringWriter();
+
+        nodeProfiler.writeCollapsedStacks(writer);
+
+        for (String line : writer.toString().split("\n")) {
+            if (!line.isEmpty()) {
+                assertTrue(line.matches("test:1;[^;]+ \\(line \\d+\\)(;[^;]+ \\(line \\d+\\))* \\d+"), line);
+            }
+        }
+    }
+
+    private static List<String> names(List<NodeProfiler.Node> nodes) {
+        return nodes.stream().map(NodeProfiler.Node::getName).collect(Collectors.toList());
+    }
+}
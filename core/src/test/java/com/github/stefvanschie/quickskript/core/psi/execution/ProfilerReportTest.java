@@ -0,0 +1,82 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.HistogramSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.ProfilerReport;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether profiler reports order and export the entries of any profiler.
+ */
+class ProfilerReportTest {
+
+    private static final FileSkript SKRIPT = FileSkript.load("test", List.of());
+
+    @Test
+    void testOrder() {
+        HistogramSkriptProfiler profiler = new HistogramSkriptProfiler();
+
+        record(profiler, 1, 10, 1000);
+        record(profiler, 2, 1, 50000);
+        record(profiler, 3, 100, 10);
+        profiler.getRecorder(CommandContext.class, new SkriptProfiler.Identifier(SKRIPT, 4)).record(1);
+
+        ProfilerReport report = ProfilerReport.create(profiler, List.of(EventContext.class), 1_000_000_000);
+
+        assertEquals(List.of(2, 1), lines(report.getTop(ProfilerReport.Order.TOTAL, 2)));
+        assertEquals(List.of(2, 1, 3), lines(report.getTop(ProfilerReport.Order.P99, 5)));
+        assertEquals(List.of(3, 1, 2), lines(report.getTop(ProfilerReport.Order.CALLS, 5)));
+        assertEquals(100, report.getCallRate(report.getTop(ProfilerReport.Order.CALLS, 1).get(0)), 1e-9);
+
+        profiler.reset();
+
+        assertTrue(ProfilerReport.create(profiler, List.of(EventContext.class), 1).getTop(
+            ProfilerReport.Order.TOTAL, 5).isEmpty());
+    }
+
+    @Test
+    void testExport() throws IOException {
+        BasicSkriptProfiler profiler = new BasicSkriptProfiler();
+
+        record(profiler, 1, 2, 1500);
+
+        ProfilerReport report = ProfilerReport.create(profiler, List.of(EventContext.class), 1_000_000_000);
+        StringWriter csv = new StringWriter();
+        StringWriter json = new StringWriter();
+
+        report.writeCsv(csv);
+        report.writeJson(json);
+
+        assertEquals("context,entry_point,calls,total_ns,mean_ns,p99_ns,max_ns,calls_per_second,budget_exceeded\n" +
+            "Event,test:1,2,3000,1500.0,,,2.000,0\n", csv.toString());
+        assertEquals("{\n  \"window_ns\": 1000000000,\n  \"entry_points\": [\n" +
+            "    {\"context\": \"Event\", \"entry_point\": \"test:1\", \"calls\": 2, \"total_ns\": 3000, " +
+            "\"mean_ns\": 1500.0, \"p99_ns\": null, \"max_ns\": null, \"calls_per_second\": 2.000, \"budget_exceeded\": 0}\n  ]\n}\n",
+            json.toString());
+    }
+
+    private static void record(SkriptProfiler<?> profiler, int lineNumber, int calls, long elapsedTime) {
+        SkriptProfiler.Recorder recorder = profiler.getRecorder(EventContext.class,
+            new SkriptProfiler.Identifier(SKRIPT, lineNumber));
+
+        for (int call = 0; call < calls; call++) {
+            recorder.record(elapsedTime);
+        }
+    }
+
+    private static List<Integer> lines(List<ProfilerReport.Row> rows) {
+        return rows.stream().map(row -> Integer.parseInt(row.getIdentifier().toString().split(":")[1]))
+            .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.stefvanschie.quickskript.core.psi.execution;
 
+import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
@@ -26,7 +27,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests whether psi numbers can be executed without any exceptions
  * other than {@link ExecutionException} being raised.
  * This test does not validate the result of the functions,
- * apart from them being pre computed or not.
+ * apart from them being pre computed or not and executing them
+ * as a primitive double giving the same result.
  */
 class PsiNumberExecutabilityTest extends TestClassBase {
 
@@ -47,6 +49,9 @@ class PsiNumberExecutabilityTest extends TestClassBase {
         return literalConstructor.apply(random.nextDouble(MIN_SOURCE_VALUE, MAX_SOURCE_VALUE));
     };
 
+    private final Supplier<PsiElement<Number>> opaqueSupplier = () ->
+        new OpaqueNumber(literalSupplier.get().execute(null, Number.class));
+
     @SuppressWarnings("CanBeFinal")
     private BiFunction<Double, Double, PsiElement<Number>> randomConstructor;
 
@@ -125,6 +130,10 @@ class PsiNumberExecutabilityTest extends TestClassBase {
             test(randomSupplier, false);
         }
 
+        for (int i = 0; i < runCount / 2; i++) {
+            testPrimitive(opaqueSupplier);
+        }
+
         System.out.println("Average PsiNumberExecutabilityTest instance count: " + ((float)instanceCount / runCount));
     }
 
@@ -140,6 +149,27 @@ class PsiNumberExecutabilityTest extends TestClassBase {
     }
 
 
+    private void testPrimitive(@NotNull Supplier<PsiElement<Number>> supplier) throws ReflectiveOperationException {
+        PsiElement<Number> result = next(new RunContext(supplier));
+        String expected;
+        String actual;
+
+        try {
+            expected = String.valueOf(result.execute(null, Number.class).doubleValue());
+        } catch (ExecutionException e) {
+            expected = e.getMessage();
+        }
+
+        try {
+            actual = String.valueOf(result.executeDouble(null));
+        } catch (ExecutionException e) {
+            actual = e.getMessage();
+        }
+
+        assertEquals(expected, actual);
+    }
+
+
     @NotNull
     private PsiElement<Number> next(@NotNull RunContext context) throws ReflectiveOperationException {
         PsiElement<Number> direct = context.tryGetDirectValue();
@@ -196,4 +226,23 @@ class PsiNumberExecutabilityTest extends TestClassBase {
             return number;
         }
     }
+
+
+    /**
+     * A number which always has the same value, but isn't pre computed
+     */
+    private static class OpaqueNumber extends PsiElement<Number> {
+        private final Number value;
+
+        OpaqueNumber(@NotNull Number value) {
+            super(-1);
+            this.value = value;
+        }
+
+        @NotNull
+        @Override
+        protected Number executeImpl(@Nullable Context context) {
+            return value;
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.effect.PsiExitEffect;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.Optimization;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether dead code is removed from entry points and whether the removals are reported.
+ */
+class SectionOptimizerTest extends TestClassBase {
+
+    @Test
+    void testUnreachable() {
+        PsiBaseSection section = load(
+            "message \"a\" to the console",
+            "exit",
+            "message \"b\" to the console",
+            "message \"c\" to the console"
+        );
+
+        assertEquals(2, section.getElements().length);
+        assertTrue(section.getElements()[1] instanceof PsiExitEffect);
+        assertEquals(List.of("Removed 2 unreachable elements"), describe(section));
+        assertEquals(4, section.getOptimizations().get(0).getLineNumber());
+    }
+
+    @Test
+    void testConstantIf() {
+        PsiBaseSection inlined = load(
+            "if true:",
+            "    message \"a\" to the console",
+            "if false:",
+            "    message \"b\" to the console",
+            "message \"c\" to the console"
+        );
+
+        assertEquals(2, inlined.getElements().length);
+        assertTrue(Arrays.stream(inlined.getElements()).noneMatch(element -> element instanceof PsiIf));
+        assertEquals(List.of(
+            "Condition is always true",
+            "Condition is always false, removed the if section"
+        ), describe(inlined));
+
+        PsiBaseSection kept = load(
+            "if true:",
+            "    message \"a\" to the console",
+            "    exit 1 section",
+            "    message \"b\" to the console",
+            "message \"c\" to the console"
+        );
+
+        assertEquals(2, kept.getElements().length);
+        assertTrue(kept.getElements()[0] instanceof PsiIf);
+        assertEquals(2, ((PsiIf) kept.getElements()[0]).getElements().length);
+        assertEquals(List.of(
+            "Removed 1 unreachable element",
+            "Condition is always true"
+        ), describe(kept));
+    }
+
+    @Test
+    void testConstantWhile() {
+        PsiBaseSection section = load(
+            "while false:",
+            "    message \"a\" to the console",
+            "message \"b\" to the console"
+        );
+
+        assertEquals(1, section.getElements().length);
+        assertEquals(List.of("Condition is always false, removed the while section"), describe(section));
+    }
+
+    @NotNull
+    private PsiBaseSection load(@NotNull String... lines) {
+        List<String> skriptLines = new ArrayList<>();
+
+        skriptLines.add("on test:");
+
+        for (String line : lines) {
+            skriptLines.add("    " + line);
+        }
+
+        FileSkript skript = FileSkript.load("test", skriptLines);
+
+        return new PsiBaseSection(skriptLoader, skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+    }
+
+    @NotNull
+    private static List<String> describe(@NotNull PsiBaseSection section) {
+        return section.getOptimizations().stream().map(Optimization::getDescription).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,304 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.util.AsyncSafe;
+import com.github.stefvanschie.quickskript.core.psi.util.ChangesEvent;
+import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import com.github.stefvanschie.quickskript.core.psi.util.Pure;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.optimizer.SubexpressionIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether common pure sub expressions are only executed once per execution, whether sections are only async
+ * safe if all of their executed elements are, and whether sections only change the event if an executed element does.
+ */
+class SubexpressionIndexTest extends TestClassBase {
+
+    @Test
+    void testShared() {
+        SubexpressionIndex index = new SubexpressionIndex();
+        Counted first = new Counted();
+        Counted second = new Counted();
+        Counted unused = new Counted();
+        Counted impureFirst = new Counted();
+        Counted impureSecond = new Counted();
+
+        index.record("length of \"abc\"", first, true);
+        index.record("length of \"abc\"", second, true);
+        index.record("length of \"abc\"", unused, true);
+        index.record("random number", impureFirst, false);
+        index.record("random number", impureSecond, false);
+
+        PsiIf section = new PsiIf(new PsiElement<?>[] {
+            new Parent(first),
+            new Parent(second),
+            new Parent(impureFirst),
+            new Parent(impureSecond)
+        }, new PsiPrecomputedHolder<>(true, 1), 1);
+
+        assertEquals(1, index.assignSlots(section));
+
+        Context context = new TestContext();
+
+        for (PsiElement<?> element : section.getElements()) {
+            element.execute(context);
+        }
+
+        assertEquals(1, first.executions + second.executions);
+        assertEquals(1, impureFirst.executions);
+        assertEquals(1, impureSecond.executions);
+
+        //every execution has its own frame, so the value is computed again
+        context.getFrame().clear();
+        first.execute(context);
+        second.execute(context);
+
+        assertEquals(2, first.executions + second.executions);
+    }
+
+    @Test
+    void testSharedInTrigger() {
+        CountedFactory factory = new CountedFactory();
+        TestSkriptLoader loader = new TestSkriptLoader();
+
+        loader.register(factory);
+
+        FileSkript skript = FileSkript.load("test", List.of(
+            "on load:",
+            "    counted value is counted value"
+        ));
+        PsiBaseSection section = new PsiBaseSection(loader, skript, (SkriptFileSection) skript.getNodes().get(0),
+            Context.class);
+        Context context = new TestContext();
+
+        section.execute(context);
+
+        assertEquals(1, factory.executions.get());
+
+        //releasing a pooled context clears its frame, so the next execution computes the value again
+        context.getFrame().clear();
+        section.execute(context);
+
+        assertEquals(2, factory.executions.get());
+    }
+
+    @Test
+    void testRequiresMainThread() {
+        SubexpressionIndex index = new SubexpressionIndex();
+        Safe safe = new Safe();
+        Counted unsafe = new Counted();
+        Counted discarded = new Counted();
+
+        index.record("safe", safe, false);
+        index.record("unsafe", unsafe, true);
+        index.record("discarded", discarded, true);
+
+        PsiIf safeSection = new PsiIf(new PsiElement<?>[] {safe}, new PsiPrecomputedHolder<>(true, 1), 1);
+
+        assertFalse(index.requiresMainThread(safeSection));
+
+        PsiIf unsafeSection = new PsiIf(new PsiElement<?>[] {safe, new Parent(unsafe)},
+            new PsiPrecomputedHolder<>(true, 1), 1);
+
+        assertTrue(index.requiresMainThread(unsafeSection));
+    }
+
+    @Test
+    void testFallbackChildren() {
+        FileSkript skript = FileSkript.load("test", List.of(
+            "on load:",
+            "    message \"safe\" if random number between 1 and 10 isn't 11",
+            "on load:",
+            "    kill player if random number between 1 and 10 isn't 11"
+        ));
+        List<SkriptFileSection> sections = new ArrayList<>();
+
+        skript.getNodes().forEach(node -> sections.add((SkriptFileSection) node));
+
+        //the effect and the condition are parsed by the fallback of the do if effect
+        assertTrue(new PsiBaseSection(skriptLoader, skript, sections.get(0), Context.class).isAsyncSafe());
+        assertFalse(new PsiBaseSection(skriptLoader, skript, sections.get(1), Context.class).isAsyncSafe());
+    }
+
+    @Test
+    void testChangesEvent() {
+        SubexpressionIndex index = new SubexpressionIndex();
+        Safe safe = new Safe();
+        Cancel cancel = new Cancel();
+        Cancel discarded = new Cancel();
+
+        index.record("safe", safe, false);
+        index.record("cancel", cancel, false);
+        index.record("discarded", discarded, false);
+
+        PsiIf unchangedSection = new PsiIf(new PsiElement<?>[] {safe}, new PsiPrecomputedHolder<>(true, 1), 1);
+
+        assertFalse(index.changesEvent(unchangedSection));
+
+        PsiIf changedSection = new PsiIf(new PsiElement<?>[] {safe, new Parent(cancel)},
+            new PsiPrecomputedHolder<>(true, 1), 1);
+
+        assertTrue(index.changesEvent(changedSection));
+    }
+
+    /**
+     * A context with its own frame
+     */
+    private static class TestContext implements Context {
+
+        private final ExecutionFrame frame = new ExecutionFrame();
+
+        @NotNull
+        @Override
+        public Skript getSkript() {
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public ExecutionFrame getFrame() {
+            return frame;
+        }
+    }
+
+    /**
+     * A pure element which counts how often it's executed
+     */
+    @Pure
+    private static class Counted extends PsiElement<Integer> {
+
+        private int executions;
+
+        private Counted() {
+            super(1);
+        }
+
+        @NotNull
+        @Override
+        protected Integer executeImpl(@Nullable Context context) {
+            return ++executions;
+        }
+    }
+
+    /**
+     * A loader which can register additional factories after it has been created
+     */
+    private static class TestSkriptLoader extends StandaloneSkriptLoader {
+
+        private void register(@NotNull PsiElementFactory factory) {
+            registerElement(factory);
+        }
+    }
+
+    /**
+     * A factory of pure elements which counts how often any of its elements is executed
+     */
+    public static class CountedFactory implements PsiElementFactory {
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        @NotNull
+        private final SkriptPattern pattern = SkriptPattern.parse("counted value");
+
+        @NotNull
+        @Pattern("pattern")
+        public PsiElement<?> parse(int lineNumber) {
+            return new CountedValue(lineNumber);
+        }
+
+        /**
+         * A pure element which counts its executions in its factory
+         */
+        @Pure
+        private class CountedValue extends PsiElement<Integer> {
+
+            private CountedValue(int lineNumber) {
+                super(lineNumber);
+            }
+
+            @NotNull
+            @Override
+            protected Integer executeImpl(@Nullable Context context) {
+                executions.incrementAndGet();
+
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * An async safe element
+     */
+    @AsyncSafe
+    private static class Safe extends PsiElement<Integer> {
+
+        private Safe() {
+            super(1);
+        }
+
+        @NotNull
+        @Override
+        protected Integer executeImpl(@Nullable Context context) {
+            return 0;
+        }
+    }
+
+    /**
+     * An async safe element which changes the event
+     */
+    @AsyncSafe
+    @ChangesEvent
+    private static class Cancel extends PsiElement<Void> {
+
+        private Cancel() {
+            super(1);
+        }
+
+        @Nullable
+        @Override
+        protected Void executeImpl(@Nullable Context context) {
+            return null;
+        }
+    }
+
+    /**
+     * An element which executes its child
+     */
+    private static class Parent extends PsiElement<Object> {
+
+        private final PsiElement<?> child;
+
+        private Parent(@NotNull PsiElement<?> child) {
+            super(1);
+
+            this.child = child;
+            child.setParent(this);
+        }
+
+        @Nullable
+        @Override
+        protected Object executeImpl(@Nullable Context context) {
+            return child.execute(context);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.skript.parsing.FactoryIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests whether parsing with the factory index gives the same results as trying every factory.
+ */
+class FactoryIndexTest extends TestClassBase {
+
+    @Test
+    void test() {
+        FactoryIndex factoryIndex = skriptLoader.getFactoryIndex();
+
+        factoryIndex.setVerifying(true);
+        factoryIndex.resetStatistics();
+
+        try {
+            for (FileSkript skript : getSampleSkripts()) {
+                assertCompiled(skript, skript.compile(skriptLoader));
+            }
+
+            double pruningRatio = factoryIndex.getPruningRatio();
+
+            System.out.println("Factory index pruning ratio: " + pruningRatio);
+            assertTrue(pruningRatio > 0);
+        } finally {
+            factoryIndex.setVerifying(false);
+        }
+    }
+}
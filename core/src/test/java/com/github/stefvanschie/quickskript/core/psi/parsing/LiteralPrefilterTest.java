@@ -0,0 +1,55 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.skript.parsing.LiteralPrefilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests whether the literal prefilter finds exactly the patterns whose required literals are present.
+ */
+class LiteralPrefilterTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "he %object%",
+        "she %object%",
+        "his %object%",
+        "hers (x|y)",
+        "(a|b|sh) [c]",
+        "[he] %object%"
+    );
+
+    private static final List<String> INPUTS = List.of(
+        "ushers",
+        "she",
+        "h e r s",
+        "his y",
+        "x",
+        "a c",
+        ""
+    );
+
+    @Test
+    void test() {
+        LiteralPrefilter literalPrefilter = new LiteralPrefilter();
+        SkriptPattern[] patterns = SkriptPattern.parse(PATTERNS.toArray(String[]::new));
+        LiteralPrefilter.Requirement[] requirements = new LiteralPrefilter.Requirement[patterns.length];
+
+        for (int i = 0; i < patterns.length; i++) {
+            requirements[i] = literalPrefilter.register(patterns[i].getLiteralRequirement());
+        }
+
+        for (String input : INPUTS) {
+            BitSet present = literalPrefilter.scan(input);
+
+            for (int i = 0; i < patterns.length; i++) {
+                assertEquals(patterns[i].getLiteralRequirement().isSatisfiedBy(input::contains),
+                    requirements[i].isSatisfiedBy(present), PATTERNS.get(i) + " on '" + input + "'");
+            }
+        }
+    }
+}
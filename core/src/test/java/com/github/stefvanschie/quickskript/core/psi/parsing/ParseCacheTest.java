@@ -0,0 +1,78 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.literal.PsiRegionLiteral;
+import com.github.stefvanschie.quickskript.core.psi.literal.PsiStringLiteral;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseCache;
+import com.github.stefvanschie.quickskript.core.util.literal.Region;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether a stored parse cache is reused for unchanged skripts and discarded otherwise, and whether outcomes
+ * which depend on the regions that exist are never stored.
+ */
+class ParseCacheTest extends TestClassBase {
+
+    @Test
+    void test(@TempDir Path directory) throws IOException {
+        String fingerprint = skriptLoader.getFactoryIndex().getFingerprint();
+
+        for (FileSkript skript : getSampleSkripts()) {
+            Path file = directory.resolve(skript.getName() + ".cache");
+
+            ParseCache cache = ParseCache.load(file, skript.getContentHash(), fingerprint);
+            compile(skript, cache);
+
+            assertEquals(0, cache.getHitCount());
+
+            if (!cache.isModified()) {
+                continue;
+            }
+
+            cache.save(file);
+
+            ParseCache loaded = ParseCache.load(file, skript.getContentHash(), fingerprint);
+            assertEquals(cache.size(), loaded.size());
+
+            compile(skript, loaded);
+
+            assertTrue(loaded.getHitCount() > 0);
+            assertFalse(loaded.isModified());
+
+            assertEquals(0, ParseCache.load(file, skript.getContentHash(), "other").size());
+            assertEquals(0, ParseCache.load(file, ParseCache.hash("other"), fingerprint).size());
+        }
+    }
+
+    @Test
+    void testStateDependent() {
+        ParseCache cache = new ParseCache(ParseCache.hash("state dependent"),
+            skriptLoader.getFactoryIndex().getFingerprint());
+
+        skriptLoader.setParseCache(cache);
+
+        try {
+            assertTrue(skriptLoader.tryParseElement("\"cached region\"", -1) instanceof PsiStringLiteral);
+            assertNull(cache.lookup("\"cached region\""));
+
+            skriptLoader.getRegionRegistry().addRegions(List.of(new Region("cached region")));
+
+            assertTrue(skriptLoader.tryParseElement("\"cached region\"", -1) instanceof PsiRegionLiteral);
+            assertNull(cache.lookup("\"cached region\""));
+        } finally {
+            skriptLoader.setParseCache(null);
+        }
+    }
+
+    private void compile(FileSkript skript, ParseCache cache) {
+        assertCompiled(skript, skript.compile(skriptLoader, cache));
+    }
+}
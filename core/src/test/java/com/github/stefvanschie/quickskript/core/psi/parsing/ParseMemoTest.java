@@ -0,0 +1,66 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.skript.parsing.BasicParseMemo;
+import com.github.stefvanschie.quickskript.core.skript.parsing.NoOpParseMemo;
+import com.github.stefvanschie.quickskript.core.skript.parsing.ParseMemo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether parsing with a memo produces the same elements as parsing without one.
+ */
+class ParseMemoTest extends TestClassBase {
+
+    private static final List<String> INPUTS = List.of(
+        "2 + 2",
+        "1 + 2 * 3 - 4",
+        "sqrt(4) + sqrt(4)",
+        "message \"test\" to the console",
+        "\"&cTest\"",
+        "true",
+        "this is not an expression"
+    );
+
+    @Test
+    void test() {
+        ParseMemo original = skriptLoader.getParseMemo();
+
+        try {
+            for (String input : INPUTS) {
+                skriptLoader.setParseMemo(new NoOpParseMemo());
+                PsiElement<?> expected = skriptLoader.tryParseElement(input, 1);
+
+                BasicParseMemo memo = new BasicParseMemo();
+                skriptLoader.setParseMemo(memo);
+                PsiElement<?> actual = skriptLoader.tryParseElement(input, 1);
+
+                if (expected == null) {
+                    assertNull(actual);
+                    continue;
+                }
+
+                assertNotNull(actual);
+                assertEquals(expected.getClass(), actual.getClass());
+                assertEquals(expected.isPreComputed(), actual.isPreComputed());
+
+                if (expected.isPreComputed()) {
+                    assertEquals(expected.execute(null), actual.execute(null));
+                }
+            }
+
+            BasicParseMemo memo = new BasicParseMemo();
+            skriptLoader.setParseMemo(memo);
+            skriptLoader.tryParseElement("sqrt(4) + sqrt(4)", 1);
+
+            assertTrue(memo.getHitCount() > 0);
+            assertTrue(memo.getMissCount() > 0);
+        } finally {
+            skriptLoader.setParseMemo(original);
+        }
+    }
+}
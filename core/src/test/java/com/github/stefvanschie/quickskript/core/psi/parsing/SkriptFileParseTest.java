@@ -4,12 +4,13 @@ import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileLine;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileNode;
 import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
-import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * A test which asserts that all specified skript files
@@ -20,16 +21,39 @@ class SkriptFileParseTest extends TestClassBase {
     @Test
     void test() {
         for (FileSkript skript : getSampleSkripts()) {
-            try {
-                skript.registerCommands(skriptLoader);
-                skript.registerEventExecutors(skriptLoader);
-                System.out.println("Successfully parsed: " + skript.getName());
-            } catch (ParseException e) {
-                throw new AssertionError("Error while parsing:" + e.getExtraInfo(skript), e);
-            }
+            assertCompiled(skript, skript.compile(skriptLoader));
+            System.out.println("Successfully parsed: " + skript.getName());
         }
     }
 
+    @Test
+    void testParallelCompilation() {
+        List<CompiledSkript> skripts = getSampleSkripts().parallelStream()
+            .map(skript -> assertCompiled(skript, skript.compile(skriptLoader)))
+            .collect(Collectors.toList());
+
+        Assertions.assertEquals(getSampleSkripts().size(), skripts.size());
+
+        skripts.forEach(CompiledSkript::register);
+    }
+
+    @Test
+    void testFailureIsolation() {
+        FileSkript skript = FileSkript.load("test", List.of(
+            "command /broken:",
+            "    description: this command has no trigger",
+            "command /working:",
+            "    trigger:",
+            "        kill player"
+        ));
+        CompiledSkript compiledSkript = skript.compile(skriptLoader);
+
+        Assertions.assertEquals(1, compiledSkript.getParseExceptions().size());
+        Assertions.assertEquals(1, compiledSkript.getUnits().size());
+        Assertions.assertEquals("command /working",
+            compiledSkript.getUnits().keySet().iterator().next().getText());
+    }
+
     @Test
     void testTabCharacterHandling() {
         String tabReplacement = "    ";
@@ -0,0 +1,134 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.TestClassBase;
+import com.github.stefvanschie.quickskript.core.skript.CompiledSkript;
+import com.github.stefvanschie.quickskript.core.skript.CompiledUnit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether recompiling a skript only compiles the changed and moved sections, and whether replacing a compiled
+ * skript only touches the changed units.
+ */
+class SkriptRecompileTest extends TestClassBase {
+
+    private static final List<String> ORIGINAL = List.of(
+        "command /first:",
+        "    trigger:",
+        "        message \"first\" to the console",
+        "command /second:",
+        "    trigger:",
+        "        message \"second\" to the console"
+    );
+
+    private static final List<String> CHANGED = List.of(
+        "command /first:",
+        "    trigger:",
+        "        message \"first\" to the console",
+        "command /second:",
+        "    trigger:",
+        "        message \"changed\" to the console",
+        "command /third:",
+        "    trigger:",
+        "        message \"third\" to the console"
+    );
+
+    @Test
+    void testRecompile() {
+        CompiledSkript original = FileSkript.load("test", ORIGINAL).compile(skriptLoader);
+
+        assertSame(original, FileSkript.load("test", ORIGINAL).recompile(skriptLoader, original));
+
+        CompiledSkript changed = FileSkript.load("test", CHANGED).recompile(skriptLoader, original);
+        List<CompiledUnit> originalUnits = new ArrayList<>(original.getUnits().values());
+        List<CompiledUnit> changedUnits = new ArrayList<>(changed.getUnits().values());
+
+        assertEquals(2, originalUnits.size());
+        assertEquals(3, changedUnits.size());
+        assertSame(originalUnits.get(0), changedUnits.get(0));
+        assertNotSame(originalUnits.get(1), changedUnits.get(1));
+
+        List<String> shifted = new ArrayList<>(ORIGINAL);
+        shifted.add(0, "");
+
+        CompiledSkript moved = FileSkript.load("test", shifted).recompile(skriptLoader, original);
+        List<CompiledUnit> movedUnits = new ArrayList<>(moved.getUnits().values());
+
+        assertEquals(2, movedUnits.size());
+        assertNotSame(originalUnits.get(0), movedUnits.get(0));
+        assertNotSame(originalUnits.get(1), movedUnits.get(1));
+    }
+
+    @Test
+    void testReplace() {
+        List<SkriptFileSection> originalSections = getSections(ORIGINAL);
+        List<SkriptFileSection> changedSections = getSections(CHANGED);
+        List<String> log = new ArrayList<>();
+
+        RecordingUnit first = new RecordingUnit("first", log);
+
+        Map<SkriptFileSection, CompiledUnit> originalUnits = new LinkedHashMap<>();
+        originalUnits.put(originalSections.get(0), first);
+        originalUnits.put(originalSections.get(1), new RecordingUnit("second", log));
+
+        Map<SkriptFileSection, CompiledUnit> changedUnits = new LinkedHashMap<>();
+        changedUnits.put(changedSections.get(0), first);
+        changedUnits.put(changedSections.get(1), new RecordingUnit("changed", log));
+        changedUnits.put(changedSections.get(2), new RecordingUnit("third", log));
+
+        CompiledSkript original = new CompiledSkript(FileSkript.load("test", ORIGINAL), originalUnits);
+        CompiledSkript changed = new CompiledSkript(FileSkript.load("test", CHANGED), changedUnits);
+
+        original.register();
+        log.clear();
+
+        changed.replace(original);
+
+        assertEquals(List.of("replace second with changed", "register third"), log);
+    }
+
+    @NotNull
+    private static List<SkriptFileSection> getSections(@NotNull List<String> lines) {
+        List<SkriptFileSection> sections = new ArrayList<>();
+
+        FileSkript.load("test", lines).getNodes().forEach(node -> sections.add((SkriptFileSection) node));
+
+        return sections;
+    }
+
+    /**
+     * A unit which logs what happens to it
+     */
+    private static class RecordingUnit implements CompiledUnit {
+
+        private final String name;
+        private final List<String> log;
+
+        private RecordingUnit(@NotNull String name, @NotNull List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        @Override
+        public void register() {
+            log.add("register " + name);
+        }
+
+        @Override
+        public void unregister() {
+            log.add("unregister " + name);
+        }
+
+        @Override
+        public boolean replace(@NotNull CompiledUnit previous) {
+            log.add("replace " + ((RecordingUnit) previous).name + " with " + name);
+            return true;
+        }
+    }
+}